@@ -150,7 +150,7 @@ export const useApplicationTypeStore = defineStore('applicationType', () => {
         }
     }
 
-    const fetchAllApplicationTypes = async (provider, includeApplicationResponse = false, includeSections = true) => {
+    const fetchAllApplicationTypes = async (provider, includeSections = true) => {
         try{
             loading.value = true
             error.value = null
@@ -161,7 +161,6 @@ export const useApplicationTypeStore = defineStore('applicationType', () => {
             if (provider !== null && provider !== undefined) {
                 params.append('provider', provider)
             }
-            params.append('application', includeApplicationResponse)
             params.append('sections', includeSections)
 
             response = await axios.get(`${basePath.value}?${params.toString()}`)
@@ -181,11 +180,11 @@ export const useApplicationTypeStore = defineStore('applicationType', () => {
         }
     }
 
-    const fetchApplicationTypesById = async (applicationTypeId, includeApplicationResponse = false) => {
+    const fetchApplicationTypesById = async (applicationTypeId) => {
         try{
             loading.value = true
             error.value = null
-            const response = await axios.get(`${basePath.value}/${applicationTypeId}?application=${includeApplicationResponse}`)
+            const response = await axios.get(`${basePath.value}/${applicationTypeId}`)
             if(response.status === 200){
                 applicationTypes.value = response.data
                 loading.value = false
@@ -201,8 +200,30 @@ export const useApplicationTypeStore = defineStore('applicationType', () => {
     }
 
     // Alias for fetchApplicationTypesById for better clarity
-    const fetchById = async (applicationTypeId, includeApplicationResponse = false) => {
-        return fetchApplicationTypesById(applicationTypeId, includeApplicationResponse)
+    const fetchById = async (applicationTypeId) => {
+        return fetchApplicationTypesById(applicationTypeId)
+    }
+
+    // Applications of a type with their dynamic fields, following the cursor until the last page
+    const fetchApplicationsByTypeId = async (applicationTypeId, pageSize = 200) => {
+        try {
+            const items = []
+            let cursor = null
+            do {
+                const params = new URLSearchParams({ limit: pageSize })
+                if (cursor) {
+                    params.append('cursor', cursor)
+                }
+                const response = await axios.get(`${basePath.value}/${applicationTypeId}/applications/details?${params.toString()}`)
+                items.push(...response.data.items)
+                cursor = response.data.hasMore ? response.data.nextCursor : null
+            } while (cursor)
+
+            return { success: true, data: items, message: "Applications fetched successfully" }
+        } catch (error) {
+            console.error("Error fetching applications of type:", error.response?.data || error.message)
+            return { success: false, data: [], error: error.response?.data?.message || error.message }
+        }
     }
 
 
@@ -241,6 +262,7 @@ export const useApplicationTypeStore = defineStore('applicationType', () => {
         fetchAllApplicationTypes,
         fetchApplicationTypesById,
         fetchById,
+        fetchApplicationsByTypeId,
         updateApplicationType,
         deleteApplicationType,
     }
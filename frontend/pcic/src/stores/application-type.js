@@ -58,11 +58,11 @@ export const useApplicationTypeStore = defineStore('applicationType', () => {
     // const queryString = buildQueryParams({ type: 'rice', region: 'Luzon' })
 
     // Fetch application types with optional query params
-    const fetchApplicationTypes = async ({ provider, sections, application } = {}) => {
+    const fetchApplicationTypes = async ({ provider, sections, counts } = {}) => {
         try {
             loading.value = true
             error.value = null
-            const params = buildQueryParams({ provider, sections, application })
+            const params = buildQueryParams({ provider, sections, counts })
             const url = params ? `${basePath.value}?${params}` : basePath.value
             const response = await axios.get(url)
             if (response.status >= 200 && response.status < 300) {
@@ -79,11 +79,11 @@ export const useApplicationTypeStore = defineStore('applicationType', () => {
     }
 
     // Fetch single application type by ID (with optional params)
-    const fetchApplicationTypeById = async (id, { sections, application } = {}) => {
+    const fetchApplicationTypeById = async (id, { sections, counts } = {}) => {
         try {
             loading.value = true
             error.value = null
-            const params = buildQueryParams({ sections, application })
+            const params = buildQueryParams({ sections, counts })
             const url = params ? `${basePath.value}/${id}?${params}` : `${basePath.value}/${id}`
             const response = await axios.get(url)
             if (response.status >= 200 && response.status < 300) {
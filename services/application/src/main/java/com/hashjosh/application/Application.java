@@ -2,6 +2,7 @@ package com.hashjosh.application;
 
 
 import com.hashjosh.application.configs.TrustedConfig;
+import com.hashjosh.constant.sync.SyncTombstoneConfiguration;
 import com.hashjosh.jwtshareable.properties.JwtProperties;
 import com.hashjosh.jwtshareable.service.JwtService;
 import org.springframework.boot.SpringApplication;
@@ -10,12 +11,14 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.Import;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties({JwtProperties.class, TrustedConfig.class})
 @EnableKafka
 @EnableDiscoveryClient
-@Import(JwtService.class)
+@EnableScheduling
+@Import({JwtService.class, SyncTombstoneConfiguration.class})
 public class Application {
 
 	public static void main(String[] args) {
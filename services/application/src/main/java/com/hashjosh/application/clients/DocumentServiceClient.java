@@ -2,16 +2,18 @@ package com.hashjosh.application.clients;
 
 import com.hashjosh.application.exceptions.ApiException;
 import com.hashjosh.constant.document.dto.DocumentResponse;
+import com.hashjosh.constant.document.upload.StreamingFileResource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 @Service
@@ -44,20 +46,35 @@ public class DocumentServiceClient {
                 .body(String.class);
     }
 
+    public Map<UUID, String> generatePresignedUrls(UUID userId, Collection<UUID> documentIds, int expiry) {
+        if (documentIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, String> urls = restClient.post()
+                .uri("/download-urls?expiryMinutes={expiry}", expiry)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(documentIds)
+                .header("X-Internal-Service", applicationName)
+                .header("X-User-Id", String.valueOf(userId))
+                .retrieve()
+                .onStatus(
+                        status -> status.is4xxClientError() || status.is5xxServerError(),
+                        (request, response) -> {
+                            throw ApiException.internalError("Failed to generate presigned urls for " + documentIds.size() + " documents");
+                        }
+                )
+                .body(new ParameterizedTypeReference<>() {});
+        return urls != null ? urls : Map.of();
+    }
+
     public DocumentResponse uploadDocument(MultipartFile file, String userId) {
         try {
-            MultipartBodyBuilder builder = new MultipartBodyBuilder();
-            builder.part("file", new ByteArrayResource(file.getBytes()) {
-                        @Override
-                        public String getFilename() {
-                            return file.getOriginalFilename();
-                        }
-                    })
-                    .header("Content-Type", file.getContentType());
+            StreamingFileResource upload = StreamingFileResource.withChecksum(file);
 
-            return restClient.post()
+            DocumentResponse response = restClient.post()
                     .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(builder.build())
+                    .body(upload.toMultipartBody())
                     .header("X-Internal-Service", applicationName)
                     .header("X-User-Id",userId)
                     .retrieve()
@@ -68,9 +85,40 @@ public class DocumentServiceClient {
                             }
                     )
                     .body(DocumentResponse.class);
-        } catch (RestClientException | java.io.IOException e) {
+            verifyChecksum(upload, response, userId);
+            return response;
+        } catch (RestClientException e) {
             log.error("Error uploading document: {}", file.getOriginalFilename(), e);
             throw ApiException.internalError("Failed to upload document: " + file.getOriginalFilename());
         }
     }
+
+    private void verifyChecksum(StreamingFileResource upload, DocumentResponse response, String userId) {
+        if (response == null || upload.matches(response.getChecksum())) {
+            return;
+        }
+        log.error("Checksum mismatch for {}: sent {}, stored {}",
+                upload.getFilename(), upload.checksum().orElse(null), response.getChecksum());
+        try {
+            deleteDocument(response.getDocumentId(), userId);
+        } catch (RuntimeException e) {
+            log.warn("Failed to remove corrupted document {}", response.getDocumentId(), e);
+        }
+        throw ApiException.internalError("Checksum mismatch while uploading document: " + upload.getFilename());
+    }
+
+    public void deleteDocument(UUID documentId, String userId) {
+        restClient.delete()
+                .uri("/{id}", documentId)
+                .header("X-Internal-Service", applicationName)
+                .header("X-User-Id", userId)
+                .retrieve()
+                .onStatus(
+                        status -> status.is4xxClientError() || status.is5xxServerError(),
+                        (request, response) -> {
+                            throw ApiException.internalError("Failed to delete document: " + documentId);
+                        }
+                )
+                .toBodilessEntity();
+    }
 }
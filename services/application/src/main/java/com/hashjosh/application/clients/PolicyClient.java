@@ -4,9 +4,15 @@ import com.hashjosh.application.exceptions.ApiException;
 import com.hashjosh.constant.policy.PolicyResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 @Slf4j
 public class PolicyClient {
@@ -45,4 +51,40 @@ public class PolicyClient {
               throw ApiException.badRequest("Failed to fetch policy with policy number: " + policyNumber);
        }
     }
+
+    public Set<String> findExistingPolicyNumbers(Collection<String> policyNumbers, String userId) {
+        List<String> existing = restClient.post()
+                .uri("/numbers/existing")
+                .header(INTERNAL_SERVICE_HEADER, applicationName)
+                .header(USERID_HEADER, userId)
+                .body(policyNumbers)
+                .retrieve()
+                .onStatus(
+                        status -> status.is4xxClientError() || status.is5xxServerError(),
+                        (request, res) -> {
+                            throw ApiException.internalError("Failed to check policy numbers, status code: " + res.getStatusCode());
+                        }
+                )
+                .body(new ParameterizedTypeReference<>() {});
+        return existing != null ? Set.copyOf(existing) : Set.of();
+    }
+
+    public List<String> exportPolicyNumbers(String after, int limit) {
+        List<String> numbers = restClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/numbers")
+                        .queryParamIfPresent("after", Optional.ofNullable(after))
+                        .queryParam("limit", limit)
+                        .build())
+                .header(INTERNAL_SERVICE_HEADER, applicationName)
+                .retrieve()
+                .onStatus(
+                        status -> status.is4xxClientError() || status.is5xxServerError(),
+                        (request, res) -> {
+                            throw ApiException.internalError("Failed to export policy numbers, status code: " + res.getStatusCode());
+                        }
+                )
+                .body(new ParameterizedTypeReference<>() {});
+        return numbers != null ? numbers : List.of();
+    }
 }
@@ -58,4 +58,8 @@ public class CustomUserDetails implements UserDetails {
     public boolean isEnabled() {
         return true;
     }
+
+    public boolean isFarmer() {
+        return authorities.stream().anyMatch(authority -> "ROLE_FARMER".equals(authority.getAuthority()));
+    }
 }
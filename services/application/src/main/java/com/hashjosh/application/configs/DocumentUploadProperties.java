@@ -0,0 +1,19 @@
+package com.hashjosh.application.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.document-upload")
+@Getter
+@Setter
+public class DocumentUploadProperties {
+    // Maximum number of files uploaded at the same time for a single request
+    private int maxConcurrency = 4;
+    // Total time allowed for all uploads of a single request
+    private Duration timeout = Duration.ofSeconds(60);
+}
@@ -0,0 +1,19 @@
+package com.hashjosh.application.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.drafts")
+@Getter
+@Setter
+public class DraftProperties {
+    // A draft not saved for this long is swept
+    private Duration ttl = Duration.ofDays(30);
+    // Open drafts per user; creating more is rejected
+    private int maxPerUser = 20;
+}
@@ -0,0 +1,23 @@
+package com.hashjosh.application.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.duplicates")
+@Getter
+@Setter
+public class DuplicateDetectionProperties {
+    // Turns flagging off entirely; submissions are never rejected either way
+    private boolean enabled = true;
+    // A farmer's earlier application of the same type counts as a duplicate within this window
+    private Duration window = Duration.ofDays(30);
+    // Parcels whose centroids are closer than this are flagged as overlapping
+    private double radiusMeters = 50;
+    // Nearest matches kept per reason, so a dense cluster does not flood the review queue
+    private int maxMatches = 10;
+}
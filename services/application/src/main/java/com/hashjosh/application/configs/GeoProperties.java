@@ -0,0 +1,19 @@
+package com.hashjosh.application.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.geo")
+@Getter
+@Setter
+public class GeoProperties {
+    // GeoJSON FeatureCollection with municipal and barangay boundaries; empty disables the boundary check
+    private String boundariesFile = "";
+    // Reject submitted points that fall outside every loaded municipality
+    private boolean requireCoverage = true;
+    // Largest radius, or polygon extent, accepted by the geo search endpoints
+    private double maxSearchRadiusKm = 50;
+}
@@ -0,0 +1,19 @@
+package com.hashjosh.application.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+    // How long a completed submission can be replayed by its key
+    private Duration ttl = Duration.ofHours(24);
+    // An in-progress key older than this is treated as abandoned and can be retried
+    private Duration inProgressTimeout = Duration.ofMinutes(15);
+}
@@ -0,0 +1,17 @@
+package com.hashjosh.application.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.import")
+@Getter
+@Setter
+public class ImportProperties {
+    // Rows validated, uploaded and inserted together; bounds memory per import
+    private int chunkSize = 200;
+    // Rows of a chunk whose files are uploaded at the same time
+    private int uploadConcurrency = 8;
+}
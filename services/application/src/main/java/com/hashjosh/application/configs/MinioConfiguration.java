@@ -0,0 +1,27 @@
+package com.hashjosh.application.configs;
+
+import io.minio.MinioClient;
+import okhttp3.OkHttpClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class MinioConfiguration {
+
+    @Bean
+    public MinioClient minioClient(MinioProperties properties) {
+        OkHttpClient httpClient = new OkHttpClient().newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .writeTimeout(Duration.ofSeconds(30))
+                .readTimeout(Duration.ofSeconds(30))
+                .build();
+
+        return MinioClient.builder()
+                .endpoint(properties.getUrl())
+                .credentials(properties.getAccessKey(), properties.getSecretKey())
+                .httpClient(httpClient)
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.hashjosh.application.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "minio")
+@Getter
+@Setter
+public class MinioProperties {
+    // Same object store as document-service, reached on the internal network
+    private String url = "http://localhost:9000";
+    private String accessKey;
+    private String secretKey;
+    // Files of queued submissions until their job finishes; expired objects are removed by the store
+    private String stagingBucket = "submission-staging";
+}
@@ -0,0 +1,26 @@
+package com.hashjosh.application.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.outbox")
+@Getter
+@Setter
+public class OutboxProperties {
+    // Maximum number of events sent per relay round trip
+    private int batchSize = 100;
+    // How long to wait for the broker to acknowledge a batch
+    private Duration sendTimeout = Duration.ofSeconds(10);
+    // Retry backoff, doubled on every failed attempt up to the maximum
+    private Duration initialBackoff = Duration.ofSeconds(1);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+    // Failed attempts after which an event is dead-lettered instead of retried
+    private int maxAttempts = 50;
+    // Published events are kept this long before being deleted
+    private Duration retention = Duration.ofDays(7);
+}
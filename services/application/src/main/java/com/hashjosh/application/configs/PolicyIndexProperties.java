@@ -0,0 +1,23 @@
+package com.hashjosh.application.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.policy-index")
+@Getter
+@Setter
+public class PolicyIndexProperties {
+    // Initial index capacity; a rebuild sizes it from the export
+    private int expectedPolicies = 500_000;
+    // Policy numbers requested per page from insurance-service (capped there at 10000)
+    private int exportPageSize = 5000;
+    // Retry interval while the index has never been loaded
+    private Duration retryInterval = Duration.ofMinutes(1);
+    // Full re-sync interval, catches deletions and any events missed while down
+    private Duration refreshInterval = Duration.ofHours(6);
+}
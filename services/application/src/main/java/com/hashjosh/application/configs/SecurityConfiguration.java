@@ -3,10 +3,16 @@ package com.hashjosh.application.configs;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationManagers;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 
@@ -18,11 +24,24 @@ public class SecurityConfiguration {
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        // Staff roles are defined per agency, so staff is anyone signed in who is not a farmer
+        AuthorizationManager<RequestAuthorizationContext> staff = AuthorizationManagers.allOf(
+                AuthenticatedAuthorizationManager.authenticated(),
+                AuthorizationManagers.not(AuthorityAuthorizationManager.hasRole("FARMER")));
+
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(AbstractHttpConfigurer::disable)
                 .httpBasic(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Replays five topics and rewrites the whole summary table
+                        .requestMatchers(HttpMethod.POST, "/api/v1/applications/summaries/rebuild")
+                        .hasAnyRole("ADMIN", "INTERNAL_SERVICE")
+                        // Searches across every farmer's applications
+                        .requestMatchers(HttpMethod.POST, "/api/v1/applications/search", "/api/v1/applications/within")
+                        .access(staff)
+                        .requestMatchers(HttpMethod.GET, "/api/v1/applications/nearby", "/api/v1/applications/nearest")
+                        .access(staff)
                         .requestMatchers("/actuator/**","/api/v1/applications/**").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -0,0 +1,26 @@
+package com.hashjosh.application.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.submission-queue")
+@Getter
+@Setter
+public class SubmissionQueueProperties {
+    // Submissions processed at the same time by one instance
+    private int workers = 8;
+    // How long a claimed job may go without a renewal before another worker takes it over
+    private Duration lease = Duration.ofMinutes(10);
+    // Attempts for failures that may be transient, such as another service being down
+    private int maxAttempts = 5;
+    // Retry backoff, doubled on every failed attempt up to the maximum
+    private Duration initialBackoff = Duration.ofSeconds(5);
+    private Duration maxBackoff = Duration.ofMinutes(5);
+    // Finished jobs stay queryable from the status endpoint this long
+    private Duration retention = Duration.ofDays(7);
+}
@@ -0,0 +1,17 @@
+package com.hashjosh.application.configs;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.type-catalog")
+@Getter
+@Setter
+public class TypeCatalogProperties {
+    // Changes made here are seen at once; this bounds how long another instance's changes take
+    private Duration ttl = Duration.ofMinutes(5);
+}
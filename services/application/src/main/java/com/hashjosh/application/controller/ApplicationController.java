@@ -1,23 +1,52 @@
 package com.hashjosh.application.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.dto.geo.NearbyApplication;
+import com.hashjosh.application.dto.geo.PolygonSearchRequest;
+import com.hashjosh.application.dto.imports.ImportSummary;
+import com.hashjosh.application.dto.listing.ApplicationListFilter;
+import com.hashjosh.application.dto.listing.ApplicationListItem;
+import com.hashjosh.application.dto.listing.CursorPage;
+import com.hashjosh.application.dto.search.ApplicationSearchRequest;
 import com.hashjosh.application.dto.submission.ApplicationSubmissionDto;
 import com.hashjosh.application.dto.submission.ApplicationSubmissionResponse;
+import com.hashjosh.application.dto.submission.SubmissionJobResponse;
+import com.hashjosh.application.dto.submission.SubmissionResult;
 import com.hashjosh.application.dto.update.ApplicationUpdateDto;
 import com.hashjosh.application.dto.update.ApplicationUpdateResponse;
 import com.hashjosh.application.dto.workflow.ApplicationWorkflowResponse;
+import com.hashjosh.application.exceptions.ApiException;
 import com.hashjosh.application.model.Application;
 import com.hashjosh.application.model.ApplicationWorkflow;
+import com.hashjosh.application.imports.ImportSession;
+import com.hashjosh.application.kafka.ApplicationSummaryRebuilder;
+import com.hashjosh.application.service.ApplicationGeoService;
+import com.hashjosh.application.service.ApplicationImportService;
+import com.hashjosh.application.service.ApplicationSearchService;
 import com.hashjosh.application.service.ApplicationService;
+import com.hashjosh.application.service.ApplicationSyncService;
+import com.hashjosh.application.service.SubmissionQueueService;
 import com.hashjosh.constant.application.ApplicationResponseDto;
+import com.hashjosh.constant.sync.SyncPage;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -30,10 +59,24 @@ import java.util.UUID;
 public class ApplicationController {
 
     private final ApplicationService applicationService;
+    private final ApplicationSearchService applicationSearchService;
+    private final ApplicationImportService applicationImportService;
+    private final ApplicationGeoService applicationGeoService;
+    private final ApplicationSummaryRebuilder applicationSummaryRebuilder;
+    private final SubmissionQueueService submissionQueueService;
+    private final ApplicationSyncService applicationSyncService;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Submits an application. With {@code Prefer: respond-async} the submission
+     * is only queued and answered with {@code 202 Accepted}; progress is pushed
+     * to the user and can be polled from the {@code Location} returned.
+     */
     @PostMapping(value = "/submit", consumes = {"multipart/form-data"})
-    public ResponseEntity<ApplicationSubmissionResponse> submitApplication(
+    public ResponseEntity<?> submitApplication(
             @Valid @RequestPart(value = "submission") ApplicationSubmissionDto submission,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestHeader(value = "Prefer", required = false) String prefer,
             MultipartHttpServletRequest request
     ) {
         Map<String, MultipartFile> fileMap = new HashMap<>();
@@ -50,12 +93,65 @@ public class ApplicationController {
             }
         }
 
-        Application application = applicationService.processSubmission(submission, fileMap);
-        return ResponseEntity.ok(ApplicationSubmissionResponse.builder()
-                .applicationId(application.getId())
-                .success(true)
-                .message("Application submitted successfully")
-                .build());
+        if (prefer != null && prefer.contains("respond-async")) {
+            SubmissionJobResponse job = submissionQueueService.enqueue(submission, fileMap, idempotencyKey);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/v1/applications/submissions/" + job.trackingId()))
+                    .header("Preference-Applied", "respond-async")
+                    .body(job);
+        }
+
+        SubmissionResult result = applicationService.processSubmission(submission, fileMap, idempotencyKey);
+        return ResponseEntity.ok()
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(ApplicationSubmissionResponse.builder()
+                        .applicationId(result.applicationId())
+                        .suspectedDuplicates(result.suspectedDuplicates())
+                        .success(true)
+                        .message("Application submitted successfully")
+                        .build());
+    }
+
+    @GetMapping("/submissions/{tracking-id}")
+    public ResponseEntity<SubmissionJobResponse> getSubmissionStatus(
+            @PathVariable("tracking-id") UUID trackingId
+    ) {
+        return ResponseEntity.ok(submissionQueueService.getStatus(trackingId));
+    }
+
+    /**
+     * Imports offline-collected applications from a CSV or NDJSON file plus an
+     * optional zip of the files it references. The response is an NDJSON report,
+     * one line per row followed by a summary line, streamed while the import runs.
+     */
+    @PostMapping(value = "/import", consumes = {"multipart/form-data"}, produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importApplications(
+            @RequestParam("applicationTypeId") UUID applicationTypeId,
+            @RequestParam(value = "format", required = false) String format,
+            @RequestPart("data") MultipartFile data,
+            @RequestPart(value = "files", required = false) MultipartFile files
+    ) {
+        ImportSession session = applicationImportService.open(applicationTypeId, data, files, format);
+
+        StreamingResponseBody body = out -> {
+            try (session) {
+                ImportSummary summary = applicationImportService.run(session, result -> writeLine(out, result));
+                writeLine(out, summary);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    private void writeLine(OutputStream out, Object line) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(line));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @GetMapping()
@@ -69,11 +165,90 @@ public class ApplicationController {
         }
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ApplicationListItem>> findApplicationPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
+            @RequestParam(value = "provider", required = false) String provider,
+            @RequestParam(value = "applicationTypeId", required = false) UUID applicationTypeId,
+            @RequestParam(value = "userId", required = false) UUID userId,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ){
+        ApplicationListFilter filter = new ApplicationListFilter(provider, applicationTypeId, userId, from, to);
+        return ResponseEntity.ok(applicationService.findPage(filter, cursor, limit));
+    }
+
+    @PostMapping("/search")
+    public ResponseEntity<CursorPage<ApplicationListItem>> searchApplications(
+            @Valid @RequestBody ApplicationSearchRequest request
+    ){
+        return ResponseEntity.ok(applicationSearchService.search(request));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<CursorPage<NearbyApplication>> findNearbyApplications(
+            @RequestParam("lat") double latitude,
+            @RequestParam("lon") double longitude,
+            @RequestParam("radiusKm") double radiusKm,
+            @RequestParam(value = "applicationTypeId", required = false) UUID applicationTypeId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "includeInsuranceStatus", defaultValue = "true") boolean includeInsuranceStatus
+    ){
+        return ResponseEntity.ok(applicationGeoService.withinRadius(
+                latitude, longitude, radiusKm, applicationTypeId, cursor, limit, includeInsuranceStatus));
+    }
+
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyApplication>> findNearestApplications(
+            @RequestParam("lat") double latitude,
+            @RequestParam("lon") double longitude,
+            @RequestParam(value = "k", defaultValue = "10") int k,
+            @RequestParam(value = "applicationTypeId", required = false) UUID applicationTypeId,
+            @RequestParam(value = "includeInsuranceStatus", defaultValue = "true") boolean includeInsuranceStatus
+    ){
+        return ResponseEntity.ok(applicationGeoService.nearest(
+                latitude, longitude, k, applicationTypeId, includeInsuranceStatus));
+    }
+
+    @PostMapping("/within")
+    public ResponseEntity<CursorPage<NearbyApplication>> findApplicationsWithinPolygon(
+            @Valid @RequestBody PolygonSearchRequest request
+    ){
+        return ResponseEntity.ok(applicationGeoService.withinPolygon(request));
+    }
+
+    /**
+     * Replays the insurance lifecycle topics into the application summary.
+     */
+    @PostMapping("/summaries/rebuild")
+    public ResponseEntity<String> rebuildSummaries(){
+        if (!applicationSummaryRebuilder.start()) {
+            return new ResponseEntity<>("Application summary rebuild is already running", HttpStatus.CONFLICT);
+        }
+        return new ResponseEntity<>("Application summary rebuild started", HttpStatus.ACCEPTED);
+    }
+
     @GetMapping("/user/all")
     public ResponseEntity<List<ApplicationResponseDto>> findApplicationsByCurrentUser(){
         return ResponseEntity.ok(applicationService.findByCurrentUser());
     }
 
+    /**
+     * Delta sync of the current user's applications: what changed or was
+     * deleted after the {@code since} watermark from the previous response.
+     */
+    @GetMapping("/user/sync")
+    public ResponseEntity<SyncPage<ApplicationResponseDto>> syncApplicationsOfCurrentUser(
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ){
+        return ResponseEntity.ok(applicationSyncService.sync(since, limit));
+    }
+
     @GetMapping("/{applicationId}/required-ai-analysis")
     public ResponseEntity<Boolean> isAiAnalysisRequired(
             @PathVariable("applicationId") UUID applicationId
@@ -166,6 +341,46 @@ public class ApplicationController {
                 .build());
     }
 
+    /**
+     * RFC 7396 merge patch of the dynamic fields. Send the version from the last
+     * read as {@code If-Match} to have concurrent edits rejected with 409.
+     */
+    @PatchMapping(value = "/{application-id}/dynamic-fields", consumes = "application/merge-patch+json")
+    public ResponseEntity<ApplicationUpdateResponse> mergePatchDynamicFields(
+            @PathVariable("application-id") UUID applicationId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode mergePatch
+    ) {
+        Application updatedApplication = applicationService.mergePatchDynamicFields(
+                applicationId, mergePatch, parseVersion(ifMatch));
+
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(updatedApplication.getVersion()))
+                .body(ApplicationUpdateResponse.builder()
+                        .applicationId(updatedApplication.getId())
+                        .success(true)
+                        .message("Dynamic fields updated successfully")
+                        .version(updatedApplication.getVersion())
+                        .build());
+    }
+
+    // Accepts 3, "3" and W/"3"
+    private static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw ApiException.badRequest("If-Match must be an application version");
+        }
+    }
+
     @DeleteMapping("/{application-id}")
     public ResponseEntity<Void> deleteApplication(
             @PathVariable("application-id") UUID applicationId
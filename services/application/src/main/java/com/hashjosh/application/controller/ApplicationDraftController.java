@@ -0,0 +1,102 @@
+package com.hashjosh.application.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hashjosh.application.dto.draft.DraftCoordinatesRequest;
+import com.hashjosh.application.dto.draft.DraftCreateRequest;
+import com.hashjosh.application.dto.draft.DraftResponse;
+import com.hashjosh.application.dto.submission.ApplicationSubmissionResponse;
+import com.hashjosh.application.dto.submission.SubmissionResult;
+import com.hashjosh.application.service.ApplicationDraftService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/applications/drafts")
+@RequiredArgsConstructor
+public class ApplicationDraftController {
+
+    private final ApplicationDraftService applicationDraftService;
+
+    @PostMapping
+    public ResponseEntity<DraftResponse> createDraft(
+            @Valid @RequestBody DraftCreateRequest request
+    ) {
+        return new ResponseEntity<>(applicationDraftService.create(request), HttpStatus.CREATED);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<DraftResponse>> findDraftsOfCurrentUser() {
+        return ResponseEntity.ok(applicationDraftService.findByCurrentUser());
+    }
+
+    @GetMapping("/{draft-id}")
+    public ResponseEntity<DraftResponse> getDraft(
+            @PathVariable("draft-id") UUID draftId
+    ) {
+        return ResponseEntity.ok(applicationDraftService.get(draftId));
+    }
+
+    /**
+     * Autosaves one section: only the fields that changed, {@code null} to clear one.
+     */
+    @PutMapping("/{draft-id}/sections/{section-id}")
+    public ResponseEntity<Void> saveSection(
+            @PathVariable("draft-id") UUID draftId,
+            @PathVariable("section-id") UUID sectionId,
+            @RequestBody JsonNode patch
+    ) {
+        applicationDraftService.saveSection(draftId, sectionId, patch);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/{draft-id}/coordinates")
+    public ResponseEntity<Void> updateCoordinates(
+            @PathVariable("draft-id") UUID draftId,
+            @RequestBody DraftCoordinatesRequest request
+    ) {
+        applicationDraftService.updateCoordinates(draftId, request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping(value = "/{draft-id}/submit", consumes = {"multipart/form-data"})
+    public ResponseEntity<ApplicationSubmissionResponse> submitDraft(
+            @PathVariable("draft-id") UUID draftId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            MultipartHttpServletRequest request
+    ) {
+        Map<String, MultipartFile> fileMap = new HashMap<>();
+        request.getFileMap().forEach((name, file) -> {
+            if (!file.isEmpty()) {
+                fileMap.put(name, file);
+            }
+        });
+
+        SubmissionResult result = applicationDraftService.submit(draftId, fileMap, idempotencyKey);
+        return ResponseEntity.ok()
+                .header("Idempotent-Replayed", String.valueOf(result.replayed()))
+                .body(ApplicationSubmissionResponse.builder()
+                        .applicationId(result.applicationId())
+                        .suspectedDuplicates(result.suspectedDuplicates())
+                        .success(true)
+                        .message("Application submitted successfully")
+                        .build());
+    }
+
+    @DeleteMapping("/{draft-id}")
+    public ResponseEntity<Void> deleteDraft(
+            @PathVariable("draft-id") UUID draftId
+    ) {
+        applicationDraftService.delete(draftId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,9 +1,14 @@
 package com.hashjosh.application.controller;
 
+import com.hashjosh.application.dto.listing.ApplicationListItem;
+import com.hashjosh.application.dto.listing.CursorPage;
 import com.hashjosh.application.dto.type.ApplicationTypeRequestDto;
+import com.hashjosh.application.dto.type.CatalogView;
+import com.hashjosh.constant.application.ApplicationResponseDto;
 import com.hashjosh.constant.application.ApplicationTypeResponseDto;
 import com.hashjosh.application.service.ApplicationTypeService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -27,30 +32,50 @@ public class ApplicationTypeController {
         return new ResponseEntity<>(responseDto, HttpStatus.CREATED);
     }
 
+    /**
+     * Type definitions, served from the catalog with an ETag so an unchanged
+     * catalog is answered with 304. {@code counts=true} adds live application
+     * counts per status; those responses are not cacheable.
+     */
     @GetMapping()
     public ResponseEntity<List<ApplicationTypeResponseDto>> getAll(
             @RequestParam(name = "provider", required = false) String provider,
-            @RequestParam(name = "sections", required = false) Boolean sections,
-            @RequestParam(name = "application", required = false) Boolean application
+            @RequestParam(name = "sections", defaultValue = "false") boolean sections,
+            @RequestParam(name = "counts", defaultValue = "false") boolean counts
     ){
-
-        if(provider != null && !provider.isBlank()){
-            List<ApplicationTypeResponseDto> allApplicationType = applicationTypeService.findByProvider(provider,application,sections);
-            return new ResponseEntity<>(allApplicationType,HttpStatus.OK);
-        }else{
-            List<ApplicationTypeResponseDto> allApplicationType = applicationTypeService.findAll(application,sections);
-            return new ResponseEntity<>(allApplicationType,HttpStatus.OK);
-        }
-
+        String providerName = provider != null && !provider.isBlank() ? provider : null;
+        return cacheable(applicationTypeService.findAll(providerName, counts, sections));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ApplicationTypeResponseDto> getById(
             @PathVariable UUID id,
-            @RequestParam(name = "sections", required = false) Boolean sections,
-            @RequestParam(name = "application", required = false) Boolean application
+            @RequestParam(name = "sections", defaultValue = "false") boolean sections,
+            @RequestParam(name = "counts", defaultValue = "false") boolean counts
+    ){
+        return cacheable(applicationTypeService.findById(id, counts, sections));
+    }
+
+    @GetMapping("/{id}/applications")
+    public ResponseEntity<CursorPage<ApplicationListItem>> getApplications(
+            @PathVariable UUID id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit
     ){
-       return new ResponseEntity<>(applicationTypeService.findById(id,application,sections),HttpStatus.OK);
+        return ResponseEntity.ok(applicationTypeService.findApplications(id, cursor, limit));
+    }
+
+    /**
+     * The same pages as {@code /applications} with dynamic fields and document
+     * urls, for views that render the submitted form.
+     */
+    @GetMapping("/{id}/applications/details")
+    public ResponseEntity<CursorPage<ApplicationResponseDto>> getApplicationDetails(
+            @PathVariable UUID id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "50") int limit
+    ){
+        return ResponseEntity.ok(applicationTypeService.findApplicationDetails(id, cursor, limit));
     }
 
     @GetMapping("/{id}/requires-ai-analysis")
@@ -65,5 +90,14 @@ public class ApplicationTypeController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    // Spring answers a matching If-None-Match with 304 once the ETag is set
+    private static <T> ResponseEntity<T> cacheable(CatalogView<T> view) {
+        if (view.etag() == null) {
+            return ResponseEntity.ok(view.body());
+        }
+        return ResponseEntity.ok()
+                .eTag(view.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(view.body());
+    }
 }
-
@@ -0,0 +1,48 @@
+package com.hashjosh.application.controller;
+
+import com.hashjosh.application.dto.duplicate.DuplicateFlagResponse;
+import com.hashjosh.application.dto.duplicate.DuplicateReviewRequest;
+import com.hashjosh.application.model.DuplicateFlag;
+import com.hashjosh.application.service.DuplicateDetectionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Review queue for suspected duplicate applications.
+ */
+@RestController
+@RequestMapping("/api/v1/applications/duplicates")
+@RequiredArgsConstructor
+public class DuplicateReviewController {
+
+    private final DuplicateDetectionService duplicateDetectionService;
+
+    @GetMapping
+    public ResponseEntity<List<DuplicateFlagResponse>> findFlags(
+            @RequestParam(value = "status", defaultValue = "OPEN") DuplicateFlag.Status status,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "50") int size
+    ) {
+        return ResponseEntity.ok(duplicateDetectionService.findQueue(status, page, size));
+    }
+
+    @GetMapping("/application/{application-id}")
+    public ResponseEntity<List<DuplicateFlagResponse>> findFlagsOfApplication(
+            @PathVariable("application-id") UUID applicationId
+    ) {
+        return ResponseEntity.ok(duplicateDetectionService.findByApplication(applicationId));
+    }
+
+    @PutMapping("/{flag-id}")
+    public ResponseEntity<DuplicateFlagResponse> reviewFlag(
+            @PathVariable("flag-id") UUID flagId,
+            @Valid @RequestBody DuplicateReviewRequest request
+    ) {
+        return ResponseEntity.ok(duplicateDetectionService.review(flagId, request));
+    }
+}
@@ -0,0 +1,4 @@
+package com.hashjosh.application.dto.draft;
+
+public record DraftCoordinatesRequest(String coordinates) {
+}
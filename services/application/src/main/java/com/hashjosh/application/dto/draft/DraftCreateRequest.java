@@ -0,0 +1,11 @@
+package com.hashjosh.application.dto.draft;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record DraftCreateRequest(
+        @NotNull UUID applicationTypeId,
+        String coordinates
+) {
+}
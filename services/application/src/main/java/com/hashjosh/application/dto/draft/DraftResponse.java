@@ -0,0 +1,45 @@
+package com.hashjosh.application.dto.draft;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hashjosh.application.model.ApplicationDraft;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// fieldValues is left out of listings
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DraftResponse(
+        UUID draftId,
+        UUID applicationTypeId,
+        String coordinates,
+        JsonNode fieldValues,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime expiresAt
+) {
+
+    public static DraftResponse from(ApplicationDraft draft) {
+        return new DraftResponse(
+                draft.getId(),
+                draft.getApplicationTypeId(),
+                draft.getCoordinates(),
+                draft.getFieldValues(),
+                draft.getCreatedAt(),
+                draft.getUpdatedAt(),
+                draft.getExpiresAt()
+        );
+    }
+
+    public static DraftResponse summary(ApplicationDraft draft) {
+        return new DraftResponse(
+                draft.getId(),
+                draft.getApplicationTypeId(),
+                draft.getCoordinates(),
+                null,
+                draft.getCreatedAt(),
+                draft.getUpdatedAt(),
+                draft.getExpiresAt()
+        );
+    }
+}
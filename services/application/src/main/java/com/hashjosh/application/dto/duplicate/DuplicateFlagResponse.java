@@ -0,0 +1,36 @@
+package com.hashjosh.application.dto.duplicate;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hashjosh.application.model.DuplicateFlag;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DuplicateFlagResponse(
+        UUID flagId,
+        UUID applicationId,
+        UUID matchedApplicationId,
+        DuplicateFlag.Reason reason,
+        Double distanceMeters,
+        DuplicateFlag.Status status,
+        LocalDateTime createdAt,
+        UUID reviewedBy,
+        LocalDateTime reviewedAt,
+        String reviewNote
+) {
+    public static DuplicateFlagResponse from(DuplicateFlag flag) {
+        return new DuplicateFlagResponse(
+                flag.getId(),
+                flag.getApplicationId(),
+                flag.getMatchedApplicationId(),
+                flag.getReason(),
+                flag.getDistanceMeters(),
+                flag.getStatus(),
+                flag.getCreatedAt(),
+                flag.getReviewedBy(),
+                flag.getReviewedAt(),
+                flag.getReviewNote()
+        );
+    }
+}
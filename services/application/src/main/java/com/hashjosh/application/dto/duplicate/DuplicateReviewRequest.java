@@ -0,0 +1,11 @@
+package com.hashjosh.application.dto.duplicate;
+
+import com.hashjosh.application.model.DuplicateFlag;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record DuplicateReviewRequest(
+        @NotNull DuplicateFlag.Status status,
+        @Size(max = 1000) String note
+) {
+}
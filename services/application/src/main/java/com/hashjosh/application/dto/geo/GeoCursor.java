@@ -0,0 +1,34 @@
+package com.hashjosh.application.dto.geo;
+
+import com.hashjosh.application.exceptions.ApiException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the {@code (distance, id)} ordering of a geo search.
+ */
+public record GeoCursor(double distanceMeters, UUID id) {
+
+    public String encode() {
+        String raw = distanceMeters + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static GeoCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new GeoCursor(
+                    Double.parseDouble(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw ApiException.badRequest("Invalid cursor");
+        }
+    }
+}
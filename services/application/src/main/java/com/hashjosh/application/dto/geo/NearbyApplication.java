@@ -0,0 +1,20 @@
+package com.hashjosh.application.dto.geo;
+
+import com.hashjosh.application.dto.listing.ApplicationListItem;
+
+/**
+ * Geo search hit: the application, its parsed position, the distance from the
+ * search origin and the status of its insurance.
+ */
+public record NearbyApplication(
+        ApplicationListItem application,
+        double latitude,
+        double longitude,
+        double distanceMeters,
+        String insuranceStatus
+) {
+
+    public NearbyApplication withInsuranceStatus(String status) {
+        return new NearbyApplication(application, latitude, longitude, distanceMeters, status);
+    }
+}
@@ -0,0 +1,28 @@
+package com.hashjosh.application.dto.geo;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applications inside {@code polygon}, ordered by distance from {@code origin}
+ * or, without one, from the polygon's centroid.
+ */
+public record PolygonSearchRequest(
+        @NotNull @Size(min = 3, max = 500) List<@Valid @NotNull Position> polygon,
+        @Valid Position origin,
+        UUID applicationTypeId,
+        String cursor,
+        Integer limit,
+        Boolean includeInsuranceStatus
+) {
+
+    public record Position(
+            @NotNull Double latitude,
+            @NotNull Double longitude
+    ) {
+    }
+}
@@ -0,0 +1,33 @@
+package com.hashjosh.application.dto.imports;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one row of a bulk import, written as one line of the import report.
+ */
+public record ImportRowResult(
+        String type,
+        int row,
+        Status status,
+        UUID applicationId,
+        List<String> errors
+) {
+
+    public enum Status {
+        IMPORTED,
+        FAILED
+    }
+
+    public static ImportRowResult imported(int row, UUID applicationId) {
+        return new ImportRowResult("row", row, Status.IMPORTED, applicationId, List.of());
+    }
+
+    public static ImportRowResult failed(int row, List<String> errors) {
+        return new ImportRowResult("row", row, Status.FAILED, null, errors);
+    }
+
+    public static ImportRowResult failed(int row, String error) {
+        return failed(row, List.of(error));
+    }
+}
@@ -0,0 +1,18 @@
+package com.hashjosh.application.dto.imports;
+
+/**
+ * Last line of an import report. {@code error} is set when the import stopped
+ * early because the data file itself could not be read.
+ */
+public record ImportSummary(
+        String type,
+        int total,
+        int imported,
+        int failed,
+        String error
+) {
+
+    public ImportSummary(int total, int imported, int failed, String error) {
+        this("summary", total, imported, failed, error);
+    }
+}
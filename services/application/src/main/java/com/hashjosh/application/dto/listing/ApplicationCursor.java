@@ -0,0 +1,36 @@
+package com.hashjosh.application.dto.listing;
+
+import com.hashjosh.application.exceptions.ApiException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the {@code (submitted_at, id)} ordering of applications, encoded
+ * as an opaque URL-safe token for clients.
+ */
+public record ApplicationCursor(LocalDateTime submittedAt, UUID id) {
+
+    public String encode() {
+        String raw = submittedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ApplicationCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new ApplicationCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw ApiException.badRequest("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.hashjosh.application.dto.listing;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record ApplicationListFilter(
+        String provider,
+        UUID applicationTypeId,
+        UUID userId,
+        LocalDateTime submittedFrom,
+        LocalDateTime submittedTo
+) {
+}
@@ -0,0 +1,23 @@
+package com.hashjosh.application.dto.listing;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Slim row used by the paginated application listing. Built directly by a JPQL
+ * constructor expression so the type's sections, fields and the documents are
+ * never loaded.
+ */
+public record ApplicationListItem(
+        UUID id,
+        UUID userId,
+        String fullName,
+        String coordinates,
+        UUID applicationTypeId,
+        String applicationTypeName,
+        String provider,
+        LocalDateTime submittedAt,
+        LocalDateTime updatedAt,
+        Long version
+) {
+}
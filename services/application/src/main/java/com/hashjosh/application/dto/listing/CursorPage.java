@@ -0,0 +1,10 @@
+package com.hashjosh.application.dto.listing;
+
+import java.util.List;
+
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,22 @@
+package com.hashjosh.application.dto.search;
+
+import jakarta.validation.Valid;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Body of {@code POST /api/v1/applications/search}. All filters are combined
+ * with AND; results are ordered by {@code (submittedAt, id)} and paged with
+ * the same opaque cursor as the application listing.
+ */
+public record ApplicationSearchRequest(
+        UUID applicationTypeId,
+        String provider,
+        @Valid List<DynamicFieldFilter> filters,
+        Sort.Direction direction,
+        String cursor,
+        Integer limit
+) {
+}
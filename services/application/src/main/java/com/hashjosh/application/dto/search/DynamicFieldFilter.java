@@ -0,0 +1,19 @@
+package com.hashjosh.application.dto.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * One predicate on a dynamic field key. {@code value} is used by the single
+ * value operators, {@code values} by {@code in} and {@code between}.
+ */
+public record DynamicFieldFilter(
+        @NotBlank String field,
+        @NotNull FilterOperator op,
+        JsonNode value,
+        List<JsonNode> values
+) {
+}
@@ -0,0 +1,17 @@
+package com.hashjosh.application.dto.search;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public enum FilterOperator {
+    @JsonProperty("eq") EQ,
+    @JsonProperty("in") IN,
+    @JsonProperty("gt") GT,
+    @JsonProperty("gte") GTE,
+    @JsonProperty("lt") LT,
+    @JsonProperty("lte") LTE,
+    @JsonProperty("between") BETWEEN;
+
+    public boolean isRange() {
+        return this != EQ && this != IN;
+    }
+}
@@ -1,10 +1,13 @@
 package com.hashjosh.application.dto.submission;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.hashjosh.application.dto.duplicate.DuplicateFlagResponse;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -15,4 +18,7 @@ public class ApplicationSubmissionResponse {
     private boolean success;
     private String message;
     private UUID applicationId;
+    // Stored anyway; these wait for review
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<DuplicateFlagResponse> suspectedDuplicates;
 }
\ No newline at end of file
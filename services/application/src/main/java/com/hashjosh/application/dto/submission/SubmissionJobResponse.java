@@ -0,0 +1,32 @@
+package com.hashjosh.application.dto.submission;
+
+import com.hashjosh.application.model.SubmissionJob;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * State of an asynchronous submission as seen by the client that queued it.
+ */
+public record SubmissionJobResponse(
+        UUID trackingId,
+        SubmissionJob.Status status,
+        int attempts,
+        UUID applicationId,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    public static SubmissionJobResponse from(SubmissionJob job) {
+        return new SubmissionJobResponse(
+                job.getId(),
+                job.getStatus(),
+                job.getAttempts(),
+                job.getApplicationId(),
+                job.getError(),
+                job.getCreatedAt(),
+                job.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.hashjosh.application.dto.submission;
+
+import com.hashjosh.application.dto.duplicate.DuplicateFlagResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Result of a submission; {@code replayed} is set when an earlier request
+ * with the same Idempotency-Key already created the application.
+ * {@code suspectedDuplicates} lists the flags raised when it was stored.
+ */
+public record SubmissionResult(UUID applicationId, boolean replayed, List<DuplicateFlagResponse> suspectedDuplicates) {
+}
@@ -0,0 +1,9 @@
+package com.hashjosh.application.dto.type;
+
+import com.hashjosh.constant.pcic.enums.InsuranceStatus;
+
+import java.util.UUID;
+
+// status is null for applications that have no summary yet
+public record ApplicationStatusCount(UUID applicationTypeId, InsuranceStatus status, long count) {
+}
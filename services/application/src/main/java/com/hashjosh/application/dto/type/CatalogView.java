@@ -0,0 +1,8 @@
+package com.hashjosh.application.dto.type;
+
+/**
+ * A catalog response with its ETag; {@code etag} is null when the body holds
+ * live data, such as application counts, that the catalog does not version.
+ */
+public record CatalogView<T>(T body, String etag) {
+}
@@ -15,6 +15,8 @@ import java.util.Map;
 public class ApplicationUpdateDto {
     private String fullName;
     private String coordinates;
+    // Version the client last read; a mismatch is rejected with 409
+    private Long version;
     private Map<String, Object> dynamicFields = new HashMap<>();
 
     @JsonAnyGetter
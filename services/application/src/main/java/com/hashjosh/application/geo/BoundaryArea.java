@@ -0,0 +1,21 @@
+package com.hashjosh.application.geo;
+
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+
+/**
+ * One administrative boundary loaded from the boundaries file. The geometry
+ * is prepared once so repeated containment tests are cheap.
+ */
+public record BoundaryArea(
+        Level level,
+        String code,
+        String name,
+        String parentCode,
+        PreparedGeometry geometry
+) {
+
+    public enum Level {
+        MUNICIPALITY,
+        BARANGAY
+    }
+}
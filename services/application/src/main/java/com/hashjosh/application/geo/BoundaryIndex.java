@@ -0,0 +1,195 @@
+package com.hashjosh.application.geo;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.configs.GeoProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.locationtech.jts.geom.*;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.locationtech.jts.index.strtree.STRtree;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Municipal and barangay boundaries held in STR-trees for point-in-polygon
+ * lookups. Loaded once at startup from {@code app.geo.boundaries-file}, a
+ * GeoJSON FeatureCollection of Polygon or MultiPolygon features whose
+ * properties carry {@code level} ({@code municipality} or {@code barangay}),
+ * {@code code}, {@code name} and, for barangays, {@code parentCode}.
+ * <p>
+ * A lookup is an envelope query on the tree followed by a prepared-geometry
+ * containment test on the few candidates, which keeps it in the microsecond range.
+ */
+@Component
+@Slf4j
+public class BoundaryIndex {
+
+    private final GeoProperties properties;
+    private final ObjectMapper objectMapper;
+    private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    private final Timer lookupTimer;
+
+    private STRtree municipalities;
+    private STRtree barangays;
+    private int size;
+
+    public BoundaryIndex(GeoProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.lookupTimer = Timer.builder("geo.boundary.lookup")
+                .description("Point-in-polygon lookups against the boundary index")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        String file = properties.getBoundariesFile();
+        if (file == null || file.isBlank()) {
+            log.warn("app.geo.boundaries-file is not set, coordinates are only range-checked");
+            return;
+        }
+
+        STRtree municipalityTree = new STRtree();
+        STRtree barangayTree = new STRtree();
+        int loaded = 0;
+
+        try (InputStream in = Files.newInputStream(Path.of(file))) {
+            JsonNode features = objectMapper.readTree(in).path("features");
+            for (JsonNode feature : features) {
+                Optional<BoundaryArea> area = toArea(feature);
+                if (area.isEmpty()) {
+                    continue;
+                }
+                BoundaryArea boundary = area.get();
+                STRtree tree = boundary.level() == BoundaryArea.Level.MUNICIPALITY ? municipalityTree : barangayTree;
+                tree.insert(boundary.geometry().getGeometry().getEnvelopeInternal(), boundary);
+                loaded++;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to load boundaries from " + file, e);
+        }
+
+        // Building eagerly makes the trees immutable and safe for concurrent queries
+        municipalityTree.build();
+        barangayTree.build();
+        this.municipalities = municipalityTree;
+        this.barangays = barangayTree;
+        this.size = loaded;
+        log.info("Loaded {} boundaries ({} municipalities, {} barangays) from {}",
+                loaded, municipalityTree.size(), barangayTree.size(), file);
+    }
+
+    public boolean isLoaded() {
+        return municipalities != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the municipality and barangay containing {@code point}. Empty when
+     * no boundaries are loaded or the point is outside all of them.
+     */
+    public Optional<GeoLocation> locate(GeoPoint point) {
+        if (!isLoaded()) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        try {
+            Point geometry = geometryFactory.createPoint(new Coordinate(point.longitude(), point.latitude()));
+            BoundaryArea municipality = find(municipalities, geometry);
+            BoundaryArea barangay = find(barangays, geometry);
+            if (municipality == null && barangay == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new GeoLocation(municipality, barangay));
+        } finally {
+            lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static BoundaryArea find(STRtree tree, Point point) {
+        @SuppressWarnings("unchecked")
+        List<BoundaryArea> candidates = tree.query(point.getEnvelopeInternal());
+        for (BoundaryArea candidate : candidates) {
+            if (candidate.geometry().covers(point)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private Optional<BoundaryArea> toArea(JsonNode feature) {
+        JsonNode props = feature.path("properties");
+        BoundaryArea.Level level = switch (props.path("level").asText("").toLowerCase(Locale.ROOT)) {
+            case "municipality", "city" -> BoundaryArea.Level.MUNICIPALITY;
+            case "barangay" -> BoundaryArea.Level.BARANGAY;
+            default -> null;
+        };
+        if (level == null) {
+            return Optional.empty();
+        }
+
+        Geometry geometry = toGeometry(feature.path("geometry"));
+        if (geometry == null || geometry.isEmpty()) {
+            log.warn("Skipping boundary {} without a polygon geometry", props.path("code").asText());
+            return Optional.empty();
+        }
+
+        return Optional.of(new BoundaryArea(
+                level,
+                props.path("code").asText(null),
+                props.path("name").asText(null),
+                props.path("parentCode").asText(null),
+                PreparedGeometryFactory.prepare(geometry)
+        ));
+    }
+
+    private Geometry toGeometry(JsonNode geometry) {
+        return switch (geometry.path("type").asText()) {
+            case "Polygon" -> toPolygon(geometry.path("coordinates"));
+            case "MultiPolygon" -> {
+                List<Polygon> polygons = new ArrayList<>();
+                geometry.path("coordinates").forEach(polygon -> polygons.add(toPolygon(polygon)));
+                yield geometryFactory.createMultiPolygon(polygons.toArray(Polygon[]::new));
+            }
+            default -> null;
+        };
+    }
+
+    // GeoJSON rings: the first is the shell, the rest are holes
+    private Polygon toPolygon(JsonNode rings) {
+        if (rings.isEmpty()) {
+            return geometryFactory.createPolygon();
+        }
+        LinearRing shell = toRing(rings.get(0));
+        LinearRing[] holes = new LinearRing[Math.max(0, rings.size() - 1)];
+        for (int i = 1; i < rings.size(); i++) {
+            holes[i - 1] = toRing(rings.get(i));
+        }
+        return geometryFactory.createPolygon(shell, holes);
+    }
+
+    private LinearRing toRing(JsonNode positions) {
+        Coordinate[] coordinates = new Coordinate[positions.size()];
+        for (int i = 0; i < positions.size(); i++) {
+            JsonNode position = positions.get(i);
+            coordinates[i] = new Coordinate(position.get(0).asDouble(), position.get(1).asDouble());
+        }
+        return geometryFactory.createLinearRing(coordinates);
+    }
+}
@@ -0,0 +1,91 @@
+package com.hashjosh.application.geo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fills latitude, longitude and geohash for applications stored before those
+ * columns existed. Runs once after startup, in id order and small batches, and
+ * only touches rows whose coordinates parse.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CoordinateBackfill {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread.ofVirtual().name("coordinate-backfill").start(() -> {
+            useByteOrderCollation();
+            run();
+        });
+    }
+
+    /**
+     * The geohash column predates its {@code collate "C"} and ddl-auto does not
+     * alter existing columns, so older databases are switched here. Prefix
+     * range scans rely on byte order; the index is rebuilt by the change.
+     */
+    void useByteOrderCollation() {
+        try {
+            String collation = jdbcTemplate.query("""
+                    SELECT collation_name FROM information_schema.columns
+                    WHERE table_schema = current_schema() AND table_name = 'applications' AND column_name = 'geohash'
+                    """, rs -> rs.next() ? rs.getString(1) : "C");
+            if (!"C".equals(collation)) {
+                jdbcTemplate.execute("ALTER TABLE applications ALTER COLUMN geohash TYPE varchar("
+                        + Geohash.STORED_PRECISION + ") COLLATE \"C\"");
+                log.info("Switched applications.geohash from collation {} to C", collation);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not switch applications.geohash to the C collation: {}", e.getMessage());
+        }
+    }
+
+    void run() {
+        UUID after = new UUID(0, 0);
+        int updated = 0;
+        try {
+            while (true) {
+                List<Object[]> rows = new ArrayList<>();
+                UUID last = null;
+                for (var row : jdbcTemplate.queryForList("""
+                        SELECT id, coordinates FROM applications
+                        WHERE geohash IS NULL AND coordinates <> '' AND id > ?
+                        ORDER BY id
+                        LIMIT ?
+                        """, after, BATCH_SIZE)) {
+                    last = (UUID) row.get("id");
+                    UUID id = last;
+                    GeoPoint.tryParse((String) row.get("coordinates")).ifPresent(point -> rows.add(new Object[]{
+                            point.latitude(), point.longitude(), point.geohash(Geohash.STORED_PRECISION), id
+                    }));
+                }
+                if (last == null) {
+                    break;
+                }
+                jdbcTemplate.batchUpdate(
+                        "UPDATE applications SET latitude = ?, longitude = ?, geohash = ? WHERE id = ?", rows);
+                updated += rows.size();
+                after = last;
+            }
+            if (updated > 0) {
+                log.info("Backfilled coordinates of {} applications", updated);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Coordinate backfill stopped after {} applications: {}", updated, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.hashjosh.application.geo;
+
+import com.hashjosh.application.configs.GeoProperties;
+import com.hashjosh.application.exceptions.ApiException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Checks submitted coordinates: well-formed, in range and, when boundaries
+ * are loaded and {@code app.geo.require-coverage} is set, inside a known
+ * municipality. Blank coordinates are accepted because the mobile app sends
+ * them when location permission is denied.
+ */
+@Component
+@RequiredArgsConstructor
+public class CoordinateValidator {
+
+    private final BoundaryIndex boundaryIndex;
+    private final GeoProperties properties;
+
+    public Optional<GeoPoint> validate(String coordinates) {
+        if (coordinates == null || coordinates.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.of(check(coordinates));
+    }
+
+    /**
+     * Returns the error for {@code coordinates}, if any, without throwing.
+     */
+    public Optional<String> findError(String coordinates) {
+        try {
+            validate(coordinates);
+            return Optional.empty();
+        } catch (ApiException e) {
+            return Optional.of(e.getMessage());
+        }
+    }
+
+    private GeoPoint check(String coordinates) {
+        GeoPoint point;
+        try {
+            point = GeoPoint.parse(coordinates);
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest("Invalid coordinates '" + coordinates + "': " + e.getMessage());
+        }
+
+        if (properties.isRequireCoverage() && boundaryIndex.isLoaded() && boundaryIndex.locate(point).isEmpty()) {
+            throw ApiException.badRequest("Coordinates " + coordinates + " are outside the covered municipalities");
+        }
+        return point;
+    }
+}
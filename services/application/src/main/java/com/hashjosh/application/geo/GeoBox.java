@@ -0,0 +1,47 @@
+package com.hashjosh.application.geo;
+
+/**
+ * Latitude/longitude bounding box. Used as a cheap pre-filter before exact
+ * distance or polygon checks.
+ */
+public record GeoBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+    private static final double METERS_PER_DEGREE = 111_320;
+
+    /**
+     * Smallest box containing the circle of {@code radiusMeters} around {@code center}.
+     * A circle reaching a pole spans every longitude. The box is not wrapped at
+     * the antimeridian, so a circle crossing it is cut off there.
+     */
+    public static GeoBox around(GeoPoint center, double radiusMeters) {
+        double latDelta = radiusMeters / METERS_PER_DEGREE;
+        if (center.latitude() + latDelta >= 90 || center.latitude() - latDelta <= -90) {
+            return new GeoBox(Math.max(-90, center.latitude() - latDelta), -180,
+                    Math.min(90, center.latitude() + latDelta), 180);
+        }
+        double cosLat = Math.cos(Math.toRadians(center.latitude()));
+        double lonDelta = cosLat < 1e-6 ? 180 : Math.min(180, radiusMeters / (METERS_PER_DEGREE * cosLat));
+        return new GeoBox(
+                Math.max(-90, center.latitude() - latDelta),
+                Math.max(-180, center.longitude() - lonDelta),
+                Math.min(90, center.latitude() + latDelta),
+                Math.min(180, center.longitude() + lonDelta)
+        );
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        return latitude >= minLatitude && latitude <= maxLatitude
+                && longitude >= minLongitude && longitude <= maxLongitude;
+    }
+
+    public GeoPoint center() {
+        return new GeoPoint((minLatitude + maxLatitude) / 2, (minLongitude + maxLongitude) / 2);
+    }
+
+    /**
+     * Distance from the center to the farthest corner, in meters.
+     */
+    public double radiusMeters() {
+        return center().distanceMeters(new GeoPoint(maxLatitude, maxLongitude));
+    }
+}
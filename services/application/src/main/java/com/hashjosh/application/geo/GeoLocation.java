@@ -0,0 +1,11 @@
+package com.hashjosh.application.geo;
+
+/**
+ * Administrative areas containing a point. {@code barangay} is null when the
+ * point is inside a municipality for which no barangay boundary is loaded.
+ */
+public record GeoLocation(
+        BoundaryArea municipality,
+        BoundaryArea barangay
+) {
+}
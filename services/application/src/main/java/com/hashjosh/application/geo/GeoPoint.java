@@ -0,0 +1,70 @@
+package com.hashjosh.application.geo;
+
+import java.util.Optional;
+
+/**
+ * WGS84 point. Submissions carry coordinates as {@code "lat,lon"} strings,
+ * the format produced by the mobile app.
+ */
+public record GeoPoint(double latitude, double longitude) {
+
+    static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    public GeoPoint {
+        if (!Double.isFinite(latitude) || latitude < -90 || latitude > 90) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        }
+        if (!Double.isFinite(longitude) || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
+    }
+
+    /**
+     * Parses {@code "lat,lon"}. Throws {@link IllegalArgumentException} with a
+     * user-facing message if the value is malformed or out of range.
+     */
+    public static GeoPoint parse(String coordinates) {
+        if (coordinates == null) {
+            throw new IllegalArgumentException("Coordinates are required");
+        }
+        int comma = coordinates.indexOf(',');
+        if (comma < 0 || coordinates.indexOf(',', comma + 1) >= 0) {
+            throw new IllegalArgumentException("Coordinates must be formatted as 'latitude,longitude'");
+        }
+        try {
+            return new GeoPoint(
+                    Double.parseDouble(coordinates.substring(0, comma).trim()),
+                    Double.parseDouble(coordinates.substring(comma + 1).trim())
+            );
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Coordinates must be formatted as 'latitude,longitude'");
+        }
+    }
+
+    public static Optional<GeoPoint> tryParse(String coordinates) {
+        if (coordinates == null || coordinates.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(parse(coordinates));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Great-circle distance using the haversine formula.
+     */
+    public double distanceMeters(GeoPoint other) {
+        double dLat = Math.toRadians(other.latitude - latitude);
+        double dLon = Math.toRadians(other.longitude - longitude);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude))
+                * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    public String geohash(int precision) {
+        return Geohash.encode(latitude, longitude, precision);
+    }
+}
@@ -0,0 +1,110 @@
+package com.hashjosh.application.geo;
+
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Base32 geohash encoding. Points that share a prefix lie in the same cell,
+ * so a prefix range scan on an indexed geohash column finds nearby rows.
+ */
+public final class Geohash {
+
+    public static final int MAX_PRECISION = 12;
+    // Precision of the geohash stored with applications, a cell of roughly 5m x 5m
+    public static final int STORED_PRECISION = 9;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLon = mid;
+                } else {
+                    ch <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Geohash prefixes whose cells together cover {@code box}, using the finest
+     * precision that needs at most {@code maxCells} cells. Each prefix maps to
+     * one range scan on an indexed geohash column.
+     */
+    public static List<String> cover(GeoBox box, int maxCells) {
+        for (int precision = MAX_PRECISION; precision > 1; precision--) {
+            double cellHeight = cellHeight(precision);
+            double cellWidth = cellWidth(precision);
+            double rows = Math.floor((box.maxLatitude() - box.minLatitude()) / cellHeight) + 2;
+            double columns = Math.floor((box.maxLongitude() - box.minLongitude()) / cellWidth) + 2;
+            if (rows * columns <= maxCells) {
+                return cover(box, precision, cellHeight, cellWidth);
+            }
+        }
+        return cover(box, 1, cellHeight(1), cellWidth(1));
+    }
+
+    private static List<String> cover(GeoBox box, int precision, double cellHeight, double cellWidth) {
+        TreeSet<String> cells = new TreeSet<>();
+        for (double lat = box.minLatitude(); ; lat += cellHeight) {
+            double rowLat = Math.min(lat, box.maxLatitude());
+            for (double lon = box.minLongitude(); ; lon += cellWidth) {
+                double columnLon = Math.min(lon, box.maxLongitude());
+                cells.add(encode(rowLat, columnLon, precision));
+                if (columnLon >= box.maxLongitude()) {
+                    break;
+                }
+            }
+            if (rowLat >= box.maxLatitude()) {
+                break;
+            }
+        }
+        return List.copyOf(cells);
+    }
+
+    // Bits alternate starting with longitude, so longitude gets the odd bit
+    private static double cellWidth(int precision) {
+        int bits = precision * 5;
+        return 360 / Math.pow(2, (bits + 1) / 2);
+    }
+
+    private static double cellHeight(int precision) {
+        int bits = precision * 5;
+        return 180 / Math.pow(2, bits / 2);
+    }
+}
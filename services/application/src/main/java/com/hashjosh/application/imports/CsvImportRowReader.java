@@ -0,0 +1,194 @@
+package com.hashjosh.application.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.model.ApplicationField;
+import com.hashjosh.application.validators.FormSchema;
+import com.hashjosh.constant.application.FieldType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Reads RFC 4180 CSV with a header row. The columns {@code userId},
+ * {@code fullName} and {@code coordinates} are reserved, {@code file.<key>}
+ * columns reference zip entries, and every other column is a dynamic field.
+ * Cells are converted according to the field type declared in the schema so
+ * that they validate like JSON submissions; multi-select values are separated
+ * by {@code |}. Row numbers count data records, starting at 1.
+ */
+public class CsvImportRowReader implements ImportRowReader {
+
+    private static final String FILE_PREFIX = "file.";
+
+    private final Reader reader;
+    private final FormSchema schema;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private int rowNumber;
+    private int pushedBack = -2;
+
+    public CsvImportRowReader(Reader reader, FormSchema schema, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.schema = schema;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (header == null) {
+            List<String> columns = readRecord();
+            if (columns == null) {
+                return null;
+            }
+            if (!columns.isEmpty() && columns.get(0).startsWith("\uFEFF")) {
+                columns.set(0, columns.get(0).substring(1));
+            }
+            header = columns.stream().map(String::trim).toList();
+            if (!header.contains(USER_ID)) {
+                throw new IOException("CSV header must contain a '" + USER_ID + "' column");
+            }
+        }
+
+        List<String> cells;
+        do {
+            cells = readRecord();
+            if (cells == null) {
+                return null;
+            }
+        } while (cells.size() == 1 && cells.get(0).isBlank());
+        rowNumber++;
+
+        if (cells.size() != header.size()) {
+            throw new ImportRowException(rowNumber,
+                    String.format("Expected %d columns but found %d", header.size(), cells.size()));
+        }
+
+        UUID userId = null;
+        String fullName = null;
+        String coordinates = null;
+        Map<String, Object> fieldValues = new LinkedHashMap<>();
+        Map<String, String> files = new LinkedHashMap<>();
+
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i);
+            String cell = cells.get(i).trim();
+            if (cell.isEmpty()) {
+                continue;
+            }
+            switch (column) {
+                case USER_ID -> userId = parseUserId(cell);
+                case FULL_NAME -> fullName = cell;
+                case COORDINATES -> coordinates = cell;
+                default -> {
+                    if (column.startsWith(FILE_PREFIX)) {
+                        files.put(column.substring(FILE_PREFIX.length()), cell);
+                    } else {
+                        fieldValues.put(column, convert(column, cell));
+                    }
+                }
+            }
+        }
+
+        if (userId == null) {
+            throw new ImportRowException(rowNumber, "userId is required");
+        }
+        return new ImportRow(rowNumber, userId, fullName, coordinates, fieldValues, files);
+    }
+
+    // Unparseable cells are kept as text so the field validator reports them
+    private Object convert(String key, String cell) {
+        FieldType fieldType = schema.getField(key).map(ApplicationField::getFieldType).orElse(FieldType.TEXT);
+        try {
+            return switch (fieldType) {
+                case NUMBER -> new BigDecimal(cell);
+                case BOOLEAN -> switch (cell.toLowerCase(Locale.ROOT)) {
+                    case "true", "yes", "1" -> Boolean.TRUE;
+                    case "false", "no", "0" -> Boolean.FALSE;
+                    default -> cell;
+                };
+                case MULTI_SELECT -> Arrays.stream(cell.split("\\|")).map(String::trim).toList();
+                case JSON, LOCATION -> objectMapper.readValue(cell, Object.class);
+                default -> cell;
+            };
+        } catch (NumberFormatException | JsonProcessingException e) {
+            return cell;
+        }
+    }
+
+    private UUID parseUserId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            throw new ImportRowException(rowNumber, "userId is not a valid UUID: " + value);
+        }
+    }
+
+    /**
+     * Reads one record, honouring quoted cells with embedded commas, quotes and
+     * line breaks. Returns {@code null} at the end of the stream.
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+
+        int c;
+        while ((c = read()) != -1) {
+            read = true;
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        cell.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    cell.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else if (c == '\n') {
+                cells.add(cell.toString());
+                return cells;
+            } else if (c != '\r') {
+                cell.append((char) c);
+            }
+        }
+
+        if (!read) {
+            return null;
+        }
+        if (quoted) {
+            throw new ImportRowException(rowNumber + 1, "Unterminated quoted cell");
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,18 @@
+package com.hashjosh.application.imports;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One application read from an import stream. {@code files} maps a document
+ * key to the path of the file inside the uploaded zip archive.
+ */
+public record ImportRow(
+        int rowNumber,
+        UUID userId,
+        String fullName,
+        String coordinates,
+        Map<String, Object> fieldValues,
+        Map<String, String> files
+) {
+}
@@ -0,0 +1,18 @@
+package com.hashjosh.application.imports;
+
+/**
+ * A single row that could not be parsed. Reading continues with the next row.
+ */
+public class ImportRowException extends RuntimeException {
+
+    private final int rowNumber;
+
+    public ImportRowException(int rowNumber, String message) {
+        super(message);
+        this.rowNumber = rowNumber;
+    }
+
+    public int getRowNumber() {
+        return rowNumber;
+    }
+}
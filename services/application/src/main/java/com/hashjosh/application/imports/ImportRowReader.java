@@ -0,0 +1,22 @@
+package com.hashjosh.application.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-style reader over an import stream; rows are parsed one at a time so
+ * the whole file is never held in memory.
+ */
+public interface ImportRowReader extends Closeable {
+
+    String USER_ID = "userId";
+    String FULL_NAME = "fullName";
+    String COORDINATES = "coordinates";
+
+    /**
+     * Returns the next row, or {@code null} at the end of the stream.
+     *
+     * @throws ImportRowException if only the current row is malformed
+     */
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,156 @@
+package com.hashjosh.application.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.model.ApplicationType;
+import com.hashjosh.application.validators.FormSchema;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Resources of one bulk import. The uploaded parts are moved to temporary
+ * files first, so the import can outlive the request thread and the archive
+ * can be read by entry name; both are deleted on {@link #close()}.
+ */
+@Slf4j
+public class ImportSession implements Closeable {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    @Getter
+    private final ApplicationType applicationType;
+    @Getter
+    private final FormSchema schema;
+    @Getter
+    private final ImportRowReader reader;
+    // User who uploaded the import; used for internal calls made on its behalf
+    @Getter
+    private final String importedBy;
+
+    private final Path dataFile;
+    private final Path archiveFile;
+    private final ZipFile archive;
+
+    private ImportSession(ApplicationType applicationType, FormSchema schema, ImportRowReader reader,
+                          String importedBy, Path dataFile, Path archiveFile, ZipFile archive) {
+        this.applicationType = applicationType;
+        this.schema = schema;
+        this.reader = reader;
+        this.importedBy = importedBy;
+        this.dataFile = dataFile;
+        this.archiveFile = archiveFile;
+        this.archive = archive;
+    }
+
+    public static ImportSession open(ApplicationType applicationType,
+                                     FormSchema schema,
+                                     MultipartFile data,
+                                     MultipartFile files,
+                                     Format format,
+                                     String importedBy,
+                                     ObjectMapper objectMapper) throws IOException {
+        Path dataFile = null;
+        Path archiveFile = null;
+        try {
+            dataFile = Files.createTempFile("application-import-", ".data");
+            data.transferTo(dataFile);
+
+            ZipFile archive = null;
+            if (files != null && !files.isEmpty()) {
+                archiveFile = Files.createTempFile("application-import-", ".zip");
+                files.transferTo(archiveFile);
+                archive = new ZipFile(archiveFile.toFile());
+            }
+
+            var buffered = Files.newBufferedReader(dataFile, StandardCharsets.UTF_8);
+            ImportRowReader reader = format == Format.CSV
+                    ? new CsvImportRowReader(buffered, schema, objectMapper)
+                    : new NdjsonImportRowReader(buffered, objectMapper);
+
+            return new ImportSession(applicationType, schema, reader, importedBy, dataFile, archiveFile, archive);
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(dataFile);
+            deleteQuietly(archiveFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Picks the format from an explicit value, the file extension or the content type.
+     */
+    public static Optional<Format> detectFormat(String requested, MultipartFile data) {
+        if (requested != null && !requested.isBlank()) {
+            return switch (requested.trim().toLowerCase(Locale.ROOT)) {
+                case "csv" -> Optional.of(Format.CSV);
+                case "ndjson", "jsonl" -> Optional.of(Format.NDJSON);
+                default -> Optional.empty();
+            };
+        }
+        String name = Optional.ofNullable(data.getOriginalFilename()).orElse("").toLowerCase(Locale.ROOT);
+        String contentType = Optional.ofNullable(data.getContentType()).orElse("").toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv") || contentType.startsWith("text/csv")) {
+            return Optional.of(Format.CSV);
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || contentType.contains("ndjson")) {
+            return Optional.of(Format.NDJSON);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Looks up a file referenced by a row. Returns empty if no archive was
+     * uploaded or it has no such entry.
+     */
+    public Optional<MultipartFile> file(String path) {
+        if (archive == null || path == null) {
+            return Optional.empty();
+        }
+        ZipEntry entry = archive.getEntry(path);
+        if (entry == null || entry.isDirectory()) {
+            return Optional.empty();
+        }
+        return Optional.of(new ZipEntryMultipartFile(archive, entry));
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            log.debug("Failed to close import reader", e);
+        }
+        if (archive != null) {
+            try {
+                archive.close();
+            } catch (IOException e) {
+                log.debug("Failed to close import archive", e);
+            }
+        }
+        deleteQuietly(dataFile);
+        deleteQuietly(archiveFile);
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete temporary import file {}", path);
+        }
+    }
+}
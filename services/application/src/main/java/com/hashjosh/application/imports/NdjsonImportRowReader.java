@@ -0,0 +1,91 @@
+package com.hashjosh.application.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reads one JSON object per line:
+ * <pre>
+ * {"userId": "...", "fullName": "...", "coordinates": "...",
+ *  "fields": {"insured_crops": "Rice", ...}, "files": {"land_title": "photos/0001.jpg"}}
+ * </pre>
+ * Blank lines are skipped; row numbers are line numbers.
+ */
+public class NdjsonImportRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+    private int lineNumber;
+
+    public NdjsonImportRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new ImportRowException(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new ImportRowException(lineNumber, "Each line must be a JSON object");
+        }
+
+        Map<String, Object> fieldValues = new LinkedHashMap<>();
+        JsonNode fields = node.path("fields");
+        if (fields.isObject()) {
+            fields.fields().forEachRemaining(entry ->
+                    fieldValues.put(entry.getKey(), objectMapper.convertValue(entry.getValue(), Object.class)));
+        }
+
+        Map<String, String> files = new LinkedHashMap<>();
+        JsonNode fileRefs = node.path("files");
+        if (fileRefs.isObject()) {
+            fileRefs.fields().forEachRemaining(entry -> files.put(entry.getKey(), entry.getValue().asText()));
+        }
+
+        return new ImportRow(
+                lineNumber,
+                parseUserId(node.path(USER_ID).asText(null)),
+                node.path(FULL_NAME).asText(null),
+                node.path(COORDINATES).asText(null),
+                fieldValues,
+                files
+        );
+    }
+
+    private UUID parseUserId(String value) {
+        if (value == null || value.isBlank()) {
+            throw new ImportRowException(lineNumber, "userId is required");
+        }
+        try {
+            return UUID.fromString(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new ImportRowException(lineNumber, "userId is not a valid UUID: " + value);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,78 @@
+package com.hashjosh.application.imports;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Exposes one entry of an import archive as a {@link MultipartFile}, so it can
+ * be streamed to document-service like a regular upload without being
+ * extracted or read into memory.
+ */
+class ZipEntryMultipartFile implements MultipartFile {
+
+    private final ZipFile zipFile;
+    private final ZipEntry entry;
+    private final String originalFilename;
+
+    ZipEntryMultipartFile(ZipFile zipFile, ZipEntry entry) {
+        this.zipFile = zipFile;
+        this.entry = entry;
+        String name = entry.getName();
+        this.originalFilename = name.substring(name.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public String getName() {
+        return entry.getName();
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return MediaTypeFactory.getMediaType(originalFilename)
+                .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                .toString();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return entry.getSize() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return entry.getSize();
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        try (InputStream stream = getInputStream()) {
+            return stream.readAllBytes();
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return zipFile.getInputStream(entry);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        try (InputStream stream = getInputStream()) {
+            Files.copy(stream, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
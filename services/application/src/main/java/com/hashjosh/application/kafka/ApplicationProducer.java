@@ -1,32 +1,77 @@
 package com.hashjosh.application.kafka;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.model.OutboxEvent;
+import com.hashjosh.application.repository.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ApplicationProducer {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-
-    public <T> void publishEvent(String topic,T event) {
-        log.info("submitting application::: {}", event);
-
-        kafkaTemplate.send(MessageBuilder
-                        .withPayload(event)
-                        .setHeader(KafkaHeaders.TOPIC, topic)
-                        .build())
-                .whenComplete((result, ex) -> {
-                    if (ex == null) {
-                        log.info("Message sent successfully to topic {} with offset {}", result.getRecordMetadata().topic(), result.getRecordMetadata().offset());
-                    } else {
-                        log.error("Failed to send message: {}", ex.getMessage());
-                    }
-                });
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes the event to the outbox inside the caller's transaction, so it is only
+     * published if the surrounding change commits. {@link OutboxRelay} sends it to
+     * Kafka keyed by {@code aggregateId}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void publishEvent(String topic, UUID aggregateId, T event) {
+        log.info("queueing event for topic {}::: {}", topic, event);
+
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateId(aggregateId.toString())
+                .topic(topic)
+                .payloadType(event.getClass().getName())
+                .payload(objectMapper.valueToTree(event))
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build());
+    }
+
+    /**
+     * Queues several events with one batched insert. Outbox ids are generated by
+     * the database, which keeps Hibernate from batching {@link #publishEvent}, so
+     * bulk writers such as the import go through JDBC directly.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> void publishEvents(String topic, Map<UUID, T> eventsByAggregate) {
+        if (eventsByAggregate.isEmpty()) {
+            return;
+        }
+        log.info("queueing {} events for topic {}", eventsByAggregate.size(), topic);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = eventsByAggregate.entrySet().stream()
+                .map(entry -> new Object[]{
+                        entry.getKey().toString(),
+                        topic,
+                        entry.getValue().getClass().getName(),
+                        objectMapper.valueToTree(entry.getValue()).toString(),
+                        now,
+                        now
+                })
+                .toList();
+
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO outbox_events (aggregate_id, topic, payload_type, payload, created_at, next_attempt_at, attempts)
+                VALUES (?, ?, ?, CAST(? AS jsonb), ?, ?, 0)
+                """, rows);
     }
 }
@@ -0,0 +1,54 @@
+package com.hashjosh.application.kafka;
+
+import com.hashjosh.application.service.ApplicationSummaryService;
+import com.hashjosh.kafkacommon.application.ClaimProcessedEvent;
+import com.hashjosh.kafkacommon.application.InspectionCompletedEvent;
+import com.hashjosh.kafkacommon.application.InspectionScheduledEvent;
+import com.hashjosh.kafkacommon.application.PolicyIssuedEvent;
+import com.hashjosh.kafkacommon.application.VerificationCompletedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+/**
+ * Feeds insurance lifecycle events into the application summary. All
+ * instances share one consumer group since the summary lives in the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class ApplicationSummaryListener {
+
+    public static final String VERIFIED = "application-verified";
+    public static final String INSPECTION_SCHEDULED = "application-inspection-schedule";
+    public static final String INSPECTION_COMPLETED = "application-inspection-completed";
+    public static final String POLICY_ISSUED = "application-policy-issued";
+    public static final String CLAIM = "application-claim";
+
+    private final ApplicationSummaryService applicationSummaryService;
+
+    @KafkaListener(topics = VERIFIED, groupId = "application-summary")
+    public void listenVerified(@Payload VerificationCompletedEvent event) {
+        applicationSummaryService.onVerified(VERIFIED, event);
+    }
+
+    @KafkaListener(topics = INSPECTION_SCHEDULED, groupId = "application-summary")
+    public void listenInspectionScheduled(@Payload InspectionScheduledEvent event) {
+        applicationSummaryService.onInspectionScheduled(INSPECTION_SCHEDULED, event);
+    }
+
+    @KafkaListener(topics = INSPECTION_COMPLETED, groupId = "application-summary")
+    public void listenInspectionCompleted(@Payload InspectionCompletedEvent event) {
+        applicationSummaryService.onInspectionCompleted(INSPECTION_COMPLETED, event);
+    }
+
+    @KafkaListener(topics = POLICY_ISSUED, groupId = "application-summary")
+    public void listenPolicyIssued(@Payload PolicyIssuedEvent event) {
+        applicationSummaryService.onPolicyIssued(POLICY_ISSUED, event);
+    }
+
+    @KafkaListener(topics = CLAIM, groupId = "application-summary")
+    public void listenClaim(@Payload ClaimProcessedEvent event) {
+        applicationSummaryService.onClaimProcessed(CLAIM, event);
+    }
+}
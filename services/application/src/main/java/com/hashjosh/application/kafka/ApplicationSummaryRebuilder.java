@@ -0,0 +1,123 @@
+package com.hashjosh.application.kafka;
+
+import com.hashjosh.application.service.ApplicationSummaryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Rebuilds {@code application_summary} by replaying the lifecycle topics from
+ * the beginning into a separate table, which is then swapped in with one
+ * update. The live listener keeps writing to the summary meanwhile; events it
+ * applied before the swap are replayed onto the summary once more afterwards.
+ * Merges are idempotent and order-independent, so applying an event twice is harmless.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApplicationSummaryRebuilder {
+
+    private static final List<String> TOPICS = List.of(
+            ApplicationSummaryListener.VERIFIED,
+            ApplicationSummaryListener.INSPECTION_SCHEDULED,
+            ApplicationSummaryListener.INSPECTION_COMPLETED,
+            ApplicationSummaryListener.POLICY_ISSUED,
+            ApplicationSummaryListener.CLAIM
+    );
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final ConsumerFactory<String, Object> consumerFactory;
+    private final ApplicationSummaryService applicationSummaryService;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * Starts a rebuild in the background. Returns false if one is already running.
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread.ofVirtual().name("application-summary-rebuild").start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Application summary rebuild failed: {}", e.getMessage(), e);
+            } finally {
+                running.set(false);
+            }
+        });
+        return true;
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private void rebuild() {
+        applicationSummaryService.prepareRebuild(LocalDateTime.now());
+
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+
+        try (Consumer<String, Object> consumer = consumerFactory.createConsumer(
+                "application-summary-rebuild-" + UUID.randomUUID(), null, null, overrides)) {
+            List<TopicPartition> partitions = TOPICS.stream()
+                    .flatMap(topic -> consumer.partitionsFor(topic).stream()
+                            .map(info -> new TopicPartition(info.topic(), info.partition())))
+                    .toList();
+            consumer.assign(partitions);
+            consumer.seekToBeginning(partitions);
+
+            Map<TopicPartition, Long> replayedTo = consumer.endOffsets(partitions);
+            long replayed = replay(consumer, replayedTo, true);
+
+            int swapped = applicationSummaryService.swapInRebuild(LocalDateTime.now());
+
+            // Anything past the replay was applied live, possibly before the swap overwrote it;
+            // polls may have read beyond the end offsets, so rewind to them first
+            replayedTo.forEach((partition, offset) -> consumer.seek(partition, offset));
+            long caughtUp = replay(consumer, consumer.endOffsets(partitions), false);
+            applicationSummaryService.clearRebuild();
+
+            log.info("Application summary rebuilt: {} rows from {} replayed events, {} events reapplied after the swap",
+                    swapped, replayed, caughtUp);
+        } catch (RuntimeException e) {
+            applicationSummaryService.clearRebuild();
+            throw e;
+        }
+    }
+
+    // Reads every partition up to its end offset and merges each record into the rebuild table or the summary
+    private long replay(Consumer<String, Object> consumer, Map<TopicPartition, Long> endOffsets, boolean rebuild) {
+        Map<TopicPartition, Long> remaining = new HashMap<>(endOffsets);
+        remaining.entrySet().removeIf(end -> consumer.position(end.getKey()) >= end.getValue());
+
+        long replayed = 0;
+        while (!remaining.isEmpty()) {
+            for (ConsumerRecord<String, Object> record : consumer.poll(POLL_TIMEOUT)) {
+                TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                Long end = remaining.get(partition);
+                if (end == null || record.offset() >= end) {
+                    continue;
+                }
+                if (record.value() != null) {
+                    applicationSummaryService.replay(record.topic(), record.value(), rebuild);
+                    replayed++;
+                }
+            }
+            remaining.entrySet().removeIf(end -> consumer.position(end.getKey()) >= end.getValue());
+        }
+        return replayed;
+    }
+}
@@ -0,0 +1,174 @@
+package com.hashjosh.application.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.configs.OutboxProperties;
+import com.hashjosh.application.model.OutboxEvent;
+import com.hashjosh.application.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains {@code outbox_events} to Kafka. Each round locks a batch of due events,
+ * sends them, waits for the broker acknowledgements and marks them published.
+ * Failed events are retried with exponential backoff and dead-lettered after
+ * {@code app.outbox.max-attempts} failures.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final AtomicLong deadLettered = new AtomicLong();
+    private final Timer publishLag;
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter deadLetteredCounter;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       TransactionTemplate transactionTemplate,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+
+        Gauge.builder("outbox.depth", depth, AtomicLong::get)
+                .description("Events waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("outbox.dead", deadLettered, AtomicLong::get)
+                .description("Dead-lettered events kept in the outbox")
+                .register(meterRegistry);
+        this.publishLag = Timer.builder("outbox.publish.lag")
+                .description("Time from writing an event to the outbox until Kafka acknowledged it")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("outbox.published")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("outbox.failed")
+                .register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("outbox.dead-lettered")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.linger:200ms}")
+    public void relay() {
+        Integer relayed;
+        do {
+            relayed = transactionTemplate.execute(status -> relayBatch());
+        } while (relayed != null && relayed >= properties.getBatchSize());
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.metrics-interval:15s}")
+    public void refreshDepth() {
+        depth.set(outboxEventRepository.countByPublishedAtIsNullAndDeadLetteredAtIsNull());
+        deadLettered.set(outboxEventRepository.countByDeadLetteredAtIsNotNull());
+    }
+
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 0 * * * *}")
+    public void deletePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        log.debug("Deleted {} published outbox events older than {}", deleted, cutoff);
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(LocalDateTime.now(), properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Hand the whole batch to the producer first so it can be sent in few requests
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            sends.add(send(event));
+        }
+
+        long deadline = System.nanoTime() + properties.getSendTimeout().toNanos();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                sends.get(i).get(remaining, TimeUnit.NANOSECONDS);
+
+                LocalDateTime publishedAt = LocalDateTime.now();
+                event.setPublishedAt(publishedAt);
+                event.setLastError(null);
+                publishLag.record(Duration.between(event.getCreatedAt(), publishedAt));
+                publishedCounter.increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                markFailed(event, e);
+            } catch (Exception e) {
+                markFailed(event, e);
+            }
+        }
+
+        outboxEventRepository.saveAll(batch);
+        return batch.size();
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(OutboxEvent event) {
+        try {
+            Object payload = objectMapper.treeToValue(event.getPayload(), Class.forName(event.getPayloadType()));
+            return kafkaTemplate.send(MessageBuilder
+                    .withPayload(payload)
+                    .setHeader(KafkaHeaders.TOPIC, event.getTopic())
+                    .setHeader(KafkaHeaders.KEY, event.getAggregateId())
+                    .build());
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void markFailed(OutboxEvent event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (backoff.compareTo(properties.getMaxBackoff()) > 0) {
+            backoff = properties.getMaxBackoff();
+        }
+
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+        event.setAttempts(attempts);
+        event.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        event.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+        failedCounter.increment();
+
+        if (attempts >= properties.getMaxAttempts()) {
+            event.setDeadLetteredAt(LocalDateTime.now());
+            deadLetteredCounter.increment();
+            log.error("Dead-lettering outbox event {} for aggregate {} to topic {} after {} attempts: {}",
+                    event.getId(), event.getAggregateId(), event.getTopic(), attempts, message);
+            return;
+        }
+
+        log.error("Failed to publish outbox event {} to topic {} (attempt {}), retrying in {}: {}",
+                event.getId(), event.getTopic(), attempts, backoff, message);
+    }
+}
@@ -0,0 +1,86 @@
+package com.hashjosh.application.kafka;
+
+import com.hashjosh.application.service.PolicyNumberIndex;
+import com.hashjosh.kafkacommon.application.PolicyIssuedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps every instance's {@link PolicyNumberIndex} current. The topic's end
+ * offsets are recorded before the bootstrap export starts and the consumer
+ * begins there, so a policy issued while the export runs is either in the
+ * export or consumed afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PolicyIssuedListener implements ConsumerSeekAware {
+
+    static final String TOPIC = "application-policy-issued";
+    private static final String LISTENER_ID = "policy-number-index";
+
+    private final PolicyNumberIndex policyNumberIndex;
+    private final ConsumerFactory<String, Object> consumerFactory;
+    private final KafkaListenerEndpointRegistry registry;
+
+    // Export high-water mark; null until recorded, in which case the consumer replays the topic
+    private volatile Map<TopicPartition, Long> startOffsets;
+
+    // Every instance keeps its own in-memory index, so each one needs its own consumer group
+    @KafkaListener(
+            id = LISTENER_ID,
+            topics = TOPIC,
+            groupId = "application-policy-index-${random.uuid}",
+            autoStartup = "false"
+    )
+    public void listenPolicyIssued(@Payload PolicyIssuedEvent event) {
+        log.debug("Indexing issued policy {}", event.getPolicyNumber());
+        policyNumberIndex.add(event.getPolicyNumber());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        try {
+            startOffsets = endOffsets();
+        } catch (RuntimeException e) {
+            log.warn("Could not read {} end offsets, the policy index will replay the topic: {}", TOPIC, e.getMessage());
+        }
+        registry.getListenerContainer(LISTENER_ID).start();
+        policyNumberIndex.bootstrap();
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        Map<TopicPartition, Long> offsets = startOffsets;
+        for (TopicPartition partition : assignments.keySet()) {
+            Long offset = offsets != null ? offsets.get(partition) : null;
+            if (offset != null) {
+                callback.seek(partition.topic(), partition.partition(), offset);
+            } else {
+                callback.seekToBeginning(partition.topic(), partition.partition());
+            }
+        }
+    }
+
+    private Map<TopicPartition, Long> endOffsets() {
+        try (Consumer<String, Object> consumer = consumerFactory.createConsumer(
+                "application-policy-index-offsets-" + UUID.randomUUID(), null)) {
+            return Map.copyOf(consumer.endOffsets(consumer.partitionsFor(TOPIC).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList()));
+        }
+    }
+}
@@ -3,24 +3,33 @@ package com.hashjosh.application.mapper;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hashjosh.application.clients.DocumentServiceClient;
-import com.hashjosh.application.clients.InsuranceClient;
 import com.hashjosh.application.dto.submission.ApplicationSubmissionDto;
+import com.hashjosh.application.exceptions.ApiException;
 import com.hashjosh.application.model.Application;
 import com.hashjosh.application.model.ApplicationType;
+import com.hashjosh.application.model.Document;
+import com.hashjosh.application.service.ApplicationSummaryService;
 import com.hashjosh.constant.application.ApplicationResponseDto;
+import com.hashjosh.kafkacommon.application.ApplicationSubmittedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ApplicationMapper {
     private final DocumentServiceClient documentServiceClient;
-    private final InsuranceClient insuranceClient;
+    private final ApplicationSummaryService applicationSummaryService;
+    private final ObjectMapper objectMapper;
 
     public ApplicationResponseDto toApplicationResponseDto(
             Application entity
@@ -30,9 +39,63 @@ public class ApplicationMapper {
                 .map(document -> documentServiceClient.generatePresignedUrl(entity.getUserId(), document.getDocumentId(), 60))
                 .toList();
 
-        String applicationStatus = insuranceClient.getInsuranceStatus(entity.getId(), entity.getUserId());
+        String applicationStatus = applicationSummaryService.getStatus(entity.getId());
 
+        return buildResponse(entity, documentUrls, applicationStatus);
+    }
+
+    /**
+     * Maps a whole page of applications with one bulk presign call and one
+     * summary lookup instead of one call per document and per application.
+     * The presign call runs while the summaries are read; the summaries are
+     * read on the caller's thread so they stay in its transaction.
+     */
+    public List<ApplicationResponseDto> toApplicationResponseDtos(
+            List<Application> entities,
+            UUID requesterId
+    ) {
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> documentIds = entities.stream()
+                .flatMap(entity -> entity.getDocuments().stream())
+                .map(Document::getDocumentId)
+                .collect(Collectors.toSet());
+        List<UUID> applicationIds = entities.stream()
+                .map(Application::getId)
+                .toList();
+
+        Map<UUID, String> documentUrls;
+        Map<UUID, String> statuses;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Map<UUID, String>> urlsFuture = CompletableFuture.supplyAsync(
+                    () -> documentServiceClient.generatePresignedUrls(requesterId, documentIds, 60), executor);
+            statuses = applicationSummaryService.getStatuses(applicationIds);
+            documentUrls = urlsFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ApiException apiException) {
+                throw apiException;
+            }
+            throw ApiException.internalError("Failed to resolve application details: " + e.getCause().getMessage());
+        }
 
+        return entities.stream()
+                .map(entity -> buildResponse(
+                        entity,
+                        entity.getDocuments().stream()
+                                .map(document -> documentUrls.get(document.getDocumentId()))
+                                .filter(Objects::nonNull)
+                                .toList(),
+                        statuses.get(entity.getId())))
+                .toList();
+    }
+
+    private ApplicationResponseDto buildResponse(
+            Application entity,
+            List<String> documentUrls,
+            String applicationStatus
+    ) {
         ApplicationResponseDto.ApplicationResponseDtoBuilder builder = ApplicationResponseDto.builder()
                 .id(entity.getId())
                 .applicationTypeId(entity.getType().getId())
@@ -50,7 +113,6 @@ public class ApplicationMapper {
 
 
     public Application toEntity(ApplicationSubmissionDto submission, ApplicationType type) {
-        ObjectMapper objectMapper = new ObjectMapper();
         JsonNode dynamicFieldsNode = objectMapper.valueToTree(submission.getFieldValues());
 
         return Application.builder()
@@ -64,5 +126,21 @@ public class ApplicationMapper {
                 .build();
     }
 
-
+    public ApplicationSubmittedEvent toSubmittedEvent(
+            Application application,
+            List<Document> documents,
+            List<String> objectKeysForAIAnalysis
+    ) {
+        return ApplicationSubmittedEvent.builder()
+                .submissionId(application.getId())
+                .applicationTypeId(application.getType().getId())
+                .applicationTypeName(application.getType().getName())
+                .fullName(application.getFullName())
+                .provider(application.getType().getProvider().getName())
+                .objectKeysForAIAnalysis(objectKeysForAIAnalysis)
+                .documentIds(documents.stream().map(Document::getDocumentId).collect(Collectors.toList()))
+                .userId(application.getUserId())
+                .submittedAt(LocalDateTime.now())
+                .build();
+    }
 }
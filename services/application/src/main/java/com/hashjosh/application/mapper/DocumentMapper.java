@@ -19,5 +19,17 @@ public class DocumentMapper {
                 .build();
     }
 
+    public Document toDocument(DocumentResponse response, String documentKey, String coordinates){
+        return Document.builder()
+                .documentId(response.getDocumentId())
+                .fileName(response.getFileName())
+                .fileType(response.getFileType())
+                .coordinates(coordinates)
+                .uploadedAt(response.getUploadedAt())
+                .documentKey(documentKey)
+                .objectKey(response.getObjectKey())
+                .build();
+    }
+
 
 }
@@ -2,9 +2,12 @@ package com.hashjosh.application.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.hashjosh.application.geo.GeoPoint;
+import com.hashjosh.application.geo.Geohash;
 import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.UpdateTimestamp;
@@ -19,9 +22,28 @@ import java.util.UUID;
 @AllArgsConstructor
 @Getter
 @Setter
-@Table(name = "applications")
+@NamedEntityGraph(name = Application.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("type"),
+        @NamedAttributeNode("documents")
+})
+@NamedEntityGraph(name = Application.UPDATE_GRAPH, attributeNodes = {
+        @NamedAttributeNode(value = "type", subgraph = "type"),
+        @NamedAttributeNode("documents")
+}, subgraphs = @NamedSubgraph(name = "type", attributeNodes = @NamedAttributeNode("provider")))
+@Table(name = "applications", indexes = {
+        @Index(name = "idx_applications_submitted_at_id", columnList = "submitted_at, id"),
+        @Index(name = "idx_applications_type_submitted_at_id", columnList = "applicationType_id, submitted_at, id"),
+        @Index(name = "idx_applications_user_submitted_at_id", columnList = "user_id, submitted_at, id"),
+        @Index(name = "idx_applications_user_updated_at_id", columnList = "user_id, updated_at, id"),
+        @Index(name = "idx_applications_geohash", columnList = "geohash")
+})
 public class Application implements Serializable {
 
+    /** Type and documents: everything an {@code ApplicationResponseDto} reads. */
+    public static final String DETAIL_GRAPH = "Application.detail";
+    /** Adds the type's provider, which the update events carry. */
+    public static final String UPDATE_GRAPH = "Application.update";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id", updatable = false, nullable = false)
@@ -38,17 +60,29 @@ public class Application implements Serializable {
     @Column(name = "coordinates", nullable = false)
     private String coordinates;
 
+    // Parsed from coordinates on every write; null when coordinates are blank
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
+    // Byte-wise collation so prefix range scans on the index match geohash order
+    @Column(name = "geohash", columnDefinition = "varchar(" + Geohash.STORED_PRECISION + ") collate \"C\"")
+    private String geohash;
+
     @Type(JsonBinaryType.class)
     @Column(name = "dynamic_fields", columnDefinition = "jsonb", nullable = false)
     @JsonProperty("dynamicFields")
     private JsonNode dynamicFields;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "applicationType_id", nullable = false)
     private ApplicationType type;
 
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany
+    @BatchSize(size = 50)
     @JoinTable(
             name = "application_documents",
             joinColumns = @JoinColumn(name = "application_id"),
@@ -68,4 +102,12 @@ public class Application implements Serializable {
     @JsonProperty("version")
     private Long version;
 
+    @PrePersist
+    @PreUpdate
+    void indexCoordinates() {
+        GeoPoint point = GeoPoint.tryParse(coordinates).orElse(null);
+        this.latitude = point != null ? point.latitude() : null;
+        this.longitude = point != null ? point.longitude() : null;
+        this.geohash = point != null ? point.geohash(Geohash.STORED_PRECISION) : null;
+    }
 }
\ No newline at end of file
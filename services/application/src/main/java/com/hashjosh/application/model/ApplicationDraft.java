@@ -0,0 +1,57 @@
+package com.hashjosh.application.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A submission in progress, saved section by section from the app. Field
+ * values are patched in place in the database and become an
+ * {@link Application} only through the normal submission path.
+ */
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "application_drafts", indexes = {
+        @Index(name = "idx_application_drafts_user_updated_at", columnList = "user_id, updated_at"),
+        @Index(name = "idx_application_drafts_expires_at", columnList = "expires_at")
+})
+public class ApplicationDraft {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Column(name = "application_type_id", nullable = false, updatable = false)
+    private UUID applicationTypeId;
+
+    @Column(name = "coordinates")
+    private String coordinates;
+
+    // Only the keys filled in so far, keyed like Application.dynamicFields
+    @Type(JsonBinaryType.class)
+    @Column(name = "field_values", columnDefinition = "jsonb", nullable = false)
+    private JsonNode fieldValues;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Pushed forward by every save; the sweeper deletes drafts past it
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
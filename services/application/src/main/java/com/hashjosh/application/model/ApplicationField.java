@@ -49,7 +49,7 @@ public class ApplicationField {
     @Column(name = "validation_regex", length = 255)
     private String validationRegex;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "application_section_id")
     private ApplicationSection applicationSection;
 
@@ -23,6 +23,6 @@ public class ApplicationProvider {
     private String description;
     private LocalDateTime createdAt;
 
-    @OneToMany(mappedBy = "provider", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "provider")
     private List<ApplicationType> applicationTypes;
 }
@@ -2,6 +2,7 @@ package com.hashjosh.application.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -25,7 +26,7 @@ public class ApplicationSection {
     @Column(name = "title", length = 255)
     private String title;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "application_type_id")
     private ApplicationType applicationType;
 
@@ -37,6 +38,8 @@ public class ApplicationSection {
     @UpdateTimestamp
     private LocalDateTime updatedAt = LocalDateTime.now();
 
-    @OneToMany(mappedBy = "applicationSection", fetch = FetchType.EAGER, cascade = CascadeType.ALL)
+    // Sections and fields are both lists, so they cannot share one fetch join
+    @OneToMany(mappedBy = "applicationSection", cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
     List<ApplicationField> fields;
 }
@@ -0,0 +1,70 @@
+package com.hashjosh.application.model;
+
+import com.hashjosh.constant.pcic.enums.InsuranceStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Local projection of an application's insurance lifecycle, maintained from
+ * the events insurance-service publishes. Application reads take the status
+ * from here instead of calling insurance-service.
+ * <p>
+ * {@code statusRank} orders the lifecycle stages so that events arriving out
+ * of order across topics never move the status backwards.
+ */
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "application_summary", indexes = {
+        @Index(name = "idx_application_summary_status", columnList = "status")
+})
+public class ApplicationSummary {
+
+    @Id
+    @Column(name = "application_id")
+    private UUID applicationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 40)
+    private InsuranceStatus status;
+
+    @Column(name = "status_rank", nullable = false)
+    private int statusRank;
+
+    @Column(name = "verification_status", length = 40)
+    private String verificationStatus;
+
+    @Column(name = "verified_at")
+    private LocalDateTime verifiedAt;
+
+    @Column(name = "inspection_scheduled_at")
+    private LocalDateTime inspectionScheduledAt;
+
+    @Column(name = "inspected_at")
+    private LocalDateTime inspectedAt;
+
+    @Column(name = "policy_number")
+    private String policyNumber;
+
+    @Column(name = "policy_issued_at")
+    private LocalDateTime policyIssuedAt;
+
+    @Column(name = "claim_status", length = 40)
+    private String claimStatus;
+
+    @Column(name = "claim_processed_at")
+    private LocalDateTime claimProcessedAt;
+
+    // Time of the latest event applied, as stamped by insurance-service
+    @Column(name = "last_event_at")
+    private LocalDateTime lastEventAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -2,6 +2,7 @@ package com.hashjosh.application.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,10 +14,24 @@ import java.util.UUID;
 @Getter
 @Setter
 @Builder
+@NamedEntityGraph(name = ApplicationType.FORM_GRAPH, attributeNodes = {
+        @NamedAttributeNode("provider"),
+        @NamedAttributeNode("sections")
+})
+@NamedEntityGraph(name = ApplicationType.SUMMARY_GRAPH, attributeNodes = {
+        @NamedAttributeNode("provider"),
+        @NamedAttributeNode("applicationWorkflow")
+})
 @Table(name = "application_types")
 @AllArgsConstructor
 @NoArgsConstructor
 public class ApplicationType {
+
+    /** Provider and sections, for compiling the form schema and building submissions. */
+    public static final String FORM_GRAPH = "ApplicationType.form";
+    /** Provider and workflow, for type listings. */
+    public static final String SUMMARY_GRAPH = "ApplicationType.summary";
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "id")
@@ -34,14 +49,14 @@ public class ApplicationType {
     @Column(name = "required_ai_analysis")
     private Boolean requiredAIAnalysis;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "provider_id", referencedColumnName = "id")
     private ApplicationProvider provider;
 
     @Column(name = "name", length = 255)
     private String name;
 
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "workflow_id", referencedColumnName = "id")
     private ApplicationWorkflow applicationWorkflow;
 
@@ -53,10 +68,9 @@ public class ApplicationType {
     @UpdateTimestamp
     private LocalDateTime updatedAt = LocalDateTime.now();
 
-    @OneToMany(mappedBy = "applicationType", fetch = FetchType.EAGER , cascade = CascadeType.ALL)
+    // Batched so listing types with their sections does not load them one type at a time
+    @OneToMany(mappedBy = "applicationType", cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
     private List<ApplicationSection> sections;
 
-    @OneToMany(mappedBy = "type")
-    private List<Application> applications;
-
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.hashjosh.application.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A suspected duplicate raised when an application was submitted. The
+ * application is stored regardless; the flag waits in the review queue until
+ * someone confirms or dismisses it.
+ */
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "application_duplicate_flags", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_duplicate_flags_match",
+                columnNames = {"application_id", "matched_application_id", "reason"})
+}, indexes = {
+        @Index(name = "idx_duplicate_flags_status_created_at", columnList = "status, created_at, id")
+})
+public class DuplicateFlag {
+
+    public enum Reason {
+        // Same farmer, same application type, inside the duplicate window
+        SAME_FARMER_AND_TYPE,
+        // Parcel centroid within the configured radius of an active application
+        NEARBY_PARCEL
+    }
+
+    public enum Status {
+        OPEN,
+        CONFIRMED,
+        DISMISSED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "application_id", nullable = false)
+    private UUID applicationId;
+
+    @Column(name = "matched_application_id", nullable = false)
+    private UUID matchedApplicationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "reason", nullable = false, length = 30)
+    private Reason reason;
+
+    // Between the two parcel centroids; null when either has no coordinates
+    @Column(name = "distance_meters")
+    private Double distanceMeters;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "reviewed_by")
+    private UUID reviewedBy;
+
+    @Column(name = "reviewed_at")
+    private LocalDateTime reviewedAt;
+
+    @Column(name = "review_note", length = 1000)
+    private String reviewNote;
+}
@@ -0,0 +1,90 @@
+package com.hashjosh.application.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A submission accepted with {@code 202 Accepted} and processed by the
+ * submission workers. The id is the tracking id returned to the client; the
+ * status moves through the pipeline stages until COMPLETED or FAILED.
+ */
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "submission_jobs",
+        uniqueConstraints = @UniqueConstraint(name = "uk_submission_jobs_user_key", columnNames = {"user_id", "idempotency_key"}),
+        indexes = {
+                @Index(name = "idx_submission_jobs_due", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_submission_jobs_updated_at", columnList = "updated_at")
+        })
+public class SubmissionJob {
+
+    public enum Status {
+        QUEUED,
+        VALIDATING,
+        UPLOADING,
+        PERSISTING,
+        COMPLETED,
+        FAILED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    // Optional; a retried enqueue with the same key returns the same job
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Type(JsonBinaryType.class)
+    @Column(name = "submission", columnDefinition = "jsonb", nullable = false)
+    private JsonNode submission;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    // Incremented on every claim; stage updates of an older attempt are ignored
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "application_id")
+    private UUID applicationId;
+
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // A running job whose lease has expired is considered abandoned and claimed again
+    @Column(name = "locked_until")
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
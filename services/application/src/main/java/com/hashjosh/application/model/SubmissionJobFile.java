@@ -0,0 +1,45 @@
+package com.hashjosh.application.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * A file part of a queued submission, kept until the job finishes so that any
+ * instance can run it, including after a restart. The content itself is in
+ * the {@link com.hashjosh.application.service.SubmissionFileStore} bucket.
+ */
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Table(name = "submission_job_files", indexes = @Index(name = "idx_submission_job_files_job", columnList = "job_id"))
+public class SubmissionJobFile {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "job_id", nullable = false)
+    private UUID jobId;
+
+    @Column(name = "part_name", nullable = false)
+    private String partName;
+
+    @Column(name = "file_name")
+    private String fileName;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    // Nullable in the schema only because the column is added to a table that may already hold rows
+    @Column(name = "object_key")
+    private String objectKey;
+
+    @Column(name = "size")
+    private long size;
+}
@@ -0,0 +1,71 @@
+package com.hashjosh.application.repository;
+
+import com.hashjosh.application.model.ApplicationDraft;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ApplicationDraftRepository extends JpaRepository<ApplicationDraft, UUID> {
+
+    Optional<ApplicationDraft> findByIdAndUserId(UUID id, UUID userId);
+
+    List<ApplicationDraft> findAllByUserIdOrderByUpdatedAtDesc(UUID userId);
+
+    long countByUserId(UUID userId);
+
+    // Lets a section save check the form without loading the stored values
+    @Query("SELECT d.applicationTypeId FROM ApplicationDraft d WHERE d.id = :id AND d.userId = :userId")
+    Optional<UUID> findApplicationTypeId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    /**
+     * Sets and removes top-level field keys in place without reading the draft.
+     * Returns 0 if the draft does not exist or belongs to another user.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE application_drafts
+        SET field_values = (field_values || CAST(:changes AS jsonb))
+                - ARRAY(SELECT jsonb_array_elements_text(CAST(:removedKeys AS jsonb))),
+            updated_at = :updatedAt,
+            expires_at = :expiresAt
+        WHERE id = :id AND user_id = :userId
+    """, nativeQuery = true)
+    int mergeFieldValues(
+            @Param("id") UUID id,
+            @Param("userId") UUID userId,
+            @Param("changes") String changes,
+            @Param("removedKeys") String removedKeys,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE ApplicationDraft d
+        SET d.coordinates = :coordinates, d.updatedAt = :updatedAt, d.expiresAt = :expiresAt
+        WHERE d.id = :id AND d.userId = :userId
+    """)
+    int updateCoordinates(
+            @Param("id") UUID id,
+            @Param("userId") UUID userId,
+            @Param("coordinates") String coordinates,
+            @Param("updatedAt") LocalDateTime updatedAt,
+            @Param("expiresAt") LocalDateTime expiresAt
+    );
+
+    @Modifying
+    @Query("DELETE FROM ApplicationDraft d WHERE d.id = :id AND d.userId = :userId")
+    int deleteByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM ApplicationDraft d WHERE d.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -2,8 +2,13 @@ package com.hashjosh.application.repository;
 
 import com.hashjosh.application.model.ApplicationField;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface ApplicationFieldsRepository extends JpaRepository<ApplicationField, UUID> {
+
+    @Query("SELECT DISTINCT f.key, f.fieldType FROM ApplicationField f")
+    List<Object[]> findDistinctKeysAndTypes();
 }
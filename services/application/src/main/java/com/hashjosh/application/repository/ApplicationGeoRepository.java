@@ -0,0 +1,200 @@
+package com.hashjosh.application.repository;
+
+import com.hashjosh.application.dto.geo.GeoCursor;
+import com.hashjosh.application.dto.geo.NearbyApplication;
+import com.hashjosh.application.dto.listing.ApplicationListItem;
+import com.hashjosh.application.geo.GeoBox;
+import com.hashjosh.application.geo.GeoPoint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Location queries over {@code applications}. Candidates are selected with
+ * range scans on the geohash index, one per covering cell, then narrowed by
+ * the bounding box; exact distances are only computed for those candidates.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ApplicationGeoRepository {
+
+    private static final String COLUMNS = """
+            a.id, a.user_id, a.full_name, a.coordinates,
+            t.id AS type_id, t.name AS type_name, p.name AS provider_name,
+            a.submitted_at, a.updated_at, a.version,
+            a.latitude, a.longitude
+            """;
+
+    private static final String FROM = """
+            FROM applications a
+            JOIN application_types t ON t.id = a.application_type_id
+            JOIN application_providers p ON p.id = t.provider_id
+            """;
+
+    // Haversine in meters, same formula as GeoPoint.distanceMeters
+    private static final String DISTANCE = """
+            2 * 6371008.8 * asin(least(1, sqrt(
+                power(sin(radians(a.latitude - :originLat) / 2), 2)
+                + cos(radians(:originLat)) * cos(radians(a.latitude))
+                * power(sin(radians(a.longitude - :originLon) / 2), 2))))
+            """;
+
+    private static final RowMapper<ApplicationListItem> ITEM_MAPPER = (rs, rowNum) -> new ApplicationListItem(
+            rs.getObject("id", UUID.class),
+            rs.getObject("user_id", UUID.class),
+            rs.getString("full_name"),
+            rs.getString("coordinates"),
+            rs.getObject("type_id", UUID.class),
+            rs.getString("type_name"),
+            rs.getString("provider_name"),
+            rs.getObject("submitted_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getObject("version", Long.class)
+    );
+
+    public record Candidate(UUID id, double latitude, double longitude) {
+    }
+
+    public record RankedCandidate(UUID id, double latitude, double longitude, double distanceMeters) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Applications within {@code radiusMeters} of {@code origin}, nearest first,
+     * continuing after {@code after}.
+     */
+    public List<NearbyApplication> findWithinRadius(
+            GeoPoint origin,
+            double radiusMeters,
+            List<String> cells,
+            GeoBox box,
+            UUID applicationTypeId,
+            GeoCursor after,
+            int limit
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("originLat", origin.latitude())
+                .addValue("originLon", origin.longitude())
+                .addValue("radius", radiusMeters)
+                .addValue("limit", limit);
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM (\nSELECT ")
+                .append(COLUMNS).append(", ").append(DISTANCE).append(" AS distance_m\n")
+                .append(FROM)
+                .append("WHERE ").append(candidatePredicate(cells, box, applicationTypeId, params))
+                .append("\n) hits\nWHERE distance_m <= :radius\n");
+        if (after != null) {
+            sql.append("  AND (distance_m, id) > (:afterDistance, :afterId)\n");
+            params.addValue("afterDistance", after.distanceMeters()).addValue("afterId", after.id());
+        }
+        sql.append("ORDER BY distance_m, id\nLIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new NearbyApplication(
+                ITEM_MAPPER.mapRow(rs, rowNum),
+                rs.getDouble("latitude"),
+                rs.getDouble("longitude"),
+                rs.getDouble("distance_m"),
+                null
+        ));
+    }
+
+    /**
+     * Ids, positions and distances of the applications in {@code box}, for
+     * callers that apply a finer geometric filter themselves. Nearest to
+     * {@code origin} first, continuing after {@code after} and at most
+     * {@code limit}, so such a caller can stop reading once it has enough.
+     */
+    public List<RankedCandidate> findCandidatesByDistance(
+            GeoPoint origin,
+            List<String> cells,
+            GeoBox box,
+            UUID applicationTypeId,
+            GeoCursor after,
+            int limit
+    ) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("originLat", origin.latitude())
+                .addValue("originLon", origin.longitude())
+                .addValue("limit", limit);
+
+        StringBuilder sql = new StringBuilder("SELECT * FROM (\nSELECT a.id, a.latitude, a.longitude, ")
+                .append(DISTANCE).append(" AS distance_m\nFROM applications a\nWHERE ")
+                .append(candidatePredicate(cells, box, applicationTypeId, params))
+                .append("\n) candidates\n");
+        if (after != null) {
+            sql.append("WHERE (distance_m, id) > (:afterDistance, :afterId)\n");
+            params.addValue("afterDistance", after.distanceMeters()).addValue("afterId", after.id());
+        }
+        sql.append("ORDER BY distance_m, id\nLIMIT :limit");
+
+        return jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> new RankedCandidate(
+                rs.getObject("id", UUID.class),
+                rs.getDouble("latitude"),
+                rs.getDouble("longitude"),
+                rs.getDouble("distance_m")
+        ));
+    }
+
+    /**
+     * Ids and positions of the applications in {@code box}, across all types,
+     * without {@code excludeId} and without applications whose insurance was rejected.
+     */
+    public List<Candidate> findActiveCandidates(List<String> cells, GeoBox box, UUID excludeId) {
+        MapSqlParameterSource params = new MapSqlParameterSource("excludeId", excludeId);
+        String sql = "SELECT a.id, a.latitude, a.longitude FROM applications a\n"
+                + "LEFT JOIN application_summary s ON s.application_id = a.id\nWHERE "
+                + candidatePredicate(cells, box, null, params)
+                + "\n  AND a.id <> :excludeId"
+                + "\n  AND (s.status IS NULL OR s.status <> 'REJECTED')";
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new Candidate(
+                rs.getObject("id", UUID.class),
+                rs.getDouble("latitude"),
+                rs.getDouble("longitude")
+        ));
+    }
+
+    public List<ApplicationListItem> findItems(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT " + COLUMNS + FROM + "WHERE a.id IN (:ids)",
+                new MapSqlParameterSource("ids", ids), ITEM_MAPPER);
+    }
+
+    private static String candidatePredicate(
+            List<String> cells,
+            GeoBox box,
+            UUID applicationTypeId,
+            MapSqlParameterSource params
+    ) {
+        List<String> ranges = new ArrayList<>(cells.size());
+        for (int i = 0; i < cells.size(); i++) {
+            // '{' sorts right after 'z', the last geohash character, under the C collation
+            params.addValue("cell" + i, cells.get(i)).addValue("cellEnd" + i, cells.get(i) + "{");
+            ranges.add("(a.geohash >= :cell" + i + " AND a.geohash < :cellEnd" + i + ")");
+        }
+
+        params.addValue("minLat", box.minLatitude())
+                .addValue("maxLat", box.maxLatitude())
+                .addValue("minLon", box.minLongitude())
+                .addValue("maxLon", box.maxLongitude());
+
+        String predicate = "(" + String.join(" OR ", ranges) + ")"
+                + "\n  AND a.latitude BETWEEN :minLat AND :maxLat"
+                + "\n  AND a.longitude BETWEEN :minLon AND :maxLon";
+        if (applicationTypeId != null) {
+            params.addValue("applicationTypeId", applicationTypeId);
+            predicate += "\n  AND a.application_type_id = :applicationTypeId";
+        }
+        return predicate;
+    }
+}
@@ -1,31 +1,58 @@
 package com.hashjosh.application.repository;
 
+import com.hashjosh.application.dto.type.ApplicationStatusCount;
+import com.hashjosh.application.dto.workflow.ApplicationWorkflowResponse;
 import com.hashjosh.application.model.Application;
 import com.hashjosh.application.model.ApplicationType;
-import com.hashjosh.application.model.ApplicationWorkflow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ApplicationRepository extends JpaRepository<Application, UUID> {
 
+    @EntityGraph(Application.DETAIL_GRAPH)
     @Query("""
     SELECT a FROM Application a
     WHERE a.type.id = :applicationTypeId
 """)
     List<Application> findAllByApplicationTypeId(@Param("applicationTypeId") UUID applicationTypeId);
 
+    @EntityGraph(Application.DETAIL_GRAPH)
+    @Query("SELECT a FROM Application a")
+    List<Application> findAllWithDetails();
+
+    @EntityGraph(Application.DETAIL_GRAPH)
+    @Query("SELECT a FROM Application a WHERE a.id = :id")
+    Optional<Application> findDetailById(@Param("id") UUID id);
+
+    // Second step of a paged detail read: the page is keyed by id first, so the collection fetch is never paginated
+    @EntityGraph(Application.DETAIL_GRAPH)
+    @Query("SELECT a FROM Application a WHERE a.id IN :ids")
+    List<Application> findAllWithDetailsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @EntityGraph(Application.UPDATE_GRAPH)
+    @Query("SELECT a FROM Application a WHERE a.id = :id")
+    Optional<Application> findForUpdateById(@Param("id") UUID id);
 
     @Query("""
-        SELECT w FROM Application a
+        SELECT new com.hashjosh.application.dto.workflow.ApplicationWorkflowResponse(
+            w.id, w.verificationEnabled, w.inspectionEnabled, w.policyEnabled, w.claimEnabled,
+            w.createdAt, w.updatedAt)
+        FROM Application a
         JOIN a.type at
         JOIN at.applicationWorkflow w
         WHERE a.id = :applicationId
  """)
-    ApplicationWorkflow findAllWorkflowsByApplicationId(@Param("applicationId") UUID applicationId);
+    Optional<ApplicationWorkflowResponse> findWorkflowByApplicationId(@Param("applicationId") UUID applicationId);
 
 
     @Query("""
@@ -35,5 +62,82 @@ public interface ApplicationRepository extends JpaRepository<Application, UUID>
  """)
     ApplicationType findApplicationTypeByApplicationId(@Param("applicationId") UUID applicationId);
 
+    @EntityGraph(Application.DETAIL_GRAPH)
     List<Application> findAllByUserId(UUID uuid);
+
+    /**
+     * Ids of a user's applications changed after {@code (fromAt, fromId)} and
+     * no later than {@code until}, in {@code (updated_at, id)} order for delta
+     * sync. The rows are then loaded with {@link #findAllWithDetailsByIdIn}, so
+     * the limit applies in the database rather than to a collection fetch.
+     */
+    @Query("""
+        SELECT a.id FROM Application a
+        WHERE a.userId = :userId
+          AND (a.updatedAt > :fromAt OR (a.updatedAt = :fromAt AND a.id > :fromId))
+          AND a.updatedAt <= :until
+        ORDER BY a.updatedAt, a.id
+    """)
+    List<UUID> findChangedIdsSince(
+            @Param("userId") UUID userId,
+            @Param("fromAt") LocalDateTime fromAt,
+            @Param("fromId") UUID fromId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
+
+    /**
+     * Sets and removes top-level dynamic field keys in place, only if the row is
+     * still at {@code version}. Returns the number of rows updated (0 on conflict).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+        UPDATE applications
+        SET dynamic_fields = (dynamic_fields || CAST(:changes AS jsonb))
+                - ARRAY(SELECT jsonb_array_elements_text(CAST(:removedKeys AS jsonb))),
+            version = version + 1,
+            updated_at = :updatedAt
+        WHERE id = :id AND version = :version
+ """, nativeQuery = true)
+    int patchDynamicFields(
+            @Param("id") UUID id,
+            @Param("version") Long version,
+            @Param("changes") String changes,
+            @Param("removedKeys") String removedKeys,
+            @Param("updatedAt") LocalDateTime updatedAt
+    );
+
+    /**
+     * The user's other applications of a type submitted since {@code since},
+     * newest first, leaving out those whose insurance was rejected.
+     */
+    @Query("""
+    SELECT a.id FROM Application a
+    WHERE a.userId = :userId
+      AND a.type.id = :applicationTypeId
+      AND a.submittedAt >= :since
+      AND a.id <> :excludeId
+      AND NOT EXISTS (
+          SELECT 1 FROM ApplicationSummary s
+          WHERE s.applicationId = a.id
+            AND s.status = com.hashjosh.constant.pcic.enums.InsuranceStatus.REJECTED
+      )
+    ORDER BY a.submittedAt DESC, a.id DESC
+""")
+    List<UUID> findRecentActiveIds(
+            @Param("userId") UUID userId,
+            @Param("applicationTypeId") UUID applicationTypeId,
+            @Param("since") LocalDateTime since,
+            @Param("excludeId") UUID excludeId,
+            Pageable pageable
+    );
+
+    @Query("""
+    SELECT new com.hashjosh.application.dto.type.ApplicationStatusCount(a.type.id, s.status, COUNT(a))
+    FROM Application a
+    LEFT JOIN ApplicationSummary s ON s.applicationId = a.id
+    WHERE a.type.id IN :applicationTypeIds
+    GROUP BY a.type.id, s.status
+""")
+    List<ApplicationStatusCount> countByTypeAndStatus(@Param("applicationTypeIds") Collection<UUID> applicationTypeIds);
 }
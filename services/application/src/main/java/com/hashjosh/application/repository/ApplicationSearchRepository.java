@@ -0,0 +1,175 @@
+package com.hashjosh.application.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hashjosh.application.dto.listing.ApplicationCursor;
+import com.hashjosh.application.dto.listing.ApplicationListItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Native listing and search over {@code applications}. Only the filters that
+ * are set become predicates, and the keyset is a row-value comparison, so each
+ * query can use the matching {@code (…, submitted_at, id)} index.
+ * <p>
+ * Dynamic field filters go over {@code applications.dynamic_fields}. Predicates are
+ * written so that PostgreSQL can answer them from the JSONB indexes kept by
+ * {@code DynamicFieldIndexService}: containment ({@code @>}) for equality and
+ * {@code in}, and {@code dynamic_fields -> 'key'} comparisons for ranges.
+ * <p>
+ * Keys are inlined as literals because expression indexes only match a
+ * constant key; callers must only pass keys that were validated against the
+ * declared application fields.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ApplicationSearchRepository {
+
+    private static final String SELECT = """
+            SELECT a.id, a.user_id, a.full_name, a.coordinates,
+                   t.id AS type_id, t.name AS type_name, p.name AS provider_name,
+                   a.submitted_at, a.updated_at, a.version
+            FROM applications a
+            JOIN application_types t ON t.id = a.application_type_id
+            JOIN application_providers p ON p.id = t.provider_id
+            """;
+
+    private static final RowMapper<ApplicationListItem> ROW_MAPPER = (rs, rowNum) -> new ApplicationListItem(
+            rs.getObject("id", UUID.class),
+            rs.getObject("user_id", UUID.class),
+            rs.getString("full_name"),
+            rs.getString("coordinates"),
+            rs.getObject("type_id", UUID.class),
+            rs.getString("type_name"),
+            rs.getString("provider_name"),
+            rs.getObject("submitted_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getObject("version", Long.class)
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * Accumulates the WHERE clause and its parameters for one search.
+     */
+    public final class Query {
+
+        private final List<String> predicates = new ArrayList<>();
+        private final MapSqlParameterSource params = new MapSqlParameterSource();
+        private final ObjectNode containment = objectMapper.createObjectNode();
+        private int paramCount;
+
+        private Query() {
+        }
+
+        public Query applicationType(UUID applicationTypeId) {
+            if (applicationTypeId != null) {
+                predicates.add("a.application_type_id = " + bind(applicationTypeId));
+            }
+            return this;
+        }
+
+        public Query provider(String provider) {
+            if (provider != null && !provider.isBlank()) {
+                predicates.add("p.name = " + bind(provider));
+            }
+            return this;
+        }
+
+        public Query user(UUID userId) {
+            if (userId != null) {
+                predicates.add("a.user_id = " + bind(userId));
+            }
+            return this;
+        }
+
+        public Query submittedBetween(LocalDateTime from, LocalDateTime to) {
+            if (from != null) {
+                predicates.add("a.submitted_at >= " + bind(from));
+            }
+            if (to != null) {
+                predicates.add("a.submitted_at < " + bind(to));
+            }
+            return this;
+        }
+
+        /**
+         * Equality filters are merged into a single containment document so
+         * they cost one GIN lookup together.
+         */
+        public Query contains(String key, JsonNode value) {
+            if (containment.has(key)) {
+                ObjectNode document = objectMapper.createObjectNode().set(key, value);
+                predicates.add("a.dynamic_fields @> CAST(" + bind(document.toString()) + " AS jsonb)");
+            } else {
+                containment.set(key, value);
+            }
+            return this;
+        }
+
+        public Query containsAny(String key, List<JsonNode> values) {
+            List<String> alternatives = new ArrayList<>(values.size());
+            for (JsonNode value : values) {
+                ObjectNode document = objectMapper.createObjectNode().set(key, value);
+                alternatives.add("a.dynamic_fields @> CAST(" + bind(document.toString()) + " AS jsonb)");
+            }
+            predicates.add("(" + String.join(" OR ", alternatives) + ")");
+            return this;
+        }
+
+        /**
+         * Adds {@code dynamic_fields -> key <operator> value}. The type guard
+         * keeps jsonb cross-type ordering from matching values of other types.
+         */
+        public Query compare(String key, String operator, JsonNode value) {
+            String path = "(a.dynamic_fields -> '" + key + "')";
+            predicates.add(path + " " + operator + " CAST(" + bind(value.toString()) + " AS jsonb)"
+                    + " AND jsonb_typeof" + path + " = '" + value.getNodeType().name().toLowerCase(Locale.ROOT) + "'");
+            return this;
+        }
+
+        public List<ApplicationListItem> fetch(ApplicationCursor after, Sort.Direction direction, int limit) {
+            if (!containment.isEmpty()) {
+                predicates.add("a.dynamic_fields @> CAST(" + bind(containment.toString()) + " AS jsonb)");
+            }
+
+            boolean ascending = direction == Sort.Direction.ASC;
+            if (after != null) {
+                predicates.add("(a.submitted_at, a.id) " + (ascending ? ">" : "<")
+                        + " (" + bind(after.submittedAt()) + ", " + bind(after.id()) + ")");
+            }
+
+            String order = ascending ? "ASC" : "DESC";
+            StringBuilder sql = new StringBuilder(SELECT);
+            if (!predicates.isEmpty()) {
+                sql.append("WHERE ").append(String.join("\n  AND ", predicates)).append('\n');
+            }
+            sql.append("ORDER BY a.submitted_at ").append(order).append(", a.id ").append(order).append('\n');
+            sql.append("LIMIT ").append(bind(limit));
+
+            return jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+        }
+
+        private String bind(Object value) {
+            String name = "p" + paramCount++;
+            params.addValue(name, value);
+            return ":" + name;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.hashjosh.application.repository;
+
+import com.hashjosh.application.model.ApplicationSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ApplicationSummaryRepository extends JpaRepository<ApplicationSummary, UUID> {
+
+    List<ApplicationSummary> findByApplicationIdIn(Collection<UUID> applicationIds);
+}
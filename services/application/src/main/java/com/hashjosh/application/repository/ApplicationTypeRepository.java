@@ -1,15 +1,32 @@
 package com.hashjosh.application.repository;
 
 import com.hashjosh.application.model.ApplicationType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ApplicationTypeRepository extends JpaRepository<ApplicationType, UUID> {
+
+    @EntityGraph(ApplicationType.SUMMARY_GRAPH)
+    @Query("SELECT t FROM ApplicationType t")
+    List<ApplicationType> findAllWithSummary();
+
+    @EntityGraph(ApplicationType.SUMMARY_GRAPH)
     List<ApplicationType> findAllByProvider_Name(String providerName);
 
+    @EntityGraph(ApplicationType.SUMMARY_GRAPH)
+    @Query("SELECT t FROM ApplicationType t WHERE t.id = :id")
+    Optional<ApplicationType> findSummaryById(@Param("id") UUID id);
+
+    @EntityGraph(ApplicationType.FORM_GRAPH)
+    @Query("SELECT t FROM ApplicationType t WHERE t.id = :id")
+    Optional<ApplicationType> findFormById(@Param("id") UUID id);
+
     Optional<ApplicationType> findByProvider_Name(String name);
 
     Optional<ApplicationType> findByName(String name);
@@ -0,0 +1,38 @@
+package com.hashjosh.application.repository;
+
+import com.hashjosh.application.model.DuplicateFlag;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface DuplicateFlagRepository extends JpaRepository<DuplicateFlag, UUID> {
+
+    List<DuplicateFlag> findAllByApplicationIdOrderByReasonAscDistanceMetersAsc(UUID applicationId);
+
+    // Oldest first, so the queue is worked in submission order
+    List<DuplicateFlag> findByStatusOrderByCreatedAtAscIdAsc(DuplicateFlag.Status status, Pageable pageable);
+
+    /**
+     * Records a decision on a flag that is still open. Returns 0 if the flag
+     * does not exist or was already reviewed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE DuplicateFlag f
+        SET f.status = :status, f.reviewedBy = :reviewedBy, f.reviewedAt = :reviewedAt, f.reviewNote = :note
+        WHERE f.id = :id AND f.status = com.hashjosh.application.model.DuplicateFlag.Status.OPEN
+    """)
+    int review(@Param("id") UUID id,
+               @Param("status") DuplicateFlag.Status status,
+               @Param("reviewedBy") UUID reviewedBy,
+               @Param("reviewedAt") LocalDateTime reviewedAt,
+               @Param("note") String note);
+}
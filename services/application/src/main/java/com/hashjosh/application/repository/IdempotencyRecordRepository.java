@@ -0,0 +1,77 @@
+package com.hashjosh.application.repository;
+
+import com.hashjosh.application.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    /**
+     * Claims a key for the caller. Returns 0 when the key is already taken, without
+     * raising a constraint violation that would mark the transaction rollback-only.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, status, created_at, expires_at)
+        VALUES (:userId, :key, :requestHash, 'IN_PROGRESS', :now, :expiresAt)
+        ON CONFLICT (user_id, idempotency_key) DO NOTHING
+    """, nativeQuery = true)
+    int tryClaim(@Param("userId") UUID userId,
+                 @Param("key") String key,
+                 @Param("requestHash") String requestHash,
+                 @Param("now") LocalDateTime now,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    /**
+     * Takes over an expired or abandoned record. Matching on the observed
+     * {@code createdAt} makes sure only one concurrent retry wins.
+     */
+    @Modifying
+    @Query("""
+        UPDATE IdempotencyRecord r
+        SET r.requestHash = :requestHash,
+            r.status = com.hashjosh.application.model.IdempotencyRecord.Status.IN_PROGRESS,
+            r.applicationId = NULL,
+            r.createdAt = :now,
+            r.expiresAt = :expiresAt
+        WHERE r.id = :id AND r.createdAt = :observedCreatedAt
+    """)
+    int takeOver(@Param("id") Long id,
+                 @Param("observedCreatedAt") LocalDateTime observedCreatedAt,
+                 @Param("requestHash") String requestHash,
+                 @Param("now") LocalDateTime now,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("""
+        UPDATE IdempotencyRecord r
+        SET r.status = com.hashjosh.application.model.IdempotencyRecord.Status.COMPLETED,
+            r.applicationId = :applicationId
+        WHERE r.userId = :userId AND r.idempotencyKey = :key
+    """)
+    int complete(@Param("userId") UUID userId,
+                 @Param("key") String key,
+                 @Param("applicationId") UUID applicationId);
+
+    @Modifying
+    @Query("""
+        DELETE FROM IdempotencyRecord r
+        WHERE r.userId = :userId AND r.idempotencyKey = :key
+          AND r.status = com.hashjosh.application.model.IdempotencyRecord.Status.IN_PROGRESS
+    """)
+    int release(@Param("userId") UUID userId, @Param("key") String key);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,47 @@
+package com.hashjosh.application.repository;
+
+import com.hashjosh.application.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the next due events, skipping rows held by another relay instance.
+     * Only the oldest pending event of each aggregate is eligible, so events of
+     * one submission are never published out of order. A dead-lettered event
+     * no longer holds back the ones after it.
+     */
+    @Query(value = """
+        SELECT * FROM outbox_events e
+        WHERE e.published_at IS NULL
+          AND e.dead_lettered_at IS NULL
+          AND e.next_attempt_at <= :now
+          AND NOT EXISTS (
+              SELECT 1 FROM outbox_events p
+              WHERE p.aggregate_id = e.aggregate_id
+                AND p.published_at IS NULL
+                AND p.dead_lettered_at IS NULL
+                AND p.id < e.id
+          )
+        ORDER BY e.id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    long countByPublishedAtIsNullAndDeadLetteredAtIsNull();
+
+    long countByDeadLetteredAtIsNotNull();
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
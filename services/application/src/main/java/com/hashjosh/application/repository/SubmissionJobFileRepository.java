@@ -0,0 +1,21 @@
+package com.hashjosh.application.repository;
+
+import com.hashjosh.application.model.SubmissionJobFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SubmissionJobFileRepository extends JpaRepository<SubmissionJobFile, UUID> {
+
+    List<SubmissionJobFile> findByJobId(UUID jobId);
+
+    @Modifying
+    @Query("DELETE FROM SubmissionJobFile f WHERE f.jobId = :jobId")
+    int deleteByJobId(@Param("jobId") UUID jobId);
+}
@@ -0,0 +1,65 @@
+package com.hashjosh.application.repository;
+
+import com.hashjosh.application.model.SubmissionJob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SubmissionJobRepository extends JpaRepository<SubmissionJob, UUID> {
+
+    Optional<SubmissionJob> findByIdAndUserId(UUID id, UUID userId);
+
+    Optional<SubmissionJob> findByUserIdAndIdempotencyKey(UUID userId, String idempotencyKey);
+
+    /**
+     * Locks jobs that are due, either queued or running under an expired lease,
+     * skipping rows another worker holds.
+     */
+    @Query(value = """
+        SELECT * FROM submission_jobs j
+        WHERE (j.status = 'QUEUED' AND j.next_attempt_at <= :now)
+           OR (j.status IN ('VALIDATING', 'UPLOADING', 'PERSISTING') AND j.locked_until < :now)
+        ORDER BY j.next_attempt_at
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+    """, nativeQuery = true)
+    List<SubmissionJob> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM SubmissionJob j WHERE j.id = :id")
+    Optional<SubmissionJob> lockById(@Param("id") UUID id);
+
+    /**
+     * Extends the lease of a running job, as long as the attempt is still the
+     * current one. Returns 0 if another worker has taken the job over.
+     */
+    @Modifying
+    @Query("""
+        UPDATE SubmissionJob j SET j.lockedUntil = :lockedUntil
+        WHERE j.id = :id
+          AND j.attempts = :attempts
+          AND j.status IN (com.hashjosh.application.model.SubmissionJob.Status.VALIDATING,
+                           com.hashjosh.application.model.SubmissionJob.Status.UPLOADING,
+                           com.hashjosh.application.model.SubmissionJob.Status.PERSISTING)
+    """)
+    int renewLease(@Param("id") UUID id, @Param("attempts") int attempts, @Param("lockedUntil") LocalDateTime lockedUntil);
+
+    @Modifying
+    @Query("""
+        DELETE FROM SubmissionJob j
+        WHERE j.status IN (com.hashjosh.application.model.SubmissionJob.Status.COMPLETED,
+                           com.hashjosh.application.model.SubmissionJob.Status.FAILED)
+          AND j.updatedAt < :cutoff
+    """)
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,209 @@
+package com.hashjosh.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hashjosh.application.configs.CustomUserDetails;
+import com.hashjosh.application.configs.DraftProperties;
+import com.hashjosh.application.dto.draft.DraftCoordinatesRequest;
+import com.hashjosh.application.dto.draft.DraftCreateRequest;
+import com.hashjosh.application.dto.draft.DraftResponse;
+import com.hashjosh.application.dto.submission.ApplicationSubmissionDto;
+import com.hashjosh.application.dto.submission.SubmissionResult;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.model.Application;
+import com.hashjosh.application.model.ApplicationDraft;
+import com.hashjosh.application.repository.ApplicationDraftRepository;
+import com.hashjosh.application.repository.ApplicationTypeRepository;
+import com.hashjosh.application.validators.FormSchema;
+import com.hashjosh.application.validators.FormSchemaRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Server-side drafts of long forms. The app saves one section at a time as a
+ * sparse patch that is merged into the stored values by the database, and
+ * submits the draft through {@link ApplicationService} once it is complete.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApplicationDraftService {
+
+    private static final TypeReference<LinkedHashMap<String, Object>> FIELD_VALUES = new TypeReference<>() {
+    };
+
+    private final ApplicationDraftRepository applicationDraftRepository;
+    private final ApplicationTypeRepository applicationTypeRepository;
+    private final FormSchemaRegistry formSchemaRegistry;
+    private final ApplicationService applicationService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final DraftProperties properties;
+
+    public DraftResponse create(DraftCreateRequest request) {
+        UUID userId = currentUserId();
+        schemaOf(request.applicationTypeId());
+
+        return transactionTemplate.execute(status -> {
+            if (applicationDraftRepository.countByUserId(userId) >= properties.getMaxPerUser()) {
+                throw ApiException.conflict("At most " + properties.getMaxPerUser()
+                        + " drafts can be open at a time; submit or delete one first");
+            }
+            LocalDateTime now = LocalDateTime.now();
+            ApplicationDraft draft = applicationDraftRepository.save(ApplicationDraft.builder()
+                    .userId(userId)
+                    .applicationTypeId(request.applicationTypeId())
+                    .coordinates(request.coordinates())
+                    .fieldValues(JsonNodeFactory.instance.objectNode())
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .expiresAt(now.plus(properties.getTtl()))
+                    .build());
+            return DraftResponse.from(draft);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public DraftResponse get(UUID draftId) {
+        return DraftResponse.from(findOwned(draftId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<DraftResponse> findByCurrentUser() {
+        return applicationDraftRepository.findAllByUserIdOrderByUpdatedAtDesc(currentUserId()).stream()
+                .map(DraftResponse::summary)
+                .toList();
+    }
+
+    /**
+     * Merges {@code patch} into the draft: each key sets that field's value, a
+     * {@code null} removes it. Only fields of {@code sectionId} may be sent.
+     * Values are checked on submission, not here, so half-typed input is kept.
+     */
+    public void saveSection(UUID draftId, UUID sectionId, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw ApiException.badRequest("Section patch must be a JSON object");
+        }
+
+        UUID userId = currentUserId();
+        UUID applicationTypeId = applicationDraftRepository.findApplicationTypeId(draftId, userId)
+                .orElseThrow(() -> draftNotFound(draftId));
+        Set<String> sectionKeys = schemaOf(applicationTypeId).getSectionKeys(sectionId)
+                .orElseThrow(() -> ApiException.notFound("Section " + sectionId + " is not part of this form"));
+
+        ObjectNode changes = JsonNodeFactory.instance.objectNode();
+        List<String> removedKeys = new ArrayList<>();
+        List<String> unknownKeys = new ArrayList<>();
+        for (Map.Entry<String, JsonNode> entry : patch.properties()) {
+            if (!sectionKeys.contains(entry.getKey())) {
+                unknownKeys.add(entry.getKey());
+            } else if (entry.getValue().isNull()) {
+                removedKeys.add(entry.getKey());
+            } else {
+                changes.set(entry.getKey(), entry.getValue());
+            }
+        }
+        if (!unknownKeys.isEmpty()) {
+            throw ApiException.badRequest("Fields not in section " + sectionId + ": " + String.join(", ", unknownKeys));
+        }
+
+        String changesJson;
+        String removedJson;
+        try {
+            changesJson = objectMapper.writeValueAsString(changes);
+            removedJson = objectMapper.writeValueAsString(removedKeys);
+        } catch (JsonProcessingException e) {
+            throw ApiException.badRequest("Invalid section patch");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = transactionTemplate.execute(status -> applicationDraftRepository.mergeFieldValues(
+                draftId, userId, changesJson, removedJson, now, now.plus(properties.getTtl())));
+        if (updated == null || updated == 0) {
+            throw draftNotFound(draftId);
+        }
+    }
+
+    public void updateCoordinates(UUID draftId, DraftCoordinatesRequest request) {
+        UUID userId = currentUserId();
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = transactionTemplate.execute(status -> applicationDraftRepository.updateCoordinates(
+                draftId, userId, request.coordinates(), now, now.plus(properties.getTtl())));
+        if (updated == null || updated == 0) {
+            throw draftNotFound(draftId);
+        }
+    }
+
+    @Transactional
+    public void delete(UUID draftId) {
+        if (applicationDraftRepository.deleteByIdAndUserId(draftId, currentUserId()) == 0) {
+            throw draftNotFound(draftId);
+        }
+    }
+
+    /**
+     * Submits the draft with {@code fileMap} like {@code POST /submit}. The
+     * draft is deleted in the transaction that stores the application.
+     */
+    public SubmissionResult submit(UUID draftId, Map<String, MultipartFile> fileMap, String idempotencyKey) {
+        UUID userId = currentUserId();
+        ApplicationDraft draft = transactionTemplate.execute(status -> findOwned(draftId));
+
+        ApplicationSubmissionDto submission = new ApplicationSubmissionDto();
+        submission.setApplicationTypeId(draft.getApplicationTypeId());
+        submission.setCoordinates(draft.getCoordinates());
+        submission.setFieldValues(objectMapper.convertValue(draft.getFieldValues(), FIELD_VALUES));
+
+        return applicationService.processSubmission(submission, fileMap, idempotencyKey, new SubmissionListener() {
+            @Override
+            public void onPersisted(Application application) {
+                // The delete waits on a concurrent submit's row lock; once that commits nothing is left to delete
+                if (applicationDraftRepository.deleteByIdAndUserId(draftId, userId) == 0) {
+                    throw ApiException.conflict("Draft " + draftId + " has already been submitted");
+                }
+            }
+        });
+    }
+
+    @Scheduled(cron = "${app.drafts.cleanup-cron:0 30 2 * * *}")
+    public void purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status ->
+                applicationDraftRepository.deleteExpired(LocalDateTime.now()));
+        log.info("Deleted {} expired application drafts", deleted);
+    }
+
+    private FormSchema schemaOf(UUID applicationTypeId) {
+        return formSchemaRegistry.findCached(applicationTypeId).orElseGet(() -> transactionTemplate.execute(status ->
+                applicationTypeRepository.findFormById(applicationTypeId)
+                        .map(formSchemaRegistry::getSchema)
+                        .orElseThrow(() -> ApiException.badRequest("Invalid application type ID"))));
+    }
+
+    private ApplicationDraft findOwned(UUID draftId) {
+        return applicationDraftRepository.findByIdAndUserId(draftId, currentUserId())
+                .orElseThrow(() -> draftNotFound(draftId));
+    }
+
+    private static ApiException draftNotFound(UUID draftId) {
+        return ApiException.notFound("Draft not found with id: " + draftId);
+    }
+
+    private UUID currentUserId() {
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
+                .getContext().getAuthentication().getPrincipal();
+        return UUID.fromString(userDetails.getUserId());
+    }
+}
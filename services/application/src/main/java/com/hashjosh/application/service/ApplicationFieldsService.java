@@ -6,6 +6,7 @@ import com.hashjosh.application.model.ApplicationField;
 import com.hashjosh.application.model.ApplicationSection;
 import com.hashjosh.application.repository.ApplicationFieldsRepository;
 import com.hashjosh.application.repository.ApplicationSectionRepository;
+import com.hashjosh.application.validators.FormSchemaRegistry;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,13 +19,19 @@ public class ApplicationFieldsService {
     private final ApplicationFieldMapper applicationFieldMapper;
     private final ApplicationFieldsRepository applicationFieldsRepository;
     private final ApplicationSectionRepository applicationSectionRepository;
+    private final FormSchemaRegistry formSchemaRegistry;
+    private final ApplicationTypeCatalog applicationTypeCatalog;
 
     public ApplicationFieldsService(ApplicationFieldMapper applicationFieldMapper,
                                     ApplicationFieldsRepository applicationFieldsRepository,
-                                    ApplicationSectionRepository applicationSectionRepository) {
+                                    ApplicationSectionRepository applicationSectionRepository,
+                                    FormSchemaRegistry formSchemaRegistry,
+                                    ApplicationTypeCatalog applicationTypeCatalog) {
         this.applicationFieldMapper = applicationFieldMapper;
         this.applicationFieldsRepository = applicationFieldsRepository;
         this.applicationSectionRepository = applicationSectionRepository;
+        this.formSchemaRegistry = formSchemaRegistry;
+        this.applicationTypeCatalog = applicationTypeCatalog;
     }
 
     @Transactional(propagation = Propagation.REQUIRED)
@@ -32,6 +39,10 @@ public class ApplicationFieldsService {
         ApplicationSection applicationSection = applicationSectionRepository.findById(sectionId)
                 .orElseThrow(() -> new RuntimeException("Application section not found"));
         ApplicationField applicationFields = applicationFieldMapper.toApplicationField(dto, applicationSection);
-        return applicationFieldsRepository.save(applicationFields);
+        ApplicationField saved = applicationFieldsRepository.save(applicationFields);
+        // A field added to an existing form changes both the compiled schema and the catalog
+        formSchemaRegistry.evict(applicationSection.getApplicationType().getId());
+        applicationTypeCatalog.invalidate();
+        return saved;
     }
 }
\ No newline at end of file
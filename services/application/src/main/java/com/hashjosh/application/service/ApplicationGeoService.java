@@ -0,0 +1,233 @@
+package com.hashjosh.application.service;
+
+import com.hashjosh.application.configs.GeoProperties;
+import com.hashjosh.application.dto.geo.GeoCursor;
+import com.hashjosh.application.dto.geo.NearbyApplication;
+import com.hashjosh.application.dto.geo.PolygonSearchRequest;
+import com.hashjosh.application.dto.listing.ApplicationListItem;
+import com.hashjosh.application.dto.listing.CursorPage;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.geo.GeoBox;
+import com.hashjosh.application.geo.GeoPoint;
+import com.hashjosh.application.geo.Geohash;
+import com.hashjosh.application.repository.ApplicationGeoRepository;
+import lombok.RequiredArgsConstructor;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Location searches for field planning: applications within a radius, inside
+ * a polygon, or the k nearest to a point. All results are ordered by distance
+ * and carry the status of the application's insurance.
+ */
+@Service
+@RequiredArgsConstructor
+public class ApplicationGeoService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_NEAREST = 100;
+    // Upper bound on geohash range scans per query
+    private static final int MAX_CELLS = 16;
+    private static final double INITIAL_NEAREST_RADIUS_METERS = 1_000;
+    // Polygon candidates read per query, in multiples of the page
+    private static final int POLYGON_BATCH_PAGES = 4;
+
+    private final ApplicationGeoRepository applicationGeoRepository;
+    private final ApplicationSummaryService applicationSummaryService;
+    private final GeoProperties properties;
+    private final GeometryFactory geometryFactory = new GeometryFactory();
+
+    public CursorPage<NearbyApplication> withinRadius(
+            double latitude,
+            double longitude,
+            double radiusKm,
+            UUID applicationTypeId,
+            String cursor,
+            Integer limit,
+            boolean includeInsuranceStatus
+    ) {
+        GeoPoint origin = point(latitude, longitude);
+        double radiusMeters = radiusMeters(radiusKm);
+        int pageSize = pageSize(limit);
+
+        GeoBox box = GeoBox.around(origin, radiusMeters);
+        List<NearbyApplication> rows = applicationGeoRepository.findWithinRadius(
+                origin, radiusMeters, Geohash.cover(box, MAX_CELLS), box,
+                applicationTypeId, GeoCursor.decode(cursor), pageSize + 1);
+
+        return page(rows, pageSize, includeInsuranceStatus);
+    }
+
+    /**
+     * The {@code k} applications closest to the point. The search radius starts
+     * small and doubles until enough applications are found or the maximum
+     * search radius is reached.
+     */
+    public List<NearbyApplication> nearest(
+            double latitude,
+            double longitude,
+            int k,
+            UUID applicationTypeId,
+            boolean includeInsuranceStatus
+    ) {
+        if (k < 1 || k > MAX_NEAREST) {
+            throw ApiException.badRequest("k must be between 1 and " + MAX_NEAREST);
+        }
+        GeoPoint origin = point(latitude, longitude);
+        double maxRadius = properties.getMaxSearchRadiusKm() * 1000;
+
+        double radius = Math.min(INITIAL_NEAREST_RADIUS_METERS, maxRadius);
+        List<NearbyApplication> rows;
+        while (true) {
+            GeoBox box = GeoBox.around(origin, radius);
+            rows = applicationGeoRepository.findWithinRadius(
+                    origin, radius, Geohash.cover(box, MAX_CELLS), box, applicationTypeId, null, k);
+            // Everything outside the radius is farther than what was found, so k hits are final
+            if (rows.size() >= k || radius >= maxRadius) {
+                break;
+            }
+            radius = Math.min(radius * 2, maxRadius);
+        }
+
+        return includeInsuranceStatus ? withInsuranceStatus(rows) : rows;
+    }
+
+    public CursorPage<NearbyApplication> withinPolygon(PolygonSearchRequest request) {
+        PreparedGeometry polygon = PreparedGeometryFactory.prepare(toPolygon(request.polygon()));
+        GeoBox box = boundingBox(request.polygon());
+        if (box.radiusMeters() > properties.getMaxSearchRadiusKm() * 1000) {
+            throw ApiException.badRequest("Polygon must fit within " + properties.getMaxSearchRadiusKm() + " km");
+        }
+
+        GeoPoint origin = request.origin() != null
+                ? point(request.origin().latitude(), request.origin().longitude())
+                : centroid(polygon);
+        int pageSize = pageSize(request.limit());
+
+        // Candidates come nearest first, so reading stops once the page is full; items are loaded for the page only
+        List<String> cells = Geohash.cover(box, MAX_CELLS);
+        int batchSize = (pageSize + 1) * POLYGON_BATCH_PAGES;
+        List<ApplicationGeoRepository.RankedCandidate> hits = new ArrayList<>(pageSize + 1);
+        GeoCursor position = GeoCursor.decode(request.cursor());
+        while (hits.size() <= pageSize) {
+            List<ApplicationGeoRepository.RankedCandidate> batch = applicationGeoRepository.findCandidatesByDistance(
+                    origin, cells, box, request.applicationTypeId(), position, batchSize);
+            for (ApplicationGeoRepository.RankedCandidate candidate : batch) {
+                if (hits.size() > pageSize) {
+                    break;
+                }
+                if (polygon.covers(geometryFactory.createPoint(new Coordinate(candidate.longitude(), candidate.latitude())))) {
+                    hits.add(candidate);
+                }
+            }
+            if (batch.size() < batchSize) {
+                break;
+            }
+            ApplicationGeoRepository.RankedCandidate last = batch.get(batch.size() - 1);
+            position = new GeoCursor(last.distanceMeters(), last.id());
+        }
+
+        Map<UUID, ApplicationListItem> items = applicationGeoRepository
+                .findItems(hits.stream().map(ApplicationGeoRepository.RankedCandidate::id).toList())
+                .stream()
+                .collect(Collectors.toMap(ApplicationListItem::id, Function.identity()));
+
+        List<NearbyApplication> rows = hits.stream()
+                .filter(hit -> items.containsKey(hit.id()))
+                .map(hit -> new NearbyApplication(items.get(hit.id()),
+                        hit.latitude(), hit.longitude(), hit.distanceMeters(), null))
+                .toList();
+
+        return page(rows, pageSize, !Boolean.FALSE.equals(request.includeInsuranceStatus()));
+    }
+
+    private CursorPage<NearbyApplication> page(List<NearbyApplication> rows, int pageSize, boolean includeInsuranceStatus) {
+        boolean hasMore = rows.size() > pageSize;
+        List<NearbyApplication> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            NearbyApplication last = items.get(items.size() - 1);
+            nextCursor = new GeoCursor(last.distanceMeters(), last.application().id()).encode();
+        }
+
+        if (includeInsuranceStatus) {
+            items = withInsuranceStatus(items);
+        }
+        return new CursorPage<>(List.copyOf(items), nextCursor, hasMore);
+    }
+
+    // One summary lookup for the whole page
+    private List<NearbyApplication> withInsuranceStatus(List<NearbyApplication> rows) {
+        if (rows.isEmpty()) {
+            return rows;
+        }
+        Map<UUID, String> statuses = applicationSummaryService.getStatuses(
+                rows.stream().map(row -> row.application().id()).toList());
+        return rows.stream()
+                .map(row -> row.withInsuranceStatus(statuses.get(row.application().id())))
+                .toList();
+    }
+
+    private GeoPoint point(double latitude, double longitude) {
+        try {
+            return new GeoPoint(latitude, longitude);
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest(e.getMessage());
+        }
+    }
+
+    private double radiusMeters(double radiusKm) {
+        if (!(radiusKm > 0) || radiusKm > properties.getMaxSearchRadiusKm()) {
+            throw ApiException.badRequest("Radius must be greater than 0 and at most "
+                    + properties.getMaxSearchRadiusKm() + " km");
+        }
+        return radiusKm * 1000;
+    }
+
+    private static int pageSize(Integer limit) {
+        return Math.min(Math.max(limit != null ? limit : DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+    }
+
+    private Polygon toPolygon(List<PolygonSearchRequest.Position> positions) {
+        List<Coordinate> ring = new ArrayList<>(positions.size() + 1);
+        for (PolygonSearchRequest.Position position : positions) {
+            point(position.latitude(), position.longitude());
+            ring.add(new Coordinate(position.longitude(), position.latitude()));
+        }
+        if (!ring.get(0).equals2D(ring.get(ring.size() - 1))) {
+            ring.add(ring.get(0));
+        }
+        if (ring.size() < 4) {
+            throw ApiException.badRequest("Polygon needs at least three distinct points");
+        }
+
+        Polygon polygon = geometryFactory.createPolygon(ring.toArray(Coordinate[]::new));
+        if (!polygon.isValid()) {
+            throw ApiException.badRequest("Polygon must not intersect itself");
+        }
+        return polygon;
+    }
+
+    private static GeoBox boundingBox(List<PolygonSearchRequest.Position> positions) {
+        DoubleSummaryStatistics latitudes = positions.stream()
+                .mapToDouble(PolygonSearchRequest.Position::latitude).summaryStatistics();
+        DoubleSummaryStatistics longitudes = positions.stream()
+                .mapToDouble(PolygonSearchRequest.Position::longitude).summaryStatistics();
+        return new GeoBox(latitudes.getMin(), longitudes.getMin(), latitudes.getMax(), longitudes.getMax());
+    }
+
+    private static GeoPoint centroid(PreparedGeometry polygon) {
+        Coordinate centroid = polygon.getGeometry().getCentroid().getCoordinate();
+        return new GeoPoint(centroid.y, centroid.x);
+    }
+}
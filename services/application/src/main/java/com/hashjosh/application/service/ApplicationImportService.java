@@ -0,0 +1,403 @@
+package com.hashjosh.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.clients.FarmerServiceClient;
+import com.hashjosh.application.configs.CustomUserDetails;
+import com.hashjosh.application.configs.ImportProperties;
+import com.hashjosh.application.dto.imports.ImportRowResult;
+import com.hashjosh.application.dto.imports.ImportSummary;
+import com.hashjosh.application.dto.submission.ApplicationSubmissionDto;
+import com.hashjosh.application.dto.validation.ValidationError;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.geo.CoordinateValidator;
+import com.hashjosh.application.imports.ImportRow;
+import com.hashjosh.application.imports.ImportRowException;
+import com.hashjosh.application.imports.ImportSession;
+import com.hashjosh.application.kafka.ApplicationProducer;
+import com.hashjosh.application.mapper.ApplicationMapper;
+import com.hashjosh.application.mapper.DocumentMapper;
+import com.hashjosh.application.model.Application;
+import com.hashjosh.application.model.ApplicationType;
+import com.hashjosh.application.model.Document;
+import com.hashjosh.application.repository.ApplicationRepository;
+import com.hashjosh.application.repository.ApplicationTypeRepository;
+import com.hashjosh.application.repository.DocumentRepository;
+import com.hashjosh.application.validators.FormSchema;
+import com.hashjosh.application.validators.FormSchemaRegistry;
+import com.hashjosh.constant.document.dto.DocumentResponse;
+import com.hashjosh.constant.farmer.FarmerReponse;
+import com.hashjosh.kafkacommon.application.ApplicationSubmittedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Bulk import of applications collected offline. Rows are streamed from the
+ * data file and handled one chunk at a time: every row is validated against
+ * the form schema, the chunk's policy numbers are checked together, the files
+ * of valid rows are uploaded concurrently, and the chunk is inserted in a
+ * single batched transaction together with its {@code application-submitted}
+ * events. Only the current chunk is held in
+ * memory, and each row's outcome is reported as soon as its chunk is done.
+ * <p>
+ * Rows are independent: a failing row is reported and its uploads discarded,
+ * the rest of the import continues.
+ * <p>
+ * Imports are done by staff on behalf of farmers: farmers cannot import, and
+ * a row whose {@code userId} is not a registered farmer is rejected.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApplicationImportService {
+
+    private static final String SUBMITTED_TOPIC = "application-submitted";
+
+    private final ApplicationTypeRepository applicationTypeRepository;
+    private final ApplicationRepository applicationRepository;
+    private final DocumentRepository documentRepository;
+    private final FormSchemaRegistry formSchemaRegistry;
+    private final ApplicationService applicationService;
+    private final DocumentUploadService documentUploadService;
+    private final FarmerServiceClient farmerClient;
+    private final ApplicationMapper applicationMapper;
+    private final DocumentMapper documentMapper;
+    private final ApplicationProducer applicationProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final CoordinateValidator coordinateValidator;
+    private final ApplicationSummaryService applicationSummaryService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final ImportProperties properties;
+
+    /**
+     * One row of the current chunk. Once {@code errors} is set the remaining
+     * steps skip the row.
+     */
+    private static final class PendingRow {
+        final int rowNumber;
+        ApplicationSubmissionDto submission;
+        Map<String, MultipartFile> files = Map.of();
+        Map<String, DocumentResponse> uploads = Map.of();
+        UUID applicationId;
+        List<String> errors = List.of();
+
+        PendingRow(int rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+
+        boolean failed() {
+            return !errors.isEmpty();
+        }
+
+        void fail(String error) {
+            this.errors = List.of(error);
+        }
+
+        ImportRowResult toResult() {
+            return failed()
+                    ? ImportRowResult.failed(rowNumber, errors)
+                    : ImportRowResult.imported(rowNumber, applicationId);
+        }
+    }
+
+    /**
+     * Checks the request and stages the uploaded parts. Problems with the
+     * request as a whole are rejected here, before any row is processed.
+     */
+    public ImportSession open(UUID applicationTypeId, MultipartFile data, MultipartFile files, String format) {
+        if (currentUser().isFarmer()) {
+            throw new ApiException("Farmers cannot import applications", HttpStatus.FORBIDDEN);
+        }
+        if (data == null || data.isEmpty()) {
+            throw ApiException.badRequest("Import data file is required");
+        }
+        ImportSession.Format detected = ImportSession.detectFormat(format, data)
+                .orElseThrow(() -> ApiException.badRequest("Unsupported import format, expected csv or ndjson"));
+
+        // Sections and fields are lazy, so a schema missing from the cache is compiled in the session
+        ApplicationType applicationType = transactionTemplate.execute(status -> {
+            ApplicationType formType = applicationTypeRepository.findFormById(applicationTypeId)
+                    .orElseThrow(() -> ApiException.badRequest("Invalid application type ID"));
+            formSchemaRegistry.getSchema(formType);
+            return formType;
+        });
+        FormSchema schema = formSchemaRegistry.getSchema(applicationType);
+
+        try {
+            return ImportSession.open(applicationType, schema, data, files, detected, currentUserId(), objectMapper);
+        } catch (IOException e) {
+            throw ApiException.badRequest("Failed to read import files: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Processes every row of {@code session}, passing each result to
+     * {@code report} in row order, and returns the totals. An unreadable data
+     * file ends the import; rows already imported are kept.
+     */
+    public ImportSummary run(ImportSession session, Consumer<ImportRowResult> report) {
+        String importedBy = session.getImportedBy();
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        int total = 0;
+        int imported = 0;
+        String error = null;
+
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        boolean more = true;
+
+        while (more) {
+            try {
+                while (chunk.size() < chunkSize) {
+                    PendingRow pending = readRow(session, importedBy);
+                    if (pending == null) {
+                        more = false;
+                        break;
+                    }
+                    chunk.add(pending);
+                }
+            } catch (IOException e) {
+                log.warn("Import of {} stopped after row {}: {}",
+                        session.getApplicationType().getName(), total + chunk.size(), e.getMessage());
+                error = "Failed to read import data: " + e.getMessage();
+                more = false;
+            }
+
+            validatePolicies(chunk, importedBy);
+            upload(chunk, importedBy);
+            persist(session, chunk);
+
+            for (PendingRow pending : chunk) {
+                total++;
+                if (!pending.failed()) {
+                    imported++;
+                }
+                report.accept(pending.toResult());
+            }
+            chunk.clear();
+        }
+
+        log.info("Imported {} of {} {} applications for {}",
+                imported, total, session.getApplicationType().getName(), importedBy);
+        return new ImportSummary(total, imported, total - imported, error);
+    }
+
+    /**
+     * Reads and validates the next row. Returns {@code null} at the end of the data.
+     */
+    private PendingRow readRow(ImportSession session, String importedBy) throws IOException {
+        ImportRow row;
+        try {
+            row = session.getReader().next();
+        } catch (ImportRowException e) {
+            PendingRow rejected = new PendingRow(e.getRowNumber());
+            rejected.fail(e.getMessage());
+            return rejected;
+        }
+        if (row == null) {
+            return null;
+        }
+
+        PendingRow pending = new PendingRow(row.rowNumber());
+
+        List<ValidationError> validationErrors = session.getSchema().validate(row.fieldValues(), objectMapper);
+        if (!validationErrors.isEmpty()) {
+            pending.errors = validationErrors.stream()
+                    .map(validationError -> validationError.getField() + ": " + validationError.getMessage())
+                    .toList();
+            return pending;
+        }
+
+        Optional<String> coordinateError = coordinateValidator.findError(row.coordinates());
+        if (coordinateError.isPresent()) {
+            pending.fail(coordinateError.get());
+            return pending;
+        }
+
+        Map<String, MultipartFile> files = new LinkedHashMap<>();
+        for (Map.Entry<String, String> reference : row.files().entrySet()) {
+            Optional<MultipartFile> file = session.file(reference.getValue());
+            if (file.isEmpty()) {
+                pending.fail("File '" + reference.getValue() + "' for " + reference.getKey() + " is not in the archive");
+                return pending;
+            }
+            files.put(reference.getKey(), file.get());
+        }
+
+        ApplicationSubmissionDto submission = ApplicationSubmissionDto.builder()
+                .applicationTypeId(session.getApplicationType().getId())
+                .fieldValues(new HashMap<>(row.fieldValues()))
+                .coordinates(Objects.requireNonNullElse(row.coordinates(), ""))
+                .useId(row.userId())
+                .fullName(row.fullName())
+                .build();
+
+        pending.submission = submission;
+        pending.files = files;
+        return pending;
+    }
+
+    /**
+     * Checks the policy numbers of every valid row of the chunk together, so a
+     * chunk costs at most one call to the policy service.
+     */
+    private void validatePolicies(List<PendingRow> chunk, String importedBy) {
+        List<PendingRow> valid = chunk.stream().filter(pending -> !pending.failed()).toList();
+        Map<Integer, String> errors = applicationService.validatePolicyExistence(
+                valid.stream().map(pending -> pending.submission).toList(), importedBy);
+        errors.forEach((index, error) -> valid.get(index).fail(error));
+    }
+
+    /**
+     * Resolves missing farmer names and uploads the files of every valid row.
+     * Rows are worked on concurrently up to {@code app.import.upload-concurrency};
+     * each row's own files are uploaded in parallel by {@link DocumentUploadService}.
+     */
+    private void upload(List<PendingRow> chunk, String importedBy) {
+        Semaphore permits = new Semaphore(Math.max(1, properties.getUploadConcurrency()));
+        Map<PendingRow, Future<?>> tasks = new LinkedHashMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (PendingRow pending : chunk) {
+                if (pending.failed()) {
+                    continue;
+                }
+                tasks.put(pending, executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        prepareUploads(pending, importedBy);
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                }));
+            }
+
+            tasks.forEach((pending, task) -> {
+                try {
+                    task.get();
+                } catch (ExecutionException e) {
+                    pending.fail(e.getCause() instanceof ApiException apiException
+                            ? apiException.getMessage()
+                            : "Failed to upload files: " + e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    pending.fail("Import was interrupted");
+                }
+            });
+        }
+    }
+
+    private void prepareUploads(PendingRow pending, String importedBy) {
+        ApplicationSubmissionDto submission = pending.submission;
+        FarmerReponse farmer = findFarmer(submission.getUseId(), importedBy);
+        if (submission.getFullName() == null || submission.getFullName().isBlank()) {
+            submission.setFullName(farmer.getFirstName() + " " + farmer.getLastName());
+        }
+        pending.uploads = documentUploadService.uploadAll(pending.files, submission.getUseId().toString());
+    }
+
+    // Checked before any file of the row is uploaded
+    private FarmerReponse findFarmer(UUID userId, String importedBy) {
+        if (userId.toString().equals(importedBy)) {
+            throw ApiException.badRequest("Applications cannot be imported for the importing user");
+        }
+        try {
+            return farmerClient.getFarmerById(userId, UUID.fromString(importedBy));
+        } catch (RuntimeException e) {
+            throw ApiException.badRequest("userId " + userId + " is not a registered farmer");
+        }
+    }
+
+    /**
+     * Inserts the uploaded rows of a chunk in one transaction. If that fails,
+     * the rows are retried one by one so a single bad row does not take the
+     * rest of its chunk down; uploads of rows that still fail are discarded.
+     */
+    private void persist(ImportSession session, List<PendingRow> chunk) {
+        List<PendingRow> ready = chunk.stream().filter(pending -> !pending.failed()).toList();
+        if (ready.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(session, ready));
+            return;
+        } catch (RuntimeException e) {
+            log.warn("Batch insert of {} imported rows failed, retrying individually: {}", ready.size(), e.getMessage());
+            ready.forEach(pending -> pending.applicationId = null);
+        }
+
+        for (PendingRow pending : ready) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(session, List.of(pending)));
+            } catch (RuntimeException e) {
+                pending.applicationId = null;
+                pending.fail("Failed to store application: " + e.getMessage());
+                documentUploadService.discard(pending.uploads.values(), pending.submission.getUseId().toString());
+            }
+        }
+    }
+
+    private void insert(ImportSession session, List<PendingRow> rows) {
+        ApplicationType applicationType = session.getApplicationType();
+        FormSchema schema = session.getSchema();
+
+        List<Document> documents = new ArrayList<>();
+        List<Application> applications = new ArrayList<>(rows.size());
+        List<List<String>> objectKeysForAIAnalysis = new ArrayList<>(rows.size());
+
+        for (PendingRow pending : rows) {
+            List<Document> rowDocuments = new ArrayList<>();
+            List<String> aiKeys = new ArrayList<>();
+            pending.uploads.forEach((documentKey, docResponse) -> {
+                Document document = documentMapper.toDocument(docResponse, documentKey, pending.submission.getCoordinates());
+                if (schema.requiresAIAnalysis(documentKey)) {
+                    aiKeys.add(document.getObjectKey());
+                }
+                rowDocuments.add(document);
+            });
+            documents.addAll(rowDocuments);
+            objectKeysForAIAnalysis.add(aiKeys);
+
+            pending.submission.setDocuments(rowDocuments);
+            applications.add(applicationMapper.toEntity(pending.submission, applicationType));
+        }
+
+        documentRepository.saveAll(documents);
+        List<Application> saved = applicationRepository.saveAll(applications);
+
+        Map<UUID, ApplicationSubmittedEvent> events = new LinkedHashMap<>();
+        for (int i = 0; i < saved.size(); i++) {
+            Application application = saved.get(i);
+            rows.get(i).applicationId = application.getId();
+            events.put(application.getId(), applicationMapper.toSubmittedEvent(
+                    application, application.getDocuments(), objectKeysForAIAnalysis.get(i)));
+        }
+        applicationSummaryService.createPending(events.keySet());
+        // Rows of the same chunk see each other, so a file repeating a parcel flags every copy
+        saved.forEach(duplicateDetectionService::flag);
+        applicationProducer.publishEvents(SUBMITTED_TOPIC, events);
+    }
+
+    private String currentUserId() {
+        return currentUser().getUserId();
+    }
+
+    private CustomUserDetails currentUser() {
+        return (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+    }
+}
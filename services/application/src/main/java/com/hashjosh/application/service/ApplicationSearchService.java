@@ -0,0 +1,129 @@
+package com.hashjosh.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.hashjosh.application.dto.listing.ApplicationCursor;
+import com.hashjosh.application.dto.listing.ApplicationListItem;
+import com.hashjosh.application.dto.listing.CursorPage;
+import com.hashjosh.application.dto.search.ApplicationSearchRequest;
+import com.hashjosh.application.dto.search.DynamicFieldFilter;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.repository.ApplicationSearchRepository;
+import com.hashjosh.constant.application.FieldType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Translates the dynamic field filter DSL into an indexed JSONB query.
+ */
+@Service
+@RequiredArgsConstructor
+public class ApplicationSearchService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_FILTERS = 20;
+    private static final int MAX_IN_VALUES = 100;
+    private static final Pattern ISO_DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
+    private final ApplicationSearchRepository applicationSearchRepository;
+    private final DynamicFieldIndexService dynamicFieldIndexService;
+
+    @Transactional(readOnly = true)
+    public CursorPage<ApplicationListItem> search(ApplicationSearchRequest request) {
+        int pageSize = Math.min(Math.max(request.limit() != null ? request.limit() : DEFAULT_PAGE_SIZE, 1), MAX_PAGE_SIZE);
+        Sort.Direction direction = request.direction() != null ? request.direction() : Sort.Direction.DESC;
+        ApplicationCursor after = ApplicationCursor.decode(request.cursor());
+
+        List<DynamicFieldFilter> filters = request.filters() != null ? request.filters() : List.of();
+        if (filters.size() > MAX_FILTERS) {
+            throw ApiException.badRequest("At most " + MAX_FILTERS + " filters are allowed");
+        }
+
+        ApplicationSearchRepository.Query query = applicationSearchRepository.query()
+                .applicationType(request.applicationTypeId())
+                .provider(request.provider());
+        filters.forEach(filter -> apply(query, filter));
+
+        List<ApplicationListItem> rows = query.fetch(after, direction, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ApplicationListItem> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ApplicationListItem last = items.get(items.size() - 1);
+            nextCursor = new ApplicationCursor(last.submittedAt(), last.id()).encode();
+        }
+
+        return new CursorPage<>(List.copyOf(items), nextCursor, hasMore);
+    }
+
+    private void apply(ApplicationSearchRepository.Query query, DynamicFieldFilter filter) {
+        String key = filter.field();
+        FieldType fieldType = dynamicFieldIndexService.getFieldType(key)
+                .orElseThrow(() -> ApiException.badRequest("Unknown or unsearchable field: " + key));
+
+        switch (filter.op()) {
+            case EQ -> query.contains(key, containmentValue(fieldType, requireValue(filter)));
+            case IN -> {
+                List<JsonNode> values = requireValues(filter, 1, MAX_IN_VALUES);
+                query.containsAny(key, values.stream().map(v -> containmentValue(fieldType, v)).toList());
+            }
+            case GT -> query.compare(key, ">", rangeValue(key, fieldType, requireValue(filter)));
+            case GTE -> query.compare(key, ">=", rangeValue(key, fieldType, requireValue(filter)));
+            case LT -> query.compare(key, "<", rangeValue(key, fieldType, requireValue(filter)));
+            case LTE -> query.compare(key, "<=", rangeValue(key, fieldType, requireValue(filter)));
+            case BETWEEN -> {
+                List<JsonNode> bounds = requireValues(filter, 2, 2);
+                query.compare(key, ">=", rangeValue(key, fieldType, bounds.get(0)));
+                query.compare(key, "<=", rangeValue(key, fieldType, bounds.get(1)));
+            }
+        }
+    }
+
+    // Multi-select values are stored as arrays; containment of a one element array matches membership
+    private JsonNode containmentValue(FieldType fieldType, JsonNode value) {
+        if (fieldType == FieldType.MULTI_SELECT && !value.isArray()) {
+            return JsonNodeFactory.instance.arrayNode().add(value);
+        }
+        return value;
+    }
+
+    private JsonNode rangeValue(String key, FieldType fieldType, JsonNode value) {
+        if (!dynamicFieldIndexService.supportsRange(key)) {
+            throw ApiException.badRequest("Range filters are not supported on field: " + key);
+        }
+        boolean valid = fieldType == FieldType.NUMBER
+                ? value.isNumber()
+                : value.isTextual() && ISO_DATE.matcher(value.asText()).matches();
+        if (!valid) {
+            throw ApiException.badRequest(String.format("Invalid %s value for field '%s': %s", fieldType, key, value));
+        }
+        return value;
+    }
+
+    private JsonNode requireValue(DynamicFieldFilter filter) {
+        if (filter.value() == null || filter.value().isNull() || filter.value().isContainerNode()) {
+            throw ApiException.badRequest("Filter on '" + filter.field() + "' requires a scalar value");
+        }
+        return filter.value();
+    }
+
+    private List<JsonNode> requireValues(DynamicFieldFilter filter, int min, int max) {
+        List<JsonNode> values = filter.values();
+        if (values == null || values.size() < min || values.size() > max) {
+            throw ApiException.badRequest(String.format(
+                    "Filter '%s' on '%s' requires between %d and %d values", filter.op(), filter.field(), min, max));
+        }
+        if (values.stream().anyMatch(v -> v == null || v.isNull() || v.isContainerNode())) {
+            throw ApiException.badRequest("Filter on '" + filter.field() + "' only accepts scalar values");
+        }
+        return values;
+    }
+}
@@ -2,43 +2,59 @@ package com.hashjosh.application.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.hashjosh.application.clients.DocumentServiceClient;
 import com.hashjosh.application.clients.FarmerServiceClient;
 import com.hashjosh.application.clients.PolicyClient;
 import com.hashjosh.application.configs.CustomUserDetails;
+import com.hashjosh.application.dto.listing.ApplicationCursor;
+import com.hashjosh.application.dto.listing.ApplicationListFilter;
+import com.hashjosh.application.dto.listing.ApplicationListItem;
+import com.hashjosh.application.dto.listing.CursorPage;
 import com.hashjosh.application.dto.submission.ApplicationSubmissionDto;
+import com.hashjosh.application.dto.submission.SubmissionResult;
 import com.hashjosh.application.dto.update.ApplicationUpdateDto;
 import com.hashjosh.application.dto.validation.ValidationError;
-import com.hashjosh.application.dto.validation.ValidationErrors;
 import com.hashjosh.application.dto.workflow.ApplicationWorkflowResponse;
 import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.geo.CoordinateValidator;
 import com.hashjosh.application.kafka.ApplicationProducer;
 import com.hashjosh.application.mapper.ApplicationMapper;
-import com.hashjosh.application.mapper.WorkflowMapper;
+import com.hashjosh.application.mapper.DocumentMapper;
 import com.hashjosh.application.model.*;
 import com.hashjosh.application.repository.ApplicationRepository;
+import com.hashjosh.application.repository.ApplicationSearchRepository;
 import com.hashjosh.application.repository.ApplicationTypeRepository;
 import com.hashjosh.application.repository.DocumentRepository;
-import com.hashjosh.application.validators.FieldValidatorFactory;
-import com.hashjosh.application.validators.ValidatorStrategy;
+import com.hashjosh.application.validators.FormSchema;
+import com.hashjosh.application.validators.FormSchemaRegistry;
 import com.hashjosh.constant.application.ApplicationResponseDto;
 import com.hashjosh.constant.document.dto.DocumentResponse;
 import com.hashjosh.constant.farmer.FarmerReponse;
 import com.hashjosh.constant.policy.PolicyResponse;
 import com.hashjosh.kafkacommon.application.ApplicationSubmittedEvent;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -46,112 +62,189 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ApplicationService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+
     private final ApplicationRepository applicationRepository;
-    private final FieldValidatorFactory fieldValidatorFactory;
+    private final ApplicationSearchRepository applicationSearchRepository;
+    private final FormSchemaRegistry formSchemaRegistry;
+    private final ObjectMapper objectMapper;
     private final ApplicationTypeRepository applicationTypeRepository;
     private final ApplicationMapper applicationMapper;
     private final ApplicationProducer  applicationProducer;
     private final DocumentServiceClient documentServiceClient;
+    private final DocumentUploadService documentUploadService;
+    private final DocumentMapper documentMapper;
     private final DocumentRepository documentRepository;
+    private final TransactionTemplate transactionTemplate;
     private final FarmerServiceClient farmerClient;
     private final PolicyClient policyClient;
-    private final WorkflowMapper workflowMapper;
+    private final PolicyNumberIndex policyNumberIndex;
+    private final SubmissionIdempotencyService submissionIdempotencyService;
+    private final CoordinateValidator coordinateValidator;
+    private final ApplicationSummaryService applicationSummaryService;
+    private final ApplicationSyncService applicationSyncService;
+    private final EntityManager entityManager;
+    private final DuplicateDetectionService duplicateDetectionService;
 
-    @Transactional(propagation = Propagation.REQUIRED)
-    public Application processSubmission(
+    /**
+     * Validates and stores a submission. Remote calls (policy lookup, file uploads,
+     * farmer lookup) run before the database transaction is opened, so no JDBC
+     * connection is held during network I/O. Uploaded files are discarded again
+     * if anything after the upload fails.
+     * <p>
+     * With an {@code idempotencyKey}, a retry of an already stored submission is
+     * answered with the original application id without uploading or publishing again.
+     */
+    public SubmissionResult processSubmission(
             ApplicationSubmissionDto submission,
-            Map<String, MultipartFile> fileMap
+            Map<String, MultipartFile> fileMap,
+            String idempotencyKey
     ) {
-        try {
-            CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
-                    .getContext().getAuthentication().getPrincipal();
-
-            submission.setUseId(UUID.fromString(userDetails.getUserId()));
-            // We get the application type through the batch
-            ApplicationType applicationType = applicationTypeRepository.findById(submission.getApplicationTypeId())
-                    .orElseThrow(() -> ApiException.badRequest("Invalid application type ID"));
+        return processSubmission(submission, fileMap, idempotencyKey, SubmissionListener.NONE);
+    }
 
-            // Always validate policy if policy number exists in field values
-            validatePolicyExistence(submission, userDetails.getUserId());
+    SubmissionResult processSubmission(
+            ApplicationSubmissionDto submission,
+            Map<String, MultipartFile> fileMap,
+            String idempotencyKey,
+            SubmissionListener listener
+    ) {
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
+                .getContext().getAuthentication().getPrincipal();
+        UUID userId = UUID.fromString(userDetails.getUserId());
+
+        if (idempotencyKey != null) {
+            String fingerprint = submissionIdempotencyService.fingerprint(submission, fileMap);
+            Optional<UUID> previous = submissionIdempotencyService.claim(userId, idempotencyKey, fingerprint);
+            if (previous.isPresent()) {
+                return new SubmissionResult(previous.get(), true,
+                        duplicateDetectionService.findByApplication(previous.get()));
+            }
+        }
 
-            // Upload files first and create Document entities
-            List<Document> documents = new ArrayList<>();
-            List<String> aiAnalysisFieldKey = applicationType.getSections().stream()
-                    .flatMap(section -> section.getFields().stream())
-                    .filter(field -> Boolean.TRUE.equals(field.getRequiredAIAnalysis()))
-                    .map(ApplicationField::getKey)
-                    .toList();
+        try {
+            Application application = processClaimedSubmission(
+                    submission, fileMap, userDetails.getUserId(), idempotencyKey, listener);
+            return new SubmissionResult(application.getId(), false,
+                    duplicateDetectionService.findByApplication(application.getId()));
+        } catch (RuntimeException e) {
+            if (idempotencyKey != null) {
+                submissionIdempotencyService.release(userId, idempotencyKey);
+            }
+            throw e;
+        }
+    }
 
-            List<String> objectKeysForAIAnalysis = new ArrayList<>();
+    /**
+     * Runs a submission taken from the queue on behalf of {@code userId}, outside
+     * any request. Stage changes are reported to {@code listener}.
+     */
+    Application processQueuedSubmission(
+            ApplicationSubmissionDto submission,
+            Map<String, MultipartFile> fileMap,
+            UUID userId,
+            SubmissionListener listener
+    ) {
+        return processClaimedSubmission(submission, fileMap, userId.toString(), null, listener);
+    }
 
-            if (fileMap != null && !fileMap.isEmpty()) {
-                for (Map.Entry<String, MultipartFile> entry : fileMap.entrySet()) {
-                    String documentKey = entry.getKey();
-                    MultipartFile file = entry.getValue();
-
-                    DocumentResponse docResponse = documentServiceClient.uploadDocument(file, userDetails.getUserId());
-                    Document document = Document.builder()
-                            .documentId(docResponse.getDocumentId())
-                            .fileName(docResponse.getFileName())
-                            .fileType(docResponse.getFileType())
-                            .coordinates(submission.getCoordinates())
-                            .uploadedAt(docResponse.getUploadedAt())
-                            .documentKey(documentKey)
-                            .objectKey(docResponse.getObjectKey())
-                            .build();
-
-                    documentRepository.save(document);
-
-                    if(aiAnalysisFieldKey.contains(documentKey)) {
-                        objectKeysForAIAnalysis.add(document.getObjectKey());
-                    }
-                    documents.add(document);
-                }
-            }
-            submission.setDocuments(documents);
+    private Application processClaimedSubmission(
+            ApplicationSubmissionDto submission,
+            Map<String, MultipartFile> fileMap,
+            String userId,
+            String idempotencyKey,
+            SubmissionListener listener
+    ) {
+        Map<String, DocumentResponse> uploads = Map.of();
 
-            List<ApplicationField> fields = applicationType.getSections().stream()
-                    .flatMap(section -> section.getFields().stream())
-                    .collect(Collectors.toList());
+        try {
+            listener.onStage(SubmissionJob.Status.VALIDATING);
+            submission.setUseId(UUID.fromString(userId));
+            ApplicationType applicationType = loadFormType(submission.getApplicationTypeId());
+            FormSchema schema = formSchemaRegistry.getSchema(applicationType);
 
-            List<ValidationError> validationErrors = validateSubmission(submission, fields);
+            // Validate field values before any file leaves this service
+            List<ValidationError> validationErrors = schema.validate(submission.getFieldValues(), objectMapper);
 
             if (!validationErrors.isEmpty()) {
                 throw ApiException.badRequest("Validation failed: " + validationErrors);
             }
+            coordinateValidator.validate(submission.getCoordinates());
+
+            // Always validate policy if policy number exists in field values
+            validatePolicyExistence(submission, userId);
 
+            listener.onStage(SubmissionJob.Status.UPLOADING);
+            uploads = documentUploadService.uploadAll(fileMap, userId);
+
+            listener.onStage(SubmissionJob.Status.PERSISTING);
             FarmerReponse farmer = getFarmerInfo(submission.getUseId(), submission.getUseId());
             submission.setFullName(farmer.getFirstName() + " " + farmer.getLastName());
-            Application application = applicationMapper.toEntity(submission, applicationType);
-            Application savedApplication = applicationRepository.save(application);
-
-            applicationProducer.publishEvent("application-submitted",
-                    ApplicationSubmittedEvent.builder()
-                            .submissionId(savedApplication.getId())
-                            .applicationTypeId(savedApplication.getType().getId())
-                            .applicationTypeName(application.getType().getName())
-                            .fullName(application.getFullName())
-                            .provider(applicationType.getProvider().getName())
-                            .objectKeysForAIAnalysis(objectKeysForAIAnalysis)
-                            .documentIds(documents.stream().map(Document::getDocumentId).collect(Collectors.toList()))
-                            .userId(savedApplication.getUserId())
-                            .submittedAt(LocalDateTime.now())
-                            .build()
-            );
 
-            return application;
+            Map<String, DocumentResponse> uploadedDocuments = uploads;
+            return transactionTemplate.execute(status -> {
+                Application application = persistSubmission(submission, applicationType, schema, uploadedDocuments);
+                duplicateDetectionService.flag(application);
+                if (idempotencyKey != null) {
+                    submissionIdempotencyService.complete(submission.getUseId(), idempotencyKey, application.getId());
+                }
+                listener.onPersisted(application);
+                return application;
+            });
         } catch (ApiException e) {
+            documentUploadService.discard(uploads.values(), userId);
             throw e;
         } catch (Exception e) {
+            documentUploadService.discard(uploads.values(), userId);
             throw ApiException.internalError("An error occurred while processing your application: " + e.getMessage());
         }
     }
 
+    // Sections and fields are lazy, so a schema missing from the cache is compiled in the session
+    private ApplicationType loadFormType(UUID applicationTypeId) {
+        return transactionTemplate.execute(status -> {
+            ApplicationType applicationType = applicationTypeRepository.findFormById(applicationTypeId)
+                    .orElseThrow(() -> ApiException.badRequest("Invalid application type ID"));
+            formSchemaRegistry.getSchema(applicationType);
+            return applicationType;
+        });
+    }
+
+    private Application persistSubmission(
+            ApplicationSubmissionDto submission,
+            ApplicationType applicationType,
+            FormSchema schema,
+            Map<String, DocumentResponse> uploads
+    ) {
+        List<Document> documents = new ArrayList<>();
+        List<String> objectKeysForAIAnalysis = new ArrayList<>();
+
+        uploads.forEach((documentKey, docResponse) -> {
+            Document document = documentRepository.save(
+                    documentMapper.toDocument(docResponse, documentKey, submission.getCoordinates()));
+
+            if (schema.requiresAIAnalysis(documentKey)) {
+                objectKeysForAIAnalysis.add(document.getObjectKey());
+            }
+            documents.add(document);
+        });
+        submission.setDocuments(documents);
+
+        Application application = applicationMapper.toEntity(submission, applicationType);
+        Application savedApplication = applicationRepository.save(application);
+
+        applicationSummaryService.createPending(List.of(savedApplication.getId()));
+        applicationProducer.publishEvent("application-submitted", savedApplication.getId(),
+                applicationMapper.toSubmittedEvent(savedApplication, documents, objectKeysForAIAnalysis));
+
+        return application;
+    }
+
     @Transactional(readOnly = true)
     public ApplicationResponseDto getApplicationById(
             UUID applicationId
     ) {
-        Application application = applicationRepository.findById(applicationId)
+        Application application = applicationRepository.findDetailById(applicationId)
                 .orElseThrow(() -> ApiException.notFound("Application not found with id "+ applicationId));
 
         return applicationMapper.toApplicationResponseDto(application);
@@ -162,12 +255,63 @@ public class ApplicationService {
     public List<ApplicationResponseDto> findAll(
     ) {
 
-        return applicationRepository.findAll()
-                .stream()
-                .map(applicationMapper::toApplicationResponseDto)
-                .collect(Collectors.toList());
+        return applicationMapper.toApplicationResponseDtos(applicationRepository.findAllWithDetails(), currentUserId());
+    }
+
+
+    /**
+     * Keyset-paginated listing ordered by {@code (submitted_at, id)} descending.
+     * Reads a slim projection only, so no form definitions or documents are loaded.
+     * A farmer only ever sees their own applications.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ApplicationListItem> findPage(
+            ApplicationListFilter filter,
+            String cursor,
+            int limit
+    ) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        ApplicationCursor after = ApplicationCursor.decode(cursor);
+
+        List<ApplicationListItem> rows = applicationSearchRepository.query()
+                .provider(filter.provider())
+                .applicationType(filter.applicationTypeId())
+                .user(scopedUserId(filter.userId()))
+                .submittedBetween(filter.submittedFrom(), filter.submittedTo())
+                .fetch(after, Sort.Direction.DESC, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ApplicationListItem> items = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ApplicationListItem last = items.get(items.size() - 1);
+            nextCursor = new ApplicationCursor(last.submittedAt(), last.id()).encode();
+        }
+
+        return new CursorPage<>(List.copyOf(items), nextCursor, hasMore);
     }
 
+    /**
+     * Same page as {@link #findPage}, with each row mapped in full. The page is
+     * chosen on the slim projection and its rows are then loaded by id.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ApplicationResponseDto> findDetailPage(
+            ApplicationListFilter filter,
+            String cursor,
+            int limit
+    ) {
+        CursorPage<ApplicationListItem> page = findPage(filter, cursor, limit);
+        List<UUID> ids = page.items().stream().map(ApplicationListItem::id).toList();
+
+        Map<UUID, Application> byId = applicationRepository.findAllWithDetailsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Application::getId, Function.identity()));
+        List<Application> ordered = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+
+        return new CursorPage<>(applicationMapper.toApplicationResponseDtos(ordered, currentUserId()),
+                page.nextCursor(), page.hasMore());
+    }
 
     @Transactional(readOnly = true)
     public List<ApplicationResponseDto> findAllApplication(
@@ -179,26 +323,26 @@ public class ApplicationService {
 
         List<Application> applications = applicationRepository.findAllByApplicationTypeId(type.getId());
 
-        return applications.stream()
-                .map(applicationMapper::toApplicationResponseDto)
-                .collect(Collectors.toList());
+        return applicationMapper.toApplicationResponseDtos(applications, currentUserId());
     }
 
     @Transactional
     public void deleteApplication(UUID applicationId) {
         Application application = findApplicationById(applicationId);
         applicationRepository.delete(application);
+        applicationSyncService.recordDeletion(application);
     }
 
-    @Transactional
     public void updateApplicationDocuments(UUID applicationId, List<MultipartFile> files) {
-        try {
-            // Get current user details
-            CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
-                    .getContext().getAuthentication().getPrincipal();
+        // Get current user details
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
+                .getContext().getAuthentication().getPrincipal();
+        List<DocumentResponse> uploads = List.of();
 
-            // Find the existing application
-            Application application = findApplicationById(applicationId);
+        try {
+            // Find the existing application; its documents are read outside a transaction, so fetch them with it
+            Application application = applicationRepository.findDetailById(applicationId)
+                    .orElseThrow(() -> ApiException.notFound("Application not found with id " + applicationId));
 
             // Validate that files are provided
             if (files == null || files.isEmpty()) {
@@ -206,100 +350,43 @@ public class ApplicationService {
             }
 
             // Get existing coordinates from the first document if available
-            String coordinates = null;
-            if (!application.getDocuments().isEmpty()) {
-                coordinates = application.getDocuments().get(0).getCoordinates();
-            }
+            String coordinates = application.getDocuments().isEmpty()
+                    ? null
+                    : application.getDocuments().get(0).getCoordinates();
 
-            // Upload new files and create Document entities
-            List<Document> newDocuments = new ArrayList<>();
-            for (MultipartFile file : files) {
-                // Upload document using DocumentServiceClient
-                var docResponse = documentServiceClient.uploadDocument(file, userDetails.getUserId());
-
-                // Create new Document entity
-                Document document = Document.builder()
-                        .documentId(docResponse.getDocumentId())
-                        .fileName(docResponse.getFileName())
-                        .fileType(docResponse.getFileType())
-                        .coordinates(coordinates) // Use existing coordinates or null
-                        .uploadedAt(docResponse.getUploadedAt())
-                        .build();
-
-                // Save the document entity
-                documentRepository.save(document);
-                newDocuments.add(document);
-            }
+            // Upload new files before the transaction opens
+            uploads = documentUploadService.uploadAll(files, userDetails.getUserId());
 
-            // Replace old documents with new ones
-            application.setDocuments(newDocuments);
+            List<DocumentResponse> uploadedDocuments = uploads;
+            int updated = transactionTemplate.execute(status -> {
+                Application current = findApplicationById(applicationId);
 
-            // Save the updated application
-            applicationRepository.save(application);
+                List<Document> newDocuments = new ArrayList<>();
+                for (DocumentResponse docResponse : uploadedDocuments) {
+                    newDocuments.add(documentRepository.save(
+                            documentMapper.toDocument(docResponse, null, coordinates)));
+                }
+
+                // Replace old documents with new ones
+                current.setDocuments(newDocuments);
+                applicationRepository.save(current);
+                return newDocuments.size();
+            });
 
             log.info("Successfully updated documents for application {}: {} new documents",
-                    applicationId, newDocuments.size());
+                    applicationId, updated);
 
         } catch (ApiException e) {
+            documentUploadService.discard(uploads, userDetails.getUserId());
             throw e;
         } catch (Exception e) {
+            documentUploadService.discard(uploads, userDetails.getUserId());
             log.error("Failed to update documents for application {}: {}", applicationId, e.getMessage(), e);
             throw ApiException.internalError("Failed to update application documents: " + e.getMessage());
         }
     }
 
 
-    private List<ValidationError> validateSubmission(
-            ApplicationSubmissionDto submission,
-            List<ApplicationField> fields) {
-
-        List<ValidationError> errors = new ArrayList<>();
-
-        // 1. Check required fields
-        fields.stream()
-                .filter(ApplicationField::getRequired)
-                .filter(field -> !submission.getFieldValues().containsKey(field.getKey()))
-                .forEach(field -> errors.add(new ValidationError(
-                        field.getKey(),
-                        String.format("Field '%s' is required", field.getFieldName())
-                )));
-
-        // 2. Validate field types and constraints
-        submission.getFieldValues().forEach((key, value) -> {
-            fields.stream()
-                    .filter(field -> field.getKey().equals(key))
-                    .findFirst()
-                    .ifPresent(field -> {
-                        try {
-                            // Get the appropriate validator for the field type
-                            ValidatorStrategy validator = fieldValidatorFactory.getStrategy(field.getFieldType().name());
-                            // Convert value to JsonNode and validate the field value
-                            ObjectMapper objectMapper = new ObjectMapper();
-                            JsonNode valueNode = objectMapper.valueToTree(value);
-                            List<ValidationErrors> fieldErrors = validator.validate(field, valueNode);
-                            if (fieldErrors != null && !fieldErrors.isEmpty()) {
-                                // Since ValidationErrors is being used as a single error, we'll treat it as such
-                                // and create a ValidationError with the same field and message
-                                fieldErrors.forEach(validationError ->
-                                        errors.add(new ValidationError(
-                                                field.getKey(),  // Using the field key as the field name
-                                                validationError.toString()  // Convert the error to string as the message
-                                        ))
-                                );
-                            }
-                        } catch (IllegalArgumentException e) {
-                            errors.add(new ValidationError(
-                                    field.getKey(),
-                                    String.format("Unsupported field type: %s", field.getFieldType())
-                            ));
-                        }
-                    });
-        });
-
-        return errors;
-    }
-
-
     private Application findApplicationById(
             UUID applicationId
 
@@ -309,9 +396,8 @@ public class ApplicationService {
     }
 
     public ApplicationWorkflowResponse getApplicationWorkflow(UUID applicationId) {
-        ApplicationWorkflow workflow = applicationRepository.findAllWorkflowsByApplicationId(applicationId);
-
-        return workflowMapper.toWorkflowResponse(workflow);
+        return applicationRepository.findWorkflowByApplicationId(applicationId)
+                .orElseThrow(() -> ApiException.notFound("No workflow found for application " + applicationId));
     }
 
     private FarmerReponse getFarmerInfo(UUID farmerId, UUID userId) {
@@ -322,137 +408,199 @@ public class ApplicationService {
         return documentServiceClient.generatePresignedUrl(userId,documentId,60);
     }
 
-    @Transactional
     public Application updateApplication(
             UUID applicationId,
             ApplicationUpdateDto updateDto,
             Map<String, MultipartFile> fileMap
     ) {
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
+                .getContext().getAuthentication().getPrincipal();
+        Map<String, DocumentResponse> uploads = Map.of();
+
         try {
-            CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
-                    .getContext().getAuthentication().getPrincipal();
+            // Find the existing application; its documents are read outside a transaction, so fetch them with it
+            Application application = applicationRepository.findDetailById(applicationId)
+                    .orElseThrow(() -> ApiException.notFound("Application not found with id " + applicationId));
 
-            // Find the existing application
-            Application application = findApplicationById(applicationId);
+            requireOwner(application, userDetails);
+            // Fail before uploading anything; the update itself checks again
+            requireVersion(application, updateDto.getVersion());
 
-            // Verify the user owns this application
-            if (!application.getUserId().equals(UUID.fromString(userDetails.getUserId()))) {
-                throw ApiException.unauthorized("You can only update your own applications");
+            if (updateDto.getCoordinates() != null && !updateDto.getCoordinates().trim().isEmpty()) {
+                coordinateValidator.validate(updateDto.getCoordinates().trim());
             }
 
-            // Update basic fields if provided
-            if (updateDto.getFullName() != null && !updateDto.getFullName().trim().isEmpty()) {
-                application.setFullName(updateDto.getFullName().trim());
-            }
+            // Upload new files before the transaction opens
+            uploads = documentUploadService.uploadAll(fileMap, userDetails.getUserId());
 
-            if (updateDto.getCoordinates() != null && !updateDto.getCoordinates().trim().isEmpty()) {
-                application.setCoordinates(updateDto.getCoordinates().trim());
-            }
+            Map<String, DocumentResponse> uploadedDocuments = uploads;
+            Application updatedApplication = transactionTemplate.execute(status ->
+                    applyUpdate(applicationId, updateDto, uploadedDocuments));
 
-            // Update dynamic fields if provided
-            if (updateDto.getDynamicFields() != null && !updateDto.getDynamicFields().isEmpty()) {
-                ObjectMapper objectMapper = new ObjectMapper();
-
-                // Get current dynamic fields
-                JsonNode currentDynamicFields = application.getDynamicFields();
-                @SuppressWarnings("unchecked")
-                Map<String, Object> currentFieldsMap = objectMapper.convertValue(currentDynamicFields, Map.class);
-
-                // Merge with new fields (only update provided fields)
-                updateDto.getDynamicFields().forEach((key, value) -> {
-                    if (value != null) {
-                        currentFieldsMap.put(key, value);
-                    }
-                });
-
-                // Convert back to JsonNode and update
-                JsonNode updatedDynamicFields = objectMapper.valueToTree(currentFieldsMap);
-                application.setDynamicFields(updatedDynamicFields);
-            }
+            log.info("Successfully updated application {} by user {}", applicationId, userDetails.getUserId());
+            return updatedApplication;
 
-            // Handle document updates if files are provided
-            if (fileMap != null && !fileMap.isEmpty()) {
-                List<Document> newDocuments = new ArrayList<>();
+        } catch (ApiException e) {
+            documentUploadService.discard(uploads.values(), userDetails.getUserId());
+            throw e;
+        } catch (OptimisticLockingFailureException e) {
+            documentUploadService.discard(uploads.values(), userDetails.getUserId());
+            throw concurrentModification(applicationId);
+        } catch (Exception e) {
+            documentUploadService.discard(uploads.values(), userDetails.getUserId());
+            log.error("Failed to update application {}: {}", applicationId, e.getMessage(), e);
+            throw ApiException.internalError("Failed to update application: " + e.getMessage());
+        }
+    }
 
-                // Get application type for AI analysis fields
-                List<String> aiAnalysisFieldKey = application.getType().getSections().stream()
-                        .flatMap(section -> section.getFields().stream())
-                        .filter(field -> Boolean.TRUE.equals(field.getRequiredAIAnalysis()))
-                        .map(ApplicationField::getKey)
-                        .toList();
-
-                List<String> objectKeysForAIAnalysis = new ArrayList<>();
-
-                for (Map.Entry<String, MultipartFile> entry : fileMap.entrySet()) {
-                    String documentKey = entry.getKey();
-                    MultipartFile file = entry.getValue();
-
-                    // Upload new document
-                    DocumentResponse docResponse = documentServiceClient.uploadDocument(file, userDetails.getUserId());
-                    Document document = Document.builder()
-                            .documentId(docResponse.getDocumentId())
-                            .fileName(docResponse.getFileName())
-                            .fileType(docResponse.getFileType())
-                            .coordinates(application.getCoordinates())
-                            .uploadedAt(docResponse.getUploadedAt())
-                            .documentKey(documentKey)
-                            .objectKey(docResponse.getObjectKey())
-                            .build();
-
-                    documentRepository.save(document);
-
-                    if (aiAnalysisFieldKey.contains(documentKey)) {
-                        objectKeysForAIAnalysis.add(document.getObjectKey());
-                    }
-
-                    newDocuments.add(document);
-                }
+    private Application applyUpdate(
+            UUID applicationId,
+            ApplicationUpdateDto updateDto,
+            Map<String, DocumentResponse> uploads
+    ) {
+        Application application = applicationRepository.findForUpdateById(applicationId)
+                .orElseThrow(() -> ApiException.notFound("Application not found with id " + applicationId));
+        requireVersion(application, updateDto.getVersion());
 
-                // Replace or add documents based on document keys
-                List<Document> existingDocuments = new ArrayList<>(application.getDocuments());
+        // Dynamic fields first: the targeted update reloads the application
+        if (updateDto.getDynamicFields() != null && !updateDto.getDynamicFields().isEmpty()) {
+            patchDynamicFields(application, objectMapper.valueToTree(updateDto.getDynamicFields()));
+        }
 
-                for (Document newDoc : newDocuments) {
-                    // Remove existing document with same key if exists
-                    existingDocuments.removeIf(existing ->
-                        existing.getDocumentKey() != null &&
-                        existing.getDocumentKey().equals(newDoc.getDocumentKey())
-                    );
-                    existingDocuments.add(newDoc);
-                }
+        // Update basic fields if provided
+        if (updateDto.getFullName() != null && !updateDto.getFullName().trim().isEmpty()) {
+            application.setFullName(updateDto.getFullName().trim());
+        }
+
+        if (updateDto.getCoordinates() != null && !updateDto.getCoordinates().trim().isEmpty()) {
+            application.setCoordinates(updateDto.getCoordinates().trim());
+        }
 
-                application.setDocuments(existingDocuments);
-
-                // Publish update event if AI analysis is needed
-                if (!objectKeysForAIAnalysis.isEmpty()) {
-                    applicationProducer.publishEvent("application-updated",
-                            ApplicationSubmittedEvent.builder()
-                                    .submissionId(application.getId())
-                                    .applicationTypeId(application.getType().getId())
-                                    .fullName(application.getFullName())
-                                    .provider(application.getType().getProvider().getName())
-                                    .objectKeysForAIAnalysis(objectKeysForAIAnalysis)
-                                    .documentIds(newDocuments.stream().map(Document::getDocumentId).collect(Collectors.toList()))
-                                    .userId(application.getUserId())
-                                    .submittedAt(LocalDateTime.now())
-                                    .build()
-                    );
+        // Handle document updates if files were uploaded
+        if (!uploads.isEmpty()) {
+            List<Document> newDocuments = new ArrayList<>();
+
+            // Get application type for AI analysis fields
+            FormSchema schema = formSchemaRegistry.getSchema(application.getType());
+
+            List<String> objectKeysForAIAnalysis = new ArrayList<>();
+
+            uploads.forEach((documentKey, docResponse) -> {
+                Document document = documentRepository.save(
+                        documentMapper.toDocument(docResponse, documentKey, application.getCoordinates()));
+
+                if (schema.requiresAIAnalysis(documentKey)) {
+                    objectKeysForAIAnalysis.add(document.getObjectKey());
                 }
+
+                newDocuments.add(document);
+            });
+
+            // Replace or add documents based on document keys
+            List<Document> existingDocuments = new ArrayList<>(application.getDocuments());
+
+            for (Document newDoc : newDocuments) {
+                // Remove existing document with same key if exists
+                existingDocuments.removeIf(existing ->
+                    existing.getDocumentKey() != null &&
+                    existing.getDocumentKey().equals(newDoc.getDocumentKey())
+                );
+                existingDocuments.add(newDoc);
             }
 
-            // Save the updated application
-            Application updatedApplication = applicationRepository.save(application);
+            application.setDocuments(existingDocuments);
+
+            // Publish update event if AI analysis is needed
+            if (!objectKeysForAIAnalysis.isEmpty()) {
+                applicationProducer.publishEvent("application-updated", application.getId(),
+                        ApplicationSubmittedEvent.builder()
+                                .submissionId(application.getId())
+                                .applicationTypeId(application.getType().getId())
+                                .fullName(application.getFullName())
+                                .provider(application.getType().getProvider().getName())
+                                .objectKeysForAIAnalysis(objectKeysForAIAnalysis)
+                                .documentIds(newDocuments.stream().map(Document::getDocumentId).collect(Collectors.toList()))
+                                .userId(application.getUserId())
+                                .submittedAt(LocalDateTime.now())
+                                .build()
+                );
+            }
+        }
 
-            log.info("Successfully updated application {} by user {}", applicationId, userDetails.getUserId());
-            return updatedApplication;
+        // Save the updated application
+        return applicationRepository.save(application);
+    }
 
-        } catch (ApiException e) {
-            throw e;
-        } catch (Exception e) {
-            log.error("Failed to update application {}: {}", applicationId, e.getMessage(), e);
-            throw ApiException.internalError("Failed to update application: " + e.getMessage());
+    /**
+     * Applies an RFC 7396 merge patch to the application's dynamic fields.
+     * With {@code expectedVersion}, the patch is rejected with 409 unless the
+     * application is still at that version.
+     */
+    public Application mergePatchDynamicFields(UUID applicationId, JsonNode mergePatch, Long expectedVersion) {
+        if (mergePatch == null || !mergePatch.isObject()) {
+            throw ApiException.badRequest("Dynamic fields patch must be a JSON object");
+        }
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
+                .getContext().getAuthentication().getPrincipal();
+
+        Application application = transactionTemplate.execute(status -> {
+            Application current = findApplicationById(applicationId);
+            requireOwner(current, userDetails);
+            requireVersion(current, expectedVersion);
+            patchDynamicFields(current, (ObjectNode) mergePatch);
+            return current;
+        });
+
+        log.info("Patched dynamic fields of application {} by user {}", applicationId, userDetails.getUserId());
+        return application;
+    }
+
+    /**
+     * Writes only the touched top-level keys with a version-guarded jsonb update,
+     * then reloads the application so later changes flush against the new version.
+     */
+    private void patchDynamicFields(Application application, ObjectNode mergePatch) {
+        DynamicFieldsPatch patch = DynamicFieldsPatch.resolve(application.getDynamicFields(), mergePatch);
+        if (patch.isEmpty()) {
+            return;
+        }
+
+        List<ValidationError> validationErrors = formSchemaRegistry.getSchema(application.getType())
+                .validateChanges(patch.changes(), patch.removedKeys());
+        if (!validationErrors.isEmpty()) {
+            throw ApiException.badRequest("Validation failed: " + validationErrors);
+        }
+
+        int updated = applicationRepository.patchDynamicFields(
+                application.getId(),
+                application.getVersion(),
+                patch.changes().toString(),
+                objectMapper.valueToTree(patch.removedKeys()).toString(),
+                LocalDateTime.now()
+        );
+        if (updated == 0) {
+            throw concurrentModification(application.getId());
+        }
+        entityManager.refresh(application);
+    }
+
+    private static void requireOwner(Application application, CustomUserDetails userDetails) {
+        if (!application.getUserId().equals(UUID.fromString(userDetails.getUserId()))) {
+            throw ApiException.unauthorized("You can only update your own applications");
         }
     }
 
+    private static void requireVersion(Application application, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(application.getVersion())) {
+            throw concurrentModification(application.getId());
+        }
+    }
+
+    private static ApiException concurrentModification(UUID applicationId) {
+        return ApiException.conflict("Application " + applicationId
+                + " was modified by someone else; reload it and try again");
+    }
+
     public boolean isAiAnalysisRequired(UUID applicationId) {
         ApplicationType applicationType = applicationRepository.findApplicationTypeByApplicationId(applicationId);
         return applicationType.getRequiredAIAnalysis();
@@ -489,10 +637,11 @@ public class ApplicationService {
 
     /**
      * Validates that a policy exists if policy number is provided in field values
-     * Extracts policy number from field values and verifies it exists in the policy service
+     * Extracts policy number from field values and checks the local policy-number index,
+     * falling back to the policy service for any number the index does not hold
      * Skips validation if no policy number is found
      */
-    private void validatePolicyExistence(ApplicationSubmissionDto submission, String userId) {
+    void validatePolicyExistence(ApplicationSubmissionDto submission, String userId) {
         // Extract policy number from field values
         String policyNumber = extractPolicyNumber(submission);
 
@@ -502,7 +651,12 @@ public class ApplicationService {
             return;
         }
 
-        log.info("Validating policy existence for policy number: {}", policyNumber);
+        if (policyNumberIndex.contains(policyNumber)) {
+            log.debug("Policy number {} found in local index", policyNumber);
+            return;
+        }
+        // The index can lag behind insurance-service, so an unknown number is only rejected once confirmed
+        log.info("Policy number {} not in local index, validating remotely", policyNumber);
 
         try {
             // Fetch policy from policy service to validate it exists
@@ -517,6 +671,7 @@ public class ApplicationService {
 
             log.info("Policy validation successful - Policy number: {}, Insurance ID: {}",
                     policyNumber, policy.getInsuranceId());
+            policyNumberIndex.add(policyNumber);
 
         } catch (ApiException e) {
             // Re-throw ApiException as is
@@ -531,13 +686,70 @@ public class ApplicationService {
         }
     }
 
+    /**
+     * Validates the policy numbers of several submissions with at most one call
+     * to the policy service: numbers in the local index pass, the rest are
+     * checked together. Returns an error for every submission, by its position
+     * in {@code submissions}, whose policy could not be confirmed.
+     */
+    Map<Integer, String> validatePolicyExistence(List<ApplicationSubmissionDto> submissions, String userId) {
+        Map<Integer, String> unconfirmed = new LinkedHashMap<>();
+        for (int i = 0; i < submissions.size(); i++) {
+            String policyNumber = extractPolicyNumber(submissions.get(i));
+            if (policyNumber != null && !policyNumberIndex.contains(policyNumber)) {
+                unconfirmed.put(i, policyNumber);
+            }
+        }
+        if (unconfirmed.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<String> existing;
+        try {
+            existing = policyClient.findExistingPolicyNumbers(new HashSet<>(unconfirmed.values()), userId);
+        } catch (Exception e) {
+            log.error("Error validating {} policy numbers: {}", unconfirmed.size(), e.getMessage());
+            unconfirmed.replaceAll((i, policyNumber) -> "Failed to validate policy with number '" + policyNumber + "'. " +
+                    "Please ensure the policy/COC number is correct and exists in the system.");
+            return unconfirmed;
+        }
+
+        existing.forEach(policyNumberIndex::add);
+        unconfirmed.values().removeIf(existing::contains);
+        unconfirmed.replaceAll((i, policyNumber) -> "Policy with number '" + policyNumber + "' does not exist. " +
+                "Please provide a valid policy/COC number.");
+        return unconfirmed;
+    }
+
     public List<ApplicationResponseDto> findByCurrentUser() {
            CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
                     .getContext().getAuthentication().getPrincipal();
-        List<Application> applications = applicationRepository.findAllByUserId(UUID.fromString(userDetails.getUserId()));
+        UUID userId = UUID.fromString(userDetails.getUserId());
+        List<Application> applications = applicationRepository.findAllByUserId(userId);
+
+        return applicationMapper.toApplicationResponseDtos(applications, userId);
+    }
+
+    /**
+     * Farmers may only list their own applications, so their listings are
+     * pinned to the caller. Staff and internal services may filter by any user.
+     */
+    private UUID scopedUserId(UUID requestedUserId) {
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
+                .getContext().getAuthentication().getPrincipal();
+        if (!userDetails.isFarmer()) {
+            return requestedUserId;
+        }
+        UUID callerId = UUID.fromString(userDetails.getUserId());
+        if (requestedUserId != null && !requestedUserId.equals(callerId)) {
+            throw ApiException.unauthorized("Farmers can only list their own applications");
+        }
+        return callerId;
+    }
 
-        return applications.stream()
-                .map(applicationMapper::toApplicationResponseDto)
-                .collect(Collectors.toList());
+    private UUID currentUserId() {
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
+                .getContext().getAuthentication().getPrincipal();
+        return userDetails.getUserId() != null ? UUID.fromString(userDetails.getUserId()) : null;
     }
 }
@@ -0,0 +1,319 @@
+package com.hashjosh.application.service;
+
+import com.hashjosh.application.model.ApplicationSummary;
+import com.hashjosh.application.repository.ApplicationSummaryRepository;
+import com.hashjosh.constant.pcic.enums.InsuranceStatus;
+import com.hashjosh.kafkacommon.application.ClaimProcessedEvent;
+import com.hashjosh.kafkacommon.application.InspectionCompletedEvent;
+import com.hashjosh.kafkacommon.application.InspectionScheduledEvent;
+import com.hashjosh.kafkacommon.application.PolicyIssuedEvent;
+import com.hashjosh.kafkacommon.application.VerificationCompletedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains and serves the {@code application_summary} read model. Each
+ * lifecycle event from insurance-service is merged into its application's
+ * row; reads never leave this service.
+ * <p>
+ * Two metrics describe freshness: {@code application.summary.event.lag}
+ * (event time to apply time, per topic) and
+ * {@code application.summary.staleness} (seconds since an event was last applied).
+ */
+@Service
+@Slf4j
+public class ApplicationSummaryService {
+
+    public static final String DEFAULT_STATUS = InsuranceStatus.PENDING.name();
+
+    private static final String TABLE = "application_summary";
+    // Filled by a replay and swapped in at the end, so the summary is never seen half rebuilt
+    private static final String REBUILD_TABLE = "application_summary_rebuild";
+
+    // Lifecycle order; a status is only replaced by one of equal or higher rank
+    private static final Map<InsuranceStatus, Integer> RANKS = Map.of(
+            InsuranceStatus.PENDING, 0,
+            InsuranceStatus.APPROVED, 1,
+            InsuranceStatus.VERIFIED, 1,
+            InsuranceStatus.REJECTED, 1,
+            InsuranceStatus.SCHEDULE_ASSIGNED_FOR_INSPECTION, 2,
+            InsuranceStatus.INSPECTION_COMPLETED, 3,
+            InsuranceStatus.POLICY_ISSUED, 4,
+            InsuranceStatus.CLAIMED_ISSUED, 5
+    );
+
+    private record Update(
+            UUID applicationId,
+            InsuranceStatus status,
+            String verificationStatus,
+            LocalDateTime verifiedAt,
+            LocalDateTime inspectionScheduledAt,
+            LocalDateTime inspectedAt,
+            String policyNumber,
+            LocalDateTime policyIssuedAt,
+            String claimStatus,
+            LocalDateTime claimProcessedAt,
+            LocalDateTime eventAt
+    ) {
+    }
+
+    private final ApplicationSummaryRepository applicationSummaryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> lagTimers = new ConcurrentHashMap<>();
+    private final AtomicLong lastAppliedAt = new AtomicLong(System.currentTimeMillis());
+
+    public ApplicationSummaryService(ApplicationSummaryRepository applicationSummaryRepository,
+                                     JdbcTemplate jdbcTemplate,
+                                     MeterRegistry meterRegistry) {
+        this.applicationSummaryRepository = applicationSummaryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("application.summary.staleness", lastAppliedAt,
+                        last -> (System.currentTimeMillis() - last.get()) / 1000.0)
+                .description("Seconds since a lifecycle event was last applied to the summary")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public String getStatus(UUID applicationId) {
+        return applicationSummaryRepository.findById(applicationId)
+                .map(summary -> summary.getStatus().name())
+                .orElse(DEFAULT_STATUS);
+    }
+
+    /**
+     * Statuses for {@code applicationIds}; applications without a summary are PENDING.
+     */
+    public Map<UUID, String> getStatuses(Collection<UUID> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, String> statuses = applicationSummaryRepository.findByApplicationIdIn(applicationIds).stream()
+                .collect(Collectors.toMap(ApplicationSummary::getApplicationId, summary -> summary.getStatus().name()));
+        Map<UUID, String> result = new HashMap<>(statuses);
+        applicationIds.forEach(id -> result.putIfAbsent(id, DEFAULT_STATUS));
+        return result;
+    }
+
+    /**
+     * Creates PENDING summaries for newly stored applications, in their transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void createPending(Collection<UUID> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO application_summary (application_id, status, status_rank, updated_at)
+                VALUES (?, 'PENDING', 0, ?)
+                ON CONFLICT (application_id) DO NOTHING
+                """, applicationIds.stream().map(id -> new Object[]{id, now}).toList());
+    }
+
+    @Transactional
+    public void onVerified(String topic, VerificationCompletedEvent event) {
+        apply(topic, update(event));
+    }
+
+    @Transactional
+    public void onInspectionScheduled(String topic, InspectionScheduledEvent event) {
+        apply(topic, update(event));
+    }
+
+    @Transactional
+    public void onInspectionCompleted(String topic, InspectionCompletedEvent event) {
+        apply(topic, update(event));
+    }
+
+    @Transactional
+    public void onPolicyIssued(String topic, PolicyIssuedEvent event) {
+        apply(topic, update(event));
+    }
+
+    @Transactional
+    public void onClaimProcessed(String topic, ClaimProcessedEvent event) {
+        apply(topic, update(event));
+    }
+
+    /**
+     * Empties the rebuild table and gives every application a PENDING row in
+     * it, and in the summary itself if it has none yet.
+     */
+    public void prepareRebuild(LocalDateTime now) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + REBUILD_TABLE
+                + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING INDEXES)");
+        jdbcTemplate.execute("TRUNCATE " + REBUILD_TABLE);
+        Timestamp at = Timestamp.valueOf(now);
+        for (String table : List.of(TABLE, REBUILD_TABLE)) {
+            jdbcTemplate.update("INSERT INTO " + table + " (application_id, status, status_rank, updated_at) "
+                    + "SELECT a.id, 'PENDING', 0, ? FROM applications a ON CONFLICT (application_id) DO NOTHING", at);
+        }
+    }
+
+    /**
+     * Merges a replayed event into the summary, or into the rebuild table
+     * when {@code rebuild} is set. No freshness metrics are recorded.
+     */
+    public void replay(String topic, Object event, boolean rebuild) {
+        Update update = switch (event) {
+            case VerificationCompletedEvent verified -> update(verified);
+            case InspectionScheduledEvent scheduled -> update(scheduled);
+            case InspectionCompletedEvent completed -> update(completed);
+            case PolicyIssuedEvent issued -> update(issued);
+            case ClaimProcessedEvent claim -> update(claim);
+            default -> throw new IllegalArgumentException("Unexpected event type " + event.getClass().getName());
+        };
+        if (update.applicationId() == null) {
+            log.warn("Ignoring replayed {} event without a submission id", topic);
+            return;
+        }
+        merge(rebuild ? REBUILD_TABLE : TABLE, update);
+    }
+
+    /**
+     * Replaces every summary row with its rebuilt values in one statement, so
+     * readers see either the old or the rebuilt summary, never a reset one.
+     * Rows for applications stored since the rebuild started are kept as they are.
+     */
+    @Transactional
+    public int swapInRebuild(LocalDateTime now) {
+        return jdbcTemplate.update("""
+                UPDATE %1$s s SET
+                    status = r.status, status_rank = r.status_rank,
+                    verification_status = r.verification_status, verified_at = r.verified_at,
+                    inspection_scheduled_at = r.inspection_scheduled_at, inspected_at = r.inspected_at,
+                    policy_number = r.policy_number, policy_issued_at = r.policy_issued_at,
+                    claim_status = r.claim_status, claim_processed_at = r.claim_processed_at,
+                    last_event_at = r.last_event_at, updated_at = ?
+                FROM %2$s r
+                WHERE s.application_id = r.application_id
+                """.formatted(TABLE, REBUILD_TABLE), Timestamp.valueOf(now));
+    }
+
+    public void clearRebuild() {
+        jdbcTemplate.execute("TRUNCATE " + REBUILD_TABLE);
+    }
+
+    private static Update update(VerificationCompletedEvent event) {
+        InsuranceStatus status = parseStatus(event.getStatus()).orElse(InsuranceStatus.VERIFIED);
+        return new Update(event.getSubmissionId(), status, event.getStatus(), event.getVerifiedAt(),
+                null, null, null, null, null, null, event.getVerifiedAt());
+    }
+
+    private static Update update(InspectionScheduledEvent event) {
+        return new Update(event.getSubmissionId(), InsuranceStatus.SCHEDULE_ASSIGNED_FOR_INSPECTION, null, null,
+                event.getScheduledAt(), null, null, null, null, null, event.getScheduledAt());
+    }
+
+    private static Update update(InspectionCompletedEvent event) {
+        return new Update(event.getSubmissionId(), InsuranceStatus.INSPECTION_COMPLETED, null, null,
+                null, event.getInspectedAt(), null, null, null, null, event.getInspectedAt());
+    }
+
+    private static Update update(PolicyIssuedEvent event) {
+        return new Update(event.getSubmissionId(), InsuranceStatus.POLICY_ISSUED, null, null,
+                null, null, event.getPolicyNumber(), event.getIssuedAt(), null, null, event.getIssuedAt());
+    }
+
+    private static Update update(ClaimProcessedEvent event) {
+        return new Update(event.getSubmissionId(), InsuranceStatus.CLAIMED_ISSUED, null, null,
+                null, null, null, null, event.getPayoutStatus(), event.getProcessedAt(), event.getProcessedAt());
+    }
+
+    private void apply(String topic, Update update) {
+        if (update.applicationId() == null) {
+            log.warn("Ignoring {} event without a submission id", topic);
+            return;
+        }
+
+        merge(TABLE, update);
+
+        lastAppliedAt.set(System.currentTimeMillis());
+        if (update.eventAt() != null) {
+            Duration lag = Duration.between(update.eventAt(), LocalDateTime.now());
+            lagTimer(topic).record(lag.isNegative() ? Duration.ZERO : lag);
+        }
+        log.debug("Applied {} to summary of application {}", topic, update.applicationId());
+    }
+
+    /**
+     * Merges one event in a single statement, so listeners for different
+     * topics can update the same row concurrently. The status only moves
+     * forward; null values keep the stored ones.
+     */
+    private void merge(String table, Update update) {
+        jdbcTemplate.update("""
+                INSERT INTO %1$s (
+                    application_id, status, status_rank, verification_status, verified_at,
+                    inspection_scheduled_at, inspected_at, policy_number, policy_issued_at,
+                    claim_status, claim_processed_at, last_event_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                ON CONFLICT (application_id) DO UPDATE SET
+                    status = CASE WHEN EXCLUDED.status_rank >= %1$s.status_rank
+                                  THEN EXCLUDED.status ELSE %1$s.status END,
+                    status_rank = GREATEST(EXCLUDED.status_rank, %1$s.status_rank),
+                    verification_status = COALESCE(EXCLUDED.verification_status, %1$s.verification_status),
+                    verified_at = COALESCE(EXCLUDED.verified_at, %1$s.verified_at),
+                    inspection_scheduled_at = COALESCE(EXCLUDED.inspection_scheduled_at, %1$s.inspection_scheduled_at),
+                    inspected_at = COALESCE(EXCLUDED.inspected_at, %1$s.inspected_at),
+                    policy_number = COALESCE(EXCLUDED.policy_number, %1$s.policy_number),
+                    policy_issued_at = COALESCE(EXCLUDED.policy_issued_at, %1$s.policy_issued_at),
+                    claim_status = COALESCE(EXCLUDED.claim_status, %1$s.claim_status),
+                    claim_processed_at = COALESCE(EXCLUDED.claim_processed_at, %1$s.claim_processed_at),
+                    last_event_at = GREATEST(EXCLUDED.last_event_at, %1$s.last_event_at),
+                    updated_at = EXCLUDED.updated_at
+                """.formatted(table),
+                update.applicationId(),
+                update.status().name(),
+                RANKS.getOrDefault(update.status(), 0),
+                update.verificationStatus(),
+                timestamp(update.verifiedAt()),
+                timestamp(update.inspectionScheduledAt()),
+                timestamp(update.inspectedAt()),
+                update.policyNumber(),
+                timestamp(update.policyIssuedAt()),
+                update.claimStatus(),
+                timestamp(update.claimProcessedAt()),
+                timestamp(update.eventAt()),
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value != null ? Timestamp.valueOf(value) : null;
+    }
+
+    private Timer lagTimer(String topic) {
+        return lagTimers.computeIfAbsent(topic, key -> Timer.builder("application.summary.event.lag")
+                .description("Delay between a lifecycle event and its application to the summary")
+                .tag("topic", key)
+                .register(meterRegistry));
+    }
+
+    private static Optional<InsuranceStatus> parseStatus(String status) {
+        if (status == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(InsuranceStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.hashjosh.application.service;
+
+import com.hashjosh.application.configs.CustomUserDetails;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.mapper.ApplicationMapper;
+import com.hashjosh.application.model.Application;
+import com.hashjosh.application.repository.ApplicationRepository;
+import com.hashjosh.constant.application.ApplicationResponseDto;
+import com.hashjosh.constant.sync.SyncHorizon;
+import com.hashjosh.constant.sync.SyncPage;
+import com.hashjosh.constant.sync.SyncTombstone;
+import com.hashjosh.constant.sync.SyncTombstoneRepository;
+import com.hashjosh.constant.sync.SyncWatermark;
+import com.hashjosh.constant.sync.SyncWindow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Delta sync of the current user's applications for the mobile app.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApplicationSyncService {
+
+    private final ApplicationRepository applicationRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final ApplicationMapper applicationMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public SyncPage<ApplicationResponseDto> sync(String since, Integer limit) {
+        SyncWindow window = openWindow(since, limit);
+        UUID userId = currentUserId();
+        SyncWatermark from = window.from();
+        PageRequest fetch = PageRequest.of(0, window.fetchSize());
+
+        List<UUID> changedIds = applicationRepository.findChangedIdsSince(
+                userId, from.changedAt(), from.id(), window.until(), fetch);
+        Map<UUID, Application> byId = applicationRepository.findAllWithDetailsByIdIn(changedIds).stream()
+                .collect(Collectors.toMap(Application::getId, Function.identity()));
+        List<Application> changed = changedIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+        List<SyncWatermark> deleted = syncTombstoneRepository.findSince(
+                        userId, from.changedAt(), from.id(), window.until(), fetch)
+                .stream()
+                .map(SyncTombstone::watermark)
+                .toList();
+
+        return window.page(
+                changed,
+                application -> new SyncWatermark(application.getUpdatedAt(), application.getId()),
+                deleted,
+                page -> applicationMapper.toApplicationResponseDtos(page, userId)
+        );
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Application application) {
+        syncTombstoneRepository.save(SyncTombstone.builder()
+                .entityId(application.getId())
+                .ownerId(application.getUserId())
+                .deletedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Scheduled(cron = "${app.sync.cleanup-cron:0 45 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int deleted = syncTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(SyncWindow.TOMBSTONE_RETENTION));
+        log.debug("Deleted {} sync tombstones", deleted);
+    }
+
+    private SyncWindow openWindow(String since, Integer limit) {
+        try {
+            return SyncWindow.open(since, limit, SyncHorizon.current(jdbcTemplate));
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest(e.getMessage());
+        }
+    }
+
+    private UUID currentUserId() {
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
+                .getContext().getAuthentication().getPrincipal();
+        return UUID.fromString(userDetails.getUserId());
+    }
+}
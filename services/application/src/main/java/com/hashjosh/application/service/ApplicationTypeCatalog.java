@@ -0,0 +1,146 @@
+package com.hashjosh.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.configs.TypeCatalogProperties;
+import com.hashjosh.application.mapper.ApplicationTypeMapper;
+import com.hashjosh.application.repository.ApplicationTypeRepository;
+import com.hashjosh.constant.application.ApplicationTypeResponseDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory copy of every application type definition, sections and fields
+ * included, so the form catalog is served without touching the database.
+ * Each entry carries a hash of its content from which ETags are derived;
+ * hashes rather than counters keep ETags equal across instances.
+ * <p>
+ * Reloaded on first use after a definition changes on this instance, and
+ * after {@code app.type-catalog.ttl} to pick up changes made elsewhere.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApplicationTypeCatalog {
+
+    public record Entry(ApplicationTypeResponseDto definition, String hash) {
+    }
+
+    private record Snapshot(List<Entry> entries, Map<UUID, Entry> byId, Instant loadedAt) {
+    }
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing((Entry entry) -> entry.definition().getName(), Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(entry -> entry.definition().getId());
+
+    private final ApplicationTypeRepository applicationTypeRepository;
+    private final ApplicationTypeMapper applicationTypeMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final TypeCatalogProperties properties;
+
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    /** All definitions, ordered by name. */
+    public List<Entry> entries() {
+        return current().entries();
+    }
+
+    public Optional<Entry> find(UUID applicationTypeId) {
+        return Optional.ofNullable(current().byId().get(applicationTypeId));
+    }
+
+    /**
+     * Drops the catalog once the current transaction commits, so a reload
+     * cannot read the definitions from before the change.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    clear();
+                }
+            });
+        } else {
+            clear();
+        }
+    }
+
+    /**
+     * ETag for a response made of {@code entries}. The variant keeps the
+     * representations with and without sections apart.
+     */
+    public static String etag(Collection<Entry> entries, String variant) {
+        StringBuilder content = new StringBuilder(variant);
+        entries.forEach(entry -> content.append(':').append(entry.hash()));
+        return sha256(content.toString().getBytes(StandardCharsets.UTF_8)).substring(0, 32);
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot loaded = snapshot;
+        if (loaded != null && loaded.loadedAt().plus(properties.getTtl()).isAfter(Instant.now())) {
+            return loaded;
+        }
+        synchronized (this) {
+            loaded = snapshot;
+            if (loaded != null && loaded.loadedAt().plus(properties.getTtl()).isAfter(Instant.now())) {
+                return loaded;
+            }
+            long loadingGeneration = generation.get();
+            loaded = load();
+            // An invalidation while loading means what was read may already be stale
+            if (generation.get() == loadingGeneration) {
+                snapshot = loaded;
+            }
+            return loaded;
+        }
+    }
+
+    private Snapshot load() {
+        List<Entry> entries = transactionTemplate.execute(status -> applicationTypeRepository.findAllWithSummary().stream()
+                .map(type -> applicationTypeMapper.toApplicationResponse(type, true))
+                .map(definition -> new Entry(definition, hash(definition)))
+                .sorted(ORDER)
+                .toList());
+        log.debug("Loaded {} application type definitions", entries.size());
+        Map<UUID, Entry> byId = entries.stream()
+                .collect(Collectors.toUnmodifiableMap(entry -> entry.definition().getId(), Function.identity()));
+        return new Snapshot(entries, byId, Instant.now());
+    }
+
+    private String hash(ApplicationTypeResponseDto definition) {
+        try {
+            return sha256(objectMapper.writeValueAsBytes(definition));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize application type " + definition.getId(), e);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,23 +1,29 @@
 package com.hashjosh.application.service;
 
 import com.hashjosh.application.dto.fields.ApplicationFieldsRequestDto;
+import com.hashjosh.application.dto.listing.ApplicationListFilter;
+import com.hashjosh.application.dto.listing.ApplicationListItem;
+import com.hashjosh.application.dto.listing.CursorPage;
 import com.hashjosh.application.dto.sections.ApplicationSectionRequestDto;
+import com.hashjosh.application.dto.type.ApplicationStatusCount;
 import com.hashjosh.application.dto.type.ApplicationTypeRequestDto;
+import com.hashjosh.application.dto.type.CatalogView;
+import com.hashjosh.constant.application.ApplicationResponseDto;
 import com.hashjosh.constant.application.ApplicationTypeResponseDto;
 import com.hashjosh.application.exceptions.ApiException;
 import com.hashjosh.application.mapper.ApplicationTypeMapper;
 import com.hashjosh.application.model.*;
 import com.hashjosh.application.repository.ApplicationProviderRepository;
+import com.hashjosh.application.repository.ApplicationRepository;
 import com.hashjosh.application.repository.ApplicationTypeRepository;
+import com.hashjosh.application.validators.FormSchemaRegistry;
+import com.hashjosh.constant.pcic.enums.InsuranceStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +34,11 @@ public class ApplicationTypeService {
     private final ApplicationFieldsService applicationFieldService;
     private final ApplicationTypeMapper applicationTypeMapper;
     private final ApplicationProviderRepository applicationProviderRepository;
+    private final FormSchemaRegistry formSchemaRegistry;
+    private final DynamicFieldIndexService dynamicFieldIndexService;
+    private final ApplicationTypeCatalog applicationTypeCatalog;
+    private final ApplicationRepository applicationRepository;
+    private final ApplicationService applicationService;
 
 
     @Transactional(propagation = Propagation.REQUIRED, rollbackFor = RuntimeException.class)
@@ -61,47 +72,81 @@ public class ApplicationTypeService {
 
         applicationType.setRequiredAIAnalysis(requiredAIAnalysis);
         applicationType.setSections(applicationSections);
-        return applicationTypeMapper.toApplicationResponse(applicationType,false,false);
+        formSchemaRegistry.evict(savedApplicationType.getId());
+        dynamicFieldIndexService.register(applicationSections.stream()
+                .flatMap(section -> section.getFields().stream())
+                .toList());
+        applicationTypeCatalog.invalidate();
+        return applicationTypeMapper.toApplicationResponse(applicationType,false);
     }
 
-    public List<ApplicationTypeResponseDto> findAll(Boolean includeApplicationResponse,
-                                                    Boolean includeSections) {
-        return applicationTypeRepository.findAll().stream()
-                .map(application -> applicationTypeMapper.toApplicationResponse(application,includeApplicationResponse,includeSections))
-                .collect(Collectors.toList());
-    }
-
-    @Transactional(readOnly = true)
-    public List<ApplicationTypeResponseDto> findByProvider(
+    /**
+     * Type definitions from the catalog, optionally for one provider only. With
+     * {@code includeCounts} each type carries its application counts per
+     * status, read live, and the result has no ETag.
+     */
+    public CatalogView<List<ApplicationTypeResponseDto>> findAll(
             String provider,
-            Boolean includeApplicationResponse,
-            Boolean includeSections
+            boolean includeCounts,
+            boolean includeSections
     ) {
-        return applicationTypeRepository.findAllByProvider_Name(provider)
-                .stream().map(application -> applicationTypeMapper.toApplicationResponse(application,includeApplicationResponse,includeSections))
+        List<ApplicationTypeCatalog.Entry> entries = applicationTypeCatalog.entries().stream()
+                .filter(entry -> provider == null || provider.equals(entry.definition().getProvider()))
+                .toList();
+        List<ApplicationTypeResponseDto> types = entries.stream()
+                .map(entry -> view(entry, includeSections))
                 .toList();
+
+        if (includeCounts) {
+            addCounts(types);
+            return new CatalogView<>(types, null);
+        }
+        return new CatalogView<>(types, ApplicationTypeCatalog.etag(entries, variant(includeSections)));
     }
 
-    @Transactional(readOnly = true)
-    public ApplicationTypeResponseDto findById(
+    public CatalogView<ApplicationTypeResponseDto> findById(
             UUID id,
-            Boolean includeApplicationResponse,
-            Boolean includeSections
+            boolean includeCounts,
+            boolean includeSections
     ) {
-        ApplicationType applicationType = applicationTypeRepository.findById(id)
+        ApplicationTypeCatalog.Entry entry = applicationTypeCatalog.find(id)
                 .orElseThrow(() -> ApiException.notFound("Application type not found"));
-        return applicationTypeMapper.toApplicationResponse(applicationType,includeApplicationResponse,includeSections);
+        ApplicationTypeResponseDto type = view(entry, includeSections);
+
+        if (includeCounts) {
+            addCounts(List.of(type));
+            return new CatalogView<>(type, null);
+        }
+        return new CatalogView<>(type, ApplicationTypeCatalog.etag(List.of(entry), variant(includeSections)));
     }
 
-    @Transactional(readOnly = true)
+    /** Applications of one type, newest first, a page at a time. */
+    public CursorPage<ApplicationListItem> findApplications(UUID id, String cursor, int limit) {
+        if (applicationTypeCatalog.find(id).isEmpty()) {
+            throw ApiException.notFound("Application type not found");
+        }
+        return applicationService.findPage(new ApplicationListFilter(null, id, null, null, null), cursor, limit);
+    }
+
+    public CursorPage<ApplicationResponseDto> findApplicationDetails(UUID id, String cursor, int limit) {
+        if (applicationTypeCatalog.find(id).isEmpty()) {
+            throw ApiException.notFound("Application type not found");
+        }
+        return applicationService.findDetailPage(new ApplicationListFilter(null, id, null, null, null), cursor, limit);
+    }
+
+    @Transactional
     public void deleteById(UUID id) {
         ApplicationType applicationType = applicationTypeRepository.findById(id)
                 .orElseThrow(() -> ApiException.notFound("Application type not found"));
         applicationTypeRepository.delete(applicationType);
+        formSchemaRegistry.evict(id);
+        applicationTypeCatalog.invalidate();
     }
 
+    @Transactional(readOnly = true)
     public Boolean requiresPredictions(UUID applicationTypeId) {
-        ApplicationType applicationType = applicationTypeRepository.findById(applicationTypeId)
+        ApplicationType applicationType = applicationTypeRepository.findFormById(applicationTypeId)
                 .orElseThrow(() -> ApiException.notFound("Application type not found"));
         if (applicationType.getSections() == null) return false;
         for (ApplicationSection section : applicationType.getSections()) {
@@ -114,4 +159,32 @@ public class ApplicationTypeService {
         }
         return false;
     }
+
+    private static ApplicationTypeResponseDto view(ApplicationTypeCatalog.Entry entry, boolean includeSections) {
+        // A copy, so that adding counts never touches the cached definition
+        ApplicationTypeResponseDto.ApplicationTypeResponseDtoBuilder builder = entry.definition().toBuilder();
+        if (!includeSections) {
+            builder.sections(null);
+        }
+        return builder.build();
+    }
+
+    private void addCounts(List<ApplicationTypeResponseDto> types) {
+        if (types.isEmpty()) {
+            return;
+        }
+        Map<UUID, Map<String, Long>> counts = new HashMap<>();
+        for (ApplicationStatusCount row : applicationRepository.countByTypeAndStatus(
+                types.stream().map(ApplicationTypeResponseDto::getId).toList())) {
+            // Applications stored before their summary row count as pending
+            InsuranceStatus status = row.status() != null ? row.status() : InsuranceStatus.PENDING;
+            counts.computeIfAbsent(row.applicationTypeId(), id -> new TreeMap<>())
+                    .merge(status.name(), row.count(), Long::sum);
+        }
+        types.forEach(type -> type.setApplicationCounts(counts.getOrDefault(type.getId(), Map.of())));
+    }
+
+    private static String variant(boolean includeSections) {
+        return includeSections ? "sections" : "summary";
+    }
 }
@@ -0,0 +1,116 @@
+package com.hashjosh.application.service;
+
+import com.hashjosh.application.clients.DocumentServiceClient;
+import com.hashjosh.application.configs.DocumentUploadProperties;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.constant.document.dto.DocumentResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Uploads the files of a single request to document-service concurrently on
+ * virtual threads, bounded by {@link DocumentUploadProperties}. If any upload
+ * fails or the deadline passes, every file that did reach document-service is
+ * deleted again before the error is rethrown.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DocumentUploadService {
+
+    private final DocumentServiceClient documentServiceClient;
+    private final DocumentUploadProperties uploadProperties;
+
+    public Map<String, DocumentResponse> uploadAll(Map<String, MultipartFile> fileMap, String userId) {
+        if (fileMap == null || fileMap.isEmpty()) {
+            return Map.of();
+        }
+
+        List<String> keys = new ArrayList<>(fileMap.keySet());
+        List<DocumentResponse> uploaded = uploadAll(keys.stream().map(fileMap::get).toList(), userId);
+
+        Map<String, DocumentResponse> result = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            result.put(keys.get(i), uploaded.get(i));
+        }
+        return result;
+    }
+
+    public List<DocumentResponse> uploadAll(List<MultipartFile> files, String userId) {
+        if (files == null || files.isEmpty()) {
+            return List.of();
+        }
+
+        Semaphore permits = new Semaphore(Math.max(1, uploadProperties.getMaxConcurrency()));
+        long deadline = System.nanoTime() + uploadProperties.getTimeout().toNanos();
+
+        // Every successful upload is recorded here, even if its future is later
+        // cancelled, so compensation never misses an object in storage.
+        Queue<DocumentResponse> completed = new ConcurrentLinkedQueue<>();
+        List<Future<DocumentResponse>> futures = new ArrayList<>(files.size());
+        List<DocumentResponse> uploaded = new ArrayList<>(files.size());
+        RuntimeException failure = null;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (MultipartFile file : files) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        DocumentResponse response = documentServiceClient.uploadDocument(file, userId);
+                        completed.add(response);
+                        return response;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            try {
+                for (Future<DocumentResponse> future : futures) {
+                    long remaining = Math.max(0, deadline - System.nanoTime());
+                    uploaded.add(future.get(remaining, TimeUnit.NANOSECONDS));
+                }
+            } catch (TimeoutException e) {
+                failure = ApiException.internalError("Document upload timed out after " + uploadProperties.getTimeout().toSeconds() + "s");
+            } catch (ExecutionException e) {
+                failure = e.getCause() instanceof ApiException apiException
+                        ? apiException
+                        : ApiException.internalError("Failed to upload document: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = ApiException.internalError("Document upload was interrupted");
+            }
+
+            if (failure != null) {
+                futures.forEach(future -> future.cancel(true));
+            }
+        }
+
+        if (failure != null) {
+            log.warn("Upload of {} files failed, discarding {} already uploaded", files.size(), completed.size());
+            discard(completed, userId);
+            throw failure;
+        }
+        return uploaded;
+    }
+
+    /**
+     * Best-effort removal of documents that were uploaded for a request which
+     * did not complete. Failures are logged, never thrown, so the original
+     * error reaches the caller.
+     */
+    public void discard(Collection<DocumentResponse> documents, String userId) {
+        for (DocumentResponse document : documents) {
+            try {
+                documentServiceClient.deleteDocument(document.getDocumentId(), userId);
+            } catch (Exception e) {
+                log.error("Failed to discard uploaded document {}: {}", document.getDocumentId(), e.getMessage());
+            }
+        }
+    }
+}
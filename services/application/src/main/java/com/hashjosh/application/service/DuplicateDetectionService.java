@@ -0,0 +1,154 @@
+package com.hashjosh.application.service;
+
+import com.hashjosh.application.configs.CustomUserDetails;
+import com.hashjosh.application.configs.DuplicateDetectionProperties;
+import com.hashjosh.application.dto.duplicate.DuplicateFlagResponse;
+import com.hashjosh.application.dto.duplicate.DuplicateReviewRequest;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.geo.GeoBox;
+import com.hashjosh.application.geo.GeoPoint;
+import com.hashjosh.application.geo.Geohash;
+import com.hashjosh.application.model.Application;
+import com.hashjosh.application.model.DuplicateFlag;
+import com.hashjosh.application.repository.ApplicationGeoRepository;
+import com.hashjosh.application.repository.ApplicationRepository;
+import com.hashjosh.application.repository.DuplicateFlagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Flags suspected duplicates as applications are stored: the same farmer
+ * applying for the same type again within the window, or a parcel whose
+ * centroid lies within the configured radius of another active application.
+ * Nearby parcels are found through range scans on the geohash index. Nothing
+ * is rejected; flags are returned with the submission and queued for review.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicateDetectionService {
+
+    // Covering cells for the search radius; a handful keeps it to a few index ranges
+    private static final int MAX_CELLS = 9;
+
+    private record NearbyMatch(UUID id, double distanceMeters) {
+    }
+
+    private final ApplicationRepository applicationRepository;
+    private final ApplicationGeoRepository applicationGeoRepository;
+    private final DuplicateFlagRepository duplicateFlagRepository;
+    private final DuplicateDetectionProperties properties;
+
+    /**
+     * Checks a just-saved application and stores a flag for every match. Runs
+     * in the transaction that saved it, so flags never outlive a rolled-back
+     * submission.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<DuplicateFlag> flag(Application application) {
+        if (!properties.isEnabled()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<DuplicateFlag> flags = new ArrayList<>();
+
+        applicationRepository.findRecentActiveIds(
+                        application.getUserId(),
+                        application.getType().getId(),
+                        now.minus(properties.getWindow()),
+                        application.getId(),
+                        PageRequest.of(0, properties.getMaxMatches()))
+                .forEach(matchId -> flags.add(newFlag(application, matchId, DuplicateFlag.Reason.SAME_FARMER_AND_TYPE, null, now)));
+
+        GeoPoint.tryParse(application.getCoordinates()).ifPresent(point -> {
+            GeoBox box = GeoBox.around(point, properties.getRadiusMeters());
+            applicationGeoRepository.findActiveCandidates(Geohash.cover(box, MAX_CELLS), box, application.getId())
+                    .stream()
+                    .map(candidate -> new NearbyMatch(candidate.id(),
+                            point.distanceMeters(new GeoPoint(candidate.latitude(), candidate.longitude()))))
+                    .filter(match -> match.distanceMeters() <= properties.getRadiusMeters())
+                    .sorted(Comparator.comparingDouble(NearbyMatch::distanceMeters))
+                    .limit(properties.getMaxMatches())
+                    .forEach(match -> flags.add(newFlag(application, match.id(),
+                            DuplicateFlag.Reason.NEARBY_PARCEL, match.distanceMeters(), now)));
+        });
+
+        if (flags.isEmpty()) {
+            return List.of();
+        }
+        log.info("Application {} flagged as a possible duplicate of {} application(s)", application.getId(), flags.size());
+        return duplicateFlagRepository.saveAll(flags);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DuplicateFlagResponse> findByApplication(UUID applicationId) {
+        return duplicateFlagRepository.findAllByApplicationIdOrderByReasonAscDistanceMetersAsc(applicationId).stream()
+                .map(DuplicateFlagResponse::from)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<DuplicateFlagResponse> findQueue(DuplicateFlag.Status status, int page, int size) {
+        if (page < 0 || size < 1 || size > 200) {
+            throw ApiException.badRequest("page must be at least 0 and size between 1 and 200");
+        }
+        return duplicateFlagRepository.findByStatusOrderByCreatedAtAscIdAsc(status, PageRequest.of(page, size)).stream()
+                .map(DuplicateFlagResponse::from)
+                .toList();
+    }
+
+    /**
+     * Confirms or dismisses an open flag. A flag is decided once; a second
+     * reviewer racing the first gets a conflict.
+     */
+    @Transactional
+    public DuplicateFlagResponse review(UUID flagId, DuplicateReviewRequest request) {
+        if (request.status() == DuplicateFlag.Status.OPEN) {
+            throw ApiException.badRequest("A flag can only be CONFIRMED or DISMISSED");
+        }
+
+        int updated = duplicateFlagRepository.review(
+                flagId, request.status(), currentUserId(), LocalDateTime.now(), request.note());
+        DuplicateFlag flag = duplicateFlagRepository.findById(flagId)
+                .orElseThrow(() -> ApiException.notFound("Duplicate flag not found with id: " + flagId));
+        if (updated == 0) {
+            throw ApiException.conflict("Duplicate flag " + flagId + " was already " + flag.getStatus().name().toLowerCase());
+        }
+        return DuplicateFlagResponse.from(flag);
+    }
+
+    private static DuplicateFlag newFlag(
+            Application application,
+            UUID matchId,
+            DuplicateFlag.Reason reason,
+            Double distanceMeters,
+            LocalDateTime now
+    ) {
+        return DuplicateFlag.builder()
+                .applicationId(application.getId())
+                .matchedApplicationId(matchId)
+                .reason(reason)
+                .distanceMeters(distanceMeters)
+                .status(DuplicateFlag.Status.OPEN)
+                .createdAt(now)
+                .build();
+    }
+
+    private UUID currentUserId() {
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
+                .getContext().getAuthentication().getPrincipal();
+        return UUID.fromString(userDetails.getUserId());
+    }
+}
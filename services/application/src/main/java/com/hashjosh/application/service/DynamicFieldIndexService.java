@@ -0,0 +1,158 @@
+package com.hashjosh.application.service;
+
+import com.hashjosh.application.model.ApplicationField;
+import com.hashjosh.application.repository.ApplicationFieldsRepository;
+import com.hashjosh.constant.application.FieldType;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps track of the dynamic field keys declared by application types and
+ * maintains the JSONB indexes used by the application search.
+ * <p>
+ * Equality and {@code in} filters are served by one GIN {@code jsonb_path_ops}
+ * index over {@code dynamic_fields}; NUMBER and DATE keys additionally get a
+ * btree expression index on {@code dynamic_fields -> 'key'} for range filters.
+ * Indexes are built {@code CONCURRENTLY} so writes are not blocked.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DynamicFieldIndexService {
+
+    private static final Pattern SAFE_KEY = Pattern.compile("[A-Za-z][A-Za-z0-9_]{0,39}");
+    private static final Set<FieldType> RANGE_TYPES = EnumSet.of(FieldType.NUMBER, FieldType.DATE);
+    private static final String GIN_INDEX = "idx_applications_dynamic_fields";
+    private static final String INDEX_PREFIX = "idx_applications_df_";
+    private static final int MAX_INDEX_NAME = 63;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationFieldsRepository applicationFieldsRepository;
+
+    private final Map<String, FieldType> searchableKeys = new ConcurrentHashMap<>();
+    private final Set<String> rangeIndexedKeys = ConcurrentHashMap.newKeySet();
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("dynamic-field-index").factory());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        for (Object[] row : applicationFieldsRepository.findDistinctKeysAndTypes()) {
+            track((String) row[0], (FieldType) row[1]);
+        }
+        indexExecutor.submit(this::createMissingIndexes);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        indexExecutor.shutdownNow();
+    }
+
+    /**
+     * Registers the fields of a new or changed application type. Inside a
+     * transaction the index work is deferred until after commit.
+     */
+    public void register(Collection<ApplicationField> fields) {
+        Runnable task = () -> {
+            fields.forEach(field -> track(field.getKey(), field.getFieldType()));
+            indexExecutor.submit(this::createMissingIndexes);
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    public Optional<FieldType> getFieldType(String key) {
+        return Optional.ofNullable(key).map(searchableKeys::get);
+    }
+
+    public boolean supportsRange(String key) {
+        return getFieldType(key).map(RANGE_TYPES::contains).orElse(false);
+    }
+
+    private void track(String key, FieldType fieldType) {
+        if (key == null || fieldType == null || !SAFE_KEY.matcher(key).matches()) {
+            log.debug("Dynamic field '{}' is not searchable", key);
+            return;
+        }
+        // A key declared with different types keeps the first one seen
+        searchableKeys.putIfAbsent(key, fieldType);
+    }
+
+    private void createMissingIndexes() {
+        createIndex(GIN_INDEX, "USING gin (dynamic_fields jsonb_path_ops)");
+
+        searchableKeys.forEach((key, fieldType) -> {
+            if (RANGE_TYPES.contains(fieldType) && !rangeIndexedKeys.contains(key)) {
+                if (createIndex(indexName(key), "((dynamic_fields -> '" + key + "'))")) {
+                    rangeIndexedKeys.add(key);
+                    dropLegacyIndex(key);
+                }
+            }
+        });
+    }
+
+    private boolean createIndex(String name, String definition) {
+        try {
+            jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + name + " ON applications " + definition);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to create index {}: {}", name, e.getMessage());
+            // A failed concurrent build leaves an INVALID index that IF NOT EXISTS would keep skipping
+            try {
+                jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + name);
+            } catch (RuntimeException dropFailure) {
+                log.warn("Failed to drop invalid index {}: {}", name, dropFailure.getMessage());
+            }
+            return false;
+        }
+    }
+
+    // Earlier builds named the index after the lowercased key alone
+    private void dropLegacyIndex(String key) {
+        String legacy = INDEX_PREFIX + key.toLowerCase(Locale.ROOT);
+        try {
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY IF EXISTS " + legacy);
+        } catch (RuntimeException e) {
+            log.warn("Failed to drop legacy index {}: {}", legacy, e.getMessage());
+        }
+    }
+
+    /**
+     * Identifiers are case-folded and cut at 63 bytes, so the name ends with a
+     * hash of the exact key; the readable part only helps finding it.
+     */
+    static String indexName(String key) {
+        String readable = key.toLowerCase(Locale.ROOT);
+        readable = readable.substring(0, Math.min(readable.length(), MAX_INDEX_NAME - INDEX_PREFIX.length() - 9));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return INDEX_PREFIX + readable + "_" + HexFormat.of().formatHex(digest, 0, 4);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
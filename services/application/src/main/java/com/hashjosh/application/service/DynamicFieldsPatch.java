@@ -0,0 +1,68 @@
+package com.hashjosh.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An RFC 7396 JSON Merge Patch resolved against an application's current
+ * dynamic fields, reduced to what the database has to change: top-level keys
+ * to set (already merged with their nested values) and keys to remove.
+ * <p>
+ * The current document is never modified.
+ */
+record DynamicFieldsPatch(ObjectNode changes, List<String> removedKeys) {
+
+    static DynamicFieldsPatch resolve(JsonNode current, ObjectNode patch) {
+        ObjectNode changes = JsonNodeFactory.instance.objectNode();
+        List<String> removedKeys = new ArrayList<>();
+
+        for (Map.Entry<String, JsonNode> entry : patch.properties()) {
+            String key = entry.getKey();
+            JsonNode value = entry.getValue();
+            JsonNode existing = current != null ? current.get(key) : null;
+
+            if (value.isNull()) {
+                if (existing != null) {
+                    removedKeys.add(key);
+                }
+                continue;
+            }
+
+            JsonNode merged = merge(existing, value);
+            if (!merged.equals(existing)) {
+                changes.set(key, merged);
+            }
+        }
+        return new DynamicFieldsPatch(changes, List.copyOf(removedKeys));
+    }
+
+    boolean isEmpty() {
+        return changes.isEmpty() && removedKeys.isEmpty();
+    }
+
+    /**
+     * The MergePatch function of RFC 7396, returning a new node.
+     */
+    static JsonNode merge(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch.deepCopy();
+        }
+
+        ObjectNode result = target != null && target.isObject()
+                ? ((ObjectNode) target).deepCopy()
+                : JsonNodeFactory.instance.objectNode();
+        for (Map.Entry<String, JsonNode> entry : patch.properties()) {
+            if (entry.getValue().isNull()) {
+                result.remove(entry.getKey());
+            } else {
+                result.set(entry.getKey(), merge(result.get(entry.getKey()), entry.getValue()));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,174 @@
+package com.hashjosh.application.service;
+
+import com.hashjosh.application.clients.PolicyClient;
+import com.hashjosh.application.configs.PolicyIndexProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory index of issued policy numbers, used to validate claim submissions
+ * without calling insurance-service. It is bootstrapped from the policy-number
+ * export, kept current from {@code application-policy-issued} events and fully
+ * rebuilt on {@code app.policy-index.refresh-interval}.
+ * <p>
+ * Only a known number is answered locally. An unknown one may have been
+ * issued since the last event or rebuild, so the caller confirms it with
+ * insurance-service before rejecting the submission. Exports run on their
+ * own thread so a slow insurance-service never holds up the shared scheduler.
+ */
+@Component
+@Slf4j
+public class PolicyNumberIndex {
+
+    private final PolicyClient policyClient;
+    private final PolicyIndexProperties properties;
+
+    private volatile Set<String> numbers;
+    private volatile boolean ready;
+    private volatile boolean started;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Numbers received while a rebuild is fetching the export
+    private final List<String> pending = new ArrayList<>();
+    private final ExecutorService rebuilds = Executors.newSingleThreadExecutor(
+            Thread.ofVirtual().name("policy-index-rebuild").factory());
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public PolicyNumberIndex(PolicyClient policyClient,
+                             PolicyIndexProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.policyClient = policyClient;
+        this.properties = properties;
+        this.numbers = ConcurrentHashMap.newKeySet(properties.getExpectedPolicies());
+
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+
+        Gauge.builder("policy.index.size", this, index -> index.numbers.size())
+                .description("Policy numbers held in the local index")
+                .register(meterRegistry);
+        Gauge.builder("policy.index.hit.ratio", this, PolicyNumberIndex::hitRatio)
+                .description("Share of policy lookups answered without calling insurance-service")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("policy.index.lookups")
+                .description("Policy number lookups by outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public boolean contains(String policyNumber) {
+        if (numbers.contains(policyNumber)) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    public void add(String policyNumber) {
+        if (policyNumber == null || policyNumber.isBlank()) {
+            return;
+        }
+        synchronized (pending) {
+            numbers.add(policyNumber);
+            if (rebuilding.get()) {
+                pending.add(policyNumber);
+            }
+        }
+    }
+
+    /**
+     * Loads the first export. Called by the policy-issued listener once it has
+     * recorded where its consumer starts, so no issued policy falls in between.
+     */
+    public void bootstrap() {
+        started = true;
+        requestRebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.policy-index.retry-interval:1m}")
+    public void retryBootstrap() {
+        if (started && !ready) {
+            requestRebuild();
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${app.policy-index.refresh-interval:6h}",
+            initialDelayString = "${app.policy-index.refresh-interval:6h}"
+    )
+    public void refresh() {
+        if (started) {
+            requestRebuild();
+        }
+    }
+
+    private void requestRebuild() {
+        if (rebuilding.compareAndSet(false, true)) {
+            rebuilds.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        try {
+            List<String> exported = fetchAll();
+            Set<String> rebuilt = ConcurrentHashMap.newKeySet(Math.max(properties.getExpectedPolicies(), exported.size() * 2));
+            rebuilt.addAll(exported);
+
+            synchronized (pending) {
+                rebuilt.addAll(pending);
+                pending.clear();
+                numbers = rebuilt;
+                ready = true;
+            }
+            log.info("Policy number index rebuilt with {} entries", rebuilt.size());
+        } catch (RuntimeException e) {
+            log.warn("Policy number index rebuild failed, keeping {} index: {}",
+                    ready ? "previous" : "incomplete", e.getMessage());
+        } finally {
+            synchronized (pending) {
+                pending.clear();
+                rebuilding.set(false);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuilds.shutdownNow();
+    }
+
+    private List<String> fetchAll() {
+        List<String> numbers = new ArrayList<>();
+        String after = null;
+        List<String> page;
+        do {
+            page = policyClient.exportPolicyNumbers(after, properties.getExportPageSize());
+            numbers.addAll(page);
+            after = page.isEmpty() ? after : page.get(page.size() - 1);
+        } while (page.size() >= properties.getExportPageSize());
+        return numbers;
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0 : hits.count() / total;
+    }
+}
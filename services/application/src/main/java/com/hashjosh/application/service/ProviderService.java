@@ -18,6 +18,7 @@ import java.util.List;
 public class ProviderService {
 
     private final ApplicationProviderRepository providerRepository;
+    private final ApplicationTypeCatalog applicationTypeCatalog;
 
     @Transactional
     public void createProvider(@Valid ProviderRequest request) {
@@ -72,6 +73,8 @@ public class ProviderService {
         provider.setName(request.getName());
         provider.setDescription(request.getDescription());
         providerRepository.save(provider);
+        // Type definitions carry the provider name
+        applicationTypeCatalog.invalidate();
     }
 
     @Transactional
@@ -80,5 +83,6 @@ public class ProviderService {
                 .orElseThrow(() -> ApiException.notFound("Provider not found"));
 
         providerRepository.delete(provider);
+        applicationTypeCatalog.invalidate();
     }
 }
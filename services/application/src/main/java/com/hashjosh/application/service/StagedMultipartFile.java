@@ -0,0 +1,72 @@
+package com.hashjosh.application.service;
+
+import com.hashjosh.application.model.SubmissionJobFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A file part of a queued submission, streamed back from the staging bucket
+ * every time it is read.
+ */
+class StagedMultipartFile implements MultipartFile {
+
+    private final SubmissionJobFile file;
+    private final SubmissionFileStore store;
+
+    StagedMultipartFile(SubmissionJobFile file, SubmissionFileStore store) {
+        this.file = file;
+        this.store = store;
+    }
+
+    @Override
+    public String getName() {
+        return file.getPartName();
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return file.getFileName();
+    }
+
+    @Override
+    public String getContentType() {
+        return file.getContentType();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return file.getSize() == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return file.getSize();
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        try (InputStream in = getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        if (file.getObjectKey() == null) {
+            throw new IllegalStateException("Staged file " + file.getId() + " has not been moved to object storage yet");
+        }
+        return store.open(file.getObjectKey());
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        try (InputStream in = getInputStream()) {
+            Files.copy(in, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.hashjosh.application.service;
+
+import com.hashjosh.application.configs.MinioProperties;
+import com.hashjosh.application.configs.SubmissionQueueProperties;
+import com.hashjosh.application.exceptions.ApiException;
+import io.minio.BucketExistsArgs;
+import io.minio.GetObjectArgs;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import io.minio.PutObjectArgs;
+import io.minio.RemoveObjectsArgs;
+import io.minio.Result;
+import io.minio.SetBucketLifecycleArgs;
+import io.minio.messages.DeleteError;
+import io.minio.messages.DeleteObject;
+import io.minio.messages.Expiration;
+import io.minio.messages.LifecycleConfiguration;
+import io.minio.messages.LifecycleRule;
+import io.minio.messages.RuleFilter;
+import io.minio.messages.Status;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Object storage for the files of queued submissions. Uploads are streamed
+ * from the request straight into the staging bucket and read back the same
+ * way by the worker, so a file is never held in memory or in Postgres.
+ * <p>
+ * Objects are removed once their job finishes. The bucket also expires
+ * anything older than the queue retention, which covers objects left behind
+ * by a request that failed between staging and queueing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionFileStore {
+
+    private static final String KEY_PREFIX = "submissions/";
+
+    private final MinioClient minioClient;
+    private final MinioProperties minioProperties;
+    private final SubmissionQueueProperties queueProperties;
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        try {
+            String bucket = minioProperties.getStagingBucket();
+            if (!minioClient.bucketExists(BucketExistsArgs.builder().bucket(bucket).build())) {
+                minioClient.makeBucket(MakeBucketArgs.builder().bucket(bucket).build());
+                log.info("Created MinIO bucket: {}", bucket);
+            }
+            int days = (int) Math.max(1, queueProperties.getRetention().toDays());
+            minioClient.setBucketLifecycle(SetBucketLifecycleArgs.builder()
+                    .bucket(bucket)
+                    .config(new LifecycleConfiguration(List.of(new LifecycleRule(
+                            Status.ENABLED, null, new Expiration((ZonedDateTime) null, days, null),
+                            new RuleFilter(KEY_PREFIX), "expire-staged-submissions", null, null, null))))
+                    .build());
+        } catch (Exception e) {
+            log.error("Could not prepare the submission staging bucket: {}", e.getMessage());
+        }
+        moveLegacyContent();
+    }
+
+    /**
+     * Streams {@code file} into the staging bucket and returns its object key.
+     */
+    public String put(MultipartFile file) {
+        String key = KEY_PREFIX + UUID.randomUUID();
+        try (InputStream in = file.getInputStream()) {
+            minioClient.putObject(PutObjectArgs.builder()
+                    .bucket(minioProperties.getStagingBucket())
+                    .object(key)
+                    .stream(in, file.getSize(), -1)
+                    .contentType(file.getContentType() != null ? file.getContentType() : "application/octet-stream")
+                    .build());
+            return key;
+        } catch (Exception e) {
+            log.error("Failed to stage file {}: {}", file.getOriginalFilename(), e.getMessage());
+            throw ApiException.internalError("Failed to stage file " + file.getName());
+        }
+    }
+
+    public InputStream open(String key) {
+        try {
+            return minioClient.getObject(GetObjectArgs.builder()
+                    .bucket(minioProperties.getStagingBucket())
+                    .object(key)
+                    .build());
+        } catch (Exception e) {
+            throw ApiException.internalError("Failed to read staged file " + key);
+        }
+    }
+
+    /**
+     * Removes staged objects. Failures are only logged, the bucket expiry
+     * removes whatever is left.
+     */
+    public void delete(Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        try {
+            Iterable<Result<DeleteError>> errors = minioClient.removeObjects(RemoveObjectsArgs.builder()
+                    .bucket(minioProperties.getStagingBucket())
+                    .objects(keys.stream().map(DeleteObject::new).toList())
+                    .build());
+            for (Result<DeleteError> error : errors) {
+                log.warn("Could not remove staged file {}", error.get().objectName());
+            }
+        } catch (Exception e) {
+            log.warn("Could not remove {} staged file(s): {}", keys.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Queued files used to be stored in {@code submission_job_files.content}.
+     * The column stops being required at once so new jobs can be queued,
+     * then rows still holding their content are moved to the bucket one at a
+     * time and the column is dropped.
+     */
+    void moveLegacyContent() {
+        try {
+            Integer legacy = jdbcTemplate.queryForObject("""
+                    SELECT count(*) FROM information_schema.columns
+                    WHERE table_schema = current_schema() AND table_name = 'submission_job_files' AND column_name = 'content'
+                    """, Integer.class);
+            if (legacy == null || legacy == 0) {
+                return;
+            }
+            jdbcTemplate.execute("ALTER TABLE submission_job_files ALTER COLUMN content DROP NOT NULL");
+            List<UUID> ids = jdbcTemplate.queryForList(
+                    "SELECT id FROM submission_job_files WHERE object_key IS NULL", UUID.class);
+            for (UUID id : ids) {
+                byte[] content = jdbcTemplate.queryForObject(
+                        "SELECT content FROM submission_job_files WHERE id = ?", byte[].class, id);
+                String key = KEY_PREFIX + UUID.randomUUID();
+                minioClient.putObject(PutObjectArgs.builder()
+                        .bucket(minioProperties.getStagingBucket())
+                        .object(key)
+                        .stream(new ByteArrayInputStream(content), content.length, -1)
+                        .build());
+                jdbcTemplate.update("UPDATE submission_job_files SET object_key = ?, size = ? WHERE id = ?",
+                        key, content.length, id);
+            }
+            jdbcTemplate.execute("ALTER TABLE submission_job_files DROP COLUMN content");
+            log.info("Moved {} staged submission file(s) from Postgres to object storage", ids.size());
+        } catch (Exception e) {
+            log.warn("Could not move staged submission files to object storage: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.hashjosh.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hashjosh.application.configs.IdempotencyProperties;
+import com.hashjosh.application.dto.submission.ApplicationSubmissionDto;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.model.IdempotencyRecord;
+import com.hashjosh.application.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Bookkeeping for the {@code Idempotency-Key} header on submissions. A key is
+ * claimed before any file is uploaded, marked completed in the transaction that
+ * stores the application, and released again if the submission fails.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionIdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IdempotencyProperties properties;
+    // Sorted keys so that logically equal submissions hash the same
+    private final ObjectMapper canonicalMapper = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    /**
+     * Claims {@code key} for this request. Returns the application created by an
+     * earlier request with the same key and fingerprint, or empty if the caller
+     * now owns the key and must process the submission.
+     */
+    public Optional<UUID> claim(UUID userId, String key, String fingerprint) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw ApiException.badRequest("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiresAt = now.plus(properties.getTtl());
+
+            if (idempotencyRecordRepository.tryClaim(userId, key, fingerprint, now, expiresAt) == 1) {
+                return Optional.<UUID>empty();
+            }
+
+            IdempotencyRecord existing = idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, key)
+                    .orElseThrow(() -> ApiException.conflict("Idempotency-Key is being released, retry the request"));
+
+            boolean expired = existing.getExpiresAt().isBefore(now);
+            boolean abandoned = existing.getStatus() == IdempotencyRecord.Status.IN_PROGRESS
+                    && existing.getCreatedAt().isBefore(now.minus(properties.getInProgressTimeout()));
+            if (expired || abandoned) {
+                if (idempotencyRecordRepository.takeOver(existing.getId(), existing.getCreatedAt(), fingerprint, now, expiresAt) == 1) {
+                    log.info("Reclaimed {} idempotency key for user {}", expired ? "expired" : "abandoned", userId);
+                    return Optional.<UUID>empty();
+                }
+                throw ApiException.conflict("A request with this Idempotency-Key is still being processed");
+            }
+
+            if (!existing.getRequestHash().equals(fingerprint)) {
+                throw new ApiException("Idempotency-Key was already used for a different submission",
+                        HttpStatus.UNPROCESSABLE_ENTITY);
+            }
+            if (existing.getStatus() == IdempotencyRecord.Status.IN_PROGRESS) {
+                throw ApiException.conflict("A request with this Idempotency-Key is still being processed");
+            }
+
+            log.info("Replaying submission {} for idempotency key of user {}", existing.getApplicationId(), userId);
+            return Optional.of(existing.getApplicationId());
+        });
+    }
+
+    /**
+     * Records the created application. Must run in the transaction that stores
+     * it, so a replay never sees a key without its application.
+     */
+    public void complete(UUID userId, String key, UUID applicationId) {
+        idempotencyRecordRepository.complete(userId, key, applicationId);
+    }
+
+    public void release(UUID userId, String key) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.release(userId, key));
+        } catch (RuntimeException e) {
+            // The key stays blocked until inProgressTimeout, after which it can be reclaimed
+            log.warn("Failed to release idempotency key for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * SHA-256 over the form values and the file metadata of a submission. File
+     * contents are not read; name, size and type identify a retried upload.
+     */
+    public String fingerprint(ApplicationSubmissionDto submission, Map<String, MultipartFile> fileMap) {
+        ObjectNode root = canonicalMapper.createObjectNode();
+        root.put("applicationTypeId", String.valueOf(submission.getApplicationTypeId()));
+        root.put("coordinates", submission.getCoordinates());
+        root.set("fieldValues", canonicalMapper.valueToTree(new TreeMap<>(submission.getFieldValues())));
+
+        ArrayNode files = root.putArray("files");
+        new TreeMap<>(fileMap).forEach((part, file) -> files.addObject()
+                .put("part", part)
+                .put("name", file.getOriginalFilename())
+                .put("size", file.getSize())
+                .put("type", file.getContentType()));
+
+        try {
+            byte[] canonical = canonicalMapper.writeValueAsString(root).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(canonical));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw ApiException.internalError("Failed to fingerprint submission");
+        }
+    }
+
+    @Scheduled(cron = "${app.idempotency.cleanup-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        Integer deleted = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteExpired(LocalDateTime.now()));
+        log.debug("Deleted {} expired idempotency keys", deleted);
+    }
+}
@@ -0,0 +1,20 @@
+package com.hashjosh.application.service;
+
+import com.hashjosh.application.model.Application;
+import com.hashjosh.application.model.SubmissionJob;
+
+/**
+ * Callbacks from the submission pipeline. {@link #onPersisted} runs inside the
+ * transaction that stores the application, so work done there commits with it.
+ */
+interface SubmissionListener {
+
+    SubmissionListener NONE = new SubmissionListener() {
+    };
+
+    default void onStage(SubmissionJob.Status stage) {
+    }
+
+    default void onPersisted(Application application) {
+    }
+}
@@ -0,0 +1,305 @@
+package com.hashjosh.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.configs.CustomUserDetails;
+import com.hashjosh.application.configs.SubmissionQueueProperties;
+import com.hashjosh.application.dto.submission.ApplicationSubmissionDto;
+import com.hashjosh.application.dto.submission.SubmissionJobResponse;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.kafka.ApplicationProducer;
+import com.hashjosh.application.model.SubmissionJob;
+import com.hashjosh.application.model.SubmissionJobFile;
+import com.hashjosh.application.repository.SubmissionJobFileRepository;
+import com.hashjosh.application.repository.SubmissionJobRepository;
+import com.hashjosh.kafkacommon.application.SubmissionProgressEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Durable queue behind {@code 202 Accepted} submissions. Jobs live in
+ * Postgres and their files in the {@link SubmissionFileStore}, so any instance
+ * can run them; every status change is published to {@value #PROGRESS_TOPIC}
+ * through the outbox in the same transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SubmissionQueueService {
+
+    static final String PROGRESS_TOPIC = "application-submission-progress";
+
+    private final SubmissionJobRepository submissionJobRepository;
+    private final SubmissionJobFileRepository submissionJobFileRepository;
+    private final SubmissionIdempotencyService submissionIdempotencyService;
+    private final SubmissionFileStore submissionFileStore;
+    private final ApplicationProducer applicationProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final SubmissionQueueProperties properties;
+
+    /**
+     * Stores the submission for the workers and returns its tracking id. With an
+     * {@code idempotencyKey}, a retry returns the job queued by the first request.
+     */
+    public SubmissionJobResponse enqueue(
+            ApplicationSubmissionDto submission,
+            Map<String, MultipartFile> fileMap,
+            String idempotencyKey
+    ) {
+        if (submission.getApplicationTypeId() == null) {
+            throw ApiException.badRequest("applicationTypeId is required");
+        }
+        if (idempotencyKey != null
+                && (idempotencyKey.isBlank() || idempotencyKey.length() > SubmissionIdempotencyService.MAX_KEY_LENGTH)) {
+            throw ApiException.badRequest("Idempotency-Key must be between 1 and "
+                    + SubmissionIdempotencyService.MAX_KEY_LENGTH + " characters");
+        }
+
+        UUID userId = currentUserId();
+        String requestHash = submissionIdempotencyService.fingerprint(submission, fileMap);
+
+        if (idempotencyKey != null) {
+            Optional<SubmissionJob> existing = submissionJobRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+            if (existing.isPresent()) {
+                return replay(existing.get(), requestHash);
+            }
+        }
+
+        List<SubmissionJobFile> files = stage(fileMap);
+        boolean queued = false;
+        try {
+            SubmissionJob job = transactionTemplate.execute(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                SubmissionJob saved = submissionJobRepository.save(SubmissionJob.builder()
+                        .userId(userId)
+                        .idempotencyKey(idempotencyKey)
+                        .requestHash(requestHash)
+                        .submission(objectMapper.valueToTree(submission))
+                        .status(SubmissionJob.Status.QUEUED)
+                        .nextAttemptAt(now)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+                files.forEach(file -> file.setJobId(saved.getId()));
+                submissionJobFileRepository.saveAll(files);
+                publishProgress(saved);
+                return saved;
+            });
+            queued = true;
+            log.info("Queued submission {} for user {} with {} file(s)", job.getId(), userId, files.size());
+            return SubmissionJobResponse.from(job);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key queued first
+            return submissionJobRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey)
+                    .map(job -> replay(job, requestHash))
+                    .orElseThrow(() -> e);
+        } finally {
+            if (!queued) {
+                submissionFileStore.delete(files.stream().map(SubmissionJobFile::getObjectKey).toList());
+            }
+        }
+    }
+
+    public SubmissionJobResponse getStatus(UUID trackingId) {
+        return submissionJobRepository.findByIdAndUserId(trackingId, currentUserId())
+                .map(SubmissionJobResponse::from)
+                .orElseThrow(() -> ApiException.notFound("Submission not found with id: " + trackingId));
+    }
+
+    /**
+     * Leases up to {@code limit} due jobs to the caller. A claimed job starts
+     * over at validation with its attempt counter incremented.
+     */
+    List<SubmissionJob> claim(int limit) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<SubmissionJob> jobs = submissionJobRepository.lockDue(now, limit);
+            for (SubmissionJob job : jobs) {
+                job.setStatus(SubmissionJob.Status.VALIDATING);
+                job.setAttempts(job.getAttempts() + 1);
+                job.setLockedUntil(now.plus(properties.getLease()));
+                job.setUpdatedAt(now);
+                publishProgress(job);
+            }
+            return jobs;
+        });
+    }
+
+    /**
+     * Extends the leases of jobs this instance is still running. Returns the
+     * jobs that were taken over meanwhile; their completion will be refused.
+     */
+    List<SubmissionJob> renewLeases(Collection<SubmissionJob> jobs) {
+        if (jobs.isEmpty()) {
+            return List.of();
+        }
+        return transactionTemplate.execute(status -> {
+            LocalDateTime lockedUntil = LocalDateTime.now().plus(properties.getLease());
+            return jobs.stream()
+                    .filter(job -> submissionJobRepository.renewLease(job.getId(), job.getAttempts(), lockedUntil) == 0)
+                    .toList();
+        });
+    }
+
+    Map<String, MultipartFile> loadFiles(UUID jobId) {
+        Map<String, MultipartFile> files = new LinkedHashMap<>();
+        submissionJobFileRepository.findByJobId(jobId)
+                .forEach(file -> files.put(file.getPartName(), new StagedMultipartFile(file, submissionFileStore)));
+        return files;
+    }
+
+    void advance(SubmissionJob job, SubmissionJob.Status stage) {
+        transactionTemplate.executeWithoutResult(status -> {
+            SubmissionJob current = current(job).orElseThrow(() -> superseded(job));
+            current.setStatus(stage);
+            current.setUpdatedAt(LocalDateTime.now());
+            publishProgress(current);
+        });
+    }
+
+    /**
+     * Marks the job completed in the transaction that stores the application,
+     * so a job is never completed without its application or vice versa.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void complete(SubmissionJob job, UUID applicationId) {
+        SubmissionJob current = current(job).orElseThrow(() -> superseded(job));
+        current.setStatus(SubmissionJob.Status.COMPLETED);
+        current.setApplicationId(applicationId);
+        current.setError(null);
+        current.setLockedUntil(null);
+        current.setUpdatedAt(LocalDateTime.now());
+        discardFiles(current.getId());
+        publishProgress(current);
+    }
+
+    /**
+     * Records a failed attempt. Server-side errors are retried with exponential
+     * backoff until {@code maxAttempts}; anything else fails the job for good.
+     * Does nothing if the attempt has already been taken over.
+     */
+    void fail(SubmissionJob job, String error, boolean retryable) {
+        transactionTemplate.executeWithoutResult(status -> current(job).ifPresent(current -> {
+            LocalDateTime now = LocalDateTime.now();
+            current.setError(truncate(error));
+            current.setLockedUntil(null);
+            current.setUpdatedAt(now);
+
+            if (retryable && current.getAttempts() < properties.getMaxAttempts()) {
+                current.setStatus(SubmissionJob.Status.QUEUED);
+                current.setNextAttemptAt(now.plus(backoff(current.getAttempts())));
+                log.warn("Submission {} attempt {} failed, retrying at {}: {}",
+                        current.getId(), current.getAttempts(), current.getNextAttemptAt(), error);
+            } else {
+                current.setStatus(SubmissionJob.Status.FAILED);
+                discardFiles(current.getId());
+                log.warn("Submission {} failed after {} attempt(s): {}", current.getId(), current.getAttempts(), error);
+            }
+            publishProgress(current);
+        }));
+    }
+
+    @Scheduled(cron = "${app.submission-queue.cleanup-cron:0 30 * * * *}")
+    public void purgeFinished() {
+        Integer deleted = transactionTemplate.execute(status -> submissionJobRepository
+                .deleteFinishedBefore(LocalDateTime.now().minus(properties.getRetention())));
+        log.debug("Deleted {} finished submission jobs", deleted);
+    }
+
+    private Optional<SubmissionJob> current(SubmissionJob job) {
+        return submissionJobRepository.lockById(job.getId())
+                .filter(locked -> locked.getAttempts() == job.getAttempts() && !locked.getStatus().isFinished());
+    }
+
+    private SubmissionJobResponse replay(SubmissionJob job, String requestHash) {
+        if (!job.getRequestHash().equals(requestHash)) {
+            throw new ApiException("Idempotency-Key was already used for a different submission",
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        return SubmissionJobResponse.from(job);
+    }
+
+    private List<SubmissionJobFile> stage(Map<String, MultipartFile> fileMap) {
+        List<SubmissionJobFile> files = new ArrayList<>(fileMap.size());
+        try {
+            for (Map.Entry<String, MultipartFile> entry : fileMap.entrySet()) {
+                MultipartFile file = entry.getValue();
+                files.add(SubmissionJobFile.builder()
+                        .partName(entry.getKey())
+                        .fileName(file.getOriginalFilename())
+                        .contentType(file.getContentType())
+                        .size(file.getSize())
+                        .objectKey(submissionFileStore.put(file))
+                        .build());
+            }
+            return files;
+        } catch (RuntimeException e) {
+            submissionFileStore.delete(files.stream().map(SubmissionJobFile::getObjectKey).toList());
+            throw e;
+        }
+    }
+
+    // The objects are only removed once the rows referencing them are gone
+    private void discardFiles(UUID jobId) {
+        List<String> keys = submissionJobFileRepository.findByJobId(jobId).stream()
+                .map(SubmissionJobFile::getObjectKey)
+                .filter(Objects::nonNull)
+                .toList();
+        submissionJobFileRepository.deleteByJobId(jobId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submissionFileStore.delete(keys);
+            }
+        });
+    }
+
+    private void publishProgress(SubmissionJob job) {
+        applicationProducer.publishEvent(PROGRESS_TOPIC, job.getId(), SubmissionProgressEvent.builder()
+                .trackingId(job.getId())
+                .userId(job.getUserId())
+                .status(job.getStatus().name())
+                .attempt(job.getAttempts())
+                .applicationId(job.getApplicationId())
+                .error(job.getError())
+                .occurredAt(job.getUpdatedAt())
+                .build());
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+
+    private static ApiException superseded(SubmissionJob job) {
+        return ApiException.conflict("Submission " + job.getId() + " attempt " + job.getAttempts() + " was taken over");
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > 1000 ? error.substring(0, 1000) : error;
+    }
+
+    private UUID currentUserId() {
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder
+                .getContext().getAuthentication().getPrincipal();
+        return UUID.fromString(userDetails.getUserId());
+    }
+}
@@ -0,0 +1,120 @@
+package com.hashjosh.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.application.configs.SubmissionQueueProperties;
+import com.hashjosh.application.dto.submission.ApplicationSubmissionDto;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.model.Application;
+import com.hashjosh.application.model.SubmissionJob;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Polls the submission queue and runs claimed jobs on virtual threads, at most
+ * {@code app.submission-queue.workers} at a time per instance.
+ */
+@Component
+@Slf4j
+public class SubmissionWorker {
+
+    private final SubmissionQueueService submissionQueueService;
+    private final ApplicationService applicationService;
+    private final ObjectMapper objectMapper;
+
+    private final Semaphore slots;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    // Jobs this instance is running, whose leases it keeps renewing
+    private final Map<UUID, SubmissionJob> running = new ConcurrentHashMap<>();
+
+    public SubmissionWorker(SubmissionQueueService submissionQueueService,
+                            ApplicationService applicationService,
+                            ObjectMapper objectMapper,
+                            SubmissionQueueProperties properties) {
+        this.submissionQueueService = submissionQueueService;
+        this.applicationService = applicationService;
+        this.objectMapper = objectMapper;
+        this.slots = new Semaphore(properties.getWorkers());
+    }
+
+    @Scheduled(fixedDelayString = "${app.submission-queue.poll-interval:500ms}")
+    public void poll() {
+        int free = slots.availablePermits();
+        if (free == 0) {
+            return;
+        }
+
+        List<SubmissionJob> jobs = submissionQueueService.claim(free);
+        for (SubmissionJob job : jobs) {
+            // Only this thread acquires, so the permits counted above are still there
+            slots.acquireUninterruptibly();
+            running.put(job.getId(), job);
+            executor.execute(() -> {
+                try {
+                    run(job);
+                } finally {
+                    running.remove(job.getId());
+                    slots.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Keeps the leases of running jobs ahead of the clock, so a submission
+     * that takes longer than one lease is not run a second time elsewhere.
+     */
+    @Scheduled(fixedDelayString = "${app.submission-queue.renew-interval:1m}")
+    public void renewLeases() {
+        try {
+            for (SubmissionJob job : submissionQueueService.renewLeases(List.copyOf(running.values()))) {
+                log.warn("Submission {} attempt {} was taken over by another worker", job.getId(), job.getAttempts());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not renew submission leases: {}", e.getMessage());
+        }
+    }
+
+    private void run(SubmissionJob job) {
+        try {
+            ApplicationSubmissionDto submission = objectMapper.treeToValue(job.getSubmission(), ApplicationSubmissionDto.class);
+            Map<String, MultipartFile> files = submissionQueueService.loadFiles(job.getId());
+
+            applicationService.processQueuedSubmission(submission, files, job.getUserId(), new SubmissionListener() {
+                @Override
+                public void onStage(SubmissionJob.Status stage) {
+                    // Claiming already moved the job to VALIDATING
+                    if (stage != SubmissionJob.Status.VALIDATING) {
+                        submissionQueueService.advance(job, stage);
+                    }
+                }
+
+                @Override
+                public void onPersisted(Application application) {
+                    submissionQueueService.complete(job, application.getId());
+                }
+            });
+        } catch (ApiException e) {
+            submissionQueueService.fail(job, e.getMessage(), e.getStatus().is5xxServerError());
+        } catch (Exception e) {
+            log.error("Submission {} attempt {} failed unexpectedly", job.getId(), job.getAttempts(), e);
+            submissionQueueService.fail(job, "Submission processing failed", true);
+        }
+    }
+
+    // Running jobs are not awaited; their lease expires and another instance picks them up
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
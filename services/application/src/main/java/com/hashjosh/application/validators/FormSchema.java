@@ -0,0 +1,214 @@
+package com.hashjosh.application.validators;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hashjosh.application.dto.validation.ValidationError;
+import com.hashjosh.application.dto.validation.ValidationErrors;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.model.ApplicationField;
+import com.hashjosh.application.model.ApplicationSection;
+import com.hashjosh.application.model.ApplicationType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Immutable, pre-compiled view of an {@link ApplicationType} form definition.
+ * Built once per type by {@link FormSchemaRegistry} so that submissions can be
+ * validated in a single pass over the submitted values.
+ */
+@Slf4j
+public final class FormSchema {
+
+    private final UUID applicationTypeId;
+    private final Map<String, CompiledField> fieldsByKey;
+    private final Set<String> requiredKeys;
+    private final Set<String> aiAnalysisKeys;
+    private final Map<UUID, Set<String>> keysBySection;
+
+    private FormSchema(UUID applicationTypeId,
+                       Map<String, CompiledField> fieldsByKey,
+                       Set<String> requiredKeys,
+                       Set<String> aiAnalysisKeys,
+                       Map<UUID, Set<String>> keysBySection) {
+        this.applicationTypeId = applicationTypeId;
+        this.fieldsByKey = fieldsByKey;
+        this.requiredKeys = requiredKeys;
+        this.aiAnalysisKeys = aiAnalysisKeys;
+        this.keysBySection = keysBySection;
+    }
+
+    public static FormSchema compile(ApplicationType applicationType, FieldValidatorFactory validatorFactory) {
+        Map<String, CompiledField> fieldsByKey = new LinkedHashMap<>();
+        Set<String> requiredKeys = new LinkedHashSet<>();
+        Set<String> aiAnalysisKeys = new LinkedHashSet<>();
+        Map<UUID, Set<String>> keysBySection = new LinkedHashMap<>();
+
+        List<ApplicationSection> sections = applicationType.getSections() != null
+                ? applicationType.getSections()
+                : List.of();
+
+        for (ApplicationSection section : sections) {
+            if (section.getFields() == null) continue;
+            Set<String> sectionKeys = new LinkedHashSet<>();
+            for (ApplicationField field : section.getFields()) {
+                fieldsByKey.put(field.getKey(), compileField(field, validatorFactory));
+                sectionKeys.add(field.getKey());
+                if (Boolean.TRUE.equals(field.getRequired())) {
+                    requiredKeys.add(field.getKey());
+                }
+                if (Boolean.TRUE.equals(field.getRequiredAIAnalysis())) {
+                    aiAnalysisKeys.add(field.getKey());
+                }
+            }
+            keysBySection.put(section.getId(), Collections.unmodifiableSet(sectionKeys));
+        }
+
+        return new FormSchema(
+                applicationType.getId(),
+                Collections.unmodifiableMap(fieldsByKey),
+                Collections.unmodifiableSet(requiredKeys),
+                Collections.unmodifiableSet(aiAnalysisKeys),
+                Collections.unmodifiableMap(keysBySection)
+        );
+    }
+
+    private static CompiledField compileField(ApplicationField field, FieldValidatorFactory validatorFactory) {
+        ValidatorStrategy validator = null;
+        if (field.getFieldType() != null) {
+            try {
+                validator = validatorFactory.getStrategy(field.getFieldType().name());
+            } catch (ApiException e) {
+                log.warn("No validator registered for field '{}' of type {}", field.getKey(), field.getFieldType());
+            }
+        }
+
+        Pattern pattern = null;
+        if (field.getValidationRegex() != null && !field.getValidationRegex().isBlank()) {
+            try {
+                pattern = Pattern.compile(field.getValidationRegex());
+            } catch (PatternSyntaxException e) {
+                log.warn("Ignoring invalid validation regex for field '{}': {}", field.getKey(), e.getMessage());
+            }
+        }
+
+        return new CompiledField(field, validator, pattern);
+    }
+
+    /**
+     * Validates submitted values against this schema. Required keys are checked
+     * with set lookups and every submitted value is visited exactly once.
+     */
+    public List<ValidationError> validate(Map<String, Object> fieldValues, ObjectMapper objectMapper) {
+        List<ValidationError> errors = new ArrayList<>();
+
+        // 1. Check required fields
+        for (String requiredKey : requiredKeys) {
+            if (!fieldValues.containsKey(requiredKey)) {
+                errors.add(new ValidationError(
+                        requiredKey,
+                        String.format("Field '%s' is required", fieldsByKey.get(requiredKey).field().getFieldName())
+                ));
+            }
+        }
+
+        // 2. Validate field types and constraints
+        for (Map.Entry<String, Object> entry : fieldValues.entrySet()) {
+            CompiledField compiled = fieldsByKey.get(entry.getKey());
+            if (compiled == null) continue;
+
+            JsonNode valueNode = objectMapper.valueToTree(entry.getValue());
+            compiled.validate(valueNode, errors);
+        }
+
+        return errors;
+    }
+
+    /**
+     * Validates only the keys an update touches: {@code changes} holds the new
+     * values, {@code removedKeys} must not contain required fields.
+     */
+    public List<ValidationError> validateChanges(ObjectNode changes, Collection<String> removedKeys) {
+        List<ValidationError> errors = new ArrayList<>();
+
+        for (String removedKey : removedKeys) {
+            if (requiredKeys.contains(removedKey)) {
+                errors.add(new ValidationError(
+                        removedKey,
+                        String.format("Field '%s' is required", fieldsByKey.get(removedKey).field().getFieldName())
+                ));
+            }
+        }
+
+        for (Map.Entry<String, JsonNode> entry : changes.properties()) {
+            CompiledField compiled = fieldsByKey.get(entry.getKey());
+            if (compiled != null) {
+                compiled.validate(entry.getValue(), errors);
+            }
+        }
+
+        return errors;
+    }
+
+    public UUID getApplicationTypeId() {
+        return applicationTypeId;
+    }
+
+    public Optional<ApplicationField> getField(String key) {
+        CompiledField compiled = fieldsByKey.get(key);
+        return compiled == null ? Optional.empty() : Optional.of(compiled.field());
+    }
+
+    public boolean hasField(String key) {
+        return fieldsByKey.containsKey(key);
+    }
+
+    /**
+     * Keys of the fields in section {@code sectionId}, or empty if the section
+     * does not belong to this form.
+     */
+    public Optional<Set<String>> getSectionKeys(UUID sectionId) {
+        return Optional.ofNullable(keysBySection.get(sectionId));
+    }
+
+    public Set<String> getRequiredKeys() {
+        return requiredKeys;
+    }
+
+    public Set<String> getAiAnalysisKeys() {
+        return aiAnalysisKeys;
+    }
+
+    public boolean requiresAIAnalysis(String key) {
+        return aiAnalysisKeys.contains(key);
+    }
+
+    record CompiledField(ApplicationField field, ValidatorStrategy validator, Pattern pattern) {
+
+        void validate(JsonNode value, List<ValidationError> errors) {
+            if (validator == null) {
+                errors.add(new ValidationError(
+                        field.getKey(),
+                        String.format("Unsupported field type: %s", field.getFieldType())
+                ));
+                return;
+            }
+
+            List<ValidationErrors> fieldErrors = validator.validate(field, value);
+            if (fieldErrors != null) {
+                fieldErrors.forEach(error -> errors.add(new ValidationError(field.getKey(), error.message())));
+            }
+
+            if (pattern != null && value != null && value.isTextual()
+                    && !pattern.matcher(value.asText()).matches()) {
+                errors.add(new ValidationError(
+                        field.getKey(),
+                        String.format("Field '%s' does not match the expected format", field.getFieldName())
+                ));
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.hashjosh.application.validators;
+
+import com.hashjosh.application.configs.TypeCatalogProperties;
+import com.hashjosh.application.model.ApplicationType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches one compiled {@link FormSchema} per application type. Entries are
+ * evicted by {@code ApplicationTypeService} whenever a type definition changes
+ * on this instance, and expire after {@code app.type-catalog.ttl}, like the
+ * type catalog, to pick up changes made elsewhere.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FormSchemaRegistry {
+
+    private record Compiled(FormSchema schema, Instant compiledAt) {
+    }
+
+    private final FieldValidatorFactory fieldValidatorFactory;
+    private final TypeCatalogProperties properties;
+    private final Map<UUID, Compiled> schemas = new ConcurrentHashMap<>();
+
+    public FormSchema getSchema(ApplicationType applicationType) {
+        return schemas.compute(applicationType.getId(), (id, cached) -> {
+            if (isFresh(cached)) {
+                return cached;
+            }
+            log.debug("Compiling form schema for application type {}", id);
+            return new Compiled(FormSchema.compile(applicationType, fieldValidatorFactory), Instant.now());
+        }).schema();
+    }
+
+    /** The compiled schema if a fresh one is cached, without touching the database. */
+    public Optional<FormSchema> findCached(UUID applicationTypeId) {
+        return Optional.ofNullable(schemas.get(applicationTypeId)).filter(this::isFresh).map(Compiled::schema);
+    }
+
+    public void evict(UUID applicationTypeId) {
+        if (applicationTypeId != null && schemas.remove(applicationTypeId) != null) {
+            log.debug("Evicted form schema for application type {}", applicationTypeId);
+        }
+    }
+
+    public void evictAll() {
+        schemas.clear();
+    }
+
+    private boolean isFresh(Compiled cached) {
+        return cached != null && cached.compiledAt().plus(properties.getTtl()).isAfter(Instant.now());
+    }
+}
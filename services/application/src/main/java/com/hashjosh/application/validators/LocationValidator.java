@@ -2,16 +2,70 @@ package com.hashjosh.application.validators;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.hashjosh.application.dto.validation.ValidationErrors;
+import com.hashjosh.application.geo.CoordinateValidator;
 import com.hashjosh.application.model.ApplicationField;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Accepts a LOCATION value in one of the shapes clients send: a
+ * {@code "lat,lon"} string, an object with numeric {@code latitude} and
+ * {@code longitude}, or an address object with {@code region},
+ * {@code province}, {@code city} and {@code barangay}. Points are checked
+ * against the boundary index.
+ */
 @Component
+@RequiredArgsConstructor
 public class LocationValidator implements ValidatorStrategy{
+
+    private static final List<String> ADDRESS_PARTS = List.of("region", "province", "city", "barangay");
+
+    private final CoordinateValidator coordinateValidator;
+
     @Override
     public List<ValidationErrors> validate(ApplicationField field, JsonNode value) {
-        // need to implement location validation
-        return null;
+
+        if(!field.getRequired() && (value == null || value.isNull())){
+            return new ArrayList<>();
+        }
+
+        List<ValidationErrors> errors = new ArrayList<>();
+
+        if (value == null || value.isNull()) {
+            errors.add(new ValidationErrors(field.getKey(), "Field must be a location (LOCATION)"));
+        } else if (value.isTextual()) {
+            validatePoint(field, value.asText(), errors);
+        } else if (value.isObject() && value.has("latitude") && value.has("longitude")) {
+            if (!value.get("latitude").isNumber() || !value.get("longitude").isNumber()) {
+                errors.add(new ValidationErrors(field.getKey(), "Latitude and longitude must be numbers"));
+            } else {
+                validatePoint(field, value.get("latitude").asText() + "," + value.get("longitude").asText(), errors);
+            }
+        } else if (value.isObject()) {
+            for (String part : ADDRESS_PARTS) {
+                JsonNode partValue = value.get(part);
+                if (partValue == null || !partValue.isTextual() || partValue.asText().isBlank()) {
+                    errors.add(new ValidationErrors(field.getKey(), "Location " + part + " is required"));
+                }
+            }
+        } else {
+            errors.add(new ValidationErrors(
+                    field.getKey(),
+                    "Field must be coordinates or an address object (LOCATION)"
+            ));
+        }
+        return errors;
+    }
+
+    private void validatePoint(ApplicationField field, String coordinates, List<ValidationErrors> errors) {
+        if (coordinates.isBlank()) {
+            errors.add(new ValidationErrors(field.getKey(), "Coordinates are required"));
+            return;
+        }
+        coordinateValidator.findError(coordinates)
+                .ifPresent(message -> errors.add(new ValidationErrors(field.getKey(), message)));
     }
 }
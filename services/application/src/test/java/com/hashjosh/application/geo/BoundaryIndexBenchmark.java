@@ -0,0 +1,139 @@
+package com.hashjosh.application.geo;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hashjosh.application.configs.GeoProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Measures {@link BoundaryIndex#locate} against a synthetic province: a grid
+ * of round municipalities, each holding a grid of round barangays, so points
+ * land inside a barangay, inside a municipality only, or outside everything.
+ * The name keeps it out of regular test runs; run it with
+ * {@code mvn test -Dtest=BoundaryIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoundaryIndexBenchmark {
+
+    private static final double ORIGIN_LATITUDE = 10;
+    private static final double ORIGIN_LONGITUDE = 120;
+    private static final double CELL_DEGREES = 0.2;
+    private static final int BARANGAYS_PER_SIDE = 4;
+    private static final int POINTS = 4096;
+
+    // Municipalities per side of the grid; 40 is about the size of a large region
+    @Param({"10", "40"})
+    public int gridSize;
+
+    // Vertices per boundary; real municipal outlines run to hundreds
+    @Param({"32", "256"})
+    public int vertices;
+
+    private BoundaryIndex index;
+    private GeoPoint[] points;
+    private int next;
+
+    @Test
+    void run() throws Exception {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(BoundaryIndexBenchmark.class.getName())
+                .forks(0)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build()).run();
+
+        assertFalse(results.isEmpty());
+    }
+
+    @Setup(Level.Trial)
+    public void load() throws Exception {
+        Path file = Files.createTempFile("boundaries", ".geojson");
+        file.toFile().deleteOnExit();
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.writeValue(file.toFile(), boundaries(objectMapper));
+
+        GeoProperties properties = new GeoProperties();
+        properties.setBoundariesFile(file.toString());
+        index = new BoundaryIndex(properties, objectMapper, new SimpleMeterRegistry());
+        index.load();
+
+        // A margin of half a cell around the grid keeps some points outside every boundary
+        SplittableRandom random = new SplittableRandom(42);
+        double extent = gridSize * CELL_DEGREES;
+        points = new GeoPoint[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            points[i] = new GeoPoint(
+                    ORIGIN_LATITUDE - CELL_DEGREES / 2 + random.nextDouble() * (extent + CELL_DEGREES),
+                    ORIGIN_LONGITUDE - CELL_DEGREES / 2 + random.nextDouble() * (extent + CELL_DEGREES));
+        }
+    }
+
+    @Benchmark
+    public Optional<GeoLocation> locate() {
+        GeoPoint point = points[next];
+        next = (next + 1) & (POINTS - 1);
+        return index.locate(point);
+    }
+
+    private ObjectNode boundaries(ObjectMapper objectMapper) {
+        ObjectNode collection = objectMapper.createObjectNode().put("type", "FeatureCollection");
+        ArrayNode features = collection.putArray("features");
+        double barangayDegrees = CELL_DEGREES / BARANGAYS_PER_SIDE;
+        for (int row = 0; row < gridSize; row++) {
+            for (int column = 0; column < gridSize; column++) {
+                String code = "M" + row + "-" + column;
+                double latitude = ORIGIN_LATITUDE + row * CELL_DEGREES;
+                double longitude = ORIGIN_LONGITUDE + column * CELL_DEGREES;
+                features.add(feature(objectMapper, "municipality", code, null,
+                        latitude + CELL_DEGREES / 2, longitude + CELL_DEGREES / 2, CELL_DEGREES / 2));
+                for (int i = 0; i < BARANGAYS_PER_SIDE; i++) {
+                    for (int j = 0; j < BARANGAYS_PER_SIDE; j++) {
+                        features.add(feature(objectMapper, "barangay", code + "-" + i + "-" + j, code,
+                                latitude + (i + 0.5) * barangayDegrees,
+                                longitude + (j + 0.5) * barangayDegrees, barangayDegrees / 2));
+                    }
+                }
+            }
+        }
+        return collection;
+    }
+
+    private ObjectNode feature(ObjectMapper objectMapper, String level, String code, String parentCode,
+                               double latitude, double longitude, double radius) {
+        ObjectNode feature = objectMapper.createObjectNode().put("type", "Feature");
+        feature.putObject("properties")
+                .put("level", level)
+                .put("code", code)
+                .put("name", code)
+                .put("parentCode", parentCode);
+        ArrayNode ring = feature.putObject("geometry")
+                .put("type", "Polygon")
+                .putArray("coordinates")
+                .addArray();
+        for (int i = 0; i <= vertices; i++) {
+            double angle = 2 * Math.PI * (i % vertices) / vertices;
+            ring.addArray().add(longitude + radius * Math.cos(angle)).add(latitude + radius * Math.sin(angle));
+        }
+        return feature;
+    }
+}
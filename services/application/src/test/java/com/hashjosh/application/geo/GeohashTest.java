@@ -0,0 +1,110 @@
+package com.hashjosh.application.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeohashTest {
+
+    @Test
+    void cornersOfTheWorldEncodeToTheOuterCells() {
+        assertEquals("000000000", Geohash.encode(-90, -180, Geohash.STORED_PRECISION));
+        assertEquals("zzzzzzzzz", Geohash.encode(90, 180, Geohash.STORED_PRECISION));
+        // Either side of the antimeridian lands in opposite corners of the first split
+        assertEquals("r", Geohash.encode(-1, 179.9, 1));
+        assertEquals("2", Geohash.encode(-1, -179.9, 1));
+        assertThrows(IllegalArgumentException.class, () -> Geohash.encode(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Geohash.encode(0, 0, Geohash.MAX_PRECISION + 1));
+    }
+
+    @Test
+    void coverContainsEveryPointOfTheBox() {
+        GeoBox manila = GeoBox.around(new GeoPoint(14.5995, 120.9842), 2_000);
+
+        List<String> cells = Geohash.cover(manila, 16);
+
+        assertTrue(cells.size() <= 16);
+        assertCovered(manila, cells);
+    }
+
+    @Test
+    void boxNearThePoleSpansEveryLongitude() {
+        GeoBox north = GeoBox.around(new GeoPoint(89.9995, 10), 1_000);
+        GeoBox south = GeoBox.around(new GeoPoint(-90, 0), 1_000);
+
+        assertEquals(90, north.maxLatitude());
+        assertEquals(-180, north.minLongitude());
+        assertEquals(180, north.maxLongitude());
+        assertEquals(-90, south.minLatitude());
+        assertEquals(-180, south.minLongitude());
+        assertEquals(180, south.maxLongitude());
+        assertCovered(north, Geohash.cover(north, 16));
+        assertCovered(south, Geohash.cover(south, 9));
+    }
+
+    @Test
+    void boxStopsAtTheAntimeridian() {
+        GeoBox east = GeoBox.around(new GeoPoint(-17.7, 179.999), 1_000);
+        GeoBox west = GeoBox.around(new GeoPoint(-17.7, -179.999), 1_000);
+
+        // Boxes are not wrapped, a search never reaches across to the other side
+        assertEquals(180, east.maxLongitude());
+        assertEquals(-180, west.minLongitude());
+        assertFalse(east.contains(-17.7, -179.999));
+
+        List<String> eastCells = Geohash.cover(east, 16);
+        List<String> westCells = Geohash.cover(west, 16);
+        assertCovered(east, eastCells);
+        assertCovered(west, westCells);
+        assertTrue(eastCells.stream().allMatch(cell -> cell.startsWith("r")));
+        assertTrue(westCells.stream().allMatch(cell -> cell.startsWith("2")));
+    }
+
+    @Test
+    void coverFallsBackToSingleCharacterCells() {
+        GeoBox world = new GeoBox(-90, -180, 90, 180);
+
+        List<String> cells = Geohash.cover(world, 4);
+
+        assertEquals(32, cells.size());
+        assertTrue(cells.stream().allMatch(cell -> cell.length() == 1));
+    }
+
+    @Test
+    void parseAcceptsTheBoundariesAndRejectsBeyondThem() {
+        assertEquals(new GeoPoint(90, 180), GeoPoint.parse("90,180"));
+        assertEquals(new GeoPoint(-90, -180), GeoPoint.parse(" -90 , -180 "));
+        assertThrows(IllegalArgumentException.class, () -> GeoPoint.parse("90.0001,0"));
+        assertThrows(IllegalArgumentException.class, () -> GeoPoint.parse("0,-180.5"));
+        assertThrows(IllegalArgumentException.class, () -> GeoPoint.parse("NaN,0"));
+        assertThrows(IllegalArgumentException.class, () -> GeoPoint.parse("14.5,120.9,3"));
+        assertThrows(IllegalArgumentException.class, () -> GeoPoint.parse("14.5"));
+        assertThrows(IllegalArgumentException.class, () -> GeoPoint.parse(null));
+        assertTrue(GeoPoint.tryParse("").isEmpty());
+        assertTrue(GeoPoint.tryParse("north,east").isEmpty());
+    }
+
+    @Test
+    void distanceAcrossTheAntimeridianAndThePoleIsShort() {
+        GeoPoint east = new GeoPoint(0, 179.999);
+        GeoPoint west = new GeoPoint(0, -179.999);
+
+        assertEquals(222.4, east.distanceMeters(west), 0.1);
+        assertEquals(0, new GeoPoint(90, 0).distanceMeters(new GeoPoint(90, 180)), 1e-6);
+    }
+
+    private static void assertCovered(GeoBox box, List<String> cells) {
+        int steps = 40;
+        for (int i = 0; i <= steps; i++) {
+            double latitude = box.minLatitude() + (box.maxLatitude() - box.minLatitude()) * i / steps;
+            for (int j = 0; j <= steps; j++) {
+                double longitude = box.minLongitude() + (box.maxLongitude() - box.minLongitude()) * j / steps;
+                String hash = Geohash.encode(latitude, longitude, Geohash.STORED_PRECISION);
+                assertTrue(cells.stream().anyMatch(hash::startsWith),
+                        () -> hash + " at " + latitude + "," + longitude + " is outside " + cells);
+            }
+        }
+    }
+}
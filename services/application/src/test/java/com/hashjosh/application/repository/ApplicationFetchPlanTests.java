@@ -0,0 +1,234 @@
+package com.hashjosh.application.repository;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.hashjosh.application.dto.workflow.ApplicationWorkflowResponse;
+import com.hashjosh.application.model.*;
+import com.hashjosh.constant.application.FieldType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the fetch plans behind each endpoint by counting the SQL statements
+ * they prepare. Every list is seeded with several rows, so an N+1 shows up as
+ * a higher count rather than passing by accident.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "token.secret=fetch-plan-tests-secret-0123456789abcdef"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+class ApplicationFetchPlanTests {
+
+    private static final int TYPES = 3;
+    private static final int SECTIONS_PER_TYPE = 3;
+    private static final int FIELDS_PER_SECTION = 4;
+    private static final int APPLICATIONS_PER_TYPE = 4;
+    private static final int DOCUMENTS_PER_APPLICATION = 2;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private ApplicationTypeRepository applicationTypeRepository;
+
+    private Statistics statistics;
+    private final List<ApplicationType> types = new ArrayList<>();
+    private final List<Application> applications = new ArrayList<>();
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void seed() {
+        ApplicationProvider provider = persist(ApplicationProvider.builder().name("PCIC").build());
+
+        for (int t = 0; t < TYPES; t++) {
+            ApplicationWorkflow workflow = persist(ApplicationWorkflow.builder()
+                    .verificationEnabled(true)
+                    .inspectionEnabled(true)
+                    .build());
+            ApplicationType type = persist(ApplicationType.builder()
+                    .name("Type " + t)
+                    .provider(provider)
+                    .applicationWorkflow(workflow)
+                    .build());
+            types.add(type);
+
+            for (int s = 0; s < SECTIONS_PER_TYPE; s++) {
+                ApplicationSection section = persist(ApplicationSection.builder()
+                        .title("Section " + s)
+                        .applicationType(type)
+                        .build());
+                for (int f = 0; f < FIELDS_PER_SECTION; f++) {
+                    persist(ApplicationField.builder()
+                            .key("field_" + t + "_" + s + "_" + f)
+                            .fieldName("Field " + f)
+                            .fieldType(FieldType.TEXT)
+                            .applicationSection(section)
+                            .build());
+                }
+            }
+
+            for (int a = 0; a < APPLICATIONS_PER_TYPE; a++) {
+                List<Document> documents = new ArrayList<>();
+                for (int d = 0; d < DOCUMENTS_PER_APPLICATION; d++) {
+                    documents.add(persist(Document.builder()
+                            .documentId(UUID.randomUUID())
+                            .fileName("file-" + d + ".jpg")
+                            .fileType("image/jpeg")
+                            .objectKey("objects/" + UUID.randomUUID())
+                            .build()));
+                }
+                applications.add(persist(Application.builder()
+                        .userId(userId)
+                        .fullName("Farmer " + t + "-" + a)
+                        .coordinates("14.5995,120.9842")
+                        .dynamicFields(JsonNodeFactory.instance.objectNode().put("crop", "rice"))
+                        .type(type)
+                        .documents(documents)
+                        .build()));
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // GET /api/v1/applications/{application-id}
+    @Test
+    void applicationDetailIsOneStatement() {
+        Application application = applicationRepository.findDetailById(applications.get(0).getId()).orElseThrow();
+
+        assertNotNull(application.getType().getName());
+        assertEquals(DOCUMENTS_PER_APPLICATION, application.getDocuments().size());
+        assertStatements(1);
+    }
+
+    // GET /api/v1/applications
+    @Test
+    void applicationListIsOneStatement() {
+        List<Application> all = applicationRepository.findAllWithDetails();
+
+        assertEquals(applications.size(), all.size());
+        all.forEach(this::touchDetail);
+        assertStatements(1);
+    }
+
+    // GET /api/v1/applications/user/all
+    @Test
+    void userApplicationListIsOneStatement() {
+        List<Application> mine = applicationRepository.findAllByUserId(userId);
+
+        assertEquals(applications.size(), mine.size());
+        mine.forEach(this::touchDetail);
+        assertStatements(1);
+    }
+
+    // GET /api/v1/applications?provider=
+    @Test
+    void applicationListByTypeIsOneStatement() {
+        List<Application> ofType = applicationRepository.findAllByApplicationTypeId(types.get(0).getId());
+
+        assertEquals(APPLICATIONS_PER_TYPE, ofType.size());
+        ofType.forEach(this::touchDetail);
+        assertStatements(1);
+    }
+
+    // PUT /api/v1/applications/{application-id}
+    @Test
+    void applicationForUpdateIsOneStatement() {
+        Application application = applicationRepository.findForUpdateById(applications.get(0).getId()).orElseThrow();
+
+        assertEquals("PCIC", application.getType().getProvider().getName());
+        assertEquals(DOCUMENTS_PER_APPLICATION, application.getDocuments().size());
+        assertStatements(1);
+    }
+
+    // GET /api/v1/applications/{application-id}/workflow
+    @Test
+    void workflowLookupIsOneStatement() {
+        ApplicationWorkflowResponse workflow = applicationRepository
+                .findWorkflowByApplicationId(applications.get(0).getId()).orElseThrow();
+
+        assertTrue(workflow.isVerificationEnabled());
+        assertStatements(1);
+    }
+
+    // POST /api/v1/applications/submit: type, provider and sections, then all fields in one batch
+    @Test
+    void submissionFormLoadIsTwoStatements() {
+        ApplicationType type = applicationTypeRepository.findFormById(types.get(0).getId()).orElseThrow();
+
+        assertEquals("PCIC", type.getProvider().getName());
+        int fields = type.getSections().stream().mapToInt(section -> section.getFields().size()).sum();
+        assertEquals(SECTIONS_PER_TYPE * FIELDS_PER_SECTION, fields);
+        assertStatements(2);
+    }
+
+    // GET /api/v1/application/types
+    @Test
+    void applicationTypeListIsOneStatement() {
+        List<ApplicationType> all = applicationTypeRepository.findAllWithSummary();
+
+        assertEquals(TYPES, all.size());
+        all.forEach(type -> {
+            assertEquals("PCIC", type.getProvider().getName());
+            assertTrue(type.getApplicationWorkflow().isInspectionEnabled());
+        });
+        assertStatements(1);
+    }
+
+    // GET /api/v1/application/types?includeSections=true: sections and fields are batched, not per type
+    @Test
+    void applicationTypeListWithSectionsIsBatched() {
+        List<ApplicationType> all = applicationTypeRepository.findAllWithSummary();
+
+        int fields = all.stream()
+                .flatMap(type -> type.getSections().stream())
+                .mapToInt(section -> section.getFields().size())
+                .sum();
+        assertEquals(TYPES * SECTIONS_PER_TYPE * FIELDS_PER_SECTION, fields);
+        assertStatements(3);
+    }
+
+    private void touchDetail(Application application) {
+        assertNotNull(application.getType().getName());
+        assertEquals(DOCUMENTS_PER_APPLICATION, application.getDocuments().size());
+    }
+
+    private void assertStatements(long expected) {
+        assertEquals(expected, statistics.getPrepareStatementCount(),
+                () -> "Unexpected SQL statement count; queries run: " + List.of(statistics.getQueries()));
+    }
+
+    private <T> T persist(T entity) {
+        entityManager.persist(entity);
+        return entity;
+    }
+}
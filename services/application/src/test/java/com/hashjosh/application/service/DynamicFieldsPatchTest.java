@@ -0,0 +1,86 @@
+package com.hashjosh.application.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicFieldsPatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void changedKeysAreSetAndUnchangedKeysDropped() throws Exception {
+        JsonNode current = json("{\"crop\":\"Rice\",\"area\":2,\"notes\":\"none\"}");
+
+        DynamicFieldsPatch patch = DynamicFieldsPatch.resolve(current, object("{\"crop\":\"Corn\",\"area\":2,\"variety\":\"Hybrid\"}"));
+
+        assertEquals(json("{\"crop\":\"Corn\",\"variety\":\"Hybrid\"}"), patch.changes());
+        assertEquals(List.of(), patch.removedKeys());
+        assertFalse(patch.isEmpty());
+    }
+
+    @Test
+    void nullRemovesOnlyKeysThatExist() throws Exception {
+        JsonNode current = json("{\"crop\":\"Rice\",\"notes\":\"none\"}");
+
+        DynamicFieldsPatch patch = DynamicFieldsPatch.resolve(current, object("{\"notes\":null,\"missing\":null}"));
+
+        assertTrue(patch.changes().isEmpty());
+        assertEquals(List.of("notes"), patch.removedKeys());
+    }
+
+    @Test
+    void nestedObjectsAreMergedIntoTheirTopLevelKey() throws Exception {
+        JsonNode current = json("{\"farm\":{\"lot\":\"A\",\"size\":{\"value\":2,\"unit\":\"ha\"},\"owner\":\"Juan\"}}");
+
+        DynamicFieldsPatch patch = DynamicFieldsPatch.resolve(current,
+                object("{\"farm\":{\"size\":{\"value\":3},\"owner\":null,\"tenant\":\"Maria\"}}"));
+
+        assertEquals(json("{\"farm\":{\"lot\":\"A\",\"size\":{\"value\":3,\"unit\":\"ha\"},\"tenant\":\"Maria\"}}"),
+                patch.changes());
+        assertEquals(List.of(), patch.removedKeys());
+    }
+
+    @Test
+    void arraysAndScalarsReplaceInsteadOfMerging() throws Exception {
+        JsonNode current = json("{\"photos\":[1,2,3],\"farm\":{\"lot\":\"A\"},\"area\":{\"value\":2}}");
+
+        DynamicFieldsPatch patch = DynamicFieldsPatch.resolve(current,
+                object("{\"photos\":[4],\"farm\":\"unknown\",\"area\":{\"value\":null}}"));
+
+        assertEquals(json("{\"photos\":[4],\"farm\":\"unknown\",\"area\":{}}"), patch.changes());
+    }
+
+    @Test
+    void patchMatchingTheCurrentFieldsIsEmpty() throws Exception {
+        JsonNode current = json("{\"crop\":\"Rice\",\"farm\":{\"lot\":\"A\"}}");
+
+        assertTrue(DynamicFieldsPatch.resolve(current, object("{\"crop\":\"Rice\",\"farm\":{\"lot\":\"A\"}}")).isEmpty());
+        assertTrue(DynamicFieldsPatch.resolve(current, object("{}")).isEmpty());
+        assertTrue(DynamicFieldsPatch.resolve(null, object("{\"crop\":null}")).isEmpty());
+    }
+
+    @Test
+    void currentFieldsAreNeverModified() throws Exception {
+        JsonNode current = json("{\"farm\":{\"lot\":\"A\",\"owner\":\"Juan\"}}");
+        JsonNode before = current.deepCopy();
+
+        DynamicFieldsPatch patch = DynamicFieldsPatch.resolve(current, object("{\"farm\":{\"owner\":null}}"));
+        ((ObjectNode) patch.changes().get("farm")).put("lot", "B");
+
+        assertEquals(before, current);
+    }
+
+    private JsonNode json(String value) throws Exception {
+        return objectMapper.readTree(value);
+    }
+
+    private ObjectNode object(String value) throws Exception {
+        return (ObjectNode) objectMapper.readTree(value);
+    }
+}
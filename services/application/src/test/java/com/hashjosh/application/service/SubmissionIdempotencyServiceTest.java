@@ -0,0 +1,192 @@
+package com.hashjosh.application.service;
+
+import com.hashjosh.application.configs.IdempotencyProperties;
+import com.hashjosh.application.dto.submission.ApplicationSubmissionDto;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.model.IdempotencyRecord;
+import com.hashjosh.application.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubmissionIdempotencyServiceTest {
+
+    private static final String KEY = "submit-7f3a";
+    private static final String FINGERPRINT = "a".repeat(64);
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SubmissionIdempotencyService service;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID applicationId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        service = new SubmissionIdempotencyService(idempotencyRecordRepository, transactionTemplate, new IdempotencyProperties());
+    }
+
+    @Test
+    void firstRequestClaimsTheKey() {
+        when(idempotencyRecordRepository.tryClaim(eq(userId), eq(KEY), eq(FINGERPRINT), any(), any())).thenReturn(1);
+
+        assertEquals(Optional.empty(), service.claim(userId, KEY, FINGERPRINT));
+        verify(idempotencyRecordRepository, never()).findByUserIdAndIdempotencyKey(any(), any());
+    }
+
+    @Test
+    void completedRequestWithTheSameFingerprintIsReplayed() {
+        existing(record(IdempotencyRecord.Status.COMPLETED, FINGERPRINT, LocalDateTime.now().minusMinutes(1)));
+
+        assertEquals(Optional.of(applicationId), service.claim(userId, KEY, FINGERPRINT));
+        verify(idempotencyRecordRepository, never()).takeOver(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void sameKeyForADifferentSubmissionIsRejected() {
+        existing(record(IdempotencyRecord.Status.COMPLETED, "b".repeat(64), LocalDateTime.now().minusMinutes(1)));
+
+        ApiException e = assertThrows(ApiException.class, () -> service.claim(userId, KEY, FINGERPRINT));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatus());
+    }
+
+    @Test
+    void requestStillInProgressIsAConflict() {
+        existing(record(IdempotencyRecord.Status.IN_PROGRESS, FINGERPRINT, LocalDateTime.now().minusMinutes(1)));
+
+        ApiException e = assertThrows(ApiException.class, () -> service.claim(userId, KEY, FINGERPRINT));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+    }
+
+    @Test
+    void abandonedRequestIsTakenOverEvenWithAnotherFingerprint() {
+        IdempotencyRecord abandoned = record(IdempotencyRecord.Status.IN_PROGRESS, "b".repeat(64), LocalDateTime.now().minusHours(1));
+        existing(abandoned);
+        when(idempotencyRecordRepository.takeOver(eq(abandoned.getId()), eq(abandoned.getCreatedAt()), eq(FINGERPRINT), any(), any()))
+                .thenReturn(1);
+
+        assertEquals(Optional.empty(), service.claim(userId, KEY, FINGERPRINT));
+    }
+
+    @Test
+    void expiredKeyIsTakenOver() {
+        IdempotencyRecord expired = record(IdempotencyRecord.Status.COMPLETED, FINGERPRINT, LocalDateTime.now().minusDays(2));
+        expired.setExpiresAt(LocalDateTime.now().minusDays(1));
+        existing(expired);
+        when(idempotencyRecordRepository.takeOver(eq(expired.getId()), any(), eq(FINGERPRINT), any(), any())).thenReturn(1);
+
+        assertEquals(Optional.empty(), service.claim(userId, KEY, FINGERPRINT));
+    }
+
+    @Test
+    void losingTheTakeOverRaceIsAConflict() {
+        existing(record(IdempotencyRecord.Status.IN_PROGRESS, FINGERPRINT, LocalDateTime.now().minusHours(1)));
+        when(idempotencyRecordRepository.takeOver(any(), any(), any(), any(), any())).thenReturn(0);
+
+        ApiException e = assertThrows(ApiException.class, () -> service.claim(userId, KEY, FINGERPRINT));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+    }
+
+    @Test
+    void keyReleasedBetweenClaimAndLookupIsAConflict() {
+        when(idempotencyRecordRepository.tryClaim(any(), any(), any(), any(), any())).thenReturn(0);
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, KEY)).thenReturn(Optional.empty());
+
+        ApiException e = assertThrows(ApiException.class, () -> service.claim(userId, KEY, FINGERPRINT));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+    }
+
+    @Test
+    void blankOrLongKeysAreRejectedBeforeTouchingTheDatabase() {
+        assertEquals(HttpStatus.BAD_REQUEST,
+                assertThrows(ApiException.class, () -> service.claim(userId, " ", FINGERPRINT)).getStatus());
+        assertEquals(HttpStatus.BAD_REQUEST, assertThrows(ApiException.class, () ->
+                service.claim(userId, "k".repeat(SubmissionIdempotencyService.MAX_KEY_LENGTH + 1), FINGERPRINT)).getStatus());
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    @Test
+    void fingerprintIgnoresOrderButNotContent() {
+        UUID typeId = UUID.randomUUID();
+        String first = service.fingerprint(
+                submission(typeId, new LinkedHashMap<>(Map.of("crop", "Rice", "area", 2))),
+                files(file("photo", 1024), file("id", 512)));
+        String reordered = service.fingerprint(
+                submission(typeId, new LinkedHashMap<>(Map.of("area", 2, "crop", "Rice"))),
+                files(file("id", 512), file("photo", 1024)));
+        String otherFile = service.fingerprint(
+                submission(typeId, new LinkedHashMap<>(Map.of("crop", "Rice", "area", 2))),
+                files(file("photo", 2048), file("id", 512)));
+        String otherValue = service.fingerprint(
+                submission(typeId, new LinkedHashMap<>(Map.of("crop", "Corn", "area", 2))),
+                files(file("photo", 1024), file("id", 512)));
+
+        assertEquals(64, first.length());
+        assertEquals(first, reordered);
+        assertNotEquals(first, otherFile);
+        assertNotEquals(first, otherValue);
+    }
+
+    private void existing(IdempotencyRecord record) {
+        when(idempotencyRecordRepository.tryClaim(eq(userId), eq(KEY), eq(FINGERPRINT), any(), any())).thenReturn(0);
+        when(idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, KEY)).thenReturn(Optional.of(record));
+    }
+
+    private IdempotencyRecord record(IdempotencyRecord.Status status, String requestHash, LocalDateTime createdAt) {
+        return IdempotencyRecord.builder()
+                .id(1L)
+                .userId(userId)
+                .idempotencyKey(KEY)
+                .requestHash(requestHash)
+                .status(status)
+                .applicationId(status == IdempotencyRecord.Status.COMPLETED ? applicationId : null)
+                .createdAt(createdAt)
+                .expiresAt(createdAt.plusHours(24))
+                .build();
+    }
+
+    private static ApplicationSubmissionDto submission(UUID typeId, Map<String, Object> fieldValues) {
+        return ApplicationSubmissionDto.builder()
+                .applicationTypeId(typeId)
+                .coordinates("14.5995,120.9842")
+                .fieldValues(fieldValues)
+                .build();
+    }
+
+    private static Map<String, MultipartFile> files(MockMultipartFile... files) {
+        Map<String, MultipartFile> fileMap = new LinkedHashMap<>();
+        for (MockMultipartFile file : files) {
+            fileMap.put(file.getName(), file);
+        }
+        return fileMap;
+    }
+
+    private static MockMultipartFile file(String part, int size) {
+        return new MockMultipartFile(part, part + ".jpg", "image/jpeg", new byte[size]);
+    }
+}
@@ -0,0 +1,141 @@
+package com.hashjosh.application.validators;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.hashjosh.application.dto.validation.ValidationError;
+import com.hashjosh.application.exceptions.ApiException;
+import com.hashjosh.application.model.ApplicationField;
+import com.hashjosh.application.model.ApplicationSection;
+import com.hashjosh.application.model.ApplicationType;
+import com.hashjosh.constant.application.FieldType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FormSchemaTest {
+
+    @Mock
+    private FieldValidatorFactory validatorFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final UUID farmSectionId = UUID.randomUUID();
+    private final UUID signOffSectionId = UUID.randomUUID();
+
+    private FormSchema schema;
+
+    @BeforeEach
+    void compile() {
+        when(validatorFactory.getStrategy(anyString())).thenAnswer(invocation -> switch (invocation.<String>getArgument(0)) {
+            case "TEXT" -> new TextValidator();
+            case "NUMBER" -> new NumberValidator();
+            default -> throw ApiException.badRequest("Unsupported field type: " + invocation.getArgument(0));
+        });
+
+        ApplicationType type = ApplicationType.builder()
+                .id(UUID.randomUUID())
+                .sections(List.of(
+                        section(farmSectionId,
+                                field("lot_code", "Lot code", FieldType.TEXT, true, "[A-Z]-\\d+"),
+                                aiAnalyzed(field("area", "Area", FieldType.NUMBER, true, null)),
+                                field("notes", "Notes", FieldType.TEXT, false, null),
+                                field("remarks", "Remarks", FieldType.TEXT, false, "[unclosed")),
+                        section(signOffSectionId,
+                                field("signature", "Signature", FieldType.SIGNATURE, false, null))
+                ))
+                .build();
+
+        schema = FormSchema.compile(type, validatorFactory);
+    }
+
+    @Test
+    void validSubmissionHasNoErrors() {
+        assertEquals(List.of(), validate(Map.of("lot_code", "A-12", "area", 2.5, "remarks", "anything")));
+    }
+
+    @Test
+    void missingRequiredFieldsAreReportedByName() {
+        assertEquals(List.of(
+                new ValidationError("lot_code", "Field 'Lot code' is required"),
+                new ValidationError("area", "Field 'Area' is required")
+        ), validate(Map.of("notes", "late planting")));
+    }
+
+    @Test
+    void wrongTypeAndFormatAreReportedPerField() {
+        List<ValidationError> errors = validate(Map.of("lot_code", "a12", "area", "two", "notes", 3));
+
+        assertEquals(Set.of(
+                new ValidationError("lot_code", "Field 'Lot code' does not match the expected format"),
+                new ValidationError("area", "Field must be a number value (NUMBER)"),
+                new ValidationError("notes", "Field must be a text value (TEXT)")
+        ), new HashSet<>(errors));
+        assertEquals(3, errors.size());
+    }
+
+    @Test
+    void unknownKeysAreIgnoredAndUnsupportedTypesReported() {
+        List<ValidationError> errors = validate(Map.of("lot_code", "A-1", "area", 1, "unknown", "x", "signature", "data"));
+
+        assertEquals(List.of(new ValidationError("signature", "Unsupported field type: SIGNATURE")), errors);
+    }
+
+    @Test
+    void changesOnlyValidateTouchedKeys() throws Exception {
+        ObjectNode changes = (ObjectNode) objectMapper.readTree("{\"notes\":\"dry season\",\"area\":\"wide\"}");
+
+        List<ValidationError> errors = schema.validateChanges(changes, List.of("lot_code", "remarks"));
+
+        assertEquals(List.of(
+                new ValidationError("lot_code", "Field 'Lot code' is required"),
+                new ValidationError("area", "Field must be a number value (NUMBER)")
+        ), errors);
+        assertEquals(List.of(), schema.validateChanges(objectMapper.createObjectNode(), List.of("notes")));
+    }
+
+    @Test
+    void compiledSchemaExposesSectionsAndFlags() {
+        assertEquals(Set.of("lot_code", "area"), schema.getRequiredKeys());
+        assertEquals(Set.of("area"), schema.getAiAnalysisKeys());
+        assertEquals(Optional.of(Set.of("signature")), schema.getSectionKeys(signOffSectionId));
+        assertEquals(Optional.empty(), schema.getSectionKeys(UUID.randomUUID()));
+        assertTrue(schema.hasField("remarks"));
+        assertFalse(schema.hasField("unknown"));
+        assertEquals("Area", schema.getField("area").map(ApplicationField::getFieldName).orElseThrow());
+    }
+
+    private List<ValidationError> validate(Map<String, Object> values) {
+        return schema.validate(values, objectMapper);
+    }
+
+    private static ApplicationSection section(UUID id, ApplicationField... fields) {
+        return ApplicationSection.builder()
+                .id(id)
+                .fields(new ArrayList<>(List.of(fields)))
+                .build();
+    }
+
+    private static ApplicationField field(String key, String name, FieldType type, boolean required, String regex) {
+        return ApplicationField.builder()
+                .key(key)
+                .fieldName(name)
+                .fieldType(type)
+                .required(required)
+                .requiredAIAnalysis(false)
+                .validationRegex(regex)
+                .build();
+    }
+
+    private static ApplicationField aiAnalyzed(ApplicationField field) {
+        field.setRequiredAIAnalysis(true);
+        return field;
+    }
+}
@@ -1,13 +1,12 @@
 package com.hashjosh.communication.client;
 
 import com.hashjosh.constant.document.dto.DocumentResponse;
+import com.hashjosh.constant.document.upload.StreamingFileResource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -81,18 +80,11 @@ public class DocumentClient {
 
     public DocumentResponse uploadDocument(MultipartFile file, String userId) {
         try {
-            MultipartBodyBuilder builder = new MultipartBodyBuilder();
-            builder.part("file", new ByteArrayResource(file.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename();
-                }
-            })
-            .header("Content-Type", file.getContentType());
+            StreamingFileResource upload = StreamingFileResource.of(file);
 
             return restClient.post()
                     .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(builder.build())
+                    .body(upload.toMultipartBody())
                     .header("X-Internal-Service", applicationName)
                     .header("X-User-Id",userId)
                     .retrieve()
@@ -106,7 +98,7 @@ public class DocumentClient {
                         }
                     )
                     .body(DocumentResponse.class);
-        } catch (RestClientException | java.io.IOException e) {
+        } catch (RestClientException e) {
             log.error("Error uploading document: {}", file.getOriginalFilename(), e);
             throw new RuntimeException("Error uploading document: " + e.getMessage());
         }
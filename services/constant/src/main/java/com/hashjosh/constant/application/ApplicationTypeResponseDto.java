@@ -4,13 +4,14 @@ import com.hashjosh.constant.workflow.ApplicationWorkflowResponse;
 import lombok.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class ApplicationTypeResponseDto{
     private UUID id;
     private String name;
@@ -20,6 +21,7 @@ public class ApplicationTypeResponseDto{
     private Boolean printable;
     private Boolean requiresAIAnalysis;
     private ApplicationWorkflowResponse workflow;
-    private List<ApplicationResponseDto> applications;
+    // Applications of this type per insurance status; the applications themselves are paged separately
+    private Map<String, Long> applicationCounts;
     private List<ApplicationSectionResponseDto> sections;
 }
@@ -25,4 +25,5 @@ public class DocumentResponse{
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSSSS")
     LocalDateTime uploadedAt;
     String preview;
+    String checksum;
 }
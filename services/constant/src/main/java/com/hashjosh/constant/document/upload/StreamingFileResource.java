@@ -0,0 +1,135 @@
+package com.hashjosh.constant.document.upload;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Single-use resource that streams a {@link MultipartFile} into an outgoing
+ * multipart request instead of copying it into a byte array first. When
+ * created with {@link #withChecksum(MultipartFile)} a SHA-256 digest is
+ * computed while the bytes are written, so callers can compare it with the
+ * checksum reported by document-service.
+ */
+public final class StreamingFileResource extends AbstractResource {
+
+    public static final String PART_NAME = "file";
+
+    private final MultipartFile file;
+    private final MessageDigest digest;
+    private boolean consumed;
+
+    private StreamingFileResource(MultipartFile file, MessageDigest digest) {
+        this.file = file;
+        this.digest = digest;
+    }
+
+    public static StreamingFileResource of(MultipartFile file) {
+        return new StreamingFileResource(file, null);
+    }
+
+    public static StreamingFileResource withChecksum(MultipartFile file) {
+        try {
+            return new StreamingFileResource(file, MessageDigest.getInstance("SHA-256"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Builds the multipart body expected by {@code POST /api/v1/documents}.
+     */
+    public MultiValueMap<String, HttpEntity<?>> toMultipartBody() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(file.getContentType() != null
+                ? MediaType.parseMediaType(file.getContentType())
+                : MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentDispositionFormData(PART_NAME, getFilename());
+
+        MultiValueMap<String, HttpEntity<?>> body = new LinkedMultiValueMap<>();
+        body.add(PART_NAME, new HttpEntity<>(this, headers));
+        return body;
+    }
+
+    @Override
+    public synchronized InputStream getInputStream() throws IOException {
+        if (consumed) {
+            throw new IllegalStateException("Upload stream for " + getFilename() + " has already been consumed");
+        }
+        consumed = true;
+        InputStream stream = file.getInputStream();
+        return digest != null ? new DigestInputStream(stream, digest) : stream;
+    }
+
+    /**
+     * Hex encoded SHA-256 of the bytes streamed so far. Empty when the
+     * resource was created without checksumming or has not been sent yet.
+     */
+    public synchronized Optional<String> checksum() {
+        if (digest == null || !consumed) {
+            return Optional.empty();
+        }
+        try {
+            MessageDigest copy = (MessageDigest) digest.clone();
+            return Optional.of(HexFormat.of().formatHex(copy.digest()));
+        } catch (CloneNotSupportedException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * True when no checksum was computed locally or the remote one matches.
+     */
+    public boolean matches(String remoteChecksum) {
+        return checksum()
+                .map(local -> local.equalsIgnoreCase(remoteChecksum))
+                .orElse(true);
+    }
+
+    @Override
+    public boolean exists() {
+        return !file.isEmpty();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return file.getSize();
+    }
+
+    @Override
+    public String getFilename() {
+        return file.getOriginalFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Streaming upload [" + getFilename() + "]";
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+}
@@ -0,0 +1,37 @@
+package com.hashjosh.constant.sync;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Marks a deleted row for delta sync, so that clients holding a copy learn to
+ * drop it. Subclasses add the column that says whose copies these are.
+ * Purged once older than {@link SyncWindow#TOMBSTONE_RETENTION}.
+ */
+@MappedSuperclass
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public abstract class AbstractSyncTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public SyncWatermark watermark() {
+        return new SyncWatermark(deletedAt, entityId);
+    }
+}
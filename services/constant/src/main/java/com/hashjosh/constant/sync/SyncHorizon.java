@@ -0,0 +1,59 @@
+package com.hashjosh.constant.sync;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * The newest position a sync window may read up to. Rows are stamped when
+ * their transaction flushes but only become visible when it commits, so a row
+ * can appear after rows stamped later than it. Every row not yet visible
+ * belongs to a transaction that is still open and was stamped after that
+ * transaction began, so everything stamped before the oldest open transaction
+ * began is already visible.
+ * <p>
+ * Only client sessions that are running a statement hold the horizon back:
+ * autovacuum, replication and sessions left idle in a transaction would
+ * otherwise stall every sync for as long as they stay open. Even so the
+ * horizon never trails now by more than {@link #MAX_LAG}; a transaction open
+ * longer than that may commit rows behind a client's watermark, which is
+ * logged.
+ */
+@Slf4j
+public final class SyncHorizon {
+
+    // Age of the oldest other open transaction in this database, in milliseconds
+    private static final String OLDEST_OPEN_TRANSACTION = """
+            SELECT CAST(COALESCE(MAX(EXTRACT(EPOCH FROM clock_timestamp() - xact_start)), 0) * 1000 AS bigint)
+            FROM pg_stat_activity
+            WHERE datname = current_database()
+              AND backend_type = 'client backend'
+              AND state <> 'idle in transaction'
+              AND xact_start IS NOT NULL
+              AND pid <> pg_backend_pid()
+            """;
+    // Longest a request transaction is expected to stay open
+    static final Duration MAX_LAG = Duration.ofMinutes(2);
+    // Update timestamps are generated just before the statement that begins the transaction on the server
+    static final Duration FLUSH_MARGIN = Duration.ofMillis(250);
+
+    private SyncHorizon() {
+    }
+
+    /**
+     * The age is measured on the database clock and taken off this JVM's
+     * clock, which stamps the rows, so the two clocks need not agree.
+     */
+    public static LocalDateTime current(JdbcOperations jdbcOperations) {
+        LocalDateTime now = LocalDateTime.now();
+        Long openFor = jdbcOperations.queryForObject(OLDEST_OPEN_TRANSACTION, Long.class);
+        Duration lag = Duration.ofMillis(openFor != null ? openFor : 0);
+        if (lag.compareTo(MAX_LAG) > 0) {
+            log.warn("A transaction has been open for {}, sync horizon capped at {} behind now", lag, MAX_LAG);
+            lag = MAX_LAG;
+        }
+        return now.minus(lag).minus(FLUSH_MARGIN);
+    }
+}
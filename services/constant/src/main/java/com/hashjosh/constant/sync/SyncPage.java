@@ -0,0 +1,25 @@
+package com.hashjosh.constant.sync;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of a delta sync: rows changed and ids deleted after the client's
+ * watermark, in the order they happened. Clients apply the page, store
+ * {@code watermark} and ask again while {@code hasMore} is set. With
+ * {@code reset} the client must drop its local copy first, because its
+ * watermark predates the tombstones still kept.
+ * <p>
+ * Empty lists and false flags are left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_DEFAULT)
+public record SyncPage<T>(
+        List<T> changed,
+        List<UUID> deleted,
+        String watermark,
+        boolean hasMore,
+        boolean reset
+) {
+}
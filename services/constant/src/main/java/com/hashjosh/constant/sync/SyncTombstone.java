@@ -0,0 +1,26 @@
+package com.hashjosh.constant.sync;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.util.UUID;
+
+/**
+ * Tombstone of a row owned by one user. Registered in a service by importing
+ * {@link SyncTombstoneConfiguration}.
+ */
+@Entity
+@SuperBuilder
+@NoArgsConstructor
+@Getter
+@Setter
+@Table(name = "sync_tombstones", indexes = {
+        @Index(name = "idx_sync_tombstones_owner_deleted_at", columnList = "owner_id, deleted_at, entity_id"),
+        @Index(name = "idx_sync_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class SyncTombstone extends AbstractSyncTombstone {
+
+    @Column(name = "owner_id", nullable = false)
+    private UUID ownerId;
+}
@@ -0,0 +1,13 @@
+package com.hashjosh.constant.sync;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Adds this package to the service's entity and repository scan, next to its
+ * own packages rather than in place of them as {@code @EntityScan} would.
+ */
+@Configuration
+@AutoConfigurationPackage(basePackageClasses = SyncTombstone.class)
+public class SyncTombstoneConfiguration {
+}
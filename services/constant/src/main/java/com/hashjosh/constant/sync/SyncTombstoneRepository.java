@@ -0,0 +1,35 @@
+package com.hashjosh.constant.sync;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, UUID> {
+
+    @Query("""
+        SELECT t FROM SyncTombstone t
+        WHERE t.ownerId = :ownerId
+          AND (t.deletedAt > :fromAt OR (t.deletedAt = :fromAt AND t.entityId > :fromId))
+          AND t.deletedAt <= :until
+        ORDER BY t.deletedAt, t.entityId
+    """)
+    List<SyncTombstone> findSince(
+            @Param("ownerId") UUID ownerId,
+            @Param("fromAt") LocalDateTime fromAt,
+            @Param("fromId") UUID fromId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("DELETE FROM SyncTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,50 @@
+package com.hashjosh.constant.sync;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * Position in a delta-sync stream: the {@code (changed_at, id)} of the last row
+ * a client has applied, encoded as an opaque URL-safe token.
+ */
+public record SyncWatermark(LocalDateTime changedAt, UUID id) {
+
+    public static final SyncWatermark START = new SyncWatermark(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0, 0));
+
+    // Postgres compares uuids byte-wise, which is unsigned, unlike UUID.compareTo
+    static final Comparator<SyncWatermark> ORDER = Comparator
+            .comparing(SyncWatermark::changedAt)
+            .thenComparing(SyncWatermark::id, (a, b) -> {
+                int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+                return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+            });
+
+    public String encode() {
+        String raw = changedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns {@link #START} for a missing token.
+     *
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    public static SyncWatermark decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new SyncWatermark(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid sync watermark", e);
+        }
+    }
+}
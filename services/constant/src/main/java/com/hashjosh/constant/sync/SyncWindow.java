@@ -0,0 +1,79 @@
+package com.hashjosh.constant.sync;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * The range one sync request reads: rows after {@code from} and no later than
+ * {@code until}. Each service queries its changed rows and its tombstones in
+ * this window, ordered by {@code (changed_at, id)} and limited to
+ * {@link #fetchSize()}, then builds the response with {@link #page}.
+ */
+public record SyncWindow(SyncWatermark from, LocalDateTime until, int limit, boolean reset) {
+
+    public static final int DEFAULT_LIMIT = 200;
+    public static final int MAX_LIMIT = 1000;
+    // Tombstones are purged after this; older watermarks get a full resync
+    public static final Duration TOMBSTONE_RETENTION = Duration.ofDays(30);
+
+    /**
+     * @param until the {@link SyncHorizon} for this request
+     * @throws IllegalArgumentException for a malformed watermark or a limit out of range
+     */
+    public static SyncWindow open(String since, Integer limit, LocalDateTime until) {
+        int size = limit != null ? limit : DEFAULT_LIMIT;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        SyncWatermark from = SyncWatermark.decode(since);
+        boolean reset = from != SyncWatermark.START && from.changedAt().isBefore(now.minus(TOMBSTONE_RETENTION));
+        return new SyncWindow(reset ? SyncWatermark.START : from, until, size, reset);
+    }
+
+    /** One more than the page size, so a full page tells whether more rows follow. */
+    public int fetchSize() {
+        return limit + 1;
+    }
+
+    /**
+     * Merges changed rows and tombstones, both already ordered by position,
+     * into a page of at most {@link #limit()} entries.
+     */
+    public <E, T> SyncPage<T> page(List<E> changed,
+                                  Function<E, SyncWatermark> position,
+                                  List<SyncWatermark> deleted,
+                                  Function<List<E>, List<T>> mapper) {
+        List<E> pageChanged = new ArrayList<>();
+        List<SyncWatermark> pageDeleted = new ArrayList<>();
+        SyncWatermark last = from;
+
+        int c = 0;
+        int d = 0;
+        while (pageChanged.size() + pageDeleted.size() < limit && (c < changed.size() || d < deleted.size())) {
+            boolean takeChanged = d >= deleted.size()
+                    || (c < changed.size() && SyncWatermark.ORDER.compare(position.apply(changed.get(c)), deleted.get(d)) <= 0);
+            if (takeChanged) {
+                E row = changed.get(c++);
+                pageChanged.add(row);
+                last = position.apply(row);
+            } else {
+                last = deleted.get(d++);
+                pageDeleted.add(last);
+            }
+        }
+
+        boolean hasMore = c < changed.size() || d < deleted.size();
+        return new SyncPage<>(
+                pageChanged.isEmpty() ? List.of() : mapper.apply(pageChanged),
+                pageDeleted.stream().map(SyncWatermark::id).toList(),
+                last.encode(),
+                hasMore,
+                reset
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package com.hashjosh.constant.sync;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcOperations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SyncHorizonTest {
+
+    @Test
+    void horizonTrailsTheOldestOpenTransaction() {
+        LocalDateTime before = LocalDateTime.now();
+
+        LocalDateTime horizon = SyncHorizon.current(openFor(Duration.ofSeconds(3)));
+
+        assertBetween(before.minusSeconds(3), LocalDateTime.now().minusSeconds(3), horizon);
+    }
+
+    @Test
+    void noOpenTransactionLeavesOnlyTheFlushMargin() {
+        LocalDateTime before = LocalDateTime.now();
+
+        LocalDateTime horizon = SyncHorizon.current(openFor(null));
+
+        assertBetween(before, LocalDateTime.now(), horizon);
+    }
+
+    @Test
+    void longRunningTransactionIsCappedAtTheMaximumLag() {
+        LocalDateTime before = LocalDateTime.now();
+
+        LocalDateTime horizon = SyncHorizon.current(openFor(Duration.ofHours(6)));
+
+        assertBetween(before.minus(SyncHorizon.MAX_LAG), LocalDateTime.now().minus(SyncHorizon.MAX_LAG), horizon);
+    }
+
+    private static JdbcOperations openFor(Duration age) {
+        JdbcOperations jdbcOperations = mock(JdbcOperations.class);
+        when(jdbcOperations.queryForObject(anyString(), eq(Long.class))).thenReturn(age != null ? age.toMillis() : null);
+        return jdbcOperations;
+    }
+
+    private static void assertBetween(LocalDateTime from, LocalDateTime to, LocalDateTime horizon) {
+        LocalDateTime expectedFrom = from.minus(SyncHorizon.FLUSH_MARGIN);
+        LocalDateTime expectedTo = to.minus(SyncHorizon.FLUSH_MARGIN);
+        assertFalse(horizon.isBefore(expectedFrom), () -> horizon + " is before " + expectedFrom);
+        assertFalse(horizon.isAfter(expectedTo), () -> horizon + " is after " + expectedTo);
+    }
+}
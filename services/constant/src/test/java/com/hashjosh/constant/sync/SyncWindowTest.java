@@ -0,0 +1,150 @@
+package com.hashjosh.constant.sync;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncWindowTest {
+
+    // Recent enough that the window is not reset by the tombstone retention
+    private static final LocalDateTime T0 = LocalDateTime.now().minusHours(1).withNano(0);
+    private static final LocalDateTime UNTIL = T0.plusHours(1);
+
+    @Test
+    void emptyWindowKeepsTheClientWatermark() {
+        SyncWatermark since = mark(T0, 1);
+        SyncWindow window = SyncWindow.open(since.encode(), 2, UNTIL);
+
+        SyncPage<String> page = page(window, List.of(), List.of());
+
+        assertEquals(List.of(), page.changed());
+        assertEquals(List.of(), page.deleted());
+        assertEquals(since.encode(), page.watermark());
+        assertFalse(page.hasMore());
+        assertFalse(page.reset());
+    }
+
+    @Test
+    void exactlyLimitRowsIsTheLastPage() {
+        SyncWindow window = SyncWindow.open(null, 2, UNTIL);
+        List<SyncWatermark> rows = List.of(mark(T0, 1), mark(T0.plusSeconds(1), 2));
+
+        SyncPage<String> page = page(window, rows, List.of());
+
+        assertEquals(2, page.changed().size());
+        assertEquals(rows.get(1).encode(), page.watermark());
+        assertFalse(page.hasMore());
+    }
+
+    @Test
+    void extraFetchedRowSetsHasMoreAndIsLeftForTheNextPage() {
+        SyncWindow window = SyncWindow.open(null, 2, UNTIL);
+        List<SyncWatermark> rows = List.of(mark(T0, 1), mark(T0.plusSeconds(1), 2));
+        List<SyncWatermark> deleted = List.of(mark(T0.plusSeconds(2), 3));
+
+        assertEquals(3, window.fetchSize());
+        SyncPage<String> page = page(window, rows, deleted);
+
+        assertEquals(List.of(label(rows.get(0)), label(rows.get(1))), page.changed());
+        assertEquals(List.of(), page.deleted());
+        assertEquals(rows.get(1).encode(), page.watermark());
+        assertTrue(page.hasMore());
+    }
+
+    @Test
+    void changesAndTombstonesInterleaveByPosition() {
+        SyncWindow window = SyncWindow.open(null, 10, UNTIL);
+        SyncWatermark first = mark(T0, 1);
+        SyncWatermark removed = mark(T0.plusSeconds(1), 2);
+        SyncWatermark last = mark(T0.plusSeconds(2), 3);
+
+        SyncPage<String> page = page(window, List.of(first, last), List.of(removed));
+
+        assertEquals(List.of(label(first), label(last)), page.changed());
+        assertEquals(List.of(removed.id()), page.deleted());
+        assertEquals(last.encode(), page.watermark());
+    }
+
+    @Test
+    void tombstoneEndingThePageMovesTheWatermark() {
+        SyncWindow window = SyncWindow.open(null, 2, UNTIL);
+        SyncWatermark row = mark(T0, 1);
+        SyncWatermark removed = mark(T0.plusSeconds(1), 2);
+
+        SyncPage<String> page = page(window, List.of(row, mark(T0.plusSeconds(2), 3)), List.of(removed));
+
+        assertEquals(List.of(removed.id()), page.deleted());
+        assertEquals(removed.encode(), page.watermark());
+        assertTrue(page.hasMore());
+    }
+
+    @Test
+    void sameTimestampOrdersByUnsignedIdLikePostgres() {
+        SyncWindow window = SyncWindow.open(null, 1, UNTIL);
+        SyncWatermark low = new SyncWatermark(T0, new UUID(0x7fffffffffffffffL, 0));
+        // Negative as a signed long, but after every other id in Postgres
+        SyncWatermark high = new SyncWatermark(T0, new UUID(0x8000000000000000L, 0));
+
+        SyncPage<String> page = page(window, List.of(low), List.of(high));
+
+        assertEquals(List.of(label(low)), page.changed());
+        assertTrue(page.hasMore());
+        assertTrue(SyncWatermark.ORDER.compare(low, high) < 0);
+    }
+
+    @Test
+    void changedRowAtTheSamePositionAsATombstoneGoesFirst() {
+        SyncWindow window = SyncWindow.open(null, 1, UNTIL);
+        SyncWatermark position = mark(T0, 1);
+
+        SyncPage<String> page = page(window, List.of(position), List.of(position));
+
+        assertEquals(List.of(label(position)), page.changed());
+        assertEquals(List.of(), page.deleted());
+        assertTrue(page.hasMore());
+    }
+
+    @Test
+    void watermarkOlderThanTheTombstonesResetsTheClient() {
+        SyncWatermark stale = mark(LocalDateTime.now().minus(SyncWindow.TOMBSTONE_RETENTION).minusMinutes(1), 1);
+        SyncWatermark recent = mark(LocalDateTime.now().minus(SyncWindow.TOMBSTONE_RETENTION).plusMinutes(1), 1);
+
+        SyncWindow window = SyncWindow.open(stale.encode(), null, UNTIL);
+
+        assertTrue(window.reset());
+        assertEquals(SyncWatermark.START, window.from());
+        assertEquals(SyncWindow.DEFAULT_LIMIT, window.limit());
+        assertTrue(page(window, List.of(), List.of()).reset());
+        assertFalse(SyncWindow.open(recent.encode(), null, UNTIL).reset());
+        assertFalse(SyncWindow.open("", null, UNTIL).reset());
+    }
+
+    @Test
+    void limitAndTokenAreValidated() {
+        assertEquals(1, SyncWindow.open(null, 1, UNTIL).limit());
+        assertEquals(SyncWindow.MAX_LIMIT, SyncWindow.open(null, SyncWindow.MAX_LIMIT, UNTIL).limit());
+        assertThrows(IllegalArgumentException.class, () -> SyncWindow.open(null, 0, UNTIL));
+        assertThrows(IllegalArgumentException.class, () -> SyncWindow.open(null, SyncWindow.MAX_LIMIT + 1, UNTIL));
+        assertThrows(IllegalArgumentException.class, () -> SyncWindow.open("not-a-watermark", 10, UNTIL));
+    }
+
+    private static SyncPage<String> page(SyncWindow window, List<SyncWatermark> changed, List<SyncWatermark> deleted) {
+        return window.page(changed, Function.identity(), deleted, rows -> {
+            assertFalse(rows.isEmpty());
+            return rows.stream().map(SyncWindowTest::label).toList();
+        });
+    }
+
+    private static String label(SyncWatermark row) {
+        return row.id().toString();
+    }
+
+    private static SyncWatermark mark(LocalDateTime changedAt, long id) {
+        return new SyncWatermark(changedAt, new UUID(0, id));
+    }
+}
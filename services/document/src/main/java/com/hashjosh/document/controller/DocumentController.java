@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -83,6 +84,13 @@ public class DocumentController {
         return ResponseEntity.ok(url);
     }
 
+    @PostMapping("/download-urls")
+    public ResponseEntity<Map<UUID, String>> getDownloadUrls(
+            @RequestBody List<UUID> documentIds,
+            @RequestParam(defaultValue = "5") int expiryMinutes) {
+        return ResponseEntity.ok(documentService.generatePresignedDownloadUrls(documentIds, expiryMinutes));
+    }
+
 
     @GetMapping("/{documentId}/download")
     public ResponseEntity<byte[]> downloadDocument(
@@ -95,7 +103,7 @@ public class DocumentController {
     }
 
 
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("hasAnyRole('ADMIN', 'INTERNAL_SERVICE')")
     @DeleteMapping("/{document-id}")
     public ResponseEntity<Void> delete(
             @PathVariable("document-id") UUID documentId
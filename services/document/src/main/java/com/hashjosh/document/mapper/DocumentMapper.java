@@ -33,7 +33,9 @@ public class DocumentMapper {
                     .uploadedBy(document.getUploadedBy())
                     .fileName(document.getFileName())
                     .fileType(document.getFileType())
+                    .fileSize(document.getFileSize())
                     .objectKey(document.getObjectKey())
+                    .checksum(document.getChecksum())
                     .preview(generatePresignedUrl(document.getObjectKey(), 60, Method.GET))
                     .uploadedAt(document.getUploadedAt())
                     .build();
@@ -43,13 +45,15 @@ public class DocumentMapper {
         }
     }
 
-    public Document toDocument(String objectKey, CustomUserDetails userDetails, MultipartFile file) {
+    public Document toDocument(String objectKey, CustomUserDetails userDetails, MultipartFile file, String checksum) {
         try {
             return Document.builder()
                     .fileName(file.getOriginalFilename())
                     .fileType(file.getContentType())
                     .uploadedBy(UUID.fromString(userDetails.getUserId()))
                     .objectKey(objectKey)
+                    .fileSize(file.getSize())
+                    .checksum(checksum)
                     .uploadedAt(LocalDateTime.now())
                     .build();
         } catch (Exception e) {
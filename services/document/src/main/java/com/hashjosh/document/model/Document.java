@@ -37,6 +37,12 @@ public class Document {
     @Column(name = "object_key", length = 255)
     private String objectKey; // Minio object key
 
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    @Column(name = "checksum", length = 64)
+    private String checksum; // hex SHA-256 of the stored bytes
+
     @Column(name = "uploaded_at")
     @CreationTimestamp
     private LocalDateTime uploadedAt;
@@ -21,9 +21,16 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.DigestInputStream;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -61,18 +68,22 @@ public class DocumentService {
         CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext()
                 .getAuthentication().getPrincipal();
 
-        // Upload to MinIO
-        minioClient.putObject(
-            PutObjectArgs.builder()
-                .bucket(minioProperties.bucket())
-                .object(objectKey)
-                .stream(file.getInputStream(), file.getSize(), -1)
-                .contentType(file.getContentType())
-                .build()
-        );
+        // Stream to MinIO straight from the spooled part, hashing on the way
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream stream = new DigestInputStream(file.getInputStream(), digest)) {
+            minioClient.putObject(
+                PutObjectArgs.builder()
+                    .bucket(minioProperties.bucket())
+                    .object(objectKey)
+                    .stream(stream, file.getSize(), -1)
+                    .contentType(file.getContentType())
+                    .build()
+            );
+        }
+        String checksum = HexFormat.of().formatHex(digest.digest());
 
         // Save document metadata to database
-        Document document = documentMapper.toDocument(objectKey,userDetails, file);
+        Document document = documentMapper.toDocument(objectKey, userDetails, file, checksum);
         Document savedDocument = documentRepository.save(document);
         return  documentMapper.toDocumentResponse(savedDocument);
     }
@@ -110,6 +121,7 @@ public class DocumentService {
                 .toList();
     }
 
+    @Transactional
     public void delete(UUID documentId) {
         try {
             Document document = documentRepository.findById(documentId)
@@ -173,6 +185,27 @@ public class DocumentService {
         return generatePresignedUrl(document.getObjectKey(),expiryMinutes,Method.GET);
     }
 
+    /**
+     * Presigns many documents with a single metadata query. Ids that do not
+     * exist are left out of the result instead of failing the whole batch.
+     */
+    public Map<UUID, String> generatePresignedDownloadUrls(Collection<UUID> documentIds, int expiryMinutes) {
+        Map<UUID, String> urls = new HashMap<>();
+        if (documentIds == null || documentIds.isEmpty()) {
+            return urls;
+        }
+
+        for (Document document : documentRepository.findAllById(new HashSet<>(documentIds))) {
+            try {
+                urls.put(document.getId(), generatePresignedUrl(document.getObjectKey(), expiryMinutes, Method.GET));
+            } catch (Exception e) {
+                log.error("Failed to generate presigned URL for document {}", document.getId(), e);
+                throw ApiException.internalError("Failed to generate presigned URL");
+            }
+        }
+        return urls;
+    }
+
     public String generatePresignedUrl(String objectKey, int expiryMin, Method method)
             throws IOException, NoSuchAlgorithmException, InvalidKeyException,
             io.minio.errors.ServerException, io.minio.errors.ErrorResponseException,
@@ -1,5 +1,6 @@
 package com.hashjosh.insurance;
 
+import com.hashjosh.constant.sync.SyncTombstoneConfiguration;
 import com.hashjosh.insurance.config.TrustedConfig;
 import com.hashjosh.jwtshareable.properties.JwtProperties;
 import com.hashjosh.jwtshareable.service.JwtService;
@@ -9,12 +10,14 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.Import;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties({JwtProperties.class, TrustedConfig.class})
 @EnableKafka
 @EnableDiscoveryClient
-@Import({JwtService.class})
+@EnableScheduling
+@Import({JwtService.class, SyncTombstoneConfiguration.class})
 public class InsuranceApplication {
 
     public static void main(String[] args) {
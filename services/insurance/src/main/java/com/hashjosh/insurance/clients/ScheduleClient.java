@@ -5,12 +5,19 @@ import com.hashjosh.constant.program.dto.ScheduleResponseDto;
 import com.hashjosh.insurance.exception.ApiException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -69,4 +76,28 @@ public class ScheduleClient {
                 .body(ScheduleResponseDto.class);
     }
 
+    public Map<UUID, ScheduleResponseDto> getSchedulesByIds(Collection<UUID> scheduleIds, UUID userId) {
+        if (scheduleIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<ScheduleResponseDto> schedules = restClient.post()
+                .uri("/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(scheduleIds)
+                .header("X-Internal-Service", applicationName)
+                .header("X-User-Id", String.valueOf(userId))
+                .retrieve()
+                .onStatus(
+                        status -> status.is4xxClientError() || status.is5xxServerError(),
+                        (request, response) -> {
+                            throw ApiException.internalError("Failed to get " + scheduleIds.size() + " inspection schedules");
+                        }
+                )
+                .body(new ParameterizedTypeReference<>() {});
+        if (schedules == null) {
+            return Map.of();
+        }
+        return schedules.stream().collect(Collectors.toMap(ScheduleResponseDto::getId, Function.identity(), (a, b) -> a));
+    }
 }
@@ -0,0 +1,20 @@
+package com.hashjosh.insurance.config;
+
+import com.hashjosh.insurance.rates.RateTableDefinition;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.claim-rates")
+@Getter
+@Setter
+public class ClaimRateProperties {
+    // How often each instance checks for a newly activated table
+    private Duration refreshInterval = Duration.ofSeconds(30);
+    // Table in force until one is published to the database
+    private RateTableDefinition seed = RateTableDefinition.builtIn();
+}
@@ -0,0 +1,19 @@
+package com.hashjosh.insurance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.claim-rerating")
+@Getter
+@Setter
+public class ClaimReRatingProperties {
+    // Claims read, recomputed and written back per page
+    private int pageSize = 1000;
+    // Pages in flight at once; each holds a connection while it writes
+    private int concurrency = 4;
+    // Finished jobs whose progress and report stay available
+    private int retainedJobs = 5;
+}
@@ -2,6 +2,7 @@ package com.hashjosh.insurance.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -24,6 +25,12 @@ public class SecurityConfiguration {
                 .httpBasic(AbstractHttpConfigurer::disable)
                 .formLogin(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Publishing or activating a rate table changes every payout computed after it
+                        .requestMatchers(HttpMethod.POST, "/api/v1/claims/rate-tables", "/api/v1/claims/rate-tables/*/activate")
+                        .hasRole("ADMIN")
+                        // Re-rating rewrites the amount of every open claim
+                        .requestMatchers("/api/v1/claims/re-rating", "/api/v1/claims/re-rating/**")
+                        .hasAnyRole("ADMIN", "CLAIMS_ADJUSTMENT_STAFF")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session ->
@@ -0,0 +1,17 @@
+package com.hashjosh.insurance.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.submitted-consumer")
+@Getter
+@Setter
+public class SubmittedConsumerProperties {
+    // Consume application-submitted in polled chunks instead of one record at a time
+    private boolean batchMode = false;
+    // Upper bound on a chunk; each chunk is persisted in one transaction
+    private int maxPollRecords = 500;
+}
@@ -0,0 +1,49 @@
+package com.hashjosh.insurance.controller;
+
+import com.hashjosh.insurance.config.CustomUserDetails;
+import com.hashjosh.insurance.dto.claim.ReRatingJobResponse;
+import com.hashjosh.insurance.service.ClaimReRatingService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/v1/claims/re-rating")
+@RequiredArgsConstructor
+@Slf4j
+public class ClaimReRatingController {
+
+    private final ClaimReRatingService claimReRatingService;
+
+    /** Recomputes all open claims with the active rate table; poll the returned job for progress. */
+    @PostMapping
+    public ResponseEntity<ReRatingJobResponse> start(
+            @RequestParam(defaultValue = "false") boolean dryRun,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        String userId = userDetails != null && userDetails.getUserId() != null ? userDetails.getUserId().toString() : null;
+        log.info("Claim re-rating requested by {} (dry run: {})", userId, dryRun);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(claimReRatingService.start(dryRun, userId));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReRatingJobResponse> get(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(claimReRatingService.get(jobId));
+    }
+
+    /** Changed, skipped, failed and conflicting claims found so far, one JSON object per line. */
+    @GetMapping(value = "/{jobId}/report", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> report(@PathVariable UUID jobId) {
+        claimReRatingService.get(jobId);
+        StreamingResponseBody body = out -> claimReRatingService.writeReport(jobId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+}
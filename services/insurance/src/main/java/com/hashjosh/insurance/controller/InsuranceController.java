@@ -1,10 +1,14 @@
 package com.hashjosh.insurance.controller;
 
 import com.hashjosh.constant.pcic.enums.InsuranceStatus;
+import com.hashjosh.constant.sync.SyncPage;
+import com.hashjosh.insurance.dto.insurance.InsuranceExpand;
 import com.hashjosh.insurance.dto.insurance.InsuranceRequestDTO;
 import com.hashjosh.insurance.dto.insurance.InsuranceResponse;
 import com.hashjosh.insurance.dto.insurance.InsuranceStatusStatisticDTO;
+import com.hashjosh.insurance.dto.insurance.InsuranceSyncItem;
 import com.hashjosh.insurance.service.InsuranceService;
+import com.hashjosh.insurance.service.InsuranceSyncService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -18,21 +22,43 @@ import java.util.UUID;
 public class InsuranceController {
 
     private final InsuranceService insuranceService;
+    private final InsuranceSyncService insuranceSyncService;
 
+    /**
+     * {@code expand} picks the nested parts to include, e.g. {@code expand=claim,inspection};
+     * leave it out for all of them or pass {@code none} for the insurance columns only.
+     */
     @GetMapping
     public ResponseEntity<List<InsuranceResponse>> getAllInsurance(
+            @RequestParam(value = "expand", required = false) String expand
     ){
-        return ResponseEntity.ok(insuranceService.findAll());
+        return ResponseEntity.ok(insuranceService.findAll(InsuranceExpand.parse(expand)));
     }
 
     @GetMapping("/verified")
-    public ResponseEntity<List<InsuranceResponse>> getAllVerifiedInsurance(){
-        return ResponseEntity.ok(insuranceService.findAllVerified());
+    public ResponseEntity<List<InsuranceResponse>> getAllVerifiedInsurance(
+            @RequestParam(value = "expand", required = false) String expand
+    ){
+        return ResponseEntity.ok(insuranceService.findAllVerified(InsuranceExpand.parse(expand)));
     }
 
     @GetMapping("/user/all")
-    public  ResponseEntity<List<InsuranceResponse>> getInsuranceByUser(){
-        return ResponseEntity.ok(insuranceService.findByCurrentUser());
+    public  ResponseEntity<List<InsuranceResponse>> getInsuranceByUser(
+            @RequestParam(value = "expand", required = false) String expand
+    ){
+        return ResponseEntity.ok(insuranceService.findByCurrentUser(InsuranceExpand.parse(expand)));
+    }
+
+    /**
+     * Delta sync of the current farmer's insurance statuses, starting after the
+     * {@code since} watermark from the previous response.
+     */
+    @GetMapping("/user/sync")
+    public ResponseEntity<SyncPage<InsuranceSyncItem>> syncInsuranceOfUser(
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(insuranceSyncService.sync(since, limit));
     }
 
     @GetMapping("/application/status/{submissionId}")
@@ -50,28 +76,34 @@ public class InsuranceController {
 
     @GetMapping("/{insurance-Id}")
     public ResponseEntity<InsuranceResponse> getInsuranceById(
-                @PathVariable("insurance-Id") UUID insuranceId
+                @PathVariable("insurance-Id") UUID insuranceId,
+            @RequestParam(value = "expand", required = false) String expand
     ){
-        return ResponseEntity.ok(insuranceService.findById(insuranceId));
+        return ResponseEntity.ok(insuranceService.findById(insuranceId, InsuranceExpand.parse(expand)));
     }
 
     @GetMapping("/application/{application-id}")
     public ResponseEntity<InsuranceResponse> getInsuranceByApplicationId(
-            @PathVariable("application-id") UUID applicationId
+            @PathVariable("application-id") UUID applicationId,
+            @RequestParam(value = "expand", required = false) String expand
     ){
-        return ResponseEntity.ok(insuranceService.findByApplicationId(applicationId));
+        return ResponseEntity.ok(insuranceService.findByApplicationId(applicationId, InsuranceExpand.parse(expand)));
     }
 
     @GetMapping("/application-type/{application-type}")
     public ResponseEntity<List<InsuranceResponse>> getInsuranceByApplicationTypeId(
-            @PathVariable("application-type") UUID applicationTypeId
+            @PathVariable("application-type") UUID applicationTypeId,
+            @RequestParam(value = "expand", required = false) String expand
     ){
-        return ResponseEntity.ok(insuranceService.findByApplicationTypeId(applicationTypeId));
+        return ResponseEntity.ok(insuranceService.findByApplicationTypeId(applicationTypeId, InsuranceExpand.parse(expand)));
     }
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<InsuranceResponse>> getInsuranceByStatus(@PathVariable("status") InsuranceStatus status) {
-        return ResponseEntity.ok(insuranceService.findByStatus(status));
+    public ResponseEntity<List<InsuranceResponse>> getInsuranceByStatus(
+            @PathVariable("status") InsuranceStatus status,
+            @RequestParam(value = "expand", required = false) String expand
+    ) {
+        return ResponseEntity.ok(insuranceService.findByStatus(status, InsuranceExpand.parse(expand)));
     }
 
     @PutMapping("/{insurance-Id}")
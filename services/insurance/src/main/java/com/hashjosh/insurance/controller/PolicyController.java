@@ -11,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -44,6 +45,18 @@ public class PolicyController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/numbers")
+    public ResponseEntity<List<String>> exportPolicyNumbers(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "5000") int limit) {
+        return ResponseEntity.ok(policyService.exportPolicyNumbers(after, limit));
+    }
+
+    @PostMapping("/numbers/existing")
+    public ResponseEntity<List<String>> findExistingPolicyNumbers(@RequestBody Set<String> policyNumbers) {
+        return ResponseEntity.ok(policyService.findExistingPolicyNumbers(policyNumbers));
+    }
+
     @GetMapping
     public ResponseEntity<List<PolicyResponse>> getAllPolicies() {
         List<PolicyResponse> responses = policyService.getAllPolicies();
@@ -0,0 +1,47 @@
+package com.hashjosh.insurance.controller;
+
+import com.hashjosh.insurance.config.CustomUserDetails;
+import com.hashjosh.insurance.dto.claim.RateTableResponse;
+import com.hashjosh.insurance.rates.RateTableDefinition;
+import com.hashjosh.insurance.service.RateTableService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/claims/rate-tables")
+@RequiredArgsConstructor
+@Slf4j
+public class RateTableController {
+
+    private final RateTableService rateTableService;
+
+    @GetMapping
+    public ResponseEntity<List<RateTableResponse>> findAll() {
+        return ResponseEntity.ok(rateTableService.findAll());
+    }
+
+    @GetMapping("/active")
+    public ResponseEntity<RateTableResponse> findActive() {
+        return ResponseEntity.ok(rateTableService.findActive());
+    }
+
+    @PostMapping
+    public ResponseEntity<RateTableResponse> publish(
+            @RequestBody RateTableDefinition definition,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        log.info("Publishing claim rate table {}", definition.version());
+        String userId = userDetails != null && userDetails.getUserId() != null ? userDetails.getUserId().toString() : null;
+        return new ResponseEntity<>(rateTableService.publish(definition, userId), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{version}/activate")
+    public ResponseEntity<RateTableResponse> activate(@PathVariable String version) {
+        return ResponseEntity.ok(rateTableService.activate(version));
+    }
+}
@@ -36,6 +36,8 @@ public class ClaimResponse {
 
     private Double claimAmount;
 
+    private String rateTableVersion;
+
     private List<String> supportingFiles;
 
     private JsonNode fieldValues;
@@ -0,0 +1,29 @@
+package com.hashjosh.insurance.dto.claim;
+
+import com.hashjosh.insurance.rates.RateTableDefinition;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateTableResponse {
+
+    private String version;
+
+    private boolean active;
+
+    // False for the configured seed table, which has no database row
+    private boolean published;
+
+    private String publishedBy;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime activatedAt;
+
+    private RateTableDefinition definition;
+}
@@ -0,0 +1,17 @@
+package com.hashjosh.insurance.dto.claim;
+
+import java.util.UUID;
+
+/** One line of a re-rating report. Unchanged claims are not listed. */
+public record ReRatingDiff(
+        UUID claimId,
+        UUID insuranceId,
+        Outcome outcome,
+        Double previousAmount,
+        Double newAmount,
+        String previousRateTableVersion,
+        String reason
+) {
+
+    public enum Outcome { CHANGED, SKIPPED, FAILED, CONFLICT }
+}
@@ -0,0 +1,51 @@
+package com.hashjosh.insurance.dto.claim;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReRatingJobResponse {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    private UUID id;
+
+    private Status status;
+
+    // Nothing is written; the report shows what a real run would change
+    private boolean dryRun;
+
+    private String rateTableVersion;
+
+    private String startedBy;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+
+    // Open claims when the job started
+    private long total;
+
+    private long scanned;
+
+    private long changed;
+
+    private long unchanged;
+
+    private long skipped;
+
+    private long failed;
+
+    // Claims that changed between being read and written, left as they were
+    private long conflicts;
+
+    private double claimsPerSecond;
+
+    private String error;
+}
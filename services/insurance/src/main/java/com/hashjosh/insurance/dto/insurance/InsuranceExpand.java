@@ -0,0 +1,44 @@
+package com.hashjosh.insurance.dto.insurance;
+
+import com.hashjosh.insurance.exception.ApiException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/** Nested parts of an {@link InsuranceResponse} a caller can ask for with {@code expand=}. */
+public enum InsuranceExpand {
+    BATCH,
+    VERIFICATION,
+    INSPECTION,
+    CLAIM,
+    POLICY;
+
+    public static final Set<InsuranceExpand> ALL = Set.copyOf(EnumSet.allOf(InsuranceExpand.class));
+
+    /**
+     * Parses a comma-separated list such as {@code claim,policy}. Without the
+     * parameter everything is expanded, as before it existed; an empty value
+     * or {@code none} leaves only the scalar fields.
+     */
+    public static Set<InsuranceExpand> parse(String expand) {
+        if (expand == null || expand.trim().equalsIgnoreCase("all")) {
+            return ALL;
+        }
+        Set<InsuranceExpand> parts = EnumSet.noneOf(InsuranceExpand.class);
+        for (String part : expand.split(",")) {
+            String name = part.trim().toUpperCase(Locale.ROOT);
+            if (name.isEmpty() || name.equals("NONE")) {
+                continue;
+            }
+            try {
+                parts.add(valueOf(name));
+            } catch (IllegalArgumentException e) {
+                throw ApiException.badRequest("Unknown expand value '" + part.trim() + "', expected "
+                        + Arrays.toString(values()).toLowerCase(Locale.ROOT) + ", all or none");
+            }
+        }
+        return parts;
+    }
+}
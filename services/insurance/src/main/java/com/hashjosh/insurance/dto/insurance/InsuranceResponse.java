@@ -7,6 +7,7 @@ import com.hashjosh.constant.policy.PolicyResponse;
 import com.hashjosh.insurance.dto.verification.VerificationResponse;
 import lombok.*;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Getter
@@ -17,8 +18,15 @@ import java.util.UUID;
 public class InsuranceResponse {
     private UUID insuranceId;
     private UUID submissionId;
+    private UUID applicationTypeId;
     private String applicationName;
+    private UUID farmerId;
+    private String farmerName;
     private String status;
+    private UUID batchId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    // Only filled in when expanded, see InsuranceExpand
     private BatchResponseDTO batch;
     private VerificationResponse verification;
     private InspectionResponse inspection;
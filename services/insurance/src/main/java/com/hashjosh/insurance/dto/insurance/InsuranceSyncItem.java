@@ -0,0 +1,24 @@
+package com.hashjosh.insurance.dto.insurance;
+
+import com.hashjosh.constant.pcic.enums.InsuranceStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * What the mobile app keeps of an insurance record: enough to show its status
+ * next to the application it belongs to.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InsuranceSyncItem {
+    private UUID insuranceId;
+    private UUID submissionId;
+    private String applicationName;
+    private InsuranceStatus status;
+    private LocalDateTime updatedAt;
+}
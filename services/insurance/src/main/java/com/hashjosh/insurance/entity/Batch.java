@@ -11,7 +11,12 @@ import java.util.UUID;
 @Getter
 @Setter
 @Builder
-@Table(name = "batches")
+@Table(name = "batches", uniqueConstraints = {
+        // Two consumers opening a batch for the same type at once pick the same number; one insert loses
+        @UniqueConstraint(name = "uk_batches_type_batch_number", columnNames = {"application_type_id", "batch_number"})
+}, indexes = {
+        @Index(name = "idx_batches_type_created_at", columnList = "application_type_id, created_at, id")
+})
 @AllArgsConstructor
 @NoArgsConstructor
 public class Batch {
@@ -44,6 +49,10 @@ public class Batch {
 
     private LocalDateTime createdAt;
 
-    @OneToMany(mappedBy = "batch", fetch = FetchType.EAGER)
+    // Per application type, for auto-generated batches; null for batches created by hand
+    @Column(name = "batch_number")
+    private Integer batchNumber;
+
+    @OneToMany(mappedBy = "batch", fetch = FetchType.LAZY)
     private List<Insurance> insurances;
 }
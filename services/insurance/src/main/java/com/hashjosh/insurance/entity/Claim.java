@@ -32,6 +32,14 @@ public class Claim {
 
     private Double claimAmount;
 
+    // Rate table the computed amount came from; kept if the amount is later adjusted by hand
+    @Column(length = 64)
+    private String rateTableVersion;
+
+    // Set once an adjuster overrides the amount; re-rating leaves such claims alone.
+    // Null on claims filed before it was tracked, until re-rating backfills it
+    private Boolean manuallyAdjusted;
+
     private List<UUID> supportingFiles;
 
     @Type(JsonBinaryType.class)
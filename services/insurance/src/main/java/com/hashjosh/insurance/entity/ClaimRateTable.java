@@ -0,0 +1,48 @@
+package com.hashjosh.insurance.entity;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vladmihalcea.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A published version of the coverage and stage-factor tables claims are
+ * computed with. Versions are never edited; publishing a new one or
+ * re-activating an old one switches which is active.
+ */
+@Entity
+@Table(name = "claim_rate_tables",
+        uniqueConstraints = @UniqueConstraint(name = "uk_claim_rate_tables_version", columnNames = "version"),
+        indexes = @Index(name = "idx_claim_rate_tables_active", columnList = "active, activated_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimRateTable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, length = 64)
+    private String version;
+
+    // RateTableDefinition as published
+    @Type(JsonBinaryType.class)
+    @Column(columnDefinition = "jsonb", nullable = false)
+    private JsonNode definition;
+
+    private boolean active;
+
+    private String publishedBy;
+
+    private LocalDateTime createdAt;
+
+    @Column(name = "activated_at")
+    private LocalDateTime activatedAt;
+}
@@ -3,12 +3,16 @@ package com.hashjosh.insurance.entity;
 import com.hashjosh.constant.pcic.enums.InsuranceStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "insurances")
+@Table(name = "insurances", indexes = {
+        @Index(name = "idx_insurances_submission_id", columnList = "submission_id"),
+        @Index(name = "idx_insurances_farmer_updated_at_id", columnList = "farmer_id, updated_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,6 +24,7 @@ public class Insurance {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @Column(name = "submission_id")
     private UUID submissionId;
     private UUID applicationTypeId;
     private String applicationTypeName;
@@ -37,6 +42,8 @@ public class Insurance {
     private Batch batch;
 
     private LocalDateTime createdAt;
+    // Bumped on every change, including status moves; delta sync reads from it
+    @UpdateTimestamp
     private LocalDateTime updatedAt;
 
     @OneToOne(mappedBy = "insurance", cascade = CascadeType.ALL)
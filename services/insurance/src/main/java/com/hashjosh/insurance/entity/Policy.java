@@ -7,7 +7,9 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "policies")
+@Table(name = "policies", indexes = {
+        @Index(name = "idx_policies_policy_number", columnList = "policy_number")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,6 +21,7 @@ public class Policy {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    @Column(name = "policy_number")
     private String policyNumber;
 
     private LocalDateTime effectiveDate;
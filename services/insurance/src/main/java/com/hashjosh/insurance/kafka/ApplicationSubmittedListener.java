@@ -0,0 +1,114 @@
+package com.hashjosh.insurance.kafka;
+
+import com.hashjosh.insurance.config.KafkaConsumerConfig;
+import com.hashjosh.kafkacommon.application.ApplicationSubmittedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes {@code application-submitted} either one record at a time or, with
+ * {@code app.submitted-consumer.batch-mode}, in polled chunks. Exactly one of
+ * the two listeners is started. Both record the throughput and lag metrics.
+ */
+@Component
+@Slf4j
+public class ApplicationSubmittedListener {
+
+    static final String SINGLE_LISTENER_ID = "application-submitted";
+    static final String BATCH_LISTENER_ID = "application-submitted-batch";
+
+    private static final String TOPIC = "application-submitted";
+    private static final String GROUP_ID = "pcic-application-submitted-group";
+
+    private final ConsumerService consumerService;
+
+    private final Counter consumedCounter;
+    private final DistributionSummary chunkSize;
+    private final Timer chunkTimer;
+    private final Timer submissionLag;
+
+    public ApplicationSubmittedListener(ConsumerService consumerService, MeterRegistry meterRegistry) {
+        this.consumerService = consumerService;
+
+        this.consumedCounter = Counter.builder("insurance.submitted.consumed")
+                .description("application-submitted events processed")
+                .register(meterRegistry);
+        this.chunkSize = DistributionSummary.builder("insurance.submitted.chunk.size")
+                .description("Events handled per listener call; always 1 outside batch mode")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("insurance.submitted.chunk.duration")
+                .description("Time to store the insurance records of one listener call")
+                .register(meterRegistry);
+        this.submissionLag = Timer.builder("insurance.submitted.lag")
+                .description("Time from submission until its insurance record was stored")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            id = SINGLE_LISTENER_ID,
+            topics = TOPIC,
+            groupId = GROUP_ID,
+            autoStartup = "#{!${app.submitted-consumer.batch-mode:false}}"
+    )
+    public void listenApplicationSubmitted(@Payload ApplicationSubmittedEvent event) {
+        long start = System.nanoTime();
+        consumerService.handleApplicationSubmittedEvent(event);
+        record(List.of(event), start);
+    }
+
+    /**
+     * Stores a whole poll in one transaction. If that fails, the records are
+     * retried one transaction each; the first one that fails again is reported
+     * to the error handler, which commits the offsets before it and redelivers
+     * the rest.
+     */
+    @KafkaListener(
+            id = BATCH_LISTENER_ID,
+            topics = TOPIC,
+            groupId = GROUP_ID,
+            containerFactory = KafkaConsumerConfig.BATCH_LISTENER_FACTORY,
+            autoStartup = "${app.submitted-consumer.batch-mode:false}",
+            properties = "max.poll.records=${app.submitted-consumer.max-poll-records:500}"
+    )
+    public void listenApplicationSubmittedBatch(@Payload List<ApplicationSubmittedEvent> events) {
+        long start = System.nanoTime();
+        try {
+            consumerService.handleApplicationSubmittedEvents(events);
+        } catch (RuntimeException chunkFailure) {
+            log.warn("Chunk of {} application-submitted events failed, retrying them one by one", events.size(), chunkFailure);
+            for (int i = 0; i < events.size(); i++) {
+                try {
+                    consumerService.handleApplicationSubmittedEvent(events.get(i));
+                } catch (RuntimeException e) {
+                    throw new BatchListenerFailedException("Failed to store application " + events.get(i).getSubmissionId(), e, i);
+                }
+            }
+        }
+        record(events, start);
+    }
+
+    private void record(List<ApplicationSubmittedEvent> events, long start) {
+        chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        chunkSize.record(events.size());
+        consumedCounter.increment(events.size());
+
+        LocalDateTime now = LocalDateTime.now();
+        for (ApplicationSubmittedEvent event : events) {
+            if (event.getSubmittedAt() != null) {
+                submissionLag.record(Duration.between(event.getSubmittedAt(), now));
+            }
+        }
+    }
+}
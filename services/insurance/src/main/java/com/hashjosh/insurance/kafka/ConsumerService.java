@@ -8,15 +8,12 @@ import com.hashjosh.kafkacommon.application.ApplicationReceived;
 import com.hashjosh.kafkacommon.application.ApplicationSubmittedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -24,52 +21,107 @@ import java.util.UUID;
 public class ConsumerService {
     private final InsuranceRepository insuranceRepository;
     private final BatchRepository batchRepository;
+    private final BatchSlotRepository batchSlotRepository;
     private final KafkaProducer producer;
 
-    @KafkaListener(topics = "application-submitted", groupId = "pcic-application-submitted-group")
-    public void listenApplicationSubmitted(@Payload ApplicationSubmittedEvent event) {
-        handleApplicationSubmittedEvent(event);
-    }
+    // Bound on consecutive rounds without progress; each lost race means another consumer made progress
+    private static final int MAX_SLOT_ATTEMPTS = 50;
+    private static final int DEFAULT_MAX_APPLICATIONS = 10;
 
+    /**
+     * Assigns the application to a batch and creates its insurance record in
+     * one transaction. The slot is taken with a conditional update in the
+     * database, so parallel consumers never push a batch past its maximum.
+     */
+    @Transactional
     public void handleApplicationSubmittedEvent(ApplicationSubmittedEvent event) {
-
-        List<Batch> batches = batchRepository.findAllAvailableBatchesByApplicationTypeId(event.getApplicationTypeId());
-
-        Batch selectedBatch = null;
-
-        if (batches.isEmpty()) {
-            log.info("No available batches found for application: {}. Creating new batch.", event.getSubmissionId());
-            selectedBatch = createNewBatch(event);
-        } else {
-            // Find an available batch with space
-            for (Batch batch : batches) {
-                boolean notFull = batch.getTotalApplications() < batch.getMaxApplications();
-                boolean available = batch.isAvailable();
-
-                if (notFull && available) {
-                    selectedBatch = batch;
-                    selectedBatch.setTotalApplications(selectedBatch.getTotalApplications() + 1);
-                    batchRepository.save(selectedBatch);
-                    break;
-                }
-            }
-
-            // If no available batch found with space, create a new one
-            if (selectedBatch == null) {
-                log.info("All existing batches are full for application: {}. Creating new batch.", event.getSubmissionId());
-                selectedBatch = createNewBatch(event);
-            }
+        if (insuranceRepository.existsBySubmissionId(event.getSubmissionId())) {
+            log.info("Insurance for application {} already exists, skipping redelivery", event.getSubmissionId());
+            return;
         }
 
+        UUID batchId = takeSlots(event, 1).get(0);
+
         // Create insurance record and its other related processes
-        createInsuranceRecord(event, selectedBatch);
+        createInsuranceRecord(event, batchRepository.getReferenceById(batchId));
 
         log.info("Application {} sent to PCIC for inspection", event.getSubmissionId());
     }
 
+    /**
+     * Chunk variant of {@link #handleApplicationSubmittedEvent}: slots are
+     * taken with one statement per application type and the insurance rows go
+     * out as JDBC batches, all in one transaction. Events already stored, or
+     * repeated within the chunk, are skipped. Returns the number of records created.
+     */
+    @Transactional
+    public int handleApplicationSubmittedEvents(List<ApplicationSubmittedEvent> events) {
+        Map<UUID, ApplicationSubmittedEvent> pending = new LinkedHashMap<>();
+        events.forEach(event -> pending.putIfAbsent(event.getSubmissionId(), event));
+        if (!pending.isEmpty()) {
+            insuranceRepository.findExistingSubmissionIds(pending.keySet()).forEach(pending::remove);
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        // Types in a fixed order, so concurrent chunks lock each other's batches in the same order
+        Map<UUID, List<ApplicationSubmittedEvent>> byType = new TreeMap<>();
+        pending.values().forEach(event -> byType
+                .computeIfAbsent(event.getApplicationTypeId(), id -> new ArrayList<>())
+                .add(event));
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Insurance> insurances = new ArrayList<>(pending.size());
+        byType.values().forEach(typeEvents -> {
+            List<UUID> slots = takeSlots(typeEvents.get(0), typeEvents.size());
+            for (int i = 0; i < typeEvents.size(); i++) {
+                insurances.add(newInsurance(typeEvents.get(i), batchRepository.getReferenceById(slots.get(i)), now));
+            }
+        });
+        insuranceRepository.saveAll(insurances);
+
+        log.info("Created {} insurance records from a chunk of {} application-submitted events", insurances.size(), events.size());
+        return insurances.size();
+    }
+
+    // One batch id per slot, in the order the slots were granted
+    private List<UUID> takeSlots(ApplicationSubmittedEvent event, int count) {
+        UUID applicationTypeId = event.getApplicationTypeId();
+        List<UUID> slots = new ArrayList<>(count);
+        int idleRounds = 0;
+
+        while (slots.size() < count) {
+            int before = slots.size();
+            LocalDateTime now = LocalDateTime.now();
+            batchSlotRepository.takeSlots(applicationTypeId, count - slots.size(), now)
+                    .forEach(grant -> slots.addAll(Collections.nCopies(grant.taken(), grant.batchId())));
+
+            if (slots.size() < count) {
+                int wanted = Math.min(count - slots.size(), DEFAULT_MAX_APPLICATIONS);
+                batchSlotRepository.openBatch(newBatch(event, now), wanted, now).ifPresent(batchId -> {
+                    log.info("All batches are full for application type {}; opened batch {}", applicationTypeId, batchId);
+                    slots.addAll(Collections.nCopies(wanted, batchId));
+                });
+            }
+
+            // Nothing granted means another consumer opened a batch or took the room in between; look again
+            if (slots.size() == before && ++idleRounds >= MAX_SLOT_ATTEMPTS) {
+                throw new IllegalStateException("No batch slot for application " + event.getSubmissionId()
+                        + " after " + MAX_SLOT_ATTEMPTS + " attempts");
+            }
+        }
+        return slots;
+    }
 
     public void createInsuranceRecord(ApplicationSubmittedEvent event, Batch batch) {
-        Insurance insurance = Insurance.builder()
+        insuranceRepository.save(newInsurance(event, batch, LocalDateTime.now()));
+
+        log.info("Created insurance record for application: {}", event.getSubmissionId());
+    }
+
+    private static Insurance newInsurance(ApplicationSubmittedEvent event, Batch batch, LocalDateTime now) {
+        return Insurance.builder()
                 .batch(batch)
                 .submissionId(event.getSubmissionId())
                 .farmerId(event.getUserId())
@@ -78,34 +130,19 @@ public class ConsumerService {
                 .farmerName(event.getFullName())
                 .currentStatus(InsuranceStatus.PENDING)
                 .isAIProcessed(event.getObjectKeysForAIAnalysis() != null && !event.getObjectKeysForAIAnalysis().isEmpty())
-                .createdAt(LocalDateTime.now())
+                .createdAt(now)
                 .build();
-
-        insuranceRepository.save(insurance);
-
-        log.info("Created insurance record for application: {}", event.getSubmissionId());
     }
 
-    private Batch createNewBatch(ApplicationSubmittedEvent event) {
-        String batchName = generateBatchName(event.getProvider());
-
-        Batch newBatch = Batch.builder()
-                .applicationTypeId(event.getApplicationTypeId())
-                .provider(event.getProvider())
-                .name(batchName)
-                .description("Auto-generated batch for " + event.getProvider() + " applications")
-                .totalApplications(1)
-                .maxApplications(10)
-                .isAvailable(true)
-                .startDate(LocalDateTime.now())
-                .endDate(LocalDateTime.now().plusDays(30))
-                .createdAt(LocalDateTime.now())
-                .build();
-
-        Batch savedBatch = batchRepository.save(newBatch);
-        log.info("Created new batch: {} for application type: {}", savedBatch.getName(), event.getApplicationTypeId());
-
-        return savedBatch;
+    private BatchSlotRepository.NewBatch newBatch(ApplicationSubmittedEvent event, LocalDateTime now) {
+        return new BatchSlotRepository.NewBatch(
+                event.getApplicationTypeId(),
+                event.getProvider(),
+                generateBatchName(event.getProvider()),
+                "Auto-generated batch for " + event.getProvider() + " applications",
+                DEFAULT_MAX_APPLICATIONS,
+                now.plusDays(30)
+        );
     }
 
     private String generateBatchName(String provider) {
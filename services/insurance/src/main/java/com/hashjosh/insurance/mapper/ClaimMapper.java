@@ -7,6 +7,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @Component
@@ -14,7 +16,14 @@ import java.util.UUID;
 public class ClaimMapper {
 
     private final DocumentServiceClient documentServiceClient;
+
     public ClaimResponse toResponse(Claim claim) {
+        return toResponse(claim, documentServiceClient.generatePresignedUrls(
+                claim.getInsurance().getFarmerId(), documentIds(claim), 60));
+    }
+
+    /** Maps with supporting file urls resolved beforehand, e.g. for a whole page at once. */
+    public ClaimResponse toResponse(Claim claim, Map<UUID, String> documentUrls) {
         return ClaimResponse.builder()
                 .id(claim.getId())
                 .insuranceId(claim.getInsurance().getId())
@@ -24,18 +33,16 @@ public class ClaimMapper {
                 .farmerName(claim.getInsurance().getFarmerName())
                 .damageAssessment(claim.getDamageAssessment())
                 .claimAmount(claim.getClaimAmount())
-                .supportingFiles(getPresignedUrl(claim))
+                .rateTableVersion(claim.getRateTableVersion())
+                .supportingFiles(documentIds(claim).stream()
+                        .map(documentUrls::get)
+                        .filter(Objects::nonNull)
+                        .toList())
                 .fieldValues(claim.getInsurance().getInspection().getFieldValues())
                 .build();
     }
 
-    private List<String> getPresignedUrl(Claim claim) {
-        if (claim.getSupportingFiles() == null || claim.getSupportingFiles().isEmpty()) {
-            return List.of();
-        }
-
-        return claim.getSupportingFiles().stream()
-                .map(documentId -> documentServiceClient.generatePresignedUrl(claim.getInsurance().getFarmerId(), documentId, 60))
-                .toList();
+    public List<UUID> documentIds(Claim claim) {
+        return claim.getSupportingFiles() != null ? claim.getSupportingFiles() : List.of();
     }
 }
@@ -16,6 +16,8 @@ import org.springframework.web.multipart.MultipartFile;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @Component
@@ -52,19 +54,37 @@ public class InspectionMapper {
     }
 
     public InspectionResponse toResponse(Inspection inspection) {
+        Map<UUID, ScheduleResponseDto> schedules = inspection.getScheduleId() != null
+                ? scheduleClient.getSchedulesByIds(List.of(inspection.getScheduleId()), inspection.getInspectorId())
+                : Map.of();
+        return toResponse(inspection,
+                documentClient.generatePresignedUrls(inspection.getInspectorId(), documentIds(inspection), 60),
+                schedules);
+    }
+
+    /** Maps with photo urls and the schedule resolved beforehand, e.g. for a whole page at once. */
+    public InspectionResponse toResponse(Inspection inspection,
+                                         Map<UUID, String> documentUrls,
+                                         Map<UUID, ScheduleResponseDto> schedules) {
         return InspectionResponse.builder()
                 .id(inspection.getId())
                 .insuranceId(inspection.getInsurance().getId())
                 .inspectorId(inspection.getInspectorId())
-                .schedule(getInspectionSchedule(inspection.getScheduleId(), inspection.getInspectorId()))
+                .schedule(inspection.getScheduleId() != null ? schedules.get(inspection.getScheduleId()) : null)
                 .inspectorName(inspection.getInspectorName())
                 .isInspected(inspection.isInspected())
                 .inspectedAt(inspection.getInspectedAt())
-                .photos(convertPhotosToStrings(inspection.getPhotos(), inspection.getInspectorId(), 60))
+                .photos(inspection.getPhotos() != null
+                        ? inspection.getPhotos().stream().map(documentUrls::get).filter(Objects::nonNull).toList()
+                        : null)
                 .fieldValues(inspection.getFieldValues())
                 .build();
     }
 
+    public List<UUID> documentIds(Inspection inspection) {
+        return inspection.getPhotos() != null ? inspection.getPhotos() : List.of();
+    }
+
     public void updateEntity(Inspection existingInspection, InspectionRequest request, UUID inspectorId, String inspectorName, List<MultipartFile> photos) {
         existingInspection.setInspectorId(inspectorId);
         existingInspection.setInspectorName(inspectorName);
@@ -97,17 +117,4 @@ public class InspectionMapper {
         }
         return documentIds;
     }
-
-    private List<String> convertPhotosToStrings(List<UUID> photos,UUID userId,int expiryInMinutes) {
-        if (photos == null) return null;
-        return photos.stream()
-                .map(id -> {
-                    return documentClient.generatePresignedUrl(userId, id, expiryInMinutes);
-                })
-                .toList();
-    }
-
-    private ScheduleResponseDto getInspectionSchedule(UUID scheduleId,UUID userId) {
-        return scheduleClient.getInspectionScheduleById(scheduleId,userId);
-    }
 }
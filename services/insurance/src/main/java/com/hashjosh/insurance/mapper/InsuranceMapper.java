@@ -1,11 +1,22 @@
 package com.hashjosh.insurance.mapper;
 
+import com.hashjosh.constant.program.dto.ScheduleResponseDto;
+import com.hashjosh.insurance.clients.DocumentServiceClient;
+import com.hashjosh.insurance.clients.ScheduleClient;
+import com.hashjosh.insurance.dto.insurance.InsuranceExpand;
 import com.hashjosh.insurance.dto.insurance.InsuranceResponse;
 import com.hashjosh.insurance.entity.Insurance;
+import com.hashjosh.insurance.exception.ApiException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -16,22 +27,95 @@ public class InsuranceMapper {
     private final InspectionMapper inspectionMapper;
     private final VerificationMapper verificationMapper;
     private final BatchMapper batchMapper;
+    private final DocumentServiceClient documentServiceClient;
+    private final ScheduleClient scheduleClient;
 
-    public InsuranceResponse toInsuranceResponse(
-            Insurance insurance
+    /**
+     * Maps a page of insurances with only the {@code expand}ed parts nested.
+     * Every document and schedule id on the page is resolved with one bulk
+     * presign call and one bulk schedule call, issued concurrently.
+     */
+    public List<InsuranceResponse> toInsuranceResponses(
+            List<Insurance> insurances,
+            Set<InsuranceExpand> expand,
+            UUID requesterId
     ) {
-        return InsuranceResponse.builder()
+        if (insurances.isEmpty()) {
+            return List.of();
+        }
+
+        Set<UUID> documentIds = new HashSet<>();
+        Set<UUID> scheduleIds = new HashSet<>();
+        for (Insurance insurance : insurances) {
+            if (expand.contains(InsuranceExpand.CLAIM) && insurance.getClaim() != null) {
+                documentIds.addAll(claimMapper.documentIds(insurance.getClaim()));
+            }
+            if (expand.contains(InsuranceExpand.VERIFICATION) && insurance.getVerification() != null) {
+                documentIds.addAll(verificationMapper.documentIds(insurance.getVerification()));
+            }
+            if (expand.contains(InsuranceExpand.INSPECTION) && insurance.getInspection() != null) {
+                documentIds.addAll(inspectionMapper.documentIds(insurance.getInspection()));
+                if (insurance.getInspection().getScheduleId() != null) {
+                    scheduleIds.add(insurance.getInspection().getScheduleId());
+                }
+            }
+        }
+
+        Map<UUID, String> documentUrls;
+        Map<UUID, ScheduleResponseDto> schedules;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Map<UUID, String>> urlsFuture = CompletableFuture.supplyAsync(
+                    () -> documentServiceClient.generatePresignedUrls(requesterId, documentIds, 60), executor);
+            CompletableFuture<Map<UUID, ScheduleResponseDto>> schedulesFuture = CompletableFuture.supplyAsync(
+                    () -> scheduleClient.getSchedulesByIds(scheduleIds, requesterId), executor);
+
+            documentUrls = urlsFuture.join();
+            schedules = schedulesFuture.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ApiException apiException) {
+                throw apiException;
+            }
+            throw ApiException.internalError("Failed to resolve insurance details: " + e.getCause().getMessage());
+        }
+
+        return insurances.stream()
+                .map(insurance -> buildResponse(insurance, expand, documentUrls, schedules))
+                .toList();
+    }
+
+    private InsuranceResponse buildResponse(
+            Insurance insurance,
+            Set<InsuranceExpand> expand,
+            Map<UUID, String> documentUrls,
+            Map<UUID, ScheduleResponseDto> schedules
+    ) {
+        InsuranceResponse.InsuranceResponseBuilder builder = InsuranceResponse.builder()
                 .insuranceId(insurance.getId())
                 .submissionId(insurance.getSubmissionId())
+                .applicationTypeId(insurance.getApplicationTypeId())
                 .applicationName(insurance.getApplicationTypeName())
-                .batch(batchMapper.toBatchResponseDTO(insurance.getBatch()))
-                .policy(insurance.getPolicy() != null ? policyMapper.toResponse(insurance.getPolicy()) : null)
-                .claim(insurance.getClaim() != null ? claimMapper.toResponse(insurance.getClaim()) : null)
-                .inspection(insurance.getInspection() != null ? inspectionMapper.toResponse(insurance.getInspection()) : null)
-                .verification(insurance.getVerification() != null ? verificationMapper.toResponse(insurance.getVerification()) : null)
+                .farmerId(insurance.getFarmerId())
+                .farmerName(insurance.getFarmerName())
                 .status(insurance.getCurrentStatus().name())
-                .build();
+                .batchId(insurance.getBatch() != null ? insurance.getBatch().getId() : null)
+                .createdAt(insurance.getCreatedAt())
+                .updatedAt(insurance.getUpdatedAt());
 
+        if (expand.contains(InsuranceExpand.BATCH)) {
+            builder.batch(batchMapper.toBatchResponseDTO(insurance.getBatch()));
+        }
+        if (expand.contains(InsuranceExpand.POLICY) && insurance.getPolicy() != null) {
+            builder.policy(policyMapper.toResponse(insurance.getPolicy()));
+        }
+        if (expand.contains(InsuranceExpand.CLAIM) && insurance.getClaim() != null) {
+            builder.claim(claimMapper.toResponse(insurance.getClaim(), documentUrls));
+        }
+        if (expand.contains(InsuranceExpand.INSPECTION) && insurance.getInspection() != null) {
+            builder.inspection(inspectionMapper.toResponse(insurance.getInspection(), documentUrls, schedules));
+        }
+        if (expand.contains(InsuranceExpand.VERIFICATION) && insurance.getVerification() != null) {
+            builder.verification(verificationMapper.toResponse(insurance.getVerification(), documentUrls));
+        }
+        return builder.build();
     }
-
 }
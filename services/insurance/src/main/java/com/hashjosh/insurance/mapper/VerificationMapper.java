@@ -10,6 +10,8 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 @Component
@@ -43,11 +45,12 @@ public class VerificationMapper {
     }
 
     public VerificationResponse toResponse(Verification verification) {
+        return toResponse(verification, documentServiceClient.generatePresignedUrls(
+                verification.getVerifierId(), documentIds(verification), 60));
+    }
 
-        List<String> getPresignedUrls = verification.getVerificationDocuments().stream()
-                .map(documentId -> getPresignedUrl(verification.getVerifierId(), documentId, 60))
-                .toList();
-
+    /** Maps with document urls resolved beforehand, e.g. for a whole page at once. */
+    public VerificationResponse toResponse(Verification verification, Map<UUID, String> documentUrls) {
         return VerificationResponse.builder()
                 .id(verification.getId())
                 .insuranceId(verification.getInsurance().getId())
@@ -55,11 +58,18 @@ public class VerificationMapper {
                 .verifierName(verification.getVerifierName())
                 .remarks(verification.getRemarks())
                 .fieldValues(verification.getFieldValues())
-                .verificationDocuments(getPresignedUrls)
+                .verificationDocuments(documentIds(verification).stream()
+                        .map(documentUrls::get)
+                        .filter(Objects::nonNull)
+                        .toList())
                 .verifiedAt(verification.getVerifiedAt())
                 .build();
     }
 
+    public List<UUID> documentIds(Verification verification) {
+        return verification.getVerificationDocuments() != null ? verification.getVerificationDocuments() : List.of();
+    }
+
     public void updateEntity(Verification verification, VerificationRequest request, UUID verifierId, String verifierName) {
         verification.setVerifierId(verifierId);
         verification.setVerifierName(verifierName);
@@ -79,9 +89,4 @@ public class VerificationMapper {
         verification.setVerificationDocuments(documentIds);
         verification.setVerifiedAt(LocalDateTime.now());
     }
-
-    private String getPresignedUrl(UUID userId,UUID documentId, int expiryMinutes) {
-        return documentServiceClient.generatePresignedUrl(userId, documentId, expiryMinutes);
-    }
-
 }
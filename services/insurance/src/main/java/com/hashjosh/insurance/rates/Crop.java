@@ -0,0 +1,21 @@
+package com.hashjosh.insurance.rates;
+
+import java.util.Locale;
+
+/** Crop as keyed in the rate tables, normalized from the inspection's {@code insured_crops} text. */
+public enum Crop {
+    RICE,
+    CORN,
+    OTHER;
+
+    public static Crop of(String text) {
+        if (text == null) {
+            return OTHER;
+        }
+        return switch (text.trim().toLowerCase(Locale.ROOT)) {
+            case "rice", "palay" -> RICE;
+            case "corn", "maize" -> CORN;
+            default -> OTHER;
+        };
+    }
+}
@@ -0,0 +1,58 @@
+package com.hashjosh.insurance.rates;
+
+import java.util.Locale;
+
+/**
+ * Cultivation stage at the time of loss, normalized from the inspection's
+ * {@code cultivation_stage} text. Accepts either a stage name or a crop age
+ * such as "2 months".
+ */
+public enum CropStage {
+    EARLY,
+    VEGETATIVE,
+    REPRODUCTIVE,
+    MATURITY,
+    UNKNOWN;
+
+    public static CropStage of(String text) {
+        if (text == null || text.isBlank()) {
+            return UNKNOWN;
+        }
+        String stage = text.toLowerCase(Locale.ROOT);
+        int months = monthsIn(stage);
+
+        // Checked in this order so the earlier stage wins when the text names two
+        if (months == 1 || stage.contains("early") || stage.contains("seedling")) {
+            return EARLY;
+        }
+        if (months == 2 || stage.contains("vegetative")) {
+            return VEGETATIVE;
+        }
+        if (months == 3 || stage.contains("reproductive") || stage.contains("flowering")) {
+            return REPRODUCTIVE;
+        }
+        if (months == 4 || months == 5 || stage.contains("maturity") || stage.contains("harvest")) {
+            return MATURITY;
+        }
+        if (months < 0) {
+            return UNKNOWN;
+        }
+        return months == 0 ? EARLY : MATURITY;
+    }
+
+    // Number right before the first "month", or -1 when there is none
+    private static int monthsIn(String stage) {
+        int end = stage.indexOf("month");
+        while (end > 0 && stage.charAt(end - 1) == ' ') {
+            end--;
+        }
+        int start = end;
+        while (start > 0 && Character.isDigit(stage.charAt(start - 1))) {
+            start--;
+        }
+        if (start == end || end - start > 3) {
+            return -1;
+        }
+        return Integer.parseInt(stage, start, end, 10);
+    }
+}
@@ -0,0 +1,112 @@
+package com.hashjosh.insurance.rates;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled, immutable form of a {@link RateTableDefinition}. Every
+ * crop/variety pair and every stage resolves to a precomputed value, so a
+ * lookup is a single array read with no fallback logic at claim time.
+ */
+public final class RateTable {
+
+    static final int MAX_VERSION_LENGTH = 64;
+
+    private static final int VARIETIES = Variety.values().length;
+
+    private final String version;
+    private final double[] coverage;
+    private final double[] stageFactors;
+
+    private RateTable(String version, double[] coverage, double[] stageFactors) {
+        this.version = version;
+        this.coverage = coverage;
+        this.stageFactors = stageFactors;
+    }
+
+    /**
+     * Resolves {@code definition} into lookup arrays. A crop/variety pair
+     * takes its own entry, else the crop-wide entry, else the default.
+     *
+     * @throws IllegalArgumentException if the definition is incomplete or inconsistent
+     */
+    public static RateTable compile(RateTableDefinition definition) {
+        String version = definition.version();
+        if (version == null || version.isBlank() || version.length() > MAX_VERSION_LENGTH) {
+            throw new IllegalArgumentException("version must be between 1 and " + MAX_VERSION_LENGTH + " characters");
+        }
+        double defaultCoverage = positive(definition.defaultCoverage(), "defaultCoverage");
+        double defaultStageFactor = factor(definition.defaultStageFactor(), "defaultStageFactor");
+
+        double[] coverage = new double[Crop.values().length * VARIETIES];
+        Arrays.fill(coverage, defaultCoverage);
+        boolean[] assigned = new boolean[coverage.length];
+        List<RateTableDefinition.Coverage> entries = definition.coverage() != null ? definition.coverage() : List.of();
+
+        // Crop-wide entries first so variety entries override them regardless of order
+        for (RateTableDefinition.Coverage entry : entries) {
+            if (entry.crop() == null) {
+                throw new IllegalArgumentException("coverage entries need a crop");
+            }
+            if (entry.variety() == null) {
+                double perHectare = positive(entry.perHectare(), "coverage for " + entry.crop());
+                int row = entry.crop().ordinal() * VARIETIES;
+                if (assigned[row]) {
+                    throw new IllegalArgumentException("coverage for " + entry.crop() + " is listed twice");
+                }
+                Arrays.fill(coverage, row, row + VARIETIES, perHectare);
+                assigned[row] = true;
+            }
+        }
+        Arrays.fill(assigned, false);
+        for (RateTableDefinition.Coverage entry : entries) {
+            if (entry.variety() != null) {
+                int index = entry.crop().ordinal() * VARIETIES + entry.variety().ordinal();
+                if (assigned[index]) {
+                    throw new IllegalArgumentException("coverage for " + entry.crop() + " " + entry.variety() + " is listed twice");
+                }
+                coverage[index] = positive(entry.perHectare(), "coverage for " + entry.crop() + " " + entry.variety());
+                assigned[index] = true;
+            }
+        }
+
+        double[] stageFactors = new double[CropStage.values().length];
+        Arrays.fill(stageFactors, defaultStageFactor);
+        Map<CropStage, Double> factors = definition.stageFactors() != null ? definition.stageFactors() : Map.of();
+        factors.forEach((stage, value) -> {
+            if (stage == null) {
+                throw new IllegalArgumentException("stageFactors keys must be stages");
+            }
+            stageFactors[stage.ordinal()] = factor(value, "stage factor for " + stage);
+        });
+
+        return new RateTable(version, coverage, stageFactors);
+    }
+
+    public String version() {
+        return version;
+    }
+
+    public double coveragePerHectare(Crop crop, Variety variety) {
+        return coverage[crop.ordinal() * VARIETIES + variety.ordinal()];
+    }
+
+    public double stageFactor(CropStage stage) {
+        return stageFactors[stage.ordinal()];
+    }
+
+    private static double positive(Double value, String name) {
+        if (value == null || !(value > 0) || value.isInfinite()) {
+            throw new IllegalArgumentException(name + " must be greater than 0");
+        }
+        return value;
+    }
+
+    private static double factor(Double value, String name) {
+        if (value == null || !(value > 0) || value > 1) {
+            throw new IllegalArgumentException(name + " must be greater than 0 and at most 1");
+        }
+        return value;
+    }
+}
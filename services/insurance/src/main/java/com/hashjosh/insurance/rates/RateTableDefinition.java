@@ -0,0 +1,46 @@
+package com.hashjosh.insurance.rates;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Source form of a claim rate table, as published through the API, stored in
+ * {@code claim_rate_tables} and bound from {@code app.claim-rates.seed}.
+ *
+ * @param coverage           amount of cover per hectare; an entry without a variety covers the whole crop
+ * @param defaultCoverage    cover per hectare for crops the table does not list
+ * @param stageFactors       indemnity adjustment by cultivation stage, between 0 and 1
+ * @param defaultStageFactor factor for stages the table does not list
+ */
+public record RateTableDefinition(
+        String version,
+        List<Coverage> coverage,
+        Double defaultCoverage,
+        Map<CropStage, Double> stageFactors,
+        Double defaultStageFactor
+) {
+
+    public record Coverage(Crop crop, Variety variety, Double perHectare) {
+    }
+
+    /** PCIC self-financed rice rates the service shipped with before tables were versioned. */
+    public static RateTableDefinition builtIn() {
+        return new RateTableDefinition(
+                "pcic-builtin-1",
+                List.of(
+                        new Coverage(Crop.RICE, null, 41000.0),
+                        new Coverage(Crop.RICE, Variety.INBRED_SEED_PRODUCTION, 50000.0),
+                        new Coverage(Crop.RICE, Variety.HYBRID, 50000.0),
+                        new Coverage(Crop.RICE, Variety.HYBRID_SEED_PRODUCTION, 120000.0)
+                ),
+                41000.0,
+                Map.of(
+                        CropStage.EARLY, 0.60,
+                        CropStage.VEGETATIVE, 0.70,
+                        CropStage.REPRODUCTIVE, 0.85,
+                        CropStage.MATURITY, 1.0
+                ),
+                0.80
+        );
+    }
+}
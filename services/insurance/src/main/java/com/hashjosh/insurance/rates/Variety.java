@@ -0,0 +1,31 @@
+package com.hashjosh.insurance.rates;
+
+import java.util.Locale;
+
+/**
+ * Variety and purpose of the planting, normalized from the inspection's
+ * {@code variety_planted} text. Plain {@code INBRED} and {@code HYBRID} are
+ * commercial plantings.
+ */
+public enum Variety {
+    INBRED,
+    INBRED_SEED_PRODUCTION,
+    HYBRID,
+    HYBRID_SEED_PRODUCTION,
+    UNSPECIFIED;
+
+    public static Variety of(String text) {
+        if (text == null) {
+            return UNSPECIFIED;
+        }
+        String variety = text.toLowerCase(Locale.ROOT);
+        boolean seedProduction = variety.contains("seed production");
+        if (variety.contains("inbred")) {
+            return seedProduction ? INBRED_SEED_PRODUCTION : INBRED;
+        }
+        if (variety.contains("hybrid")) {
+            return seedProduction ? HYBRID_SEED_PRODUCTION : HYBRID;
+        }
+        return UNSPECIFIED;
+    }
+}
@@ -0,0 +1,150 @@
+package com.hashjosh.insurance.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Hands out batch slots with single statements, so concurrent consumers
+ * never read a count and write it back. Both statements must run in the
+ * transaction that stores the insurance taking the slot.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BatchSlotRepository {
+
+    private static final String OPEN_WITH_ROOM = """
+            application_type_id = :applicationTypeId
+              AND is_available
+              AND total_applications < max_applications
+              AND start_date <= :now AND end_date > :now
+            """;
+
+    // The capacity check is repeated on the row itself: a consumer that waited
+    // for the row lock re-reads the count and takes nothing if the batch filled up
+    private static final String TAKE_SLOT = """
+            UPDATE batches SET total_applications = total_applications + 1
+            WHERE id = (
+                SELECT id FROM batches
+                WHERE %s
+                ORDER BY created_at, id
+                LIMIT 1
+            )
+              AND total_applications < max_applications
+            RETURNING id
+            """.formatted(OPEN_WITH_ROOM);
+
+    // Spreads :slots over the open batches with room, oldest first. The batches
+    // are locked in a fixed order, so concurrent chunks cannot deadlock, and the
+    // room is read from the locked rows.
+    private static final String TAKE_SLOTS = """
+            WITH locked AS (
+                SELECT id, created_at, max_applications - total_applications AS room
+                FROM batches
+                WHERE %s
+                ORDER BY created_at, id
+                FOR UPDATE
+            ), planned AS (
+                SELECT id, LEAST(room, :slots - COALESCE(SUM(room) OVER (
+                           ORDER BY created_at, id ROWS BETWEEN UNBOUNDED PRECEDING AND 1 PRECEDING), 0)) AS taken
+                FROM locked
+            ), updated AS (
+                UPDATE batches b SET total_applications = b.total_applications + p.taken
+                FROM planned p
+                WHERE b.id = p.id
+                  AND p.taken > 0
+                  AND b.total_applications + p.taken <= b.max_applications
+                RETURNING b.id, b.created_at, p.taken
+            )
+            SELECT id, taken FROM updated ORDER BY created_at, id
+            """.formatted(OPEN_WITH_ROOM);
+
+    // Opens the next numbered batch, already holding the caller's slots. Inserts
+    // nothing if another batch has room by now, or if a concurrent consumer
+    // opened the same number first.
+    private static final String OPEN_BATCH = """
+            INSERT INTO batches (id, application_type_id, provider, name, description, total_applications,
+                                 max_applications, is_available, start_date, end_date, created_at, batch_number)
+            SELECT :id, :applicationTypeId, :provider, :name || '-' || next.batch_number, :description, :slots,
+                   :maxApplications, true, :startDate, :endDate, :now, next.batch_number
+            FROM (
+                SELECT COALESCE(MAX(batch_number), 0) + 1 AS batch_number
+                FROM batches
+                WHERE application_type_id = :applicationTypeId
+            ) next
+            WHERE NOT EXISTS (SELECT 1 FROM batches WHERE %s)
+            ON CONFLICT (application_type_id, batch_number) DO NOTHING
+            """.formatted(OPEN_WITH_ROOM);
+
+    /** {@code taken} slots in batch {@code batchId}. */
+    public record SlotGrant(UUID batchId, int taken) {
+    }
+
+    public record NewBatch(
+            UUID applicationTypeId,
+            String provider,
+            String name,
+            String description,
+            int maxApplications,
+            LocalDateTime endDate
+    ) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Takes up to {@code slots} slots in the open batches with room, oldest
+     * first. Fewer are granted, possibly none, when the batches run out.
+     */
+    public List<SlotGrant> takeSlots(UUID applicationTypeId, int slots, LocalDateTime now) {
+        // A single slot needs only the one batch it goes to locked
+        if (slots == 1) {
+            return takeSlot(applicationTypeId, now).map(id -> List.of(new SlotGrant(id, 1))).orElse(List.of());
+        }
+        return jdbcTemplate.query(TAKE_SLOTS, new MapSqlParameterSource()
+                .addValue("applicationTypeId", applicationTypeId)
+                .addValue("slots", slots)
+                .addValue("now", now), (rs, rowNum) -> new SlotGrant(
+                rs.getObject("id", UUID.class),
+                rs.getInt("taken")
+        ));
+    }
+
+    /** Takes one slot in the oldest open batch with room, if there is one. */
+    private Optional<UUID> takeSlot(UUID applicationTypeId, LocalDateTime now) {
+        List<UUID> ids = jdbcTemplate.queryForList(TAKE_SLOT, new MapSqlParameterSource()
+                .addValue("applicationTypeId", applicationTypeId)
+                .addValue("now", now), UUID.class);
+        return ids.stream().findFirst();
+    }
+
+    /**
+     * Opens a batch already holding {@code slots} taken slots, at most its
+     * maximum; empty if another consumer got there first.
+     */
+    public Optional<UUID> openBatch(NewBatch batch, int slots, LocalDateTime now) {
+        if (slots < 1 || slots > batch.maxApplications()) {
+            throw new IllegalArgumentException("Cannot open a batch of " + batch.maxApplications() + " with " + slots + " slots taken");
+        }
+        UUID id = UUID.randomUUID();
+        int inserted = jdbcTemplate.update(OPEN_BATCH, new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("applicationTypeId", batch.applicationTypeId())
+                .addValue("provider", batch.provider())
+                .addValue("name", batch.name())
+                .addValue("description", batch.description())
+                .addValue("maxApplications", batch.maxApplications())
+                .addValue("slots", slots)
+                // Start of day, so consumers whose clocks trail this one still see the batch as open
+                .addValue("startDate", now.toLocalDate().atStartOfDay())
+                .addValue("endDate", batch.endDate())
+                .addValue("now", now));
+        return inserted == 1 ? Optional.of(id) : Optional.empty();
+    }
+}
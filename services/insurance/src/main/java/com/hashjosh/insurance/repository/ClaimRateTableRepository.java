@@ -0,0 +1,28 @@
+package com.hashjosh.insurance.repository;
+
+import com.hashjosh.insurance.entity.ClaimRateTable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ClaimRateTableRepository extends JpaRepository<ClaimRateTable, UUID> {
+
+    // Two activations racing can leave two rows active; the latest one wins
+    Optional<ClaimRateTable> findFirstByActiveTrueOrderByActivatedAtDesc();
+
+    Optional<ClaimRateTable> findByVersion(String version);
+
+    boolean existsByVersion(String version);
+
+    List<ClaimRateTable> findAllByOrderByCreatedAtDesc();
+
+    @Modifying
+    @Query("update ClaimRateTable t set t.active = false where t.active = true")
+    int deactivateAll();
+}
@@ -0,0 +1,145 @@
+package com.hashjosh.insurance.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads open claims with their inspection data in id order and writes
+ * recomputed amounts back in JDBC batches, for the re-rating job.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClaimRatingRepository {
+
+    /** Lower bound for the first page; no generated id sorts before it. */
+    public static final UUID FIRST = new UUID(0, 0);
+
+    public record RatingRow(
+            UUID claimId,
+            UUID insuranceId,
+            Double claimAmount,
+            String rateTableVersion,
+            // Null for claims filed before adjustments were tracked
+            Boolean manuallyAdjusted,
+            JsonNode claimFieldValues,
+            JsonNode inspectionFieldValues
+    ) {
+    }
+
+    public record AmountUpdate(UUID claimId, Double previousAmount, double newAmount) {
+    }
+
+    /** Resolved flag for a claim filed before adjustments were tracked. */
+    public record AdjustedBackfill(UUID claimId, Double amount, boolean adjusted) {
+    }
+
+    private static final String OPEN = """
+            FROM claims c
+            JOIN inspections i ON i.insurance_id = c.insurance_id
+            WHERE NOT c.is_finalized
+            """;
+
+    private static final String COUNT_OPEN = "SELECT count(*) " + OPEN;
+
+    private static final String OPEN_PAGE = """
+            SELECT c.id, c.insurance_id, c.claim_amount, c.rate_table_version, c.manually_adjusted,
+                   c.claim_field_values, i.inspection_field_values
+            %s
+              AND c.id > :after
+            ORDER BY c.id
+            LIMIT :limit
+            """.formatted(OPEN);
+
+    // Changes nothing if the claim was finalized, adjusted by hand (or not known
+    // not to be) or given another amount since it was read
+    private static final String UPDATE_AMOUNT = """
+            UPDATE claims SET claim_amount = :newAmount, rate_table_version = :version
+            WHERE id = :claimId
+              AND NOT is_finalized
+              AND manually_adjusted IS FALSE
+              AND claim_amount IS NOT DISTINCT FROM :previousAmount
+            """;
+
+    // Only while the flag is still unknown and the amount is the one it was resolved from
+    private static final String BACKFILL_ADJUSTED = """
+            UPDATE claims SET manually_adjusted = :adjusted
+            WHERE id = :claimId
+              AND manually_adjusted IS NULL
+              AND claim_amount IS NOT DISTINCT FROM :amount
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public long countOpen() {
+        Long count = jdbcTemplate.queryForObject(COUNT_OPEN, new MapSqlParameterSource(), Long.class);
+        return count != null ? count : 0;
+    }
+
+    /** Up to {@code limit} open claims with an id greater than {@code after}. */
+    public List<RatingRow> findOpenPage(UUID after, int limit) {
+        return jdbcTemplate.query(OPEN_PAGE, new MapSqlParameterSource()
+                .addValue("after", after)
+                .addValue("limit", limit), this::mapRow);
+    }
+
+    /**
+     * Writes the amounts as one JDBC batch. Returns the update count per
+     * entry, 0 where the claim changed since it was read.
+     */
+    public int[] updateAmounts(List<AmountUpdate> updates, String rateTableVersion) {
+        SqlParameterSource[] batch = updates.stream()
+                .map(update -> new MapSqlParameterSource()
+                        .addValue("claimId", update.claimId())
+                        .addValue("newAmount", update.newAmount())
+                        .addValue("previousAmount", update.previousAmount(), Types.DOUBLE)
+                        .addValue("version", rateTableVersion))
+                .toArray(SqlParameterSource[]::new);
+        return jdbcTemplate.batchUpdate(UPDATE_AMOUNT, batch);
+    }
+
+    /** Sets {@code manually_adjusted} on legacy claims as one JDBC batch. */
+    public int[] backfillAdjusted(List<AdjustedBackfill> backfills) {
+        SqlParameterSource[] batch = backfills.stream()
+                .map(backfill -> new MapSqlParameterSource()
+                        .addValue("claimId", backfill.claimId())
+                        .addValue("amount", backfill.amount(), Types.DOUBLE)
+                        .addValue("adjusted", backfill.adjusted()))
+                .toArray(SqlParameterSource[]::new);
+        return jdbcTemplate.batchUpdate(BACKFILL_ADJUSTED, batch);
+    }
+
+    private RatingRow mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new RatingRow(
+                rs.getObject("id", UUID.class),
+                rs.getObject("insurance_id", UUID.class),
+                rs.getObject("claim_amount", Double.class),
+                rs.getString("rate_table_version"),
+                rs.getObject("manually_adjusted", Boolean.class),
+                json(rs.getString("claim_field_values")),
+                json(rs.getString("inspection_field_values")));
+    }
+
+    private JsonNode json(String value) throws SQLException {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(value);
+        } catch (JsonProcessingException e) {
+            throw new SQLException("Unreadable jsonb value", e);
+        }
+    }
+}
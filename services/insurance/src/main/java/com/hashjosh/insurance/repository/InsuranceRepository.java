@@ -1,10 +1,17 @@
 package com.hashjosh.insurance.repository;
 
+import com.hashjosh.insurance.dto.insurance.InsuranceSyncItem;
 import com.hashjosh.insurance.entity.Insurance;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -12,14 +19,51 @@ import java.util.UUID;
 @Repository
 public interface InsuranceRepository extends JpaRepository<Insurance, UUID> {
 
+    // List views join the batch and the inverse one-to-ones instead of a query per row
+    @EntityGraph(attributePaths = {"batch", "verification", "policy", "claim", "inspection"})
+    @Override
+    List<Insurance> findAll();
+
+    @EntityGraph(attributePaths = {"batch", "verification", "policy", "claim", "inspection"})
     List<Insurance> findByBatch_ApplicationTypeId(UUID batchApplicationTypeId);
 
     Optional<Insurance> findBySubmissionId(UUID submissionId);
 
+    boolean existsBySubmissionId(UUID submissionId);
+
+    @Query("SELECT i.submissionId FROM Insurance i WHERE i.submissionId IN :submissionIds")
+    List<UUID> findExistingSubmissionIds(@Param("submissionIds") Collection<UUID> submissionIds);
+
+    @EntityGraph(attributePaths = {"batch", "verification", "policy", "claim", "inspection"})
     List<Insurance> findByVerificationIsNotNull();
 
+    @EntityGraph(attributePaths = {"batch", "verification", "policy", "claim", "inspection"})
     List<Insurance> findByFarmerId(UUID userId);
 
+    // A projection: the eager batch and the inverse one-to-ones would cost a query per row
+    @Query("""
+        SELECT new com.hashjosh.insurance.dto.insurance.InsuranceSyncItem(
+            i.id, i.submissionId, i.applicationTypeName, i.currentStatus, i.updatedAt)
+        FROM Insurance i
+        WHERE i.farmerId = :farmerId
+          AND (i.updatedAt > :fromAt OR (i.updatedAt = :fromAt AND i.id > :fromId))
+          AND i.updatedAt <= :until
+        ORDER BY i.updatedAt, i.id
+    """)
+    List<InsuranceSyncItem> findChangedSince(
+            @Param("farmerId") UUID farmerId,
+            @Param("fromAt") LocalDateTime fromAt,
+            @Param("fromId") UUID fromId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
+
+    // Rows written before updated_at was maintained
+    @Modifying
+    @Query("UPDATE Insurance i SET i.updatedAt = COALESCE(i.createdAt, :now) WHERE i.updatedAt IS NULL")
+    int backfillUpdatedAt(@Param("now") LocalDateTime now);
+
+    @EntityGraph(attributePaths = {"batch", "verification", "policy", "claim", "inspection"})
     List<Insurance> findByCurrentStatus(com.hashjosh.constant.pcic.enums.InsuranceStatus status);
 
     @Query("SELECT i.currentStatus as status, COUNT(i) as count FROM Insurance i GROUP BY i.currentStatus")
@@ -1,11 +1,13 @@
 package com.hashjosh.insurance.repository;
 
 import com.hashjosh.insurance.entity.Policy;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +21,17 @@ public interface PolicyRepository extends JpaRepository<Policy, UUID> {
     @Query("SELECT p FROM Policy p WHERE p.policyNumber = :policyNumber")
     Optional<Policy> findByPolicyNumber(@Param("policyNumber") String policyNumber);
 
+    @Query("""
+        SELECT p.policyNumber FROM Policy p
+        WHERE p.policyNumber IS NOT NULL
+          AND (:after IS NULL OR p.policyNumber > :after)
+        ORDER BY p.policyNumber
+    """)
+    List<String> findPolicyNumbersAfter(@Param("after") String after, Pageable pageable);
+
+    @Query("SELECT p.policyNumber FROM Policy p WHERE p.policyNumber IN :policyNumbers")
+    List<String> findExistingPolicyNumbers(@Param("policyNumbers") Collection<String> policyNumbers);
+
     @Query("SELECT p FROM Policy p WHERE p.insurance.farmerId = :farmerId")
     List<Policy> findByFarmerId(@Param("farmerId") UUID farmerId);
 
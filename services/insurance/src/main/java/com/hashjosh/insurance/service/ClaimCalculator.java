@@ -0,0 +1,96 @@
+package com.hashjosh.insurance.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hashjosh.insurance.exception.ApiException;
+import com.hashjosh.insurance.rates.Crop;
+import com.hashjosh.insurance.rates.CropStage;
+import com.hashjosh.insurance.rates.RateTable;
+import com.hashjosh.insurance.rates.Variety;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * PCIC indemnity formulas. Pure functions of the inspection data and a rate
+ * table, so claims can be recomputed in bulk and in parallel.
+ */
+@Slf4j
+final class ClaimCalculator {
+
+    // Marks claim field values written from an AI result
+    static final String AI_RESULT_ID = "ai_result_id";
+    static final String AI_SEVERITY = "severity_percentage";
+
+    private ClaimCalculator() {
+    }
+
+    /** Amount of cover × share of the area damaged × stage adjustment. */
+    static double manual(JsonNode inspectionValues, RateTable rates) {
+        double areaInsured = getDoubleValue(inspectionValues, "area_insured");
+        double areaDamaged = getDoubleValue(inspectionValues, "area_damaged");
+        double yieldLoss = areaDamaged / areaInsured;
+        return indemnity(inspectionValues, areaInsured, yieldLoss, rates);
+    }
+
+    /**
+     * Like {@link #manual} with the damaged share scaled by the AI severity
+     * (multiplicative model), capped at a total loss.
+     */
+    static double hybrid(JsonNode inspectionValues, double severityPercentage, RateTable rates) {
+        double areaInsured = getDoubleValue(inspectionValues, "area_insured");
+        double areaDamaged = getDoubleValue(inspectionValues, "area_damaged");
+        if (areaInsured <= 0) {
+            throw ApiException.badRequest("Area insured must be greater than zero");
+        }
+        double yieldLoss = Math.min(areaDamaged / areaInsured * (severityPercentage / 100.0), 1);
+        return indemnity(inspectionValues, areaInsured, yieldLoss, rates);
+    }
+
+    private static double indemnity(JsonNode inspectionValues, double areaInsured, double yieldLoss, RateTable rates) {
+        String cropType = getStringValue(inspectionValues, "insured_crops", "Rice");
+        String varietyPlanted = getStringValue(inspectionValues, "variety_planted", "Inbred");
+        CropStage stage = CropStage.of(getStringValue(inspectionValues, "cultivation_stage", ""));
+
+        double coveragePerHectare = rates.coveragePerHectare(Crop.of(cropType), Variety.of(varietyPlanted));
+        double totalAmountOfCover = areaInsured * coveragePerHectare;
+        double stageAdjustmentFactor = rates.stageFactor(stage);
+
+        double claimAmount = totalAmountOfCover * yieldLoss * stageAdjustmentFactor;
+        if (claimAmount < 0) {
+            throw ApiException.badRequest("Calculated claim amount cannot be negative");
+        }
+        if (claimAmount > totalAmountOfCover) {
+            log.debug("Calculated claim amount ({}) exceeds total coverage ({}), capping", claimAmount, totalAmountOfCover);
+            claimAmount = totalAmountOfCover;
+        }
+
+        log.debug("PCIC claim breakdown - Crop: {}, Variety: {}, Stage: {}, Area: {} ha, Yield Loss: {}, Coverage/ha: ₱{}, Stage Adjustment: {}, Rates: {}",
+                cropType, varietyPlanted, stage, areaInsured, yieldLoss, coveragePerHectare, stageAdjustmentFactor, rates.version());
+        return claimAmount;
+    }
+
+    private static double getDoubleValue(JsonNode node, String fieldName) {
+        JsonNode valueNode = node.get(fieldName);
+        if (valueNode == null) {
+            throw ApiException.badRequest("Required field '" + fieldName + "' not found in inspection data");
+        }
+
+        if (valueNode.isNumber()) {
+            return valueNode.asDouble();
+        } else if (valueNode.isTextual()) {
+            try {
+                return Double.parseDouble(valueNode.asText());
+            } catch (NumberFormatException e) {
+                throw ApiException.badRequest("Invalid number format for field '" + fieldName + "'");
+            }
+        } else {
+            throw ApiException.badRequest("Field '" + fieldName + "' must be a number");
+        }
+    }
+
+    private static String getStringValue(JsonNode node, String fieldName, String defaultValue) {
+        JsonNode valueNode = node.get(fieldName);
+        if (valueNode == null || valueNode.isNull()) {
+            return defaultValue;
+        }
+        return valueNode.asText(defaultValue);
+    }
+}
@@ -0,0 +1,342 @@
+package com.hashjosh.insurance.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.insurance.config.ClaimReRatingProperties;
+import com.hashjosh.insurance.dto.claim.ReRatingDiff;
+import com.hashjosh.insurance.dto.claim.ReRatingJobResponse;
+import com.hashjosh.insurance.exception.ApiException;
+import com.hashjosh.insurance.rates.RateTable;
+import com.hashjosh.insurance.rates.RateTableDefinition;
+import com.hashjosh.insurance.repository.ClaimRatingRepository;
+import com.hashjosh.insurance.repository.ClaimRatingRepository.AdjustedBackfill;
+import com.hashjosh.insurance.repository.ClaimRatingRepository.AmountUpdate;
+import com.hashjosh.insurance.repository.ClaimRatingRepository.RatingRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Recomputes every open claim with the active rate table, e.g. after PCIC
+ * publishes new rates. Claims are read in id-ordered pages; up to
+ * {@code app.claim-rerating.concurrency} pages are recomputed and written at
+ * once on virtual threads, each page as one JDBC batch in its own
+ * transaction. Claims adjusted by hand are reported and left alone.
+ * <p>
+ * Claims filed before adjustments were tracked have no flag. Their amount is
+ * recomputed with the built-in table they were filed under: if it still
+ * matches, the flag is backfilled as false and the claim re-rated; otherwise
+ * it is backfilled as true and the claim skipped. Dry runs report the same
+ * outcome without writing the flag.
+ * <p>
+ * Jobs run on the instance that started them and are kept in memory, the
+ * last {@code app.claim-rerating.retained-jobs} of them with their reports.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClaimReRatingService {
+
+    // Differences below a centavo are rounding, not a new amount
+    private static final double TOLERANCE = 0.005;
+    private static final int PROGRESS_LOG_PAGES = 20;
+    // Rates every claim was computed with before tables were versioned
+    private static final RateTable LEGACY_RATES = RateTable.compile(RateTableDefinition.builtIn());
+
+    private final ClaimRatingRepository claimRatingRepository;
+    private final RateTableService rateTableService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ClaimReRatingProperties properties;
+
+    private final Map<UUID, Job> jobs = new LinkedHashMap<>();
+
+    /** Starts a job with the table in force now. Only one job runs at a time. */
+    public ReRatingJobResponse start(boolean dryRun, String userId) {
+        Job job = new Job(dryRun, rateTableService.current(), userId);
+        synchronized (jobs) {
+            if (jobs.values().stream().anyMatch(Job::isRunning)) {
+                throw ApiException.conflict("A claim re-rating job is already running");
+            }
+            Iterator<Job> oldest = jobs.values().iterator();
+            while (jobs.size() >= Math.max(1, properties.getRetainedJobs()) && oldest.hasNext()) {
+                oldest.next();
+                oldest.remove();
+            }
+            jobs.put(job.id, job);
+        }
+
+        log.info("Starting claim re-rating {} with rate table {}{}", job.id, job.rates.version(), dryRun ? " (dry run)" : "");
+        Thread.ofVirtual().name("claim-rerating-" + job.id).start(() -> run(job));
+        return job.toResponse();
+    }
+
+    public ReRatingJobResponse get(UUID jobId) {
+        return find(jobId).toResponse();
+    }
+
+    /** Writes the job's report so far as NDJSON, one {@link ReRatingDiff} per line. */
+    public void writeReport(UUID jobId, OutputStream out) throws IOException {
+        for (ReRatingDiff diff : find(jobId).diffs) {
+            out.write(objectMapper.writeValueAsBytes(diff));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    private Job find(UUID jobId) {
+        synchronized (jobs) {
+            Job job = jobs.get(jobId);
+            if (job == null) {
+                throw ApiException.notFound("Re-rating job not found: " + jobId);
+            }
+            return job;
+        }
+    }
+
+    private void run(Job job) {
+        Semaphore inFlight = new Semaphore(Math.max(1, properties.getConcurrency()));
+        try {
+            job.total = claimRatingRepository.countOpen();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                UUID after = ClaimRatingRepository.FIRST;
+                int pages = 0;
+                List<RatingRow> page;
+                while (job.pageFailure.get() == null
+                        && !(page = claimRatingRepository.findOpenPage(after, properties.getPageSize())).isEmpty()) {
+                    after = page.getLast().claimId();
+                    inFlight.acquire();
+                    List<RatingRow> rows = page;
+                    executor.execute(() -> {
+                        try {
+                            process(job, rows);
+                        } catch (RuntimeException e) {
+                            log.error("Claim re-rating {} failed on a page of {} claims", job.id, rows.size(), e);
+                            job.pageFailure.compareAndSet(null, e);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                    if (++pages % PROGRESS_LOG_PAGES == 0) {
+                        log.info("Claim re-rating {}: {}/{} claims, {} changed, {}/s",
+                                job.id, job.scanned.sum(), job.total, job.changed.sum(), Math.round(job.throughput()));
+                    }
+                }
+            }
+            RuntimeException pageFailure = job.pageFailure.get();
+            if (pageFailure != null) {
+                job.finish(ReRatingJobResponse.Status.FAILED, "A page failed: " + pageFailure.getMessage());
+            } else {
+                job.finish(ReRatingJobResponse.Status.COMPLETED, null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(ReRatingJobResponse.Status.FAILED, "Re-rating was interrupted");
+        } catch (RuntimeException e) {
+            log.error("Claim re-rating {} failed", job.id, e);
+            job.finish(ReRatingJobResponse.Status.FAILED, e.getMessage());
+        }
+        log.info("Claim re-rating {} {}: {} claims, {} changed, {} skipped, {} failed, {} conflicts, {}/s",
+                job.id, job.status, job.scanned.sum(), job.changed.sum(), job.skipped.sum(),
+                job.failed.sum(), job.conflicts.sum(), Math.round(job.throughput()));
+    }
+
+    private void process(Job job, List<RatingRow> page) {
+        List<RatingRow> changedRows = new ArrayList<>();
+        List<AmountUpdate> updates = new ArrayList<>();
+        List<AdjustedBackfill> backfills = new ArrayList<>();
+
+        for (RatingRow row : page) {
+            if (row.manuallyAdjusted() == null) {
+                AdjustedBackfill backfill = resolveLegacy(row);
+                if (backfill == null) {
+                    job.skipped.increment();
+                    job.diffs.add(diff(row, ReRatingDiff.Outcome.SKIPPED, null,
+                            "Filed before manual adjustments were tracked and cannot be recomputed with the rates it was filed under"));
+                    continue;
+                }
+                backfills.add(backfill);
+                if (backfill.adjusted()) {
+                    job.skipped.increment();
+                    job.diffs.add(diff(row, ReRatingDiff.Outcome.SKIPPED, null,
+                            "Amount differs from the rates it was filed under; marked as adjusted by hand"));
+                    continue;
+                }
+            } else if (row.manuallyAdjusted()) {
+                job.skipped.increment();
+                job.diffs.add(diff(row, ReRatingDiff.Outcome.SKIPPED, null, "Amount was adjusted by hand"));
+                continue;
+            }
+            try {
+                double amount = recompute(row, job.rates);
+                if (row.claimAmount() != null && Math.abs(amount - row.claimAmount()) < TOLERANCE) {
+                    job.unchanged.increment();
+                } else {
+                    changedRows.add(row);
+                    updates.add(new AmountUpdate(row.claimId(), row.claimAmount(), amount));
+                }
+            } catch (RuntimeException e) {
+                if (!(e instanceof ApiException)) {
+                    log.warn("Claim re-rating {} could not recompute claim {}", job.id, row.claimId(), e);
+                }
+                job.failed.increment();
+                job.diffs.add(diff(row, ReRatingDiff.Outcome.FAILED, null, e.getMessage()));
+            }
+        }
+
+        try {
+            int[] counts = job.dryRun || (updates.isEmpty() && backfills.isEmpty())
+                    ? null
+                    : transactionTemplate.execute(status -> {
+                        if (!backfills.isEmpty()) {
+                            claimRatingRepository.backfillAdjusted(backfills);
+                        }
+                        return claimRatingRepository.updateAmounts(updates, job.rates.version());
+                    });
+            for (int i = 0; i < updates.size(); i++) {
+                RatingRow row = changedRows.get(i);
+                double amount = updates.get(i).newAmount();
+                if (counts != null && counts[i] == 0) {
+                    job.conflicts.increment();
+                    job.diffs.add(diff(row, ReRatingDiff.Outcome.CONFLICT, amount, "Claim changed while it was re-rated"));
+                } else {
+                    job.changed.increment();
+                    job.diffs.add(diff(row, ReRatingDiff.Outcome.CHANGED, amount, null));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Claim re-rating {} could not write a page of {} claims", job.id, updates.size(), e);
+            job.failed.add(updates.size());
+            changedRows.forEach(row -> job.diffs.add(diff(row, ReRatingDiff.Outcome.FAILED, null,
+                    "Writing the new amount failed: " + e.getMessage())));
+        }
+        job.scanned.add(page.size());
+    }
+
+    /**
+     * Decides the flag of a claim filed before adjustments were tracked by
+     * comparing its amount with the built-in rates. Null if that cannot be told.
+     */
+    private static AdjustedBackfill resolveLegacy(RatingRow row) {
+        if (row.claimAmount() == null) {
+            return null;
+        }
+        double filedAmount;
+        try {
+            filedAmount = recompute(row, LEGACY_RATES);
+        } catch (RuntimeException e) {
+            return null;
+        }
+        boolean adjusted = Math.abs(filedAmount - row.claimAmount()) >= TOLERANCE;
+        return new AdjustedBackfill(row.claimId(), row.claimAmount(), adjusted);
+    }
+
+    private static double recompute(RatingRow row, RateTable rates) {
+        if (row.inspectionFieldValues() == null) {
+            throw ApiException.badRequest("Inspection data is missing");
+        }
+
+        double amount;
+        JsonNode claimValues = row.claimFieldValues();
+        if (claimValues != null && claimValues.hasNonNull(ClaimCalculator.AI_RESULT_ID)) {
+            JsonNode severity = claimValues.get(ClaimCalculator.AI_SEVERITY);
+            if (severity == null || !severity.isNumber()) {
+                throw ApiException.badRequest("AI claim has no severity to recompute with");
+            }
+            amount = ClaimCalculator.hybrid(row.inspectionFieldValues(), severity.asDouble(), rates);
+        } else {
+            amount = ClaimCalculator.manual(row.inspectionFieldValues(), rates);
+        }
+
+        if (!Double.isFinite(amount)) {
+            throw ApiException.badRequest("Computed amount is not a number; check area_insured");
+        }
+        return amount;
+    }
+
+    private static ReRatingDiff diff(RatingRow row, ReRatingDiff.Outcome outcome, Double newAmount, String reason) {
+        return new ReRatingDiff(row.claimId(), row.insuranceId(), outcome, row.claimAmount(), newAmount,
+                row.rateTableVersion(), reason);
+    }
+
+    private static final class Job {
+        final UUID id = UUID.randomUUID();
+        final boolean dryRun;
+        final RateTable rates;
+        final String startedBy;
+        final LocalDateTime startedAt = LocalDateTime.now();
+        final long startNanos = System.nanoTime();
+
+        final LongAdder scanned = new LongAdder();
+        final LongAdder changed = new LongAdder();
+        final LongAdder unchanged = new LongAdder();
+        final LongAdder skipped = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder conflicts = new LongAdder();
+        final Queue<ReRatingDiff> diffs = new ConcurrentLinkedQueue<>();
+        // First page task that failed outright; stops the job from reading further pages
+        final AtomicReference<RuntimeException> pageFailure = new AtomicReference<>();
+
+        volatile long total;
+        volatile ReRatingJobResponse.Status status = ReRatingJobResponse.Status.RUNNING;
+        volatile LocalDateTime finishedAt;
+        volatile long elapsedNanos;
+        volatile String error;
+
+        Job(boolean dryRun, RateTable rates, String startedBy) {
+            this.dryRun = dryRun;
+            this.rates = rates;
+            this.startedBy = startedBy;
+        }
+
+        boolean isRunning() {
+            return status == ReRatingJobResponse.Status.RUNNING;
+        }
+
+        void finish(ReRatingJobResponse.Status finalStatus, String failure) {
+            elapsedNanos = System.nanoTime() - startNanos;
+            finishedAt = LocalDateTime.now();
+            error = failure;
+            status = finalStatus;
+        }
+
+        double throughput() {
+            long nanos = isRunning() ? System.nanoTime() - startNanos : elapsedNanos;
+            return nanos > 0 ? scanned.sum() / (nanos / (double) TimeUnit.SECONDS.toNanos(1)) : 0;
+        }
+
+        ReRatingJobResponse toResponse() {
+            return ReRatingJobResponse.builder()
+                    .id(id)
+                    .status(status)
+                    .dryRun(dryRun)
+                    .rateTableVersion(rates.version())
+                    .startedBy(startedBy)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .total(total)
+                    .scanned(scanned.sum())
+                    .changed(changed.sum())
+                    .unchanged(unchanged.sum())
+                    .skipped(skipped.sum())
+                    .failed(failed.sum())
+                    .conflicts(conflicts.sum())
+                    .claimsPerSecond(throughput())
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -16,6 +16,7 @@ import com.hashjosh.insurance.entity.Insurance;
 import com.hashjosh.insurance.exception.ApiException;
 import com.hashjosh.insurance.kafka.KafkaProducer;
 import com.hashjosh.insurance.mapper.ClaimMapper;
+import com.hashjosh.insurance.rates.RateTable;
 import com.hashjosh.insurance.repository.ClaimRepository;
 import com.hashjosh.insurance.repository.InsuranceRepository;
 import com.hashjosh.kafkacommon.application.ClaimProcessedEvent;
@@ -34,6 +35,10 @@ import java.util.UUID;
 @RequiredArgsConstructor
 @Slf4j
 public class ClaimService {
+    // payoutStatus of claim events; summaries show CLAIMED_ISSUED from the first one on
+    private static final String PAYOUT_PENDING = "PENDING";
+    private static final String PAYOUT_FINALIZED = "FINALIZED";
+
     private final ClaimRepository claimRepository;
     private final ClaimMapper claimMapper;
     private final InsuranceRepository insuranceRepository;
@@ -41,6 +46,7 @@ public class ClaimService {
     private final DocumentServiceClient documentServiceClient;
     private final ObjectMapper objectMapper;
     private final KafkaProducer kafkaProducer;
+    private final RateTableService rateTableService;
 
     @Transactional
     public ClaimResponse createClaimManually(ClaimRequest request, List<MultipartFile> supportingFiles, String userId) {
@@ -51,13 +57,16 @@ public class ClaimService {
 
         List<UUID> documentIds = uploadSupportingFiles(supportingFiles, userId);
 
-        Double claimAmount = calculateClaimAmount(insurance, request.getFieldValues());
+        RateTable rates = rateTableService.current();
+        Double claimAmount = calculateClaimAmount(insurance, rates);
 
         Claim claim = Claim.builder()
                 .insurance(insurance)
                 .filedAt(LocalDateTime.now())
                 .damageAssessment(request.getDamageAssessment())
                 .claimAmount(claimAmount)
+                .rateTableVersion(rates.version())
+                .manuallyAdjusted(false)
                 .isFinalized(request.isFinalized())
                 .supportingFiles(documentIds)
                 .fieldValues(request.getFieldValues())
@@ -68,18 +77,7 @@ public class ClaimService {
         insurance.setCurrentStatus(InsuranceStatus.CLAIMED_ISSUED);
         insuranceRepository.save(insurance);
 
-        if(request.isFinalized()){
-            ClaimProcessedEvent event = ClaimProcessedEvent.builder()
-                    .submissionId(insurance.getSubmissionId())
-                    .userId(insurance.getFarmerId())
-                    .claimId(claim.getId())
-                    .claimAmount(claimAmount)
-                    .payoutStatus("FINALIZED")
-                    .processedAt(LocalDateTime.now())
-                    .build();
-
-            kafkaProducer.publishEvent("application-claim",event);
-        }
+        publishClaimEvent(claim, request.isFinalized() ? PAYOUT_FINALIZED : PAYOUT_PENDING);
 
         return claimMapper.toResponse(claim);
     }
@@ -97,13 +95,16 @@ public class ClaimService {
         List<UUID> documentIds = uploadSupportingFiles(supportingFiles, userId);
 
         JsonNode aiFieldValues = createAIFieldValues(aiResult);
-        Double claimAmount = calculateClaimAmountFromAI(insurance, aiResult);
+        RateTable rates = rateTableService.current();
+        Double claimAmount = calculateClaimAmountFromAI(insurance, aiResult, rates);
 
         Claim claim = Claim.builder()
                 .insurance(insurance)
                 .filedAt(LocalDateTime.now())
                 .damageAssessment(aiResult.getPrediction())
                 .claimAmount(claimAmount)
+                .rateTableVersion(rates.version())
+                .manuallyAdjusted(false)
                 .isFinalized(false)
                 .supportingFiles(documentIds)
                 .fieldValues(aiFieldValues)
@@ -115,6 +116,8 @@ public class ClaimService {
         insurance.setCurrentStatus(InsuranceStatus.CLAIMED_ISSUED);
         insuranceRepository.save(insurance);
 
+        publishClaimEvent(claim, PAYOUT_PENDING);
+
         return claimMapper.toResponse(claim);
     }
 
@@ -156,6 +159,7 @@ public class ClaimService {
                 throw ApiException.badRequest("Claim amount must be greater than 0");
             }
             existingClaim.setClaimAmount(request.getClaimAmount());
+            existingClaim.setManuallyAdjusted(true);
             log.info("Updated claim amount from {} to {}", existingClaim.getClaimAmount(), request.getClaimAmount());
             hasUpdates = true;
         }
@@ -189,16 +193,7 @@ public class ClaimService {
             existingClaim.setFinalized(request.getIsFinalized());
             log.info("Updated isFinalized to {}", request.getIsFinalized());
 
-            ClaimProcessedEvent event = ClaimProcessedEvent.builder()
-                    .submissionId(existingClaim.getInsurance().getSubmissionId())
-                    .userId(existingClaim.getInsurance().getFarmerId())
-                    .claimId(existingClaim.getId())
-                    .payoutStatus("FINALIZED")
-                    .claimAmount(request.getClaimAmount() != null ? request.getClaimAmount() : existingClaim.getClaimAmount())
-                    .processedAt(LocalDateTime.now())
-                    .build();
-
-            kafkaProducer.publishEvent("application-claim",event);
+            publishClaimEvent(existingClaim, PAYOUT_FINALIZED);
 
             hasUpdates = true;
         }
@@ -224,6 +219,18 @@ public class ClaimService {
         log.info("Claim deleted successfully with ID: {}", claimId);
     }
 
+    private void publishClaimEvent(Claim claim, String payoutStatus) {
+        Insurance insurance = claim.getInsurance();
+        kafkaProducer.publishEvent("application-claim", ClaimProcessedEvent.builder()
+                .submissionId(insurance.getSubmissionId())
+                .userId(insurance.getFarmerId())
+                .claimId(claim.getId())
+                .claimAmount(claim.getClaimAmount())
+                .payoutStatus(payoutStatus)
+                .processedAt(LocalDateTime.now())
+                .build());
+    }
+
     private Insurance getInsuranceById(UUID insuranceId) {
         return insuranceRepository.findById(insuranceId)
                 .orElseThrow(() -> ApiException.notFound("Insurance not found with ID: " + insuranceId));
@@ -265,49 +272,14 @@ public class ClaimService {
         return documentIds;
     }
 
-    private Double calculateClaimAmount(Insurance insurance, JsonNode fieldValues) {
+    private Double calculateClaimAmount(Insurance insurance, RateTable rates) {
         try {
             if (insurance.getInspection() == null || insurance.getInspection().getFieldValues() == null) {
                 throw ApiException.badRequest("Insurance inspection data is required for claim calculation");
             }
 
-            JsonNode inspectionValues = insurance.getInspection().getFieldValues();
-
-            // Get area values from inspection
-            double areaInsured = getDoubleValue(inspectionValues, "area_insured");
-            double areaDamaged = getDoubleValue(inspectionValues, "area_damaged");
-
-            // Calculate yield loss percentage based on damaged area
-            double yieldLossPercentage = areaDamaged / areaInsured;
-
-            // Get crop type and determine coverage amount per hectare based on PCIC rates
-            String cropType = getStringValue(inspectionValues, "insured_crops", "Rice"); // Default to Rice
-            String varietyPlanted = getStringValue(inspectionValues, "variety_planted", "Inbred"); // Default to Inbred
-
-            // Calculate amount of cover based on PCIC rates per hectare
-            double coveragePerHectare = getCoveragePerHectare(cropType, varietyPlanted);
-            double totalAmountOfCover = areaInsured * coveragePerHectare;
-
-            // Get cultivation stage adjustment factor
-            double stageAdjustmentFactor = getStageAdjustmentFactor(inspectionValues);
-
-            // PCIC Formula: Indemnity = (Amount of Cover × % Yield Loss × Adjustment Factor based on crop stage)
-            double claimAmount = totalAmountOfCover * yieldLossPercentage * stageAdjustmentFactor;
-
-            // Validate claim amount
-            if (claimAmount < 0) {
-                throw ApiException.badRequest("Calculated claim amount cannot be negative");
-            }
-
-            if (claimAmount > totalAmountOfCover) {
-                log.warn("Calculated claim amount ({}) exceeds total coverage ({}). Capping at total coverage.",
-                        claimAmount, totalAmountOfCover);
-                claimAmount = totalAmountOfCover;
-            }
-
-            log.info("PCIC Manual Claim Calculation - Crop: {}, Variety: {}, Area: {} ha, Damaged: {} ha, Yield Loss: {}%, Coverage/ha: ₱{}, Total Cover: ₱{}, Stage Adjustment: {}%, Final Claim: ₱{}",
-                    cropType, varietyPlanted, areaInsured, areaDamaged, yieldLossPercentage * 100, coveragePerHectare, totalAmountOfCover, stageAdjustmentFactor * 100, claimAmount);
-
+            double claimAmount = ClaimCalculator.manual(insurance.getInspection().getFieldValues(), rates);
+            log.info("Manual claim amount ₱{} computed with rate table {}", claimAmount, rates.version());
             return claimAmount;
 
         } catch (Exception e) {
@@ -316,71 +288,15 @@ public class ClaimService {
         }
     }
 
-    private Double calculateClaimAmountFromAI(Insurance insurance, AIResultDTO aiResult) {
+    private Double calculateClaimAmountFromAI(Insurance insurance, AIResultDTO aiResult, RateTable rates) {
         try {
             if (insurance.getInspection() == null || insurance.getInspection().getFieldValues() == null) {
                 throw ApiException.badRequest("Insurance inspection data is required for claim calculation");
             }
 
-            JsonNode inspectionValues = insurance.getInspection().getFieldValues();
-
-            // Manual inspection data
-            double areaInsured = getDoubleValue(inspectionValues, "area_insured");
-            double areaDamaged = getDoubleValue(inspectionValues, "area_damaged");
-
-            if (areaInsured <= 0) {
-                throw ApiException.badRequest("Area insured must be greater than zero");
-            }
-
-            // AI severity percentage
-            double aiSeverity = aiResult.getSeverity() / 100.0; // convert to decimal
-
-            // Option 1: Multiplicative model
-            // Hybrid Yield Loss = (areaDamaged / areaInsured) × (aiSeverity)
-            double manualYieldLoss = areaDamaged / areaInsured;
-            double hybridYieldLoss = manualYieldLoss * aiSeverity;
-
-            // Ensure it does not exceed 100%
-            if (hybridYieldLoss > 1) hybridYieldLoss = 1;
-
-            // Insurance coverage computation
-            String cropType = getStringValue(inspectionValues, "insured_crops", "Rice");
-            String varietyPlanted = getStringValue(inspectionValues, "variety_planted", "Inbred");
-
-            double coveragePerHectare = getCoveragePerHectare(cropType, varietyPlanted);
-            double totalAmountOfCover = areaInsured * coveragePerHectare;
-
-            // Stage adjustment factor
-            double stageAdjustmentFactor = getStageAdjustmentFactor(inspectionValues);
-
-            // PCIC Indemnity Formula
-            double claimAmount = totalAmountOfCover * hybridYieldLoss * stageAdjustmentFactor;
-
-            // Validate claim amount
-            if (claimAmount < 0) {
-                throw ApiException.badRequest("Calculated claim amount cannot be negative");
-            }
-
-            if (claimAmount > totalAmountOfCover) {
-                log.warn("Calculated claim amount ({}) exceeds total coverage ({}). Capping at total coverage.",
-                        claimAmount, totalAmountOfCover);
-                claimAmount = totalAmountOfCover;
-            }
-
-            log.info("PCIC Hybrid Claim Calculation (Option 1 - Multiplicative) - Crop: {}, Variety: {}, "
-                            + "Area Insured: {} ha, Area Damaged: {} ha, Manual Loss: {}%, AI Severity: {}%, "
-                            + "Hybrid Loss: {}%, Coverage/ha: ₱{}, Total Cover: ₱{}, Stage Adjustment: {}%, Final Claim: ₱{}",
-                    cropType, varietyPlanted,
-                    areaInsured, areaDamaged,
-                    manualYieldLoss * 100,
-                    aiResult.getSeverity(),
-                    hybridYieldLoss * 100,
-                    coveragePerHectare,
-                    totalAmountOfCover,
-                    stageAdjustmentFactor * 100,
-                    claimAmount
-            );
-
+            double claimAmount = ClaimCalculator.hybrid(insurance.getInspection().getFieldValues(), aiResult.getSeverity(), rates);
+            log.info("AI claim amount ₱{} computed with rate table {} (AI severity {}%)",
+                    claimAmount, rates.version(), aiResult.getSeverity());
             return claimAmount;
 
         } catch (Exception e) {
@@ -393,9 +309,9 @@ public class ClaimService {
     private JsonNode createAIFieldValues(AIResultDTO aiResult) {
         try {
             var fieldValues = objectMapper.createObjectNode();
-            fieldValues.put("ai_result_id", aiResult.getId());
+            fieldValues.put(ClaimCalculator.AI_RESULT_ID, aiResult.getId());
             fieldValues.put("disease_type", aiResult.getResult());
-            fieldValues.put("severity_percentage", aiResult.getSeverity());
+            fieldValues.put(ClaimCalculator.AI_SEVERITY, aiResult.getSeverity());
             fieldValues.put("confidence", aiResult.getConfidence());
             fieldValues.put("accuracy", aiResult.getAccuracy());
             fieldValues.put("lesion_area", aiResult.getLesion_area());
@@ -409,108 +325,6 @@ public class ClaimService {
         }
     }
 
-    private double getDoubleValue(JsonNode node, String fieldName) {
-        JsonNode valueNode = node.get(fieldName);
-        if (valueNode == null) {
-            throw ApiException.badRequest("Required field '" + fieldName + "' not found in inspection data");
-        }
-
-        if (valueNode.isNumber()) {
-            return valueNode.asDouble();
-        } else if (valueNode.isTextual()) {
-            try {
-                return Double.parseDouble(valueNode.asText());
-            } catch (NumberFormatException e) {
-                throw ApiException.badRequest("Invalid number format for field '" + fieldName + "'");
-            }
-        } else {
-            throw ApiException.badRequest("Field '" + fieldName + "' must be a number");
-        }
-    }
-
-    private String getStringValue(JsonNode node, String fieldName, String defaultValue) {
-        JsonNode valueNode = node.get(fieldName);
-        if (valueNode == null || valueNode.isNull()) {
-            return defaultValue;
-        }
-        return valueNode.asText(defaultValue);
-    }
-
-    private double getCoveragePerHectare(String cropType, String varietyPlanted) {
-        // PCIC Coverage rates per hectare (Self-Financed rates)
-        // Based on the rates you provided
-        if ("Rice".equalsIgnoreCase(cropType)) {
-            String variety = varietyPlanted.toLowerCase();
-            if (variety.contains("inbred")) {
-                if (variety.contains("seed production")) {
-                    return 50000.0; // Inbred (Seed Production)
-                } else {
-                    return 41000.0; // Inbred (Commercial)
-                }
-            } else if (variety.contains("hybrid")) {
-                if (variety.contains("seed production")) {
-                    return 120000.0; // Hybrid (Seed Production A×R)
-                } else {
-                    return 50000.0; // Hybrid (Commercial F1)
-                }
-            } else {
-                return 41000.0; // Default to Inbred Commercial
-            }
-        }
-
-        // Default coverage for other crops (you can expand this based on your needs)
-        return 41000.0;
-    }
-
-    private double getStageAdjustmentFactor(JsonNode inspectionValues) {
-        try {
-            // Get cultivation stage from inspection data
-            String cultivationStage = getStringValue(inspectionValues, "cultivation_stage", "");
-
-            if (cultivationStage.isEmpty()) {
-                log.warn("Cultivation stage not found, using default adjustment factor");
-                return 0.80; // Default adjustment factor
-            }
-
-            // Parse cultivation stage and determine adjustment factor
-            // Based on PCIC guidelines - earlier stages get lower payouts
-            String stage = cultivationStage.toLowerCase();
-
-            if (stage.contains("1 month") || stage.contains("early") || stage.contains("seedling")) {
-                return 0.60; // Early stage - 60% adjustment
-            } else if (stage.contains("2 month") || stage.contains("vegetative")) {
-                return 0.70; // Vegetative stage - 70% adjustment
-            } else if (stage.contains("3 month") || stage.contains("reproductive") || stage.contains("flowering")) {
-                return 0.85; // Reproductive stage - 85% adjustment
-            } else if (stage.contains("4 month") || stage.contains("5 month") || stage.contains("maturity") || stage.contains("harvest")) {
-                return 1.0; // Maturity/Harvest stage - 100% adjustment
-            }
-
-            // Try to extract number of months for more precise calculation
-            if (stage.matches(".*\\d+.*month.*")) {
-                try {
-                    String monthStr = stage.replaceAll("[^\\d]", "");
-                    if (!monthStr.isEmpty()) {
-                        int months = Integer.parseInt(monthStr);
-                        if (months <= 1) return 0.60;
-                        else if (months == 2) return 0.70;
-                        else if (months == 3) return 0.85;
-                        else return 1.0; // months >= 4
-                    }
-                } catch (NumberFormatException e) {
-                    log.warn("Could not parse month from cultivation stage: {}", cultivationStage);
-                }
-            }
-
-            // Default adjustment factor if stage cannot be determined
-            return 0.80;
-
-        } catch (Exception e) {
-            log.error("Error determining stage adjustment factor", e);
-            return 0.80; // Safe default
-        }
-    }
-
     private String getCocNumberFromInspection(JsonNode inspectionValues) {
         log.debug("Checking for COC/Policy number in inspection field values: {}", inspectionValues);
 
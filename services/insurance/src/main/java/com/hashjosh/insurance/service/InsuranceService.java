@@ -2,6 +2,7 @@ package com.hashjosh.insurance.service;
 
 import com.hashjosh.insurance.config.CustomUserDetails;
 import com.hashjosh.insurance.dto.InsuranceFilter;
+import com.hashjosh.insurance.dto.insurance.InsuranceExpand;
 import com.hashjosh.insurance.dto.insurance.InsuranceRequestDTO;
 import com.hashjosh.insurance.dto.insurance.InsuranceResponse;
 import com.hashjosh.insurance.dto.insurance.InsuranceStatusStatisticDTO;
@@ -11,12 +12,14 @@ import com.hashjosh.insurance.mapper.InsuranceMapper;
 import com.hashjosh.insurance.repository.InsuranceRepository;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -25,47 +28,44 @@ public class InsuranceService {
 
     private final InsuranceRepository insuranceRepository;
     private final InsuranceMapper insuranceMapper;
+    private final InsuranceSyncService insuranceSyncService;
     @Transactional(readOnly = true)
     public List<InsuranceResponse> findAll(
+            Set<InsuranceExpand> expand
     ) {
-        return insuranceRepository.findAll().stream()
-                .map(insuranceMapper::toInsuranceResponse)
-                .toList();
+        return insuranceMapper.toInsuranceResponses(insuranceRepository.findAll(), expand, currentUserId());
     }
 
     @Transactional(readOnly = true)
-    public List<InsuranceResponse> findAllVerified() {
-        return insuranceRepository.findByVerificationIsNotNull().stream()
-                .map(insuranceMapper::toInsuranceResponse)
-                .toList();
+    public List<InsuranceResponse> findAllVerified(Set<InsuranceExpand> expand) {
+        return insuranceMapper.toInsuranceResponses(insuranceRepository.findByVerificationIsNotNull(), expand, currentUserId());
     }
 
     @Transactional(readOnly = true)
     public InsuranceResponse findById(
-            UUID insuranceId
+            UUID insuranceId,
+            Set<InsuranceExpand> expand
     ) {
         Insurance insurance = insuranceRepository.findById(insuranceId)
                 .orElseThrow(() -> ApiException.notFound("Insurance not found"));
 
-        return insuranceMapper.toInsuranceResponse(insurance);
+        return insuranceMapper.toInsuranceResponses(List.of(insurance), expand, currentUserId()).get(0);
     }
 
     @Transactional(readOnly = true)
-    public InsuranceResponse findByApplicationId(UUID applicationId) {
+    public InsuranceResponse findByApplicationId(UUID applicationId, Set<InsuranceExpand> expand) {
         Insurance insurance = insuranceRepository.findBySubmissionId(applicationId)
                 .orElseThrow(() -> ApiException.notFound("Insurance not found"));
 
-        return insuranceMapper.toInsuranceResponse(insurance);
+        return insuranceMapper.toInsuranceResponses(List.of(insurance), expand, currentUserId()).get(0);
     }
 
     @Transactional(readOnly = true)
-    public List<InsuranceResponse> findByApplicationTypeId(UUID applicationTypeId) {
+    public List<InsuranceResponse> findByApplicationTypeId(UUID applicationTypeId, Set<InsuranceExpand> expand) {
 
         List<Insurance> insurances = insuranceRepository.findByBatch_ApplicationTypeId(applicationTypeId);
 
-        return insurances.stream()
-                .map(insuranceMapper::toInsuranceResponse)
-                .toList();
+        return insuranceMapper.toInsuranceResponses(insurances, expand, currentUserId());
     }
 
     @Transactional(propagation = Propagation.REQUIRED)
@@ -73,30 +73,28 @@ public class InsuranceService {
         return null;
     }
 
-    @Transactional(readOnly = true)
+    @Transactional
     public void delete(UUID insuranceId) {
         Insurance insurance = insuranceRepository.findById(insuranceId)
                 .orElseThrow(() -> ApiException.notFound("Insurance not found"));
 
         insuranceRepository.delete(insurance);
+        insuranceSyncService.recordDeletion(insurance);
     }
 
-    public List<InsuranceResponse> findByCurrentUser() {
+    @Transactional(readOnly = true)
+    public List<InsuranceResponse> findByCurrentUser(Set<InsuranceExpand> expand) {
         CustomUserDetails currentUser = (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
         List<Insurance> insurances = insuranceRepository.findByFarmerId(currentUser.getUserId());
 
-        return insurances.stream()
-                .map(insuranceMapper::toInsuranceResponse)
-                .toList();
+        return insuranceMapper.toInsuranceResponses(insurances, expand, currentUser.getUserId());
     }
 
     @Transactional(readOnly = true)
-    public List<InsuranceResponse> findByStatus(com.hashjosh.constant.pcic.enums.InsuranceStatus status) {
+    public List<InsuranceResponse> findByStatus(com.hashjosh.constant.pcic.enums.InsuranceStatus status, Set<InsuranceExpand> expand) {
         List<Insurance> insurances = insuranceRepository.findByCurrentStatus(status);
-        return insurances.stream()
-                .map(insuranceMapper::toInsuranceResponse)
-                .toList();
+        return insuranceMapper.toInsuranceResponses(insurances, expand, currentUserId());
     }
 
     @Transactional(readOnly = true)
@@ -112,4 +110,13 @@ public class InsuranceService {
                 .map(insurance -> insurance.getCurrentStatus().name())
                 .orElseThrow(() -> ApiException.notFound("Insurance not found"));
     }
+
+    // Internal callers may come in without an authenticated user
+    private UUID currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+            return userDetails.getUserId();
+        }
+        return null;
+    }
 }
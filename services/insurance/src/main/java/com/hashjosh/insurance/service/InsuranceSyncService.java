@@ -0,0 +1,103 @@
+package com.hashjosh.insurance.service;
+
+import com.hashjosh.constant.sync.SyncHorizon;
+import com.hashjosh.constant.sync.SyncPage;
+import com.hashjosh.constant.sync.SyncTombstone;
+import com.hashjosh.constant.sync.SyncTombstoneRepository;
+import com.hashjosh.constant.sync.SyncWatermark;
+import com.hashjosh.constant.sync.SyncWindow;
+import com.hashjosh.insurance.config.CustomUserDetails;
+import com.hashjosh.insurance.dto.insurance.InsuranceSyncItem;
+import com.hashjosh.insurance.entity.Insurance;
+import com.hashjosh.insurance.exception.ApiException;
+import com.hashjosh.insurance.repository.InsuranceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delta sync of the current farmer's insurance statuses for the mobile app.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InsuranceSyncService {
+
+    private final InsuranceRepository insuranceRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public SyncPage<InsuranceSyncItem> sync(String since, Integer limit) {
+        SyncWindow window;
+        try {
+            window = SyncWindow.open(since, limit, SyncHorizon.current(jdbcTemplate));
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest(e.getMessage());
+        }
+
+        UUID farmerId = currentUserId();
+        SyncWatermark from = window.from();
+        PageRequest fetch = PageRequest.of(0, window.fetchSize());
+
+        List<InsuranceSyncItem> changed = insuranceRepository.findChangedSince(
+                farmerId, from.changedAt(), from.id(), window.until(), fetch);
+        List<SyncWatermark> deleted = syncTombstoneRepository.findSince(
+                        farmerId, from.changedAt(), from.id(), window.until(), fetch)
+                .stream()
+                .map(SyncTombstone::watermark)
+                .toList();
+
+        return window.page(
+                changed,
+                item -> new SyncWatermark(item.getUpdatedAt(), item.getInsuranceId()),
+                deleted,
+                page -> page
+        );
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Insurance insurance) {
+        if (insurance.getFarmerId() == null) {
+            return;
+        }
+        syncTombstoneRepository.save(SyncTombstone.builder()
+                .entityId(insurance.getId())
+                .ownerId(insurance.getFarmerId())
+                .deletedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillUpdatedAt() {
+        int updated = insuranceRepository.backfillUpdatedAt(LocalDateTime.now());
+        if (updated > 0) {
+            log.info("Backfilled updated_at of {} insurance records for delta sync", updated);
+        }
+    }
+
+    @Scheduled(cron = "${app.sync.cleanup-cron:0 45 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int deleted = syncTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(SyncWindow.TOMBSTONE_RETENTION));
+        log.debug("Deleted {} sync tombstones", deleted);
+    }
+
+    private UUID currentUserId() {
+        CustomUserDetails currentUser = (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        return currentUser.getUserId();
+    }
+}
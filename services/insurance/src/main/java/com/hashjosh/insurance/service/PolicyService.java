@@ -13,11 +13,13 @@ import com.hashjosh.insurance.repository.InsuranceRepository;
 import com.hashjosh.insurance.repository.PolicyRepository;
 import com.hashjosh.kafkacommon.application.PolicyIssuedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -26,6 +28,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Transactional
 public class PolicyService {
+    private static final int MAX_EXPORT_PAGE_SIZE = 10_000;
+
     private final PolicyRepository policyRepository;
     private final PolicyMapper policyMapper;
     private final InsuranceRepository insuranceRepository;
@@ -104,6 +108,28 @@ public class PolicyService {
         return policyMapper.toResponse(policy);
     }
 
+    /**
+     * Exports policy numbers in ascending order, one keyset page at a time.
+     * Used by application-service to bootstrap its local policy-number index.
+     */
+    @Transactional(readOnly = true)
+    public List<String> exportPolicyNumbers(String after, int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_EXPORT_PAGE_SIZE);
+        return policyRepository.findPolicyNumbersAfter(after, PageRequest.of(0, pageSize));
+    }
+
+    /**
+     * Returns the numbers among {@code policyNumbers} that belong to a policy.
+     * Used by application-service to check a chunk of imported rows in one call.
+     */
+    @Transactional(readOnly = true)
+    public List<String> findExistingPolicyNumbers(Collection<String> policyNumbers) {
+        if (policyNumbers.size() > MAX_EXPORT_PAGE_SIZE) {
+            throw ApiException.badRequest("At most " + MAX_EXPORT_PAGE_SIZE + " policy numbers can be checked at once");
+        }
+        return policyNumbers.isEmpty() ? List.of() : policyRepository.findExistingPolicyNumbers(policyNumbers);
+    }
+
     @Transactional(readOnly = true)
     public List<PolicyResponse> getAllPolicies() {
         return policyRepository.findAll()
@@ -0,0 +1,185 @@
+package com.hashjosh.insurance.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hashjosh.insurance.config.ClaimRateProperties;
+import com.hashjosh.insurance.dto.claim.RateTableResponse;
+import com.hashjosh.insurance.entity.ClaimRateTable;
+import com.hashjosh.insurance.exception.ApiException;
+import com.hashjosh.insurance.rates.RateTable;
+import com.hashjosh.insurance.rates.RateTableDefinition;
+import com.hashjosh.insurance.repository.ClaimRateTableRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Holds the compiled rate table claims are computed with and swaps it when a
+ * different version becomes active. The instance that publishes or activates
+ * a version switches on commit; the others pick it up on their next refresh.
+ * Without any published version the configured seed table is used.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RateTableService {
+
+    private final ClaimRateTableRepository claimRateTableRepository;
+    private final ObjectMapper objectMapper;
+    private final ClaimRateProperties properties;
+
+    private volatile RateTable current;
+
+    /**
+     * The table in force. Read it once per claim so a swap in the middle of a
+     * computation cannot mix two versions.
+     */
+    public RateTable current() {
+        RateTable table = current;
+        if (table == null) {
+            refresh();
+            table = current;
+        }
+        return table;
+    }
+
+    @Scheduled(fixedDelayString = "${app.claim-rates.refresh-interval:30s}")
+    public synchronized void refresh() {
+        Optional<ClaimRateTable> active = claimRateTableRepository.findFirstByActiveTrueOrderByActivatedAtDesc();
+        String activeVersion = active.map(ClaimRateTable::getVersion).orElseGet(() -> properties.getSeed().version());
+        if (current != null && current.version().equals(activeVersion)) {
+            return;
+        }
+
+        try {
+            swap(active.map(this::compile).orElseGet(() -> RateTable.compile(properties.getSeed())));
+        } catch (IllegalArgumentException e) {
+            if (current == null) {
+                throw new IllegalStateException("Claim rate table " + activeVersion + " is invalid", e);
+            }
+            log.error("Keeping claim rate table {}; {} is invalid: {}", current.version(), activeVersion, e.getMessage());
+        }
+    }
+
+    /** Stores {@code definition} as a new version and makes it the active one. */
+    @Transactional
+    public RateTableResponse publish(RateTableDefinition definition, String userId) {
+        RateTable compiled = compileRequest(definition);
+        if (claimRateTableRepository.existsByVersion(compiled.version())) {
+            throw ApiException.conflict("Rate table version " + compiled.version() + " already exists");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        claimRateTableRepository.deactivateAll();
+        ClaimRateTable saved = claimRateTableRepository.save(ClaimRateTable.builder()
+                .version(compiled.version())
+                .definition(objectMapper.valueToTree(definition))
+                .active(true)
+                .publishedBy(userId)
+                .createdAt(now)
+                .activatedAt(now)
+                .build());
+        swapAfterCommit(compiled);
+
+        log.info("Published claim rate table {}", saved.getVersion());
+        return toResponse(saved);
+    }
+
+    /** Makes an earlier version active again, e.g. to roll back a bad table. */
+    @Transactional
+    public RateTableResponse activate(String version) {
+        ClaimRateTable table = claimRateTableRepository.findByVersion(version)
+                .orElseThrow(() -> ApiException.notFound("Rate table version not found: " + version));
+        if (!table.isActive()) {
+            RateTable compiled = compile(table);
+            claimRateTableRepository.deactivateAll();
+            table.setActive(true);
+            table.setActivatedAt(LocalDateTime.now());
+            swapAfterCommit(compiled);
+            log.info("Activated claim rate table {}", version);
+        }
+        return toResponse(table);
+    }
+
+    public List<RateTableResponse> findAll() {
+        List<ClaimRateTable> tables = claimRateTableRepository.findAllByOrderByCreatedAtDesc();
+        List<RateTableResponse> responses = new ArrayList<>(tables.size() + 1);
+        tables.forEach(table -> responses.add(toResponse(table)));
+        if (tables.stream().noneMatch(ClaimRateTable::isActive)) {
+            responses.add(seedResponse());
+        }
+        return responses;
+    }
+
+    public RateTableResponse findActive() {
+        return claimRateTableRepository.findFirstByActiveTrueOrderByActivatedAtDesc()
+                .map(this::toResponse)
+                .orElseGet(this::seedResponse);
+    }
+
+    private synchronized void swap(RateTable table) {
+        if (current == null || !current.version().equals(table.version())) {
+            log.info("Claims are now computed with rate table {}", table.version());
+        }
+        current = table;
+    }
+
+    private void swapAfterCommit(RateTable table) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                swap(table);
+            }
+        });
+    }
+
+    private RateTable compileRequest(RateTableDefinition definition) {
+        try {
+            return RateTable.compile(definition);
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest("Invalid rate table: " + e.getMessage());
+        }
+    }
+
+    private RateTable compile(ClaimRateTable table) {
+        return RateTable.compile(definitionOf(table));
+    }
+
+    private RateTableDefinition definitionOf(ClaimRateTable table) {
+        try {
+            return objectMapper.treeToValue(table.getDefinition(), RateTableDefinition.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("stored definition of " + table.getVersion() + " cannot be read", e);
+        }
+    }
+
+    private RateTableResponse toResponse(ClaimRateTable table) {
+        return RateTableResponse.builder()
+                .version(table.getVersion())
+                .active(table.isActive())
+                .published(true)
+                .publishedBy(table.getPublishedBy())
+                .createdAt(table.getCreatedAt())
+                .activatedAt(table.getActivatedAt())
+                .definition(definitionOf(table))
+                .build();
+    }
+
+    private RateTableResponse seedResponse() {
+        return RateTableResponse.builder()
+                .version(properties.getSeed().version())
+                .active(true)
+                .published(false)
+                .definition(properties.getSeed())
+                .build();
+    }
+}
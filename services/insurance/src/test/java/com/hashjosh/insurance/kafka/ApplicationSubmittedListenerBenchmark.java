@@ -0,0 +1,123 @@
+package com.hashjosh.insurance.kafka;
+
+import com.hashjosh.insurance.repository.InsuranceRepository;
+import com.hashjosh.kafkacommon.application.ApplicationSubmittedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pushes the same number of application-submitted events through the
+ * single-record and the batch listener and reports the throughput of each.
+ * The name keeps it out of regular test runs; run it with
+ * {@code mvn test -Dtest=ApplicationSubmittedListenerBenchmark}.
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "token.secret=listener-benchmark-secret-0123456789abcdef",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=100",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.auto-offset-reset=earliest",
+        "spring.kafka.consumer.key-deserializer=org.apache.kafka.common.serialization.StringDeserializer",
+        "spring.kafka.consumer.value-deserializer=org.springframework.kafka.support.serializer.JsonDeserializer",
+        "spring.kafka.consumer.properties.spring.json.trusted.packages=*",
+        "spring.kafka.producer.key-serializer=org.apache.kafka.common.serialization.StringSerializer",
+        "spring.kafka.producer.value-serializer=org.springframework.kafka.support.serializer.JsonSerializer",
+        "app.submitted-consumer.batch-mode=false"
+})
+@EmbeddedKafka(partitions = 1, topics = "application-submitted")
+@Testcontainers
+@Slf4j
+class ApplicationSubmittedListenerBenchmark {
+
+    private static final int EVENTS = 5_000;
+    private static final int APPLICATION_TYPES = 4;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry registry;
+
+    @Autowired
+    private InsuranceRepository insuranceRepository;
+
+    @Test
+    void compareSingleAndBatchListeners() throws Exception {
+        stop(ApplicationSubmittedListener.SINGLE_LISTENER_ID);
+
+        // Both listeners share the consumer group, so each run only sees the events published for it
+        double single = run(ApplicationSubmittedListener.SINGLE_LISTENER_ID);
+        double batch = run(ApplicationSubmittedListener.BATCH_LISTENER_ID);
+
+        log.info("application-submitted, {} events: single {}/s, batch {}/s ({}x)", EVENTS,
+                String.format("%.0f", single), String.format("%.0f", batch), String.format("%.1f", batch / single));
+    }
+
+    // Events per second from starting the listener until every record is stored
+    private double run(String listenerId) throws Exception {
+        List<UUID> types = Stream.generate(UUID::randomUUID).limit(APPLICATION_TYPES).toList();
+        long expected = insuranceRepository.count() + EVENTS;
+        for (int i = 0; i < EVENTS; i++) {
+            UUID submissionId = UUID.randomUUID();
+            kafkaTemplate.send("application-submitted", submissionId.toString(), event(submissionId, types.get(i % types.size())));
+        }
+        kafkaTemplate.flush();
+
+        long start = System.nanoTime();
+        registry.getListenerContainer(listenerId).start();
+        long deadline = start + TimeUnit.MINUTES.toNanos(10);
+        while (insuranceRepository.count() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        long elapsed = System.nanoTime() - start;
+        stop(listenerId);
+
+        assertEquals(expected, insuranceRepository.count(), listenerId + " did not store every event in time");
+        return EVENTS / (elapsed / 1e9);
+    }
+
+    private void stop(String listenerId) {
+        MessageListenerContainer container = registry.getListenerContainer(listenerId);
+        if (container != null && container.isRunning()) {
+            container.stop();
+        }
+    }
+
+    private static ApplicationSubmittedEvent event(UUID submissionId, UUID applicationTypeId) {
+        return ApplicationSubmittedEvent.builder()
+                .submissionId(submissionId)
+                .applicationTypeId(applicationTypeId)
+                .applicationTypeName("Rice crop insurance")
+                .provider("PCIC")
+                .userId(UUID.randomUUID())
+                .fullName("Juan Dela Cruz")
+                .submittedAt(LocalDateTime.now())
+                .build();
+    }
+}
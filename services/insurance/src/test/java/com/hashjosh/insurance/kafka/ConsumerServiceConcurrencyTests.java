@@ -0,0 +1,193 @@
+package com.hashjosh.insurance.kafka;
+
+import com.hashjosh.insurance.entity.Batch;
+import com.hashjosh.insurance.repository.BatchRepository;
+import com.hashjosh.insurance.repository.BatchSlotRepository;
+import com.hashjosh.insurance.repository.InsuranceRepository;
+import com.hashjosh.kafkacommon.application.ApplicationSubmittedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs many application-submitted events for one type at the same time, each
+ * in its own transaction, and checks the batches they were spread over.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@Import({ConsumerService.class, BatchSlotRepository.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ConsumerServiceConcurrencyTests {
+
+    private static final int CONSUMERS = 32;
+    private static final int SUBMISSIONS = 250;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @MockitoBean
+    private KafkaProducer kafkaProducer;
+
+    @Autowired
+    private ConsumerService consumerService;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private InsuranceRepository insuranceRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallelConsumersNeverOverfillABatch() throws Exception {
+        UUID applicationTypeId = UUID.randomUUID();
+        List<ApplicationSubmittedEvent> events = new ArrayList<>();
+        for (int i = 0; i < SUBMISSIONS; i++) {
+            events.add(event(applicationTypeId));
+        }
+
+        consumeInParallel(events);
+
+        List<Batch> batches = batchesOf(applicationTypeId);
+        assertFalse(batches.isEmpty());
+        for (Batch batch : batches) {
+            assertTrue(batch.getTotalApplications() <= batch.getMaxApplications(),
+                    () -> "Batch " + batch.getBatchNumber() + " holds " + batch.getTotalApplications()
+                            + " of at most " + batch.getMaxApplications());
+        }
+
+        // Every counted slot belongs to exactly one stored insurance
+        Map<UUID, Integer> assigned = assignedPerBatch(applicationTypeId);
+        for (Batch batch : batches) {
+            assertEquals(batch.getTotalApplications(), assigned.getOrDefault(batch.getId(), 0),
+                    () -> "Batch " + batch.getBatchNumber() + " count disagrees with its insurances");
+        }
+        assertEquals(SUBMISSIONS, batches.stream().mapToInt(Batch::getTotalApplications).sum());
+        assertEquals(batches.size(), batches.stream().map(Batch::getBatchNumber).distinct().count());
+    }
+
+    @Test
+    void parallelChunksNeverOverfillABatch() throws Exception {
+        UUID applicationTypeId = UUID.randomUUID();
+        List<List<ApplicationSubmittedEvent>> chunks = new ArrayList<>();
+        for (int c = 0; c < CONSUMERS; c++) {
+            List<ApplicationSubmittedEvent> chunk = new ArrayList<>();
+            // Uneven sizes, so chunks end part way through a batch
+            for (int i = 0; i < 7 + c % 5; i++) {
+                chunk.add(event(applicationTypeId));
+            }
+            chunks.add(chunk);
+        }
+
+        runInParallel(chunks, consumerService::handleApplicationSubmittedEvents);
+
+        List<Batch> batches = batchesOf(applicationTypeId);
+        Map<UUID, Integer> assigned = assignedPerBatch(applicationTypeId);
+        for (Batch batch : batches) {
+            assertTrue(batch.getTotalApplications() <= batch.getMaxApplications());
+            assertEquals(batch.getTotalApplications(), assigned.getOrDefault(batch.getId(), 0));
+        }
+        assertEquals(chunks.stream().mapToInt(List::size).sum(),
+                batches.stream().mapToInt(Batch::getTotalApplications).sum());
+    }
+
+    @Test
+    void redeliveredEventTakesNoSecondSlot() {
+        UUID applicationTypeId = UUID.randomUUID();
+        ApplicationSubmittedEvent event = event(applicationTypeId);
+
+        consumerService.handleApplicationSubmittedEvent(event);
+        consumerService.handleApplicationSubmittedEvent(event);
+
+        assertTrue(insuranceRepository.existsBySubmissionId(event.getSubmissionId()));
+        assertEquals(1, batchesOf(applicationTypeId).stream().mapToInt(Batch::getTotalApplications).sum());
+    }
+
+    private void consumeInParallel(List<ApplicationSubmittedEvent> events) throws Exception {
+        runInParallel(events, consumerService::handleApplicationSubmittedEvent);
+    }
+
+    private <T> void runInParallel(List<T> work, Consumer<T> handler) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(CONSUMERS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (T item : work) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    handler.accept(item);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<Batch> batchesOf(UUID applicationTypeId) {
+        return batchRepository.findAll().stream()
+                .filter(batch -> applicationTypeId.equals(batch.getApplicationTypeId()))
+                .toList();
+    }
+
+    private Map<UUID, Integer> assignedPerBatch(UUID applicationTypeId) {
+        Map<UUID, Integer> assigned = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT i.batch_id, COUNT(*) AS assigned
+                FROM insurances i JOIN batches b ON b.id = i.batch_id
+                WHERE b.application_type_id = ?
+                GROUP BY i.batch_id
+                """, rs -> {
+            assigned.put(rs.getObject("batch_id", UUID.class), rs.getInt("assigned"));
+        }, applicationTypeId);
+        return assigned;
+    }
+
+    private static ApplicationSubmittedEvent event(UUID applicationTypeId) {
+        return ApplicationSubmittedEvent.builder()
+                .submissionId(UUID.randomUUID())
+                .applicationTypeId(applicationTypeId)
+                .applicationTypeName("Rice crop insurance")
+                .provider("PCIC")
+                .userId(UUID.randomUUID())
+                .fullName("Juan Dela Cruz")
+                .submittedAt(LocalDateTime.now())
+                .build();
+    }
+}
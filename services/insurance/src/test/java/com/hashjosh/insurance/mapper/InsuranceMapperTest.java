@@ -0,0 +1,115 @@
+package com.hashjosh.insurance.mapper;
+
+import com.hashjosh.constant.pcic.enums.InsuranceStatus;
+import com.hashjosh.insurance.clients.DocumentServiceClient;
+import com.hashjosh.insurance.clients.ScheduleClient;
+import com.hashjosh.insurance.dto.insurance.InsuranceExpand;
+import com.hashjosh.insurance.dto.insurance.InsuranceResponse;
+import com.hashjosh.insurance.entity.Batch;
+import com.hashjosh.insurance.entity.Inspection;
+import com.hashjosh.insurance.entity.Insurance;
+import com.hashjosh.insurance.exception.ApiException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InsuranceMapperTest {
+
+    @Mock
+    private PolicyMapper policyMapper;
+
+    @Mock
+    private ClaimMapper claimMapper;
+
+    @Mock
+    private InspectionMapper inspectionMapper;
+
+    @Mock
+    private VerificationMapper verificationMapper;
+
+    @Mock
+    private BatchMapper batchMapper;
+
+    @Mock
+    private DocumentServiceClient documentServiceClient;
+
+    @Mock
+    private ScheduleClient scheduleClient;
+
+    @InjectMocks
+    private InsuranceMapper insuranceMapper;
+
+    private final UUID requesterId = UUID.randomUUID();
+
+    @Test
+    void expandedPageResolvesDocumentsAndSchedulesInOneCallEach() {
+        List<Insurance> page = List.of(inspected(), inspected(), inspected());
+        Set<UUID> photoIds = new HashSet<>();
+        Set<UUID> scheduleIds = new HashSet<>();
+        page.forEach(insurance -> {
+            photoIds.addAll(insurance.getInspection().getPhotos());
+            scheduleIds.add(insurance.getInspection().getScheduleId());
+        });
+        when(inspectionMapper.documentIds(any())).thenAnswer(invocation -> ((Inspection) invocation.getArgument(0)).getPhotos());
+        when(documentServiceClient.generatePresignedUrls(eq(requesterId), anyCollection(), anyInt())).thenReturn(Map.of());
+        when(scheduleClient.getSchedulesByIds(anyCollection(), eq(requesterId))).thenReturn(Map.of());
+
+        List<InsuranceResponse> responses = insuranceMapper.toInsuranceResponses(page, InsuranceExpand.ALL, requesterId);
+
+        assertEquals(3, responses.size());
+        verify(documentServiceClient).generatePresignedUrls(requesterId, photoIds, 60);
+        verify(scheduleClient).getSchedulesByIds(scheduleIds, requesterId);
+        verify(inspectionMapper, times(3)).toResponse(any(Inspection.class), anyMap(), anyMap());
+    }
+
+    @Test
+    void unexpandedPageKeepsScalarsOnly() {
+        Insurance insurance = inspected();
+
+        InsuranceResponse response = insuranceMapper
+                .toInsuranceResponses(List.of(insurance), InsuranceExpand.parse("none"), requesterId).get(0);
+
+        assertEquals(insurance.getId(), response.getInsuranceId());
+        assertEquals(insurance.getBatch().getId(), response.getBatchId());
+        assertEquals("PENDING", response.getStatus());
+        assertNull(response.getInspection());
+        assertNull(response.getBatch());
+        verify(documentServiceClient).generatePresignedUrls(requesterId, Set.of(), 60);
+        verify(scheduleClient).getSchedulesByIds(Set.of(), requesterId);
+        verifyNoInteractions(inspectionMapper, batchMapper);
+    }
+
+    @Test
+    void unknownExpandValueIsRejected() {
+        assertEquals(EnumSet.of(InsuranceExpand.CLAIM, InsuranceExpand.POLICY), InsuranceExpand.parse(" claim, Policy "));
+        assertEquals(InsuranceExpand.ALL, InsuranceExpand.parse(null));
+        assertTrue(InsuranceExpand.parse("").isEmpty());
+        assertThrows(ApiException.class, () -> InsuranceExpand.parse("claim,farmer"));
+    }
+
+    private Insurance inspected() {
+        Batch batch = new Batch();
+        batch.setId(UUID.randomUUID());
+
+        Insurance insurance = new Insurance();
+        insurance.setId(UUID.randomUUID());
+        insurance.setFarmerId(UUID.randomUUID());
+        insurance.setCurrentStatus(InsuranceStatus.PENDING);
+        insurance.setBatch(batch);
+
+        Inspection inspection = new Inspection();
+        inspection.setScheduleId(UUID.randomUUID());
+        inspection.setPhotos(List.of(UUID.randomUUID(), UUID.randomUUID()));
+        insurance.setInspection(inspection);
+        return insurance;
+    }
+}
@@ -0,0 +1,75 @@
+package com.hashjosh.insurance.rates;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateTableTest {
+
+    private final RateTable builtIn = RateTable.compile(RateTableDefinition.builtIn());
+
+    @Test
+    void builtInTableKeepsThePcicRiceRates() {
+        assertEquals(41000.0, builtIn.coveragePerHectare(Crop.of("Rice"), Variety.of("Inbred")));
+        assertEquals(50000.0, builtIn.coveragePerHectare(Crop.of("rice"), Variety.of("Inbred (Seed Production)")));
+        assertEquals(50000.0, builtIn.coveragePerHectare(Crop.of("Rice"), Variety.of("Hybrid F1")));
+        assertEquals(120000.0, builtIn.coveragePerHectare(Crop.of("RICE"), Variety.of("Hybrid seed production A×R")));
+        assertEquals(41000.0, builtIn.coveragePerHectare(Crop.of("Rice"), Variety.of("NSIC Rc222")));
+        assertEquals(41000.0, builtIn.coveragePerHectare(Crop.of("Cassava"), Variety.of("Hybrid")));
+    }
+
+    @Test
+    void stageTextNormalizesToTheSameFactorsAsBefore() {
+        assertEquals(0.60, builtIn.stageFactor(CropStage.of("Seedling")));
+        assertEquals(0.60, builtIn.stageFactor(CropStage.of("1 month")));
+        assertEquals(0.70, builtIn.stageFactor(CropStage.of("2 months old")));
+        assertEquals(0.70, builtIn.stageFactor(CropStage.of("Vegetative")));
+        assertEquals(0.85, builtIn.stageFactor(CropStage.of("3months")));
+        assertEquals(0.85, builtIn.stageFactor(CropStage.of("Flowering")));
+        assertEquals(1.0, builtIn.stageFactor(CropStage.of("Harvest")));
+        assertEquals(1.0, builtIn.stageFactor(CropStage.of("6 months")));
+        assertEquals(0.60, builtIn.stageFactor(CropStage.of("0 months")));
+        assertEquals(0.80, builtIn.stageFactor(CropStage.of("")));
+        assertEquals(0.80, builtIn.stageFactor(CropStage.of("unknown")));
+        // The earlier stage wins when the text names two
+        assertEquals(CropStage.EARLY, CropStage.of("1 month, flowering"));
+    }
+
+    @Test
+    void varietyEntriesOverrideCropWideEntriesInAnyOrder() {
+        RateTable table = RateTable.compile(new RateTableDefinition(
+                "v2",
+                List.of(
+                        new RateTableDefinition.Coverage(Crop.CORN, Variety.HYBRID, 60000.0),
+                        new RateTableDefinition.Coverage(Crop.CORN, null, 30000.0)
+                ),
+                20000.0,
+                Map.of(CropStage.MATURITY, 0.9),
+                0.5
+        ));
+
+        assertEquals("v2", table.version());
+        assertEquals(60000.0, table.coveragePerHectare(Crop.CORN, Variety.HYBRID));
+        assertEquals(30000.0, table.coveragePerHectare(Crop.CORN, Variety.INBRED));
+        assertEquals(20000.0, table.coveragePerHectare(Crop.RICE, Variety.HYBRID));
+        assertEquals(0.9, table.stageFactor(CropStage.MATURITY));
+        assertEquals(0.5, table.stageFactor(CropStage.EARLY));
+    }
+
+    @Test
+    void invalidDefinitionsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RateTable.compile(
+                new RateTableDefinition(" ", List.of(), 1000.0, Map.of(), 0.8)));
+        assertThrows(IllegalArgumentException.class, () -> RateTable.compile(
+                new RateTableDefinition("v", List.of(), null, Map.of(), 0.8)));
+        assertThrows(IllegalArgumentException.class, () -> RateTable.compile(
+                new RateTableDefinition("v", List.of(), 1000.0, Map.of(CropStage.EARLY, 1.5), 0.8)));
+        assertThrows(IllegalArgumentException.class, () -> RateTable.compile(new RateTableDefinition("v",
+                List.of(new RateTableDefinition.Coverage(Crop.RICE, Variety.HYBRID, 1.0),
+                        new RateTableDefinition.Coverage(Crop.RICE, Variety.HYBRID, 2.0)),
+                1000.0, Map.of(), 0.8)));
+    }
+}
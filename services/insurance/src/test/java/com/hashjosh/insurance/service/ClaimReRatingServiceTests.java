@@ -0,0 +1,219 @@
+package com.hashjosh.insurance.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.hashjosh.insurance.config.ClaimRateProperties;
+import com.hashjosh.insurance.config.ClaimReRatingProperties;
+import com.hashjosh.insurance.dto.claim.ReRatingJobResponse;
+import com.hashjosh.insurance.entity.Batch;
+import com.hashjosh.insurance.entity.Claim;
+import com.hashjosh.insurance.entity.Inspection;
+import com.hashjosh.insurance.entity.Insurance;
+import com.hashjosh.insurance.repository.ClaimRatingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Re-rates a few pages of open claims against the built-in rate table and
+ * checks the counts, the stored amounts and that a dry run writes nothing.
+ */
+@DataJpaTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.claim-rerating.page-size=100"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ClaimReRatingService.class, RateTableService.class, ClaimRatingRepository.class,
+        ClaimRateProperties.class, ClaimReRatingProperties.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClaimReRatingServiceTests {
+
+    private static final int STALE = 450;
+    private static final int CURRENT = 40;
+    private static final int AI = 60;
+    private static final int ADJUSTED = 10;
+    // Filed before adjustments were tracked; the amount no longer matches the built-in rates
+    private static final int LEGACY = 15;
+    // Filed before adjustments were tracked with the amount the built-in rates give
+    private static final int LEGACY_UNTOUCHED = 20;
+    private static final int FINALIZED = 25;
+
+    // 2 ha insured, 1 ha damaged, inbred rice, vegetative: 2 × 41000 × 0.5 × 0.7
+    private static final double MANUAL_AMOUNT = 28700.0;
+    // Same field with 50% AI severity halves the loss
+    private static final double AI_AMOUNT = 14350.0;
+    private static final double STALE_AMOUNT = 20000.0;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private ClaimReRatingService claimReRatingService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.execute("DELETE FROM claims; DELETE FROM inspections; DELETE FROM insurances; DELETE FROM batches");
+        transactionTemplate.executeWithoutResult(status -> {
+            Batch batch = Batch.builder()
+                    .applicationTypeId(UUID.randomUUID())
+                    .name("Re-rating")
+                    .maxApplications(10)
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            entityManager.persist(batch);
+
+            for (int i = 0; i < STALE; i++) {
+                claim(batch, STALE_AMOUNT, null, false, false);
+            }
+            for (int i = 0; i < CURRENT; i++) {
+                claim(batch, MANUAL_AMOUNT, null, false, false);
+            }
+            for (int i = 0; i < AI; i++) {
+                claim(batch, STALE_AMOUNT, JsonNodeFactory.instance.objectNode()
+                        .put("ai_result_id", UUID.randomUUID().toString())
+                        .put("severity_percentage", 50.0), false, false);
+            }
+            for (int i = 0; i < ADJUSTED; i++) {
+                claim(batch, STALE_AMOUNT, null, true, false);
+            }
+            for (int i = 0; i < LEGACY; i++) {
+                claim(batch, STALE_AMOUNT, null, null, false);
+            }
+            for (int i = 0; i < LEGACY_UNTOUCHED; i++) {
+                claim(batch, MANUAL_AMOUNT, null, null, false);
+            }
+            for (int i = 0; i < FINALIZED; i++) {
+                claim(batch, STALE_AMOUNT, null, false, true);
+            }
+        });
+    }
+
+    @Test
+    void dryRunReportsChangesWithoutWritingThem() throws Exception {
+        ReRatingJobResponse job = awaitFinished(claimReRatingService.start(true, null).getId());
+
+        assertEquals(ReRatingJobResponse.Status.COMPLETED, job.getStatus());
+        assertCounts(job);
+        assertEquals(STALE + AI + ADJUSTED + LEGACY + FINALIZED, countWithAmount(STALE_AMOUNT));
+        assertEquals(0, countVersioned());
+        assertEquals(LEGACY + LEGACY_UNTOUCHED, countAdjusted("IS NULL"));
+        assertEquals(STALE + AI + ADJUSTED + LEGACY, reportLines(job.getId()));
+    }
+
+    @Test
+    void runWritesRecomputedAmounts() throws Exception {
+        ReRatingJobResponse job = awaitFinished(claimReRatingService.start(false, null).getId());
+
+        assertEquals(ReRatingJobResponse.Status.COMPLETED, job.getStatus());
+        assertCounts(job);
+        assertEquals(STALE + CURRENT + LEGACY_UNTOUCHED, countWithAmount(MANUAL_AMOUNT));
+        assertEquals(AI, countWithAmount(AI_AMOUNT));
+        // Adjusted by hand, legacy and finalized claims keep their amounts
+        assertEquals(ADJUSTED + LEGACY + FINALIZED, countWithAmount(STALE_AMOUNT));
+        assertEquals(STALE + AI, countVersioned());
+        // Legacy claims get their flag from comparing with the built-in rates
+        assertEquals(0, countAdjusted("IS NULL"));
+        assertEquals(ADJUSTED + LEGACY, countAdjusted("IS TRUE"));
+    }
+
+    private void assertCounts(ReRatingJobResponse job) {
+        assertEquals(STALE + CURRENT + AI + ADJUSTED + LEGACY + LEGACY_UNTOUCHED, job.getTotal());
+        assertEquals(job.getTotal(), job.getScanned());
+        assertEquals(STALE + AI, job.getChanged());
+        assertEquals(CURRENT + LEGACY_UNTOUCHED, job.getUnchanged());
+        assertEquals(ADJUSTED + LEGACY, job.getSkipped());
+        assertEquals(0, job.getFailed());
+        assertEquals(0, job.getConflicts());
+    }
+
+    private ReRatingJobResponse awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60_000;
+        ReRatingJobResponse job = claimReRatingService.get(jobId);
+        while (job.getStatus() == ReRatingJobResponse.Status.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+            job = claimReRatingService.get(jobId);
+        }
+        return job;
+    }
+
+    private long reportLines(UUID jobId) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        claimReRatingService.writeReport(jobId, out);
+        return out.toString().lines().count();
+    }
+
+    private int countWithAmount(double amount) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM claims WHERE abs(claim_amount - ?) < 0.005", Integer.class, amount);
+    }
+
+    private int countAdjusted(String condition) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM claims WHERE NOT is_finalized AND manually_adjusted " + condition, Integer.class);
+    }
+
+    private int countVersioned() {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM claims WHERE rate_table_version IS NOT NULL", Integer.class);
+    }
+
+    private void claim(Batch batch, double amount, JsonNode claimValues, Boolean adjusted, boolean finalized) {
+        Insurance insurance = Insurance.builder()
+                .submissionId(UUID.randomUUID())
+                .farmerId(UUID.randomUUID())
+                .batch(batch)
+                .createdAt(LocalDateTime.now())
+                .build();
+        entityManager.persist(insurance);
+        entityManager.persist(Inspection.builder()
+                .insurance(insurance)
+                .fieldValues(JsonNodeFactory.instance.objectNode()
+                        .put("area_insured", 2)
+                        .put("area_damaged", "1")
+                        .put("insured_crops", "Rice")
+                        .put("variety_planted", "Inbred")
+                        .put("cultivation_stage", "Vegetative"))
+                .build());
+        entityManager.persist(Claim.builder()
+                .insurance(insurance)
+                .filedAt(LocalDateTime.now())
+                .claimAmount(amount)
+                .fieldValues(claimValues)
+                .manuallyAdjusted(adjusted)
+                .isFinalized(finalized)
+                .build());
+    }
+}
@@ -0,0 +1,28 @@
+package com.hashjosh.kafkacommon.application;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Stage change of a submission queued with {@code Prefer: respond-async}.
+ * {@code applicationId} is set once the application is stored, {@code error}
+ * when the submission failed.
+ */
+@Builder
+@NoArgsConstructor
+@Data
+@AllArgsConstructor
+public class SubmissionProgressEvent {
+    private UUID trackingId;
+    private UUID userId;
+    private String status;
+    private int attempt;
+    private UUID applicationId;
+    private String error;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private LocalDateTime occurredAt;
+}
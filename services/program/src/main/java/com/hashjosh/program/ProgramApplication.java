@@ -1,5 +1,6 @@
 package com.hashjosh.program;
 
+import com.hashjosh.constant.sync.SyncTombstoneConfiguration;
 import com.hashjosh.jwtshareable.properties.JwtProperties;
 import com.hashjosh.jwtshareable.service.JwtService;
 import com.hashjosh.program.config.TrustedConfig;
@@ -8,11 +9,13 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@Import({JwtService.class})
+@Import({JwtService.class, SyncTombstoneConfiguration.class})
 @EnableConfigurationProperties({JwtProperties.class, TrustedConfig.class})
 @EnableDiscoveryClient
+@EnableScheduling
 public class ProgramApplication {
 
     public static void main(String[] args) {
@@ -27,6 +27,11 @@ public class ScheduleController {
         return service.getById(id);
     }
 
+    @PostMapping("/batch")
+    public List<ScheduleResponseDto> getByIds(@RequestBody List<UUID> ids) {
+        return service.getByIds(ids);
+    }
+
     @PostMapping
     public ScheduleResponseDto create(@RequestBody ScheduleRequestDto dto) {
         return service.create(dto);
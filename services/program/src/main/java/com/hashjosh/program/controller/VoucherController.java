@@ -1,10 +1,12 @@
 package com.hashjosh.program.controller;
 
+import com.hashjosh.constant.sync.SyncPage;
 import com.hashjosh.program.dto.CreateVoucherRequestDto;
 import com.hashjosh.program.dto.UpdateVoucherRequestDto;
 import com.hashjosh.program.dto.VoucherResponseDto;
 import com.hashjosh.program.enums.VoucherStatus;
 import com.hashjosh.program.service.VoucherService;
+import com.hashjosh.program.service.VoucherSyncService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +20,7 @@ import java.util.UUID;
 public class VoucherController {
 
     private final VoucherService voucherService;
+    private final VoucherSyncService voucherSyncService;
 
     @PostMapping
     public VoucherResponseDto createVoucher(@RequestBody CreateVoucherRequestDto dto) {
@@ -34,6 +37,13 @@ public class VoucherController {
         return voucherService.getAllVouchers();
     }
 
+    // Vouchers of the current user changed or deleted after the since watermark
+    @GetMapping("/user/sync")
+    public SyncPage<VoucherResponseDto> syncVouchers(@RequestParam(required = false) String since,
+                                                     @RequestParam(required = false) Integer limit) {
+        return voucherSyncService.sync(since, limit);
+    }
+
     @GetMapping("/owner/{ownerUserId}")
     public List<VoucherResponseDto> getVouchersByOwner(@PathVariable UUID ownerUserId) {
         return voucherService.getVouchersByOwner(ownerUserId);
@@ -4,13 +4,14 @@ import com.hashjosh.program.enums.VoucherStatus;
 import com.hashjosh.program.enums.VoucherType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "vouchers")
+@Table(name = "vouchers", indexes = @Index(name = "idx_vouchers_owner_updated_at_id", columnList = "owner_user_id, updated_at, id"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -52,6 +53,8 @@ public class Voucher {
 
     private LocalDateTime createdAt;
 
+    // Set on creation too; delta sync reads from it
+    @UpdateTimestamp
     private LocalDateTime updatedAt;
 
 }
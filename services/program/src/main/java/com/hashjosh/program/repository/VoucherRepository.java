@@ -2,11 +2,14 @@ package com.hashjosh.program.repository;
 
 import com.hashjosh.program.entity.Voucher;
 import com.hashjosh.program.enums.VoucherStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,4 +23,24 @@ public interface VoucherRepository extends JpaRepository<Voucher, UUID> {
 
     @Query("SELECT v FROM Voucher v WHERE v.ownerUserId = :userId")
     List<Voucher> findAllByOwnerUserId(@Param("userId")UUID userId);
+
+    @Query("""
+        SELECT v FROM Voucher v
+        WHERE v.ownerUserId = :ownerUserId
+          AND (v.updatedAt > :fromAt OR (v.updatedAt = :fromAt AND v.id > :fromId))
+          AND v.updatedAt <= :until
+        ORDER BY v.updatedAt, v.id
+    """)
+    List<Voucher> findChangedSince(
+            @Param("ownerUserId") UUID ownerUserId,
+            @Param("fromAt") LocalDateTime fromAt,
+            @Param("fromId") UUID fromId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
+
+    // Rows written before updated_at was set on creation
+    @Modifying
+    @Query("UPDATE Voucher v SET v.updatedAt = COALESCE(v.createdAt, :now) WHERE v.updatedAt IS NULL")
+    int backfillUpdatedAt(@Param("now") LocalDateTime now);
 }
@@ -8,6 +8,8 @@ import com.hashjosh.program.repository.ScheduleRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -29,6 +31,15 @@ public class ScheduleService {
                 .orElseThrow(() -> new RuntimeException("Schedule not found")));
     }
 
+    /** Schedules for many ids in one query; unknown ids are left out. */
+    public List<ScheduleResponseDto> getByIds(Collection<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return repository.findAllById(new HashSet<>(ids))
+                .stream().map(mapper::toDto).collect(Collectors.toList());
+    }
+
     public ScheduleResponseDto create(ScheduleRequestDto dto) {
         return mapper.toDto(repository.save(mapper.toEntity(dto)));
     }
@@ -28,6 +28,7 @@ public class VoucherService {
     private final VoucherRepository voucherRepository;
     private final VoucherMapper voucherMapper;
     private final KafkaProducer producer;
+    private final VoucherSyncService voucherSyncService;
 
     @Transactional
     public VoucherResponseDto createVoucher(CreateVoucherRequestDto dto) {
@@ -114,10 +115,10 @@ public class VoucherService {
 
     @Transactional
     public void deleteVoucher(UUID id) {
-        if (!voucherRepository.existsById(id)) {
-            throw new RuntimeException("Voucher not found");
-        }
-        voucherRepository.deleteById(id);
+        Voucher voucher = voucherRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Voucher not found"));
+        voucherRepository.delete(voucher);
+        voucherSyncService.recordDeletion(voucher);
     }
 
     public Optional<VoucherResponseDto> getVoucherById(UUID id) {
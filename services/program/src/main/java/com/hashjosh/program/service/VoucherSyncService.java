@@ -0,0 +1,101 @@
+package com.hashjosh.program.service;
+
+import com.hashjosh.constant.sync.SyncHorizon;
+import com.hashjosh.constant.sync.SyncPage;
+import com.hashjosh.constant.sync.SyncTombstone;
+import com.hashjosh.constant.sync.SyncTombstoneRepository;
+import com.hashjosh.constant.sync.SyncWatermark;
+import com.hashjosh.constant.sync.SyncWindow;
+import com.hashjosh.program.config.CustomUserDetails;
+import com.hashjosh.program.dto.VoucherResponseDto;
+import com.hashjosh.program.entity.Voucher;
+import com.hashjosh.program.exception.ApiException;
+import com.hashjosh.program.mapper.VoucherMapper;
+import com.hashjosh.program.repository.VoucherRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Delta sync of the current user's vouchers for the mobile app.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VoucherSyncService {
+
+    private final VoucherRepository voucherRepository;
+    private final SyncTombstoneRepository syncTombstoneRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final VoucherMapper voucherMapper;
+
+    @Transactional(readOnly = true)
+    public SyncPage<VoucherResponseDto> sync(String since, Integer limit) {
+        SyncWindow window;
+        try {
+            window = SyncWindow.open(since, limit, SyncHorizon.current(jdbcTemplate));
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest(e.getMessage());
+        }
+
+        CustomUserDetails userDetails = (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UUID ownerUserId = UUID.fromString(userDetails.getUserId());
+        SyncWatermark from = window.from();
+        PageRequest fetch = PageRequest.of(0, window.fetchSize());
+
+        List<Voucher> changed = voucherRepository.findChangedSince(
+                ownerUserId, from.changedAt(), from.id(), window.until(), fetch);
+        List<SyncWatermark> deleted = syncTombstoneRepository.findSince(
+                        ownerUserId, from.changedAt(), from.id(), window.until(), fetch)
+                .stream()
+                .map(SyncTombstone::watermark)
+                .toList();
+
+        return window.page(
+                changed,
+                voucher -> new SyncWatermark(voucher.getUpdatedAt(), voucher.getId()),
+                deleted,
+                page -> page.stream().map(voucherMapper::toResponseDto).toList()
+        );
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Voucher voucher) {
+        if (voucher.getOwnerUserId() == null) {
+            return;
+        }
+        syncTombstoneRepository.save(SyncTombstone.builder()
+                .entityId(voucher.getId())
+                .ownerId(voucher.getOwnerUserId())
+                .deletedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillUpdatedAt() {
+        int updated = voucherRepository.backfillUpdatedAt(LocalDateTime.now());
+        if (updated > 0) {
+            log.info("Backfilled updated_at of {} vouchers for delta sync", updated);
+        }
+    }
+
+    @Scheduled(cron = "${app.sync.cleanup-cron:0 45 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int deleted = syncTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(SyncWindow.TOMBSTONE_RETENTION));
+        log.debug("Deleted {} sync tombstones", deleted);
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.context.annotation.Import;
 import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 
 @SpringBootApplication
@@ -19,6 +20,7 @@ import org.springframework.web.socket.config.annotation.EnableWebSocket;
 @EnableKafka
 @EnableWebSocket
 @EnableDiscoveryClient
+@EnableScheduling
 public class RealtimeGatewayServiceApplication {
 
     public static void main(String[] args) {
@@ -1,11 +1,10 @@
 package com.hashjosh.realtimegatewayservice.clients;
 
 import com.hashjosh.constant.document.dto.DocumentResponse;
+import com.hashjosh.constant.document.upload.StreamingFileResource;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.MediaType;
-import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestClientException;
@@ -80,18 +79,11 @@ public class DocumentClient {
 
     public DocumentResponse uploadDocument(MultipartFile file, String userId) {
         try {
-            MultipartBodyBuilder builder = new MultipartBodyBuilder();
-            builder.part("file", new ByteArrayResource(file.getBytes()) {
-                        @Override
-                        public String getFilename() {
-                            return file.getOriginalFilename();
-                        }
-                    })
-                    .header("Content-Type", file.getContentType());
+            StreamingFileResource upload = StreamingFileResource.of(file);
 
             return restClient.post()
                     .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .body(builder.build())
+                    .body(upload.toMultipartBody())
                     .header("X-Internal-Service", applicationName)
                     .header("X-User-Id",userId)
                     .retrieve()
@@ -105,7 +97,7 @@ public class DocumentClient {
                             }
                     )
                     .body(DocumentResponse.class);
-        } catch (RestClientException | java.io.IOException e) {
+        } catch (RestClientException e) {
             log.error("Error uploading document: {}", file.getOriginalFilename(), e);
             throw new RuntimeException("Error uploading document: " + e.getMessage());
         }
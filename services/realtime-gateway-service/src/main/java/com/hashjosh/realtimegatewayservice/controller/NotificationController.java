@@ -1,8 +1,10 @@
 package com.hashjosh.realtimegatewayservice.controller;
+import com.hashjosh.constant.sync.SyncPage;
 import com.hashjosh.realtimegatewayservice.dto.FarmersNotificationRequest;
 import com.hashjosh.realtimegatewayservice.dto.NotificationRequestDTO;
 import com.hashjosh.realtimegatewayservice.dto.NotificationResponseDTO;
 import com.hashjosh.realtimegatewayservice.service.NotificationService;
+import com.hashjosh.realtimegatewayservice.service.NotificationSyncService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +20,7 @@ import java.util.UUID;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationSyncService notificationSyncService;
 
     @PostMapping
     public ResponseEntity<NotificationResponseDTO> createNotification(
@@ -54,6 +57,19 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Delta sync of a recipient's notifications, including those sent to ALL,
+     * starting after the {@code since} watermark from the previous response.
+     */
+    @GetMapping("/{recipientId}/sync")
+    public ResponseEntity<SyncPage<NotificationResponseDTO>> syncNotificationsForUser(
+            @PathVariable("recipientId") String recipientId,
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(notificationSyncService.sync(recipientId, since, limit));
+    }
+
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<Void> markNotificationAsRead(
             @PathVariable("notificationId") UUID notificationId
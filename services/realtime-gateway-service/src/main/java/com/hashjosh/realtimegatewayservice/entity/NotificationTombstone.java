@@ -0,0 +1,26 @@
+package com.hashjosh.realtimegatewayservice.entity;
+
+import com.hashjosh.constant.sync.AbstractSyncTombstone;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Marks a deleted notification for delta sync. Keyed by recipient rather than
+ * owner id, since broadcasts belong to everyone.
+ */
+@Entity
+@Table(name = "sync_tombstones", indexes = {
+        @Index(name = "idx_sync_tombstones_recipient_deleted_at", columnList = "recipient, deleted_at, entity_id"),
+        @Index(name = "idx_sync_tombstones_deleted_at", columnList = "deleted_at")
+})
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+public class NotificationTombstone extends AbstractSyncTombstone {
+
+    // Same as the notification's: a user id or ALL
+    @Column(name = "recipient", nullable = false)
+    private String recipient;
+}
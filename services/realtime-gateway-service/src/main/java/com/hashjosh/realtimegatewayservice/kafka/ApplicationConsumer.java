@@ -56,9 +56,21 @@ public class ApplicationConsumer {
 
     @KafkaListener(topics = "application-claim", groupId = "realtime-group-claim-processed")
     public void listenClaimProcessed(@Payload ClaimProcessedEvent event) {
-        handleClaimProcessed(event);
+        // Claims are also announced when filed, for status tracking; farmers hear about them once finalized
+        if ("FINALIZED".equals(event.getPayoutStatus())) {
+            handleClaimProcessed(event);
+        }
     }
 
+    // Progress of a queued submission is transient, so it is pushed but not stored or emailed
+    @KafkaListener(topics = "application-submission-progress", groupId = "realtime-group-submission-progress")
+    public void listenSubmissionProgress(@Payload SubmissionProgressEvent event) {
+        messagingTemplate.convertAndSendToUser(
+                event.getUserId().toString(),
+                "/queue/application.submissions",
+                event
+        );
+    }
 
     @KafkaListener(topics = "new-voucher-created", groupId = "realtime-group-new-voucher-claim")
     public void listenNewVoucherCreated(@Payload NewVoucherCreated event) {
@@ -1,12 +1,38 @@
 package com.hashjosh.realtimegatewayservice.repository;
 
 import com.hashjosh.realtimegatewayservice.entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
     List<Notification> findByRecipientOrRecipient(String all, String username);
     List<Notification> findByRecipientAndTenant(String recipient, String tenant);
+
+    @Query("""
+        SELECT n FROM Notification n
+        WHERE n.recipient IN :recipients
+          AND (n.updatedAt > :fromAt OR (n.updatedAt = :fromAt AND n.id > :fromId))
+          AND n.updatedAt <= :until
+        ORDER BY n.updatedAt, n.id
+    """)
+    List<Notification> findChangedSince(
+            @Param("recipients") Collection<String> recipients,
+            @Param("fromAt") LocalDateTime fromAt,
+            @Param("fromId") UUID fromId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
+
+    // Rows written before updated_at was maintained
+    @Modifying
+    @Query("UPDATE Notification n SET n.updatedAt = n.createdAt WHERE n.updatedAt IS NULL")
+    int backfillUpdatedAt();
 }
@@ -0,0 +1,35 @@
+package com.hashjosh.realtimegatewayservice.repository;
+
+import com.hashjosh.realtimegatewayservice.entity.NotificationTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface NotificationTombstoneRepository extends JpaRepository<NotificationTombstone, UUID> {
+
+    @Query("""
+        SELECT t FROM NotificationTombstone t
+        WHERE t.recipient IN :recipients
+          AND (t.deletedAt > :fromAt OR (t.deletedAt = :fromAt AND t.entityId > :fromId))
+          AND t.deletedAt <= :until
+        ORDER BY t.deletedAt, t.entityId
+    """)
+    List<NotificationTombstone> findSince(
+            @Param("recipients") Collection<String> recipients,
+            @Param("fromAt") LocalDateTime fromAt,
+            @Param("fromId") UUID fromId,
+            @Param("until") LocalDateTime until,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query("DELETE FROM NotificationTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
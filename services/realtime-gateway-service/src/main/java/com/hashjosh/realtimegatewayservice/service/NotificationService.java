@@ -23,6 +23,7 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationSyncService notificationSyncService;
 
 
     @Transactional
@@ -75,8 +76,12 @@ public class NotificationService {
         notificationRepository.save(notification);
     }
 
+    @Transactional
     public void deleteNotification(UUID notificationId) {
-        notificationRepository.deleteById(notificationId);
+        notificationRepository.findById(notificationId).ifPresent(notification -> {
+            notificationRepository.delete(notification);
+            notificationSyncService.recordDeletion(notification);
+        });
     }
 
     public void sendFarmersNotifications(FarmersNotificationRequest request) {
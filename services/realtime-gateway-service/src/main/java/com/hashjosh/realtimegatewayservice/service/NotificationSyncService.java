@@ -0,0 +1,107 @@
+package com.hashjosh.realtimegatewayservice.service;
+
+import com.hashjosh.constant.sync.SyncHorizon;
+import com.hashjosh.constant.sync.SyncPage;
+import com.hashjosh.constant.sync.SyncWatermark;
+import com.hashjosh.constant.sync.SyncWindow;
+import com.hashjosh.realtimegatewayservice.dto.NotificationResponseDTO;
+import com.hashjosh.realtimegatewayservice.entity.Notification;
+import com.hashjosh.realtimegatewayservice.entity.NotificationTombstone;
+import com.hashjosh.realtimegatewayservice.exception.ApiException;
+import com.hashjosh.realtimegatewayservice.repository.NotificationRepository;
+import com.hashjosh.realtimegatewayservice.repository.NotificationTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Delta sync of a recipient's notifications for the mobile app. Broadcasts
+ * addressed to ALL are part of every recipient's stream.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationSyncService {
+
+    private static final String ALL = "ALL";
+
+    private final NotificationRepository notificationRepository;
+    private final NotificationTombstoneRepository notificationTombstoneRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public SyncPage<NotificationResponseDTO> sync(String recipient, String since, Integer limit) {
+        SyncWindow window;
+        try {
+            window = SyncWindow.open(since, limit, SyncHorizon.current(jdbcTemplate));
+        } catch (IllegalArgumentException e) {
+            throw ApiException.badRequest(e.getMessage());
+        }
+
+        Set<String> recipients = ALL.equals(recipient) ? Set.of(ALL) : Set.of(ALL, recipient);
+        SyncWatermark from = window.from();
+        PageRequest fetch = PageRequest.of(0, window.fetchSize());
+
+        List<Notification> changed = notificationRepository.findChangedSince(
+                recipients, from.changedAt(), from.id(), window.until(), fetch);
+        List<SyncWatermark> deleted = notificationTombstoneRepository.findSince(
+                        recipients, from.changedAt(), from.id(), window.until(), fetch)
+                .stream()
+                .map(NotificationTombstone::watermark)
+                .toList();
+
+        return window.page(
+                changed,
+                notification -> new SyncWatermark(notification.getUpdatedAt(), notification.getId()),
+                deleted,
+                page -> page.stream().map(NotificationSyncService::toResponse).toList()
+        );
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Notification notification) {
+        notificationTombstoneRepository.save(NotificationTombstone.builder()
+                .entityId(notification.getId())
+                .recipient(notification.getRecipient())
+                .deletedAt(LocalDateTime.now())
+                .build());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillUpdatedAt() {
+        int updated = notificationRepository.backfillUpdatedAt();
+        if (updated > 0) {
+            log.info("Backfilled updated_at of {} notifications for delta sync", updated);
+        }
+    }
+
+    @Scheduled(cron = "${app.sync.cleanup-cron:0 45 3 * * *}")
+    @Transactional
+    public void purgeTombstones() {
+        int deleted = notificationTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(SyncWindow.TOMBSTONE_RETENTION));
+        log.debug("Deleted {} sync tombstones", deleted);
+    }
+
+    private static NotificationResponseDTO toResponse(Notification notification) {
+        return NotificationResponseDTO.builder()
+                .id(notification.getId())
+                .title(notification.getTitle())
+                .message(notification.getMessage())
+                .time(notification.getCreatedAt())
+                .read(notification.isRead())
+                .createdAt(notification.getCreatedAt())
+                .build();
+    }
+}